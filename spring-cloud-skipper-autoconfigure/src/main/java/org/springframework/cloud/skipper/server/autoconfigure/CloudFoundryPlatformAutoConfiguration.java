@@ -51,7 +51,9 @@ import org.springframework.cloud.skipper.deployer.cloudfoundry.CloudFoundryPlatf
 import org.springframework.cloud.skipper.deployer.cloudfoundry.CloudFoundrySkipperServerConfiguration;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.Platform;
+import org.springframework.cloud.skipper.server.config.ActuatorRestTemplateFactory;
 import org.springframework.cloud.skipper.server.config.EnableSkipperServerConfiguration;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -84,8 +86,8 @@ public class CloudFoundryPlatformAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	RestTemplate actuatorRestTemplate() {
-		return new RestTemplate();
+	RestTemplate actuatorRestTemplate(SkipperServerProperties skipperServerProperties) {
+		return ActuatorRestTemplateFactory.create(skipperServerProperties.getActuator());
 	}
 
 	private Deployer createAndSaveCFAppDeployer(String account,
@@ -23,6 +23,7 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.deployer.spi.app.ActuatorOperations;
@@ -35,6 +36,8 @@ import org.springframework.cloud.deployer.spi.kubernetes.KubernetesDeployerPrope
 import org.springframework.cloud.skipper.deployer.kubernetes.KubernetesPlatformProperties;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.Platform;
+import org.springframework.cloud.skipper.server.config.ActuatorRestTemplateFactory;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -67,8 +70,9 @@ public class KubernetesPlatformAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	RestTemplate actuatorRestTemplate() {
-		return new RestTemplate();
+	RestTemplate actuatorRestTemplate(ObjectProvider<SkipperServerProperties> skipperServerProperties) {
+		return ActuatorRestTemplateFactory
+				.create(skipperServerProperties.getIfAvailable(SkipperServerProperties::new).getActuator());
 	}
 
 	protected Deployer createAndSaveKubernetesAppDeployers(String account,
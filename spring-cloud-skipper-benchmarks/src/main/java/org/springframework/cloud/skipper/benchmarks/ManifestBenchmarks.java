@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.skipper.domain.CompressedStringConverter;
+import org.springframework.cloud.skipper.domain.ContentBlob;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.server.util.ArgumentSanitizer;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmarks of the processing of a rendered manifest: parsing it into application
+ * manifests, redacting it for display and storing it compressed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManifestBenchmarks {
+
+	@Param({ "2", "5", "20" })
+	public int apps;
+
+	private final SpringCloudDeployerApplicationManifestReader manifestReader =
+			new SpringCloudDeployerApplicationManifestReader();
+
+	private final CompressedStringConverter compressedStringConverter = new CompressedStringConverter();
+
+	private String manifest;
+
+	private String compressedManifest;
+
+	@Setup
+	public void setup() throws IOException {
+		File directory = Files.createTempDirectory("skipper-benchmarks").toFile();
+		try {
+			Package pkg = StreamPackageFixtures.readPackage(
+					StreamPackageFixtures.writePackage(directory, "stream", "1.0.0", this.apps, "3.2.1"));
+			Release release = StreamPackageFixtures.release("stream", 1, pkg,
+					StreamPackageFixtures.configValues(this.apps, "3.2.1"), 1);
+			this.manifest = release.getManifest().getData();
+			this.compressedManifest = this.compressedStringConverter.convertToDatabaseColumn(this.manifest);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Benchmark
+	public List<SpringCloudDeployerApplicationManifest> readManifest() {
+		return this.manifestReader.read(this.manifest);
+	}
+
+	@Benchmark
+	public String sanitizeManifest() {
+		return ArgumentSanitizer.sanitizeYml(this.manifest);
+	}
+
+	@Benchmark
+	public String compressManifest() {
+		return this.compressedStringConverter.convertToDatabaseColumn(this.manifest);
+	}
+
+	@Benchmark
+	public String decompressManifest() {
+		return this.compressedStringConverter.convertToEntityAttribute(this.compressedManifest);
+	}
+
+	@Benchmark
+	public String hashManifest() {
+		return ContentBlob.hash(this.manifest);
+	}
+}
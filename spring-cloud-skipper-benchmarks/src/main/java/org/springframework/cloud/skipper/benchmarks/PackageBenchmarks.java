@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.server.util.ConfigValueUtils;
+import org.springframework.cloud.skipper.server.util.ManifestUtils;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmarks of reading a package and rendering its manifest, done on every install and
+ * upgrade.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageBenchmarks {
+
+	@Param({ "2", "5", "20" })
+	public int apps;
+
+	private File directory;
+
+	private File packageDirectory;
+
+	private Package pkg;
+
+	private ConfigValues configValues;
+
+	private Map<String, Object> model;
+
+	@Setup
+	public void setup() throws IOException {
+		this.directory = Files.createTempDirectory("skipper-benchmarks").toFile();
+		this.packageDirectory = StreamPackageFixtures.writePackage(this.directory, "stream", "1.0.0", this.apps,
+				"3.2.1");
+		this.pkg = StreamPackageFixtures.readPackage(this.packageDirectory);
+		this.configValues = StreamPackageFixtures.configValues(this.apps, "3.2.1");
+		this.model = ConfigValueUtils.mergeConfigValues(this.pkg, this.configValues);
+	}
+
+	@TearDown
+	public void tearDown() {
+		FileSystemUtils.deleteRecursively(this.directory);
+	}
+
+	@Benchmark
+	public Package readPackage() {
+		return StreamPackageFixtures.readPackage(this.packageDirectory);
+	}
+
+	@Benchmark
+	public Map<String, Object> mergeConfigValues() {
+		return ConfigValueUtils.mergeConfigValues(this.pkg, this.configValues);
+	}
+
+	@Benchmark
+	public String createManifest() {
+		return ManifestUtils.createManifest(this.pkg, this.model);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.Status;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalyzer;
+import org.springframework.cloud.skipper.support.PropertiesDiff;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmarks of the release handling done on upgrades and status requests: analyzing
+ * the differences between two releases, loading a stored release and parsing its
+ * platform status.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReleaseBenchmarks {
+
+	@Param({ "2", "5", "20" })
+	public int apps;
+
+	@Param({ "1", "4" })
+	public int instances;
+
+	private ReleaseAnalyzer releaseAnalyzer;
+
+	private Release existingRelease;
+
+	private Release replacingRelease;
+
+	private Status status;
+
+	private Map<String, String> existingProperties;
+
+	private Map<String, String> replacingProperties;
+
+	@Setup
+	public void setup() throws IOException {
+		SpringCloudDeployerApplicationManifestReader manifestReader = new SpringCloudDeployerApplicationManifestReader();
+		this.releaseAnalyzer = new ReleaseAnalyzer(manifestReader,
+				new DelegatingResourceLoader(Collections.singletonMap("maven", new DefaultResourceLoader())));
+		File directory = Files.createTempDirectory("skipper-benchmarks").toFile();
+		try {
+			Package existingPackage = StreamPackageFixtures.readPackage(
+					StreamPackageFixtures.writePackage(directory, "stream", "1.0.0", this.apps, "3.2.1"));
+			Package replacingPackage = StreamPackageFixtures.readPackage(
+					StreamPackageFixtures.writePackage(directory, "stream", "1.0.1", this.apps, "3.2.2"));
+			this.existingRelease = StreamPackageFixtures.release("stream", 1, existingPackage,
+					StreamPackageFixtures.configValues(this.apps, "3.2.1"), this.instances);
+			this.replacingRelease = StreamPackageFixtures.release("stream", 2, replacingPackage,
+					StreamPackageFixtures.configValues(this.apps, "3.2.2"), this.instances);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+		this.status = this.existingRelease.getInfo().getStatus();
+		this.existingProperties = applicationProperties(manifestReader, this.existingRelease);
+		this.replacingProperties = applicationProperties(manifestReader, this.replacingRelease);
+		this.replacingProperties.replaceAll((key, value) -> key.endsWith("partitionCount") ? "4" : value);
+	}
+
+	@Benchmark
+	public ReleaseAnalysisReport analyzeRelease() {
+		return this.releaseAnalyzer.analyze(this.existingRelease, this.replacingRelease, false,
+				Collections.emptyList());
+	}
+
+	@Benchmark
+	public PropertiesDiff diffProperties() {
+		return PropertiesDiff.builder().left(this.existingProperties).right(this.replacingProperties).build();
+	}
+
+	@Benchmark
+	public Release loadRelease() {
+		this.existingRelease.afterLoad();
+		return this.existingRelease;
+	}
+
+	@Benchmark
+	public List<AppStatus> parseAppStatuses() {
+		return this.status.getAppStatusList();
+	}
+
+	private static Map<String, String> applicationProperties(
+			SpringCloudDeployerApplicationManifestReader manifestReader, Release release) {
+		Map<String, String> properties = new HashMap<>();
+		for (SpringCloudDeployerApplicationManifest manifest : manifestReader.read(release.getManifest().getData())) {
+			manifest.getSpec().getApplicationProperties().forEach(
+					(key, value) -> properties.put(manifest.getApplicationName() + "." + key, value));
+		}
+		return properties;
+	}
+}
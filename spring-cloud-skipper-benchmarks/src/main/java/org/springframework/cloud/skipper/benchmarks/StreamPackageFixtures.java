@@ -0,0 +1,307 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.Status;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.io.DefaultPackageReader;
+import org.springframework.cloud.skipper.server.util.ConfigValueUtils;
+import org.springframework.cloud.skipper.server.util.ManifestUtils;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Fixtures modelled after the stream packages created by Data Flow: a package without
+ * templates of its own, having one dependent package per app of the stream, made of a
+ * source, a number of processors and a sink, each with a realistic amount of application
+ * and deployment properties.
+ */
+public class StreamPackageFixtures {
+
+	private StreamPackageFixtures() {
+	}
+
+	/**
+	 * Write the package of a stream to a directory, the way it is laid out in a package
+	 * repository.
+	 *
+	 * @param directory the directory to write the package to
+	 * @param streamName the name of the stream
+	 * @param packageVersion the version of the package
+	 * @param apps the number of apps of the stream, at least two
+	 * @param appVersion the version of the apps
+	 * @return the directory of the package
+	 */
+	public static File writePackage(File directory, String streamName, String packageVersion, int apps,
+			String appVersion) {
+		File packageDirectory = new File(directory, streamName + "-" + packageVersion);
+		FileSystemUtils.deleteRecursively(packageDirectory);
+		write(new File(packageDirectory, "package.yml"), packageMetadata(streamName, packageVersion,
+				"Stream " + streamName + " made of " + apps + " apps."));
+		write(new File(packageDirectory, "values.yml"), "# No values to override\n");
+		for (int i = 0; i < apps; i++) {
+			String appName = appName(i, apps);
+			File appDirectory = new File(packageDirectory, "packages/" + appName);
+			write(new File(appDirectory, "package.yml"),
+					packageMetadata(appName, appVersion, "The " + appName + " app of the " + streamName + " stream."));
+			write(new File(appDirectory, "templates/" + appName + ".yml"), appTemplate(appName, appType(i, apps)));
+			write(new File(appDirectory, "values.yml"), appValues(streamName, i, apps, appVersion));
+		}
+		return packageDirectory;
+	}
+
+	/**
+	 * Read the package of a stream written with {@link #writePackage}.
+	 *
+	 * @param packageDirectory the directory of the package
+	 * @return the package
+	 */
+	public static Package readPackage(File packageDirectory) {
+		return new DefaultPackageReader().read(packageDirectory);
+	}
+
+	/**
+	 * Values overriding some of the properties of every app of a stream, as passed in when
+	 * installing or upgrading it.
+	 *
+	 * @param apps the number of apps of the stream
+	 * @param appVersion the version of the apps
+	 * @return the config values
+	 */
+	public static ConfigValues configValues(int apps, String appVersion) {
+		StringBuilder yml = new StringBuilder();
+		for (int i = 0; i < apps; i++) {
+			yml.append(appName(i, apps)).append(":\n")
+					.append("  version: ").append(appVersion).append('\n')
+					.append("  spec:\n")
+					.append("    applicationProperties:\n")
+					.append("      logging.level.root: INFO\n")
+					.append("      spring.cloud.stream.bindings.output.producer.partitionCount: 2\n")
+					.append("    deploymentProperties:\n")
+					.append("      count: 2\n");
+		}
+		ConfigValues configValues = new ConfigValues();
+		configValues.setRaw(yml.toString());
+		return configValues;
+	}
+
+	/**
+	 * Create a deployed release of the given package, with its manifest rendered from the
+	 * package templates and the given config values.
+	 *
+	 * @param streamName the name of the stream
+	 * @param version the version of the release
+	 * @param pkg the package of the release
+	 * @param configValues the config values of the release
+	 * @param instances the number of instances of each app
+	 * @return the release
+	 */
+	public static Release release(String streamName, int version, Package pkg, ConfigValues configValues,
+			int instances) {
+		Map<String, Object> model = ConfigValueUtils.mergeConfigValues(pkg, configValues);
+		Manifest manifest = new Manifest();
+		manifest.setData(ManifestUtils.createManifest(pkg, model));
+		Status status = new Status();
+		status.setStatusCode(StatusCode.DEPLOYED);
+		status.setPlatformStatus(platformStatus(streamName, version, pkg.getDependencies().size(), instances));
+		Info info = new Info();
+		info.setStatus(status);
+		info.setFirstDeployed(new Date());
+		info.setLastDeployed(new Date());
+		info.setDescription("Upgrade complete");
+		Release release = new Release();
+		release.setName(streamName);
+		release.setVersion(version);
+		release.setPlatformName("default");
+		release.setPkg(pkg);
+		release.setConfigValues(configValues);
+		release.setManifest(manifest);
+		release.setInfo(info);
+		return release;
+	}
+
+	/**
+	 * Create the platform status json of a stream, as stored in the status of a release.
+	 *
+	 * @param streamName the name of the stream
+	 * @param version the version of the release
+	 * @param apps the number of apps of the stream
+	 * @param instances the number of instances of each app
+	 * @return the platform status json
+	 */
+	public static String platformStatus(String streamName, int version, int apps, int instances) {
+		List<AppStatus> appStatuses = new ArrayList<>();
+		for (int i = 0; i < apps; i++) {
+			String deploymentId = streamName + "." + appName(i, apps) + "-v" + version;
+			AppStatus.Builder builder = AppStatus.of(deploymentId);
+			for (int j = 0; j < instances; j++) {
+				builder.with(new InstanceStatus(deploymentId + "-" + j, 20000 + i * instances + j));
+			}
+			appStatuses.add(builder.build());
+		}
+		Status status = new Status();
+		status.setPlatformStatusAsAppStatusList(appStatuses);
+		return status.getPlatformStatus();
+	}
+
+	static String appName(int index, int apps) {
+		if (index == 0) {
+			return "http";
+		}
+		return (index == apps - 1) ? "jdbc" : "transform" + index;
+	}
+
+	private static String appType(int index, int apps) {
+		if (index == 0) {
+			return "source";
+		}
+		return (index == apps - 1) ? "sink" : "processor";
+	}
+
+	private static String packageMetadata(String name, String version, String description) {
+		return "apiVersion: skipper.spring.io/v1\n"
+				+ "kind: SkipperPackageMetadata\n"
+				+ "name: " + name + "\n"
+				+ "version: " + version + "\n"
+				+ "packageSourceUrl: https://example.com/dataflow/" + name + "\n"
+				+ "packageHomeUrl: https://example.com/dataflow/" + name + "\n"
+				+ "tags: stream\n"
+				+ "maintainer: https://example.com/dataflow\n"
+				+ "description: " + description + "\n";
+	}
+
+	private static String appTemplate(String appName, String appType) {
+		return "apiVersion: skipper.spring.io/v1\n"
+				+ "kind: SpringCloudDeployerApplication\n"
+				+ "metadata:\n"
+				+ "  name: " + appName + "\n"
+				+ "  type: " + appType + "\n"
+				+ "spec:\n"
+				+ "  resource: maven://org.springframework.cloud.stream.app:" + appName + "-" + appType + "-kafka\n"
+				+ "  resourceMetadata: maven://org.springframework.cloud.stream.app:" + appName + "-" + appType
+				+ "-kafka:jar:metadata:{{version}}\n"
+				+ "  version: {{version}}\n"
+				+ "  applicationProperties:\n"
+				+ "    {{#spec.applicationProperties.entrySet}}\n"
+				+ "    {{key}}: {{value}}\n"
+				+ "    {{/spec.applicationProperties.entrySet}}\n"
+				+ "  deploymentProperties:\n"
+				+ "    {{#spec.deploymentProperties.entrySet}}\n"
+				+ "    {{key}}: {{value}}\n"
+				+ "    {{/spec.deploymentProperties.entrySet}}\n";
+	}
+
+	private static String appValues(String streamName, int index, int apps, String appVersion) {
+		String appName = appName(index, apps);
+		StringBuilder yml = new StringBuilder()
+				.append("version: ").append(appVersion).append('\n')
+				.append("spec:\n")
+				.append("  applicationProperties:\n")
+				.append("    spring.cloud.dataflow.stream.name: ").append(streamName).append('\n')
+				.append("    spring.cloud.dataflow.stream.app.label: ").append(appName).append('\n')
+				.append("    spring.cloud.dataflow.stream.app.type: ").append(appType(index, apps)).append('\n')
+				.append("    spring.cloud.stream.metrics.key: ").append(streamName).append('.').append(appName)
+				.append(".${spring.cloud.application.guid}\n")
+				.append("    spring.cloud.stream.kafka.binder.brokers: kafka-0.kafka:9092,kafka-1.kafka:9092\n")
+				.append("    spring.cloud.stream.kafka.binder.zkNodes: zookeeper:2181\n")
+				.append("    spring.cloud.stream.kafka.binder.jaas.options.password: s3cr3t\n")
+				.append("    management.endpoints.web.exposure.include: 'health,info,bindings'\n")
+				.append("    management.metrics.tags.stream.name: ").append(streamName).append('\n')
+				.append("    management.metrics.tags.application.name: ").append(appName).append('\n')
+				.append("    spring.datasource.url: jdbc:postgresql://postgres:5432/dataflow\n")
+				.append("    spring.datasource.username: dataflow\n")
+				.append("    spring.datasource.password: s3cr3t\n")
+				.append("    server.port: 0\n");
+		if (index > 0) {
+			yml.append("    spring.cloud.stream.bindings.input.destination: ").append(streamName).append('.')
+					.append(appName(index - 1, apps)).append('\n')
+					.append("    spring.cloud.stream.bindings.input.group: ").append(streamName).append('\n');
+		}
+		if (index < apps - 1) {
+			yml.append("    spring.cloud.stream.bindings.output.destination: ").append(streamName).append('.')
+					.append(appName).append('\n');
+		}
+		return yml.append("  deploymentProperties:\n")
+				.append("    memory: 1024m\n")
+				.append("    disk: 2048m\n")
+				.append("    spring.cloud.deployer.cpu: 500m\n")
+				.append("    spring.cloud.deployer.group: ").append(streamName).append('\n')
+				.append("    spring.cloud.deployer.indexed: true\n")
+				.toString();
+	}
+
+	private static void write(File file, String content) {
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new SkipperException("Could not write " + file, e);
+		}
+	}
+
+	private static class InstanceStatus implements AppInstanceStatus {
+
+		private final String id;
+
+		private final Map<String, String> attributes = new HashMap<>();
+
+		InstanceStatus(String id, int port) {
+			this.id = id;
+			this.attributes.put("guid", id);
+			this.attributes.put("port", String.valueOf(port));
+			this.attributes.put("url", "http://10.0.0.1:" + port);
+			this.attributes.put("pid", String.valueOf(port + 1000));
+			this.attributes.put("working.dir", "/tmp/deployer/" + id);
+			this.attributes.put("stdout", "/tmp/deployer/" + id + "/stdout_0.log");
+			this.attributes.put("stderr", "/tmp/deployer/" + id + "/stderr_0.log");
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public DeploymentState getState() {
+			return DeploymentState.deployed;
+		}
+
+		@Override
+		public Map<String, String> getAttributes() {
+			return Collections.unmodifiableMap(this.attributes);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.benchmarks;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.server.util.ArgumentSanitizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StreamPackageFixtures}, making sure the benchmarks measure what they
+ * are meant to.
+ */
+public class StreamPackageFixturesTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void createsStreamRelease() {
+		Package pkg = StreamPackageFixtures.readPackage(
+				StreamPackageFixtures.writePackage(this.folder.getRoot(), "stream", "1.0.0", 4, "3.2.1"));
+		Release release = StreamPackageFixtures.release("stream", 1, pkg,
+				StreamPackageFixtures.configValues(4, "3.2.1"), 2);
+
+		assertThat(pkg.getDependencies()).hasSize(4);
+		assertThat(new SpringCloudDeployerApplicationManifestReader().read(release.getManifest().getData()))
+				.extracting(manifest -> manifest.getApplicationName())
+				.containsExactlyInAnyOrder("http", "transform1", "transform2", "jdbc");
+		assertThat(release.getManifest().getData()).contains("partitionCount: 2");
+		assertThat(ArgumentSanitizer.sanitizeYml(release.getManifest().getData())).doesNotContain("s3cr3t");
+		assertThat(release.getInfo().getStatus().getAppStatusList()).hasSize(4)
+				.allSatisfy(appStatus -> assertThat(appStatus.getInstances()).hasSize(2));
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.InstallRequest;
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * The default implementation of {@link ReactiveSkipperClient}, based on a
+ * {@link WebClient}. Errors answered by the server are mapped to the same exceptions as
+ * the ones thrown by {@link DefaultSkipperClient}.
+ */
+public class DefaultReactiveSkipperClient implements ReactiveSkipperClient {
+
+	private static final ParameterizedTypeReference<Map<String, Info>> STATUSES_TYPE =
+			new ParameterizedTypeReference<Map<String, Info>>() { };
+
+	private static final ParameterizedTypeReference<Map<String, Map<String, DeploymentState>>> STATES_TYPE =
+			new ParameterizedTypeReference<Map<String, Map<String, DeploymentState>>>() { };
+
+	private static final ParameterizedTypeReference<ServerSentEvent<ReleaseStatusEvent>> EVENT_TYPE =
+			new ParameterizedTypeReference<ServerSentEvent<ReleaseStatusEvent>>() { };
+
+	private final WebClient webClient;
+
+	private final SkipperClientResponseErrorHandler errorHandler;
+
+	/**
+	 * Instantiates a new reactive skipper client.
+	 *
+	 * @param baseUri the base uri of the Skipper server API
+	 * @param webClientBuilder the builder of the underlying web client
+	 * @param objectMapper the object mapper reading the errors answered by the server
+	 */
+	public DefaultReactiveSkipperClient(String baseUri, WebClient.Builder webClientBuilder,
+			ObjectMapper objectMapper) {
+		Assert.notNull(baseUri, "The provided baseURI must not be null.");
+		Assert.notNull(webClientBuilder, "The provided webClientBuilder must not be null.");
+		this.webClient = webClientBuilder.clone().baseUrl(baseUri).build();
+		this.errorHandler = new SkipperClientResponseErrorHandler(objectMapper);
+	}
+
+	@Override
+	public Mono<Info> status(String releaseName) {
+		return get(Info.class, "/release/status/{releaseName}", releaseName);
+	}
+
+	@Override
+	public Mono<Info> status(String releaseName, int releaseVersion) {
+		return get(Info.class, "/release/status/{releaseName}/{releaseVersion}", releaseName, releaseVersion);
+	}
+
+	@Override
+	public Mono<Map<String, Info>> statuses(String... releaseNames) {
+		return this.webClient.get()
+				.uri(builder -> builder.path("/release/statuses")
+						.queryParam("names", StringUtils.arrayToCommaDelimitedString(releaseNames)).build())
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToMono(STATUSES_TYPE);
+	}
+
+	@Override
+	public Mono<Map<String, Map<String, DeploymentState>>> states(String... releaseNames) {
+		return this.webClient.get()
+				.uri(builder -> builder.path("/release/states")
+						.queryParam("names", StringUtils.arrayToCommaDelimitedString(releaseNames)).build())
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToMono(STATES_TYPE);
+	}
+
+	@Override
+	public Mono<String> manifest(String releaseName) {
+		return get(Manifest.class, "/release/manifest/{releaseName}", releaseName).map(Manifest::getData);
+	}
+
+	@Override
+	public Mono<Release> install(InstallRequest installRequest) {
+		return post("/package/install", installRequest);
+	}
+
+	@Override
+	public Mono<Release> upgrade(UpgradeRequest upgradeRequest) {
+		return post("/release/upgrade", upgradeRequest);
+	}
+
+	@Override
+	public Mono<Void> delete(String releaseName, boolean deletePackage) {
+		return this.webClient.delete()
+				.uri(deletePackage ? "/release/{releaseName}/package" : "/release/{releaseName}", releaseName)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToMono(Void.class);
+	}
+
+	@Override
+	public Flux<ReleaseStatusEvent> events(String releaseNamePattern, String platformName) {
+		return this.webClient.get()
+				.uri(builder -> builder.path("/release/events")
+						.queryParamIfPresent("name", Optional.ofNullable(releaseNamePattern))
+						.queryParamIfPresent("platform", Optional.ofNullable(platformName)).build())
+				.accept(MediaType.TEXT_EVENT_STREAM)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToFlux(EVENT_TYPE)
+				// heartbeats are comments without data
+				.filter(event -> event.data() != null)
+				.map(ServerSentEvent::data);
+	}
+
+	private <T> Mono<T> get(Class<T> type, String uri, Object... uriVariables) {
+		return this.webClient.get()
+				.uri(uri, uriVariables)
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToMono(type);
+	}
+
+	private Mono<Release> post(String uri, Object request) {
+		return this.webClient.post()
+				.uri(uri)
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.bodyValue(request)
+				.retrieve()
+				.onStatus(HttpStatus::isError, this::toException)
+				.bodyToMono(Release.class);
+	}
+
+	private Mono<Throwable> toException(ClientResponse response) {
+		return response.bodyToMono(byte[].class)
+				.defaultIfEmpty(new byte[0])
+				.map(body -> {
+					try {
+						this.errorHandler.handleError(new ErrorResponse(response, body));
+					}
+					catch (RuntimeException | IOException e) {
+						return e;
+					}
+					return new IllegalStateException("Unhandled error response " + response.rawStatusCode());
+				});
+	}
+
+	/**
+	 * Adapts an error {@link ClientResponse} to the {@link ClientHttpResponse} read by
+	 * the {@link SkipperClientResponseErrorHandler}.
+	 */
+	private static class ErrorResponse implements ClientHttpResponse {
+
+		private final ClientResponse response;
+
+		private final byte[] body;
+
+		ErrorResponse(ClientResponse response, byte[] body) {
+			this.response = response;
+			this.body = body;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() {
+			return HttpStatus.valueOf(this.response.rawStatusCode());
+		}
+
+		@Override
+		public int getRawStatusCode() {
+			return this.response.rawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() {
+			HttpStatus status = HttpStatus.resolve(this.response.rawStatusCode());
+			return status != null ? status.getReasonPhrase() : "";
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.response.headers().asHttpHeaders();
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
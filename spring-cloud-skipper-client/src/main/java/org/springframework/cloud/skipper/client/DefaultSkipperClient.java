@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.client.util.ETagCachingInterceptor;
 import org.springframework.cloud.skipper.domain.AboutResource;
 import org.springframework.cloud.skipper.domain.ActuatorPostRequest;
 import org.springframework.cloud.skipper.domain.CancelRequest;
@@ -40,14 +41,19 @@ import org.springframework.cloud.skipper.domain.LogInfo;
 import org.springframework.cloud.skipper.domain.Manifest;
 import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.Repository;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
 import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.domain.UploadRequest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -75,17 +81,19 @@ public class DefaultSkipperClient implements SkipperClient {
 
 	/**
 	 * Create a new DefaultSkipperClient given the URL of the Server. This constructor will
-	 * create a new RestTemplate instance for communication.
+	 * create a new RestTemplate instance for communication, with an
+	 * {@link ETagCachingInterceptor} so that unchanged release statuses, manifests and
+	 * histories are not transferred again.
 	 *
 	 * @param baseUri the URL of the Server.
 	 */
 	public DefaultSkipperClient(String baseUri) {
-		this(baseUri, new RestTemplate());
+		this(baseUri, createRestTemplate());
 	}
 
 	/**
 	 * Create a new DefaultSkipperClient given the base URI of the Server and a preconfigured
-	 * RestTemplate.
+	 * RestTemplate, used as is.
 	 *
 	 * @param baseUri the URI of the Server.
 	 * @param restTemplate the template to use to make http calls to the server.
@@ -97,6 +105,12 @@ public class DefaultSkipperClient implements SkipperClient {
 		this.restTemplate = restTemplate;
 	}
 
+	private static RestTemplate createRestTemplate() {
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.getInterceptors().add(new ETagCachingInterceptor(ETagCachingInterceptor.DEFAULT_MAX_SIZE));
+		return restTemplate;
+	}
+
 	@Override
 	public Template getSpringCloudDeployerApplicationTemplate() {
 		org.springframework.core.io.Resource resource = new ClassPathResource(
@@ -360,6 +374,25 @@ public class DefaultSkipperClient implements SkipperClient {
 		return this.restTemplate.postForObject(url, upgradeRequest, Release.class);
 	}
 
+	@Override
+	public UpgradePlan planUpgrade(UpgradeRequest upgradeRequest) {
+		String url = String.format("%s/%s/%s", baseUri, "release", "upgrade/plan");
+		log.debug("Posting UpgradeRequest to " + url + ". UpgradeRequest = " + upgradeRequest);
+		return this.restTemplate.postForObject(url, upgradeRequest, UpgradePlan.class);
+	}
+
+	@Override
+	public List<ReleaseBatchResult> batch(ReleaseBatchRequest batchRequest) {
+		ParameterizedTypeReference<List<ReleaseBatchResult>> typeReference =
+				new ParameterizedTypeReference<List<ReleaseBatchResult>>() { };
+		String url = String.format("%s/%s/%s", baseUri, "release", "batch");
+		log.debug("Posting ReleaseBatchRequest to " + url + ". ReleaseBatchRequest = " + batchRequest);
+		HttpEntity<ReleaseBatchRequest> httpEntity = new HttpEntity<>(batchRequest);
+		ResponseEntity<List<ReleaseBatchResult>> responseEntity =
+				restTemplate.exchange(url, HttpMethod.POST, httpEntity, typeReference);
+		return responseEntity.getBody();
+	}
+
 	@Override
 	public void delete(String releaseName, boolean deletePackage) {
 		String url = null;
@@ -418,6 +451,27 @@ public class DefaultSkipperClient implements SkipperClient {
 		}
 	}
 
+	@Override
+	public PagedModel<ReleaseSummary> listSummaries(String releaseNameLike, int page, int size, String sort) {
+		ParameterizedTypeReference<PagedResponseWrapper<ReleaseSummariesResponseWrapper>> typeReference =
+			new ParameterizedTypeReference<PagedResponseWrapper<ReleaseSummariesResponseWrapper>>() { };
+		UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUri + "/release/summaries");
+		if (StringUtils.hasText(releaseNameLike)) {
+			builder.queryParam("name", releaseNameLike);
+		}
+		builder.queryParam("page", page);
+		builder.queryParam("size", size);
+		if (StringUtils.hasText(sort)) {
+			builder.queryParam("sort", sort);
+		}
+		PagedResponseWrapper<ReleaseSummariesResponseWrapper> body = this.restTemplate
+				.exchange(builder.build().toUri(), HttpMethod.GET, null, typeReference).getBody();
+		ReleaseSummariesResponseWrapper embedded = body.getEmbedded();
+		Collection<ReleaseSummary> content = embedded != null && embedded.getReleaseSummaries() != null
+				? embedded.getReleaseSummaries() : Collections.emptyList();
+		return PagedModel.of(content, body.getPage());
+	}
+
 	@Override
 	public Collection<Release> history(String releaseName) {
 		ParameterizedTypeReference<HateoasResponseWrapper<ReleasesResponseWrapper>> typeReference =
@@ -515,6 +569,18 @@ public class DefaultSkipperClient implements SkipperClient {
 		}
 	}
 
+	protected static class PagedResponseWrapper<T> extends HateoasResponseWrapper<T> {
+		private PagedModel.PageMetadata page;
+
+		public void setPage(PagedModel.PageMetadata page) {
+			this.page = page;
+		}
+
+		public PagedModel.PageMetadata getPage() {
+			return page;
+		}
+	}
+
 	protected static class RepositoriesResponseWrapper {
 		private Collection<Repository> repositories;
 
@@ -562,4 +628,16 @@ public class DefaultSkipperClient implements SkipperClient {
 			return releases;
 		}
 	}
+
+	protected static class ReleaseSummariesResponseWrapper {
+		private Collection<ReleaseSummary> releaseSummaries;
+
+		public void setReleaseSummaries(Collection<ReleaseSummary> releaseSummaries) {
+			this.releaseSummaries = releaseSummaries;
+		}
+
+		public Collection<ReleaseSummary> getReleaseSummaries() {
+			return releaseSummaries;
+		}
+	}
 }
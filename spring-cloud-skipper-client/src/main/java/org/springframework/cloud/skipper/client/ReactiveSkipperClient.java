@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client;
+
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.InstallRequest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+
+/**
+ * Non-blocking client side interface to communicate with the Skipper Server, covering
+ * the release lifecycle and status operations issued concurrently by callers managing
+ * many releases. The remaining operations are available through {@link SkipperClient}.
+ */
+public interface ReactiveSkipperClient {
+
+	/**
+	 * Return a status info of a last known release.
+	 *
+	 * @param releaseName the release name
+	 * @return the status info of a release
+	 */
+	Mono<Info> status(String releaseName);
+
+	/**
+	 * Return a status info of a release version.
+	 *
+	 * @param releaseName the release name
+	 * @param releaseVersion the release version
+	 * @return the status info of a release
+	 */
+	Mono<Info> status(String releaseName, int releaseVersion);
+
+	/**
+	 * Return the status info of the last known releases of the given names.
+	 *
+	 * @param releaseNames the release names
+	 * @return the status info of the releases, by release name
+	 */
+	Mono<Map<String, Info>> statuses(String... releaseNames);
+
+	/**
+	 * Return the deployment states of the applications of the last known releases of the
+	 * given names.
+	 *
+	 * @param releaseNames the release names
+	 * @return the application deployment states, by application name and release name
+	 */
+	Mono<Map<String, Map<String, DeploymentState>>> states(String... releaseNames);
+
+	/**
+	 * Return the manifest of the last known release.
+	 *
+	 * @param releaseName the release name
+	 * @return the manifest
+	 */
+	Mono<String> manifest(String releaseName);
+
+	/**
+	 * Install the package.
+	 *
+	 * @param installRequest the package install request
+	 * @return the installed {@link Release}
+	 */
+	Mono<Release> install(InstallRequest installRequest);
+
+	/**
+	 * Upgrade a release.
+	 *
+	 * @param upgradeRequest the upgrade request
+	 * @return the upgraded {@link Release}
+	 */
+	Mono<Release> upgrade(UpgradeRequest upgradeRequest);
+
+	/**
+	 * Delete a specific release.
+	 *
+	 * @param releaseName the release name
+	 * @param deletePackage whether to delete the package of the release
+	 * @return completion of the deletion
+	 */
+	Mono<Void> delete(String releaseName, boolean deletePackage);
+
+	/**
+	 * Stream the status changes of the releases.
+	 *
+	 * @param releaseNamePattern the release name pattern, supporting {@code *} wildcards,
+	 * or {@code null} for all releases
+	 * @param platformName the platform name, or {@code null} for all platforms
+	 * @return the release status events
+	 */
+	Flux<ReleaseStatusEvent> events(String releaseNamePattern, String platformName);
+}
@@ -30,12 +30,17 @@ import org.springframework.cloud.skipper.domain.InstallRequest;
 import org.springframework.cloud.skipper.domain.LogInfo;
 import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.Repository;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
 import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.domain.UploadRequest;
+import org.springframework.hateoas.PagedModel;
 
 /**
  * The main client side interface to communicate with the Skipper Server.
@@ -84,6 +89,22 @@ public interface SkipperClient {
 	 */
 	Release upgrade(UpgradeRequest upgradeRequest);
 
+	/**
+	 * Plan an upgrade without deploying anything. The plan can be applied by setting its id
+	 * on a following {@link UpgradeRequest}.
+	 * @param upgradeRequest the request to upgrade the release
+	 * @return the {@link UpgradePlan}
+	 */
+	UpgradePlan planUpgrade(UpgradeRequest upgradeRequest);
+
+	/**
+	 * Execute install, upgrade and delete operations on many releases in a single request.
+	 * Operations on different releases are executed concurrently by the server.
+	 * @param batchRequest the batch request
+	 * @return the result of each operation in completion order
+	 */
+	List<ReleaseBatchResult> batch(ReleaseBatchRequest batchRequest);
+
 	/**
 	 * Upload the package.
 	 *
@@ -141,6 +162,20 @@ public interface SkipperClient {
 	 */
 	List<Release> list(String releaseNameLike);
 
+	/**
+	 * List a page of summaries of every release version with status of deployed or
+	 * failed, not only the latest version of each release. Summaries only hold the release
+	 * fields needed for listing, without loading package content or manifests on the
+	 * server side.
+	 *
+	 * @param releaseNameLike the wildcard name of releases to search for
+	 * @param page the zero based page number
+	 * @param size the page size
+	 * @param sort the sort criteria, e.g. {@code name,asc}, defaults to name and version
+	 * @return the page of matching release summaries
+	 */
+	PagedModel<ReleaseSummary> listSummaries(String releaseNameLike, int page, int size, String sort);
+
 	/**
 	 * List all releases for the given release name.
 	 *
@@ -16,14 +16,23 @@
 package org.springframework.cloud.skipper.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.skipper.client.util.ETagCachingInterceptor;
+import org.springframework.cloud.skipper.client.util.HttpClientConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * Client's configuration class.
@@ -41,8 +50,17 @@ public class SkipperClientConfiguration {
 	public final static String SKIPPERCLIENT_RESTTEMPLATE_BEAN_NAME = "skipperClientRestTemplate";
 
 	@Bean(name = SKIPPERCLIENT_RESTTEMPLATE_BEAN_NAME)
-	public RestTemplate skipperClientRestTemplate(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper) {
+	public RestTemplate skipperClientRestTemplate(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+			SkipperClientProperties properties) {
+		SkipperClientProperties.Http http = properties.getHttp();
 		RestTemplate restTemplate = restTemplateBuilder
+				.requestFactory(() -> HttpClientConfigurer.create()
+						.maxConnections(http.getMaxConnections(), http.getMaxConnectionsPerRoute())
+						.evictIdleConnections(http.getMaxIdleTime())
+						.compression(http.isRequestCompression(), http.isResponseCompression())
+						.buildClientHttpRequestFactory())
+				// unchanged release statuses, manifests and histories are not transferred again
+				.additionalInterceptors(new ETagCachingInterceptor(ETagCachingInterceptor.DEFAULT_MAX_SIZE))
 				.errorHandler(new SkipperClientResponseErrorHandler(objectMapper)).build();
 		return validateRestTemplate(restTemplate);
 	}
@@ -68,4 +86,39 @@ public class SkipperClientConfiguration {
 		return restTemplate;
 	}
 
+	/**
+	 * Configuration of the {@link ReactiveSkipperClient}, when WebFlux and Reactor Netty
+	 * are on the classpath.
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass({ WebClient.class, HttpClient.class })
+	static class ReactiveSkipperClientConfiguration {
+
+		@Bean(destroyMethod = "dispose")
+		public ConnectionProvider skipperClientConnectionProvider(SkipperClientProperties properties) {
+			SkipperClientProperties.Http http = properties.getHttp();
+			// Reactor Netty pools connections per remote address, so per route
+			return ConnectionProvider.builder("skipper-client")
+					.maxConnections(http.getMaxConnectionsPerRoute())
+					.maxIdleTime(http.getMaxIdleTime())
+					.evictInBackground(http.getMaxIdleTime())
+					.build();
+		}
+
+		@Bean
+		public ReactiveSkipperClient reactiveSkipperClient(SkipperClientProperties properties,
+				ConnectionProvider skipperClientConnectionProvider, ObjectProvider<WebClient.Builder> webClientBuilder,
+				ObjectMapper objectMapper) {
+			SkipperClientProperties.Http http = properties.getHttp();
+			HttpClient httpClient = HttpClient.create(skipperClientConnectionProvider)
+					.compress(http.isResponseCompression());
+			if (http.isHttp2()) {
+				HttpProtocol http2 = properties.getServerUri().startsWith("https") ? HttpProtocol.H2 : HttpProtocol.H2C;
+				httpClient = httpClient.protocol(http2, HttpProtocol.HTTP11);
+			}
+			WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder).clone()
+					.clientConnector(new ReactorClientHttpConnector(httpClient));
+			return new DefaultReactiveSkipperClient(properties.getServerUri(), builder, objectMapper);
+		}
+	}
 }
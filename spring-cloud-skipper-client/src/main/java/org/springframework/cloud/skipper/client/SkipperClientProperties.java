@@ -15,6 +15,8 @@
  */
 package org.springframework.cloud.skipper.client;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -52,6 +54,8 @@ public class SkipperClientProperties {
 
 	private String credentialsProviderCommand = DEFAULT_CREDENTIALS_PROVIDER_COMMAND;
 
+	private Http http = new Http();
+
 	public String getServerUri() {
 		return serverUri;
 	}
@@ -91,4 +95,97 @@ public class SkipperClientProperties {
 	public void setUsername(String username) {
 		this.username = username;
 	}
+
+	public Http getHttp() {
+		return http;
+	}
+
+	public void setHttp(Http http) {
+		this.http = http;
+	}
+
+	/**
+	 * Settings of the HTTP connections to the Skipper server.
+	 */
+	public static class Http {
+
+		/**
+		 * Maximum number of pooled connections.
+		 */
+		private int maxConnections = 200;
+
+		/**
+		 * Maximum number of pooled connections to a single route, so to the Skipper server.
+		 */
+		private int maxConnectionsPerRoute = 50;
+
+		/**
+		 * Time after which idle pooled connections are closed.
+		 */
+		private Duration maxIdleTime = Duration.ofSeconds(30);
+
+		/**
+		 * Whether request bodies are sent gzip encoded by the blocking client. Requires a
+		 * server accepting them.
+		 */
+		private boolean requestCompression = false;
+
+		/**
+		 * Whether compressed responses are requested.
+		 */
+		private boolean responseCompression = true;
+
+		/**
+		 * Whether the reactive client negotiates HTTP/2, falling back to HTTP/1.1.
+		 */
+		private boolean http2 = false;
+
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public int getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Duration getMaxIdleTime() {
+			return maxIdleTime;
+		}
+
+		public void setMaxIdleTime(Duration maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+		}
+
+		public boolean isRequestCompression() {
+			return requestCompression;
+		}
+
+		public void setRequestCompression(boolean requestCompression) {
+			this.requestCompression = requestCompression;
+		}
+
+		public boolean isResponseCompression() {
+			return responseCompression;
+		}
+
+		public void setResponseCompression(boolean responseCompression) {
+			this.responseCompression = responseCompression;
+		}
+
+		public boolean isHttp2() {
+			return http2;
+		}
+
+		public void setHttp2(boolean http2) {
+			this.http2 = http2;
+		}
+	}
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ClientHttpRequestInterceptor} caching the {@code GET} responses carrying an
+ * {@code ETag}. Following requests for the same resource are sent with an
+ * {@code If-None-Match} header and a {@code 304 Not Modified} answer is replaced by the
+ * cached response, so unchanged resources are neither transferred nor, on the server,
+ * computed again.
+ */
+public class ETagCachingInterceptor implements ClientHttpRequestInterceptor {
+
+	/**
+	 * Default maximum number of cached responses.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	private final Map<String, CachedResponse> responses;
+
+	/**
+	 * Instantiates a new ETag caching interceptor.
+	 *
+	 * @param maxSize the maximum number of cached responses
+	 */
+	public ETagCachingInterceptor(int maxSize) {
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than zero");
+		this.responses = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		if (request.getMethod() != HttpMethod.GET) {
+			return execution.execute(request, body);
+		}
+		String key = request.getURI() + " " + request.getHeaders().getAccept();
+		CachedResponse cached = this.responses.get(key);
+		if (cached != null) {
+			request.getHeaders().setIfNoneMatch(cached.headers.getETag());
+		}
+		ClientHttpResponse response = execution.execute(request, body);
+		if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+			response.close();
+			return cached;
+		}
+		String eTag = response.getHeaders().getETag();
+		if (response.getRawStatusCode() != HttpStatus.OK.value() || eTag == null || eTag.startsWith("W/")) {
+			if (cached != null) {
+				this.responses.remove(key);
+			}
+			return response;
+		}
+		try {
+			cached = new CachedResponse(response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()));
+		}
+		finally {
+			response.close();
+		}
+		this.responses.put(key, cached);
+		return cached;
+	}
+
+	private static class CachedResponse implements ClientHttpResponse {
+
+		private final HttpHeaders headers;
+
+		private final byte[] body;
+
+		CachedResponse(HttpHeaders headers, byte[] body) {
+			HttpHeaders copy = new HttpHeaders();
+			copy.putAll(headers);
+			this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+			this.body = body;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() {
+			return HttpStatus.OK;
+		}
+
+		@Override
+		public int getRawStatusCode() {
+			return HttpStatus.OK.value();
+		}
+
+		@Override
+		public String getStatusText() {
+			return HttpStatus.OK.getReasonPhrase();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * {@link HttpRequestInterceptor} gzip encoding the request bodies larger than a
+ * threshold. Small bodies are sent as is, as compressing them would not pay off.
+ */
+public class GzipRequestInterceptor implements HttpRequestInterceptor {
+
+	/**
+	 * Size in bytes under which request bodies are not compressed.
+	 */
+	public static final int DEFAULT_MIN_SIZE = 2048;
+
+	private final int minSize;
+
+	/**
+	 * Instantiates a new gzip request interceptor with the default threshold.
+	 */
+	public GzipRequestInterceptor() {
+		this(DEFAULT_MIN_SIZE);
+	}
+
+	/**
+	 * Instantiates a new gzip request interceptor.
+	 *
+	 * @param minSize the size in bytes under which request bodies are not compressed
+	 */
+	public GzipRequestInterceptor(int minSize) {
+		this.minSize = minSize;
+	}
+
+	@Override
+	public void process(HttpRequest request, HttpContext context) {
+		if (!(request instanceof HttpEntityEnclosingRequest) || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+			return;
+		}
+		HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+		HttpEntity entity = entityRequest.getEntity();
+		if (entity == null || entity.getContentEncoding() != null
+				|| (entity.getContentLength() >= 0 && entity.getContentLength() < this.minSize)) {
+			return;
+		}
+		entityRequest.setEntity(new GzipCompressingEntity(entity));
+	}
+}
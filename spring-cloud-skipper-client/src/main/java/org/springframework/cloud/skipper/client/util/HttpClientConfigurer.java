@@ -16,6 +16,8 @@
 package org.springframework.cloud.skipper.client.util;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequestInterceptor;
@@ -40,6 +42,11 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
  * {@link org.springframework.web.client.RestTemplate} using
  * {@link #buildClientHttpRequestFactory()}.
  *
+ * <p>
+ * Connections are pooled, by default with at most 2 connections per route. Callers
+ * issuing many concurrent requests against the same server should raise this limit
+ * using {@link #maxConnections(int, int)}.
+ *
  * @author Mike Heath
  */
 public class HttpClientConfigurer {
@@ -95,6 +102,54 @@ public class HttpClientConfigurer {
 		return this;
 	}
 
+	/**
+	 * Sets the size of the connection pool.
+	 *
+	 * @param maxTotal the maximum number of pooled connections
+	 * @param maxPerRoute the maximum number of pooled connections to a single route
+	 * @return a reference to {@code this} to enable chained method invocation
+	 */
+	public HttpClientConfigurer maxConnections(int maxTotal, int maxPerRoute) {
+		httpClientBuilder.setMaxConnTotal(maxTotal);
+		httpClientBuilder.setMaxConnPerRoute(maxPerRoute);
+
+		return this;
+	}
+
+	/**
+	 * Evicts the pooled connections idle for longer than the given time, and the expired
+	 * ones, from a background thread.
+	 *
+	 * @param maxIdleTime the maximum time a connection may stay idle in the pool
+	 * @return a reference to {@code this} to enable chained method invocation
+	 */
+	public HttpClientConfigurer evictIdleConnections(Duration maxIdleTime) {
+		httpClientBuilder.evictExpiredConnections();
+		httpClientBuilder.evictIdleConnections(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS);
+
+		return this;
+	}
+
+	/**
+	 * Configures the compression of the exchanged content.
+	 *
+	 * @param requestCompression whether request bodies are sent gzip encoded
+	 * @param responseCompression whether compressed responses are requested and decoded
+	 * @return a reference to {@code this} to enable chained method invocation
+	 * @see GzipRequestInterceptor
+	 */
+	public HttpClientConfigurer compression(boolean requestCompression, boolean responseCompression) {
+		if (requestCompression) {
+			// First, so that the content headers are derived from the compressed entity
+			httpClientBuilder.addInterceptorFirst(new GzipRequestInterceptor());
+		}
+		if (!responseCompression) {
+			httpClientBuilder.disableContentCompression();
+		}
+
+		return this;
+	}
+
 	public HttpClientConfigurer addInterceptor(HttpRequestInterceptor interceptor) {
 		httpClientBuilder.addInterceptorLast(interceptor);
 
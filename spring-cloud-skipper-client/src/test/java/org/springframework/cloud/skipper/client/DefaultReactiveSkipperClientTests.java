@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DefaultReactiveSkipperClient}.
+ */
+public class DefaultReactiveSkipperClientTests {
+
+	private final String ERROR = "{\"timestamp\":1508161424577," +
+			"\"status\":404," +
+			"\"error\":\"Not Found\"," +
+			"\"exception\":\"org.springframework.cloud.skipper.ReleaseNotFoundException\"," +
+			"\"message\":\"Release not found\",\"path\":\"/api/status/mylog\",\"releaseName\":\"mylog\"}";
+
+	private final List<ClientRequest> requests = new ArrayList<>();
+
+	@Test
+	public void testStatus() {
+		ReactiveSkipperClient skipperClient = client(HttpStatus.OK, MediaType.APPLICATION_JSON, "{}");
+
+		Info status = skipperClient.status("mylog").block();
+
+		assertThat(status).isNotNull();
+		assertThat(this.requests.get(0).url().toString()).isEqualTo("http://localhost:7577/api/release/status/mylog");
+	}
+
+	@Test
+	public void testStatusReleaseNameNotFound() {
+		ReactiveSkipperClient skipperClient = client(HttpStatus.NOT_FOUND, MediaType.APPLICATION_JSON, ERROR);
+
+		assertThatThrownBy(() -> skipperClient.status("mylog").block())
+				.isInstanceOf(ReleaseNotFoundException.class);
+	}
+
+	@Test
+	public void testDeleteReleaseWithPackageDeletion() {
+		ReactiveSkipperClient skipperClient = client(HttpStatus.OK, MediaType.APPLICATION_JSON, "");
+
+		skipperClient.delete("mylog", true).block();
+
+		assertThat(this.requests.get(0).method()).isEqualTo(HttpMethod.DELETE);
+		assertThat(this.requests.get(0).url().getPath()).isEqualTo("/api/release/mylog/package");
+	}
+
+	@Test
+	public void testEventsSkipHeartbeats() {
+		String body = "id:1\ndata:{\"id\":1,\"name\":\"mylog\",\"version\":2,\"statusCode\":\"DEPLOYED\"}\n\n"
+				+ ":heartbeat\n\n"
+				+ "id:2\ndata:{\"id\":2,\"name\":\"mylog\",\"version\":3,\"statusCode\":\"FAILED\"}\n\n";
+		ReactiveSkipperClient skipperClient = client(HttpStatus.OK, MediaType.TEXT_EVENT_STREAM, body);
+
+		List<ReleaseStatusEvent> events = skipperClient.events("my*", null).collectList().block();
+
+		assertThat(events).extracting(ReleaseStatusEvent::getVersion).containsExactly(2, 3);
+		assertThat(this.requests.get(0).url().getQuery()).isEqualTo("name=my*");
+	}
+
+	private ReactiveSkipperClient client(HttpStatus status, MediaType contentType, String body) {
+		WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+			this.requests.add(request);
+			return Mono.just(ClientResponse.create(status)
+					.header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+					.body(body)
+					.build());
+		});
+		return new DefaultReactiveSkipperClient("http://localhost:7577/api", builder, new ObjectMapper());
+	}
+}
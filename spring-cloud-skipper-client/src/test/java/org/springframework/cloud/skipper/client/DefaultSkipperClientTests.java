@@ -25,11 +25,20 @@ import org.junit.Test;
 import org.springframework.cloud.skipper.PackageDeleteException;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
 import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.client.util.ETagCachingInterceptor;
 import org.springframework.cloud.skipper.domain.ActuatorPostRequest;
+import org.springframework.cloud.skipper.domain.DeleteProperties;
 import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.LogInfo;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchOperation;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
@@ -37,6 +46,7 @@ import org.springframework.web.client.RestTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
@@ -93,6 +103,34 @@ public class DefaultSkipperClientTests {
 		assertThat(status).isInstanceOf(Info.class);
 	}
 
+	@Test
+	public void testStatusNotModified() {
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.getInterceptors().add(new ETagCachingInterceptor(ETagCachingInterceptor.DEFAULT_MAX_SIZE));
+		SkipperClient skipperClient = new DefaultSkipperClient("", restTemplate);
+
+		MockRestServiceServer mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"1\"");
+		mockServer.expect(requestTo("/release/status/mylog"))
+				.andRespond(withSuccess("{\"description\":\"Install complete\"}", MediaType.APPLICATION_JSON)
+						.headers(headers));
+		mockServer.expect(requestTo("/release/status/mylog")).andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+		assertThat(skipperClient.status("mylog").getDescription()).isEqualTo("Install complete");
+		assertThat(skipperClient.status("mylog").getDescription()).isEqualTo("Install complete");
+		mockServer.verify();
+	}
+
+	@Test
+	public void testProvidedRestTemplateNotModified() {
+		RestTemplate restTemplate = new RestTemplate();
+		new DefaultSkipperClient("", restTemplate);
+
+		assertThat(restTemplate.getInterceptors()).isEmpty();
+	}
+
 	@Test(expected = ReleaseNotFoundException.class)
 	public void testStatusReleaseNameNotFound() {
 		RestTemplate restTemplate = new RestTemplate();
@@ -214,6 +252,55 @@ public class DefaultSkipperClientTests {
 		assertThat(list).isEmpty();
 	}
 
+	@Test
+	public void testBatch() {
+		RestTemplate restTemplate = new RestTemplate();
+		SkipperClient skipperClient = new DefaultSkipperClient("", restTemplate);
+
+		MockRestServiceServer mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+		mockServer
+				.expect(requestTo("/release/batch"))
+				.andExpect(content().json(
+						"{\"operations\":[{\"type\":\"DELETE\",\"deleteReleaseName\":\"mylog\"}]}"))
+				.andRespond(withSuccess("[{\"releaseName\":\"mylog\",\"type\":\"DELETE\",\"success\":true}]",
+						MediaType.APPLICATION_JSON));
+
+		ReleaseBatchRequest batchRequest = new ReleaseBatchRequest(Collections.singletonList(
+				ReleaseBatchOperation.delete("mylog", new DeleteProperties())));
+		List<ReleaseBatchResult> results = skipperClient.batch(batchRequest);
+		mockServer.verify();
+
+		assertThat(results).hasSize(1);
+		assertThat(results.get(0).getReleaseName()).isEqualTo("mylog");
+		assertThat(results.get(0).isSuccess()).isTrue();
+	}
+
+	@Test
+	public void testPlanUpgrade() {
+		RestTemplate restTemplate = new RestTemplate();
+		SkipperClient skipperClient = new DefaultSkipperClient("", restTemplate);
+
+		MockRestServiceServer mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+		mockServer
+				.expect(requestTo("/release/upgrade/plan"))
+				.andExpect(content().json("{\"upgradeProperties\":{\"releaseName\":\"mylog\"}}"))
+				.andRespond(withSuccess("{\"id\":\"abc\",\"releaseName\":\"mylog\",\"existingVersion\":1,"
+						+ "\"replacingVersion\":2,\"applicationNamesToUpgrade\":[\"log\"],"
+						+ "\"changedProperties\":{\"log\":[\"log.level\"]}}", MediaType.APPLICATION_JSON));
+
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName("mylog");
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		UpgradePlan plan = skipperClient.planUpgrade(upgradeRequest);
+		mockServer.verify();
+
+		assertThat(plan.getId()).isEqualTo("abc");
+		assertThat(plan.getReplacingVersion()).isEqualTo(2);
+		assertThat(plan.getApplicationNamesToUpgrade()).containsExactly("log");
+		assertThat(plan.getChangedProperties().get("log")).containsExactly("log.level");
+	}
+
 	@Test
 	public void testActuatorGet() {
 		RestTemplate restTemplate = new RestTemplate();
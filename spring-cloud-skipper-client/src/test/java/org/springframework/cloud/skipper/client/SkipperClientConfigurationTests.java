@@ -23,9 +23,11 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.skipper.client.util.ETagCachingInterceptor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,6 +49,18 @@ public class SkipperClientConfigurationTests {
 		assertThat(context.containsBean(SkipperClientConfiguration.SKIPPERCLIENT_RESTTEMPLATE_BEAN_NAME)).isTrue();
 	}
 
+	@Test
+	public void testRestTemplateCachesETags() {
+		RestTemplate restTemplate = context.getBean(SkipperClientConfiguration.SKIPPERCLIENT_RESTTEMPLATE_BEAN_NAME,
+				RestTemplate.class);
+		assertThat(restTemplate.getInterceptors()).hasAtLeastOneElementOfType(ETagCachingInterceptor.class);
+	}
+
+	@Test
+	public void testReactiveClient() {
+		assertThat(context.getBean(ReactiveSkipperClient.class)).isInstanceOf(DefaultReactiveSkipperClient.class);
+	}
+
 	@Configuration
 	@ImportAutoConfiguration(classes = { JacksonAutoConfiguration.class, RestTemplateAutoConfiguration.class,
 			SkipperClientConfiguration.class })
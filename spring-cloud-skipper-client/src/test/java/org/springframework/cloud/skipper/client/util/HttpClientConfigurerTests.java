@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.client.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HttpClientConfigurer}.
+ */
+public class HttpClientConfigurerTests {
+
+	private HttpServer server;
+
+	private String contentEncoding;
+
+	private String body;
+
+	@Before
+	public void setup() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+	}
+
+	@After
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	@Test
+	public void compressesLargeRequestBodies() {
+		RestTemplate restTemplate = restTemplate(true);
+		String largeBody = largeBody();
+
+		restTemplate.postForObject(uri(), largeBody, String.class);
+		assertThat(this.contentEncoding).isEqualTo("gzip");
+		assertThat(this.body).isEqualTo(largeBody);
+
+		restTemplate.postForObject(uri(), "{\"name\":\"log\"}", String.class);
+		assertThat(this.contentEncoding).isNull();
+		assertThat(this.body).isEqualTo("{\"name\":\"log\"}");
+	}
+
+	@Test
+	public void sendsRequestBodiesAsIsByDefault() {
+		String largeBody = largeBody();
+
+		restTemplate(false).postForObject(uri(), largeBody, String.class);
+		assertThat(this.contentEncoding).isNull();
+		assertThat(this.body).isEqualTo(largeBody);
+	}
+
+	private RestTemplate restTemplate(boolean requestCompression) {
+		return new RestTemplate(HttpClientConfigurer.create()
+				.maxConnections(10, 5)
+				.evictIdleConnections(Duration.ofSeconds(30))
+				.compression(requestCompression, true)
+				.buildClientHttpRequestFactory());
+	}
+
+	private static String largeBody() {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			body.append("{\"name\":\"log\"}");
+		}
+		return body.toString();
+	}
+
+	private String uri() {
+		return "http://localhost:" + this.server.getAddress().getPort() + "/api/release/upgrade";
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		this.contentEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+		InputStream in = exchange.getRequestBody();
+		if ("gzip".equals(this.contentEncoding)) {
+			in = new GZIPInputStream(in);
+		}
+		this.body = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(200, -1);
+		exchange.close();
+	}
+}
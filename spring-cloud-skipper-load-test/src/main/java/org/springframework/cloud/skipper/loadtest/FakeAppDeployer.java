@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppScaleRequest;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.deployer.spi.app.MultiStateAppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link AppDeployer} keeping its deployments in memory, taking a configurable time to
+ * deploy, undeploy and report the status of the apps, and failing a configurable ratio of
+ * the deployments.
+ */
+public class FakeAppDeployer implements MultiStateAppDeployer {
+
+	private final LoadTestProperties.Platform properties;
+
+	private final Map<String, Integer> deployments = new ConcurrentHashMap<>();
+
+	private final AtomicLong deployCount = new AtomicLong();
+
+	private final AtomicLong undeployCount = new AtomicLong();
+
+	private final AtomicLong statusCount = new AtomicLong();
+
+	public FakeAppDeployer(LoadTestProperties.Platform properties) {
+		Assert.notNull(properties, "'properties' must be set");
+		this.properties = properties;
+	}
+
+	@Override
+	public String deploy(AppDeploymentRequest request) {
+		this.deployCount.incrementAndGet();
+		sleep(this.properties.getDeployLatency());
+		String group = request.getDeploymentProperties().get(GROUP_PROPERTY_KEY);
+		String name = request.getDefinition().getName();
+		String deploymentId = StringUtils.hasText(group) ? group + "-" + name : name;
+		if (ThreadLocalRandom.current().nextDouble() < this.properties.getFailureRate()) {
+			throw new IllegalStateException("Simulated failure deploying " + deploymentId);
+		}
+		String count = request.getDeploymentProperties().get(COUNT_PROPERTY_KEY);
+		this.deployments.put(deploymentId,
+				StringUtils.hasText(count) ? Integer.parseInt(count) : this.properties.getInstances());
+		return deploymentId;
+	}
+
+	@Override
+	public void undeploy(String id) {
+		this.undeployCount.incrementAndGet();
+		sleep(this.properties.getUndeployLatency());
+		if (this.deployments.remove(id) == null) {
+			throw new IllegalStateException(String.format("App with deploymentId %s is not in a deployed state.", id));
+		}
+	}
+
+	@Override
+	public AppStatus status(String id) {
+		this.statusCount.incrementAndGet();
+		sleep(this.properties.getStatusLatency());
+		return appStatus(id);
+	}
+
+	@Override
+	public Map<String, DeploymentState> states(String... ids) {
+		this.statusCount.incrementAndGet();
+		sleep(this.properties.getStatusLatency());
+		Map<String, DeploymentState> states = new HashMap<>();
+		for (String id : ids) {
+			states.put(id, this.deployments.containsKey(id) ? DeploymentState.deployed : DeploymentState.unknown);
+		}
+		return states;
+	}
+
+	@Override
+	public void scale(AppScaleRequest appScaleRequest) {
+		sleep(this.properties.getDeployLatency());
+		this.deployments.computeIfPresent(appScaleRequest.getDeploymentId(), (id, count) -> appScaleRequest.getCount());
+	}
+
+	@Override
+	public String getLog(String id) {
+		return "Log of " + id;
+	}
+
+	@Override
+	public RuntimeEnvironmentInfo environmentInfo() {
+		return new RuntimeEnvironmentInfo.Builder()
+				.spiClass(AppDeployer.class)
+				.implementationName(getClass().getSimpleName())
+				.implementationVersion("1.0")
+				.platformType("Fake")
+				.platformApiVersion("1.0")
+				.platformClientVersion("1.0")
+				.platformHostVersion("1.0")
+				.build();
+	}
+
+	/**
+	 * Get the number of deploy requests received.
+	 *
+	 * @return the number of deploy requests
+	 */
+	public long getDeployCount() {
+		return this.deployCount.get();
+	}
+
+	/**
+	 * Get the number of undeploy requests received.
+	 *
+	 * @return the number of undeploy requests
+	 */
+	public long getUndeployCount() {
+		return this.undeployCount.get();
+	}
+
+	/**
+	 * Get the number of status requests received, either for a single or multiple apps.
+	 *
+	 * @return the number of status requests
+	 */
+	public long getStatusCount() {
+		return this.statusCount.get();
+	}
+
+	/**
+	 * Get the number of currently deployed apps.
+	 *
+	 * @return the number of deployed apps
+	 */
+	public int getDeployedApps() {
+		return this.deployments.size();
+	}
+
+	private AppStatus appStatus(String id) {
+		Integer instances = this.deployments.get(id);
+		if (instances == null) {
+			return AppStatus.of(id).generalState(DeploymentState.unknown).build();
+		}
+		AppStatus.Builder builder = AppStatus.of(id);
+		for (int i = 0; i < instances; i++) {
+			builder.with(new FakeInstanceStatus(id + "-" + i));
+		}
+		return builder.build();
+	}
+
+	private static void sleep(Duration duration) {
+		if (duration == null || duration.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(duration.toMillis());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class FakeInstanceStatus implements AppInstanceStatus {
+
+		private final String id;
+
+		FakeInstanceStatus(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public DeploymentState getState() {
+			return DeploymentState.deployed;
+		}
+
+		@Override
+		public Map<String, String> getAttributes() {
+			return Collections.singletonMap("guid", this.id);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.deployer.spi.cloudfoundry.CloudFoundryDeployerAutoConfiguration;
+import org.springframework.cloud.deployer.spi.kubernetes.KubernetesAutoConfiguration;
+import org.springframework.cloud.deployer.spi.local.LocalDeployerAutoConfiguration;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Platform;
+import org.springframework.cloud.skipper.server.EnableSkipperServer;
+import org.springframework.cloud.skipper.server.autoconfigure.ProfileApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Runs a Skipper server backed by an embedded database and deploying to a fake platform,
+ * drives the load test against it and exits once the report is printed.
+ */
+@SpringBootApplication(exclude = {
+		CloudFoundryDeployerAutoConfiguration.class,
+		KubernetesAutoConfiguration.class,
+		LocalDeployerAutoConfiguration.class,
+		ManagementWebSecurityAutoConfiguration.class,
+		SecurityAutoConfiguration.class,
+		UserDetailsServiceAutoConfiguration.class,
+		SessionAutoConfiguration.class
+	})
+@EnableSkipperServer
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestApplication {
+
+	public static void main(String[] args) {
+		// only the fake platform is used, the local one is not activated
+		System.setProperty(ProfileApplicationListener.IGNORE_PROFILEAPPLICATIONLISTENER_PROPERTY_NAME, "true");
+		System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+	}
+
+	@Bean
+	public FakeAppDeployer fakeAppDeployer(LoadTestProperties loadTestProperties) {
+		return new FakeAppDeployer(loadTestProperties.getPlatform());
+	}
+
+	@Bean
+	public Platform fakePlatform(LoadTestProperties loadTestProperties, FakeAppDeployer fakeAppDeployer) {
+		Deployer deployer = new Deployer(loadTestProperties.getPlatform().getName(), "fake", fakeAppDeployer, null);
+		deployer.setDescription("Fake platform of the load test");
+		return new Platform("Fake", Collections.singletonList(deployer));
+	}
+
+	@Bean
+	public LoadTestRunner loadTestRunner(LoadTestProperties loadTestProperties, FakeAppDeployer fakeAppDeployer,
+			EntityManagerFactory entityManagerFactory,
+			@Qualifier("skipperStateMachineTaskExecutor") TaskExecutor skipperStateMachineTaskExecutor,
+			Environment environment) {
+		return new LoadTestRunner(loadTestProperties, fakeAppDeployer, entityManagerFactory,
+				skipperStateMachineTaskExecutor, environment);
+	}
+}
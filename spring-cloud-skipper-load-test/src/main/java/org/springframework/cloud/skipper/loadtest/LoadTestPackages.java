@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.zeroturnaround.zip.ZipUtil;
+
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.UploadRequest;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Creates the packages installed by the load test, each having one dependent package
+ * per app, the way stream packages do.
+ */
+public class LoadTestPackages {
+
+	private LoadTestPackages() {
+	}
+
+	/**
+	 * Create the request uploading a package to the local repository.
+	 *
+	 * @param name the name of the package
+	 * @param version the version of the package
+	 * @param apps the number of apps of the package
+	 * @return the upload request
+	 */
+	public static UploadRequest uploadRequest(String name, String version, int apps) {
+		UploadRequest uploadRequest = new UploadRequest();
+		uploadRequest.setName(name);
+		uploadRequest.setVersion(version);
+		uploadRequest.setRepoName("local");
+		uploadRequest.setExtension("zip");
+		uploadRequest.setPackageFileAsBytes(zip(name, version, apps));
+		return uploadRequest;
+	}
+
+	private static byte[] zip(String name, String version, int apps) {
+		File directory = null;
+		try {
+			directory = Files.createTempDirectory("skipper-load-test").toFile();
+			File packageDirectory = new File(directory, name + "-" + version);
+			write(new File(packageDirectory, "package.yml"), metadata(name, version));
+			write(new File(packageDirectory, "values.yml"), "# No values to override\n");
+			for (int i = 0; i < apps; i++) {
+				String appName = "app" + i;
+				File appDirectory = new File(packageDirectory, "packages/" + appName);
+				write(new File(appDirectory, "package.yml"), metadata(appName, version));
+				write(new File(appDirectory, "templates/" + appName + ".yml"), template(appName));
+				write(new File(appDirectory, "values.yml"), values(name, version));
+			}
+			File zip = new File(directory, name + "-" + version + ".zip");
+			ZipUtil.pack(packageDirectory, zip, true);
+			return Files.readAllBytes(zip.toPath());
+		}
+		catch (IOException e) {
+			throw new SkipperException("Could not create package " + name + "-" + version, e);
+		}
+		finally {
+			if (directory != null) {
+				FileSystemUtils.deleteRecursively(directory);
+			}
+		}
+	}
+
+	private static String metadata(String name, String version) {
+		return "apiVersion: skipper.spring.io/v1\n"
+				+ "kind: SkipperPackageMetadata\n"
+				+ "name: " + name + "\n"
+				+ "version: " + version + "\n"
+				+ "packageSourceUrl: https://example.com/" + name + "\n"
+				+ "packageHomeUrl: https://example.com/" + name + "\n"
+				+ "tags: load-test\n"
+				+ "maintainer: https://example.com\n"
+				+ "description: Package of the load test.\n";
+	}
+
+	private static String template(String appName) {
+		return "apiVersion: skipper.spring.io/v1\n"
+				+ "kind: SpringCloudDeployerApplication\n"
+				+ "metadata:\n"
+				+ "  name: " + appName + "\n"
+				+ "spec:\n"
+				+ "  resource: file:///tmp/" + appName + ".jar\n"
+				+ "  version: {{version}}\n"
+				+ "  applicationProperties:\n"
+				+ "    {{#spec.applicationProperties.entrySet}}\n"
+				+ "    {{key}}: {{value}}\n"
+				+ "    {{/spec.applicationProperties.entrySet}}\n"
+				+ "  deploymentProperties:\n"
+				+ "    {{#spec.deploymentProperties.entrySet}}\n"
+				+ "    {{key}}: {{value}}\n"
+				+ "    {{/spec.deploymentProperties.entrySet}}\n";
+	}
+
+	private static String values(String name, String version) {
+		return "version: " + version + "\n"
+				+ "spec:\n"
+				+ "  applicationProperties:\n"
+				+ "    spring.application.name: " + name + "\n"
+				+ "    server.port: 0\n"
+				+ "    logging.level.root: INFO\n"
+				+ "  deploymentProperties:\n"
+				+ "    memory: 512m\n";
+	}
+
+	private static void write(File file, String content) throws IOException {
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the load test and of the fake platform the releases are deployed to.
+ */
+@ConfigurationProperties("spring.cloud.skipper.load-test")
+public class LoadTestProperties {
+
+	/**
+	 * Number of releases going through their whole lifecycle during the test.
+	 */
+	private int releases = 100;
+
+	/**
+	 * Number of releases driven concurrently.
+	 */
+	private int concurrency = 10;
+
+	/**
+	 * Number of apps of each release.
+	 */
+	private int apps = 3;
+
+	/**
+	 * Number of status requests sent after each install, upgrade and rollback.
+	 */
+	private int statusRequests = 5;
+
+	/**
+	 * Maximum time to wait for an upgrade or rollback to complete.
+	 */
+	private Duration completionTimeout = Duration.ofMinutes(2);
+
+	/**
+	 * Interval of the sampling of the state machine executor queue.
+	 */
+	private Duration samplingInterval = Duration.ofMillis(100);
+
+	private Platform platform = new Platform();
+
+	public int getReleases() {
+		return releases;
+	}
+
+	public void setReleases(int releases) {
+		this.releases = releases;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public int getApps() {
+		return apps;
+	}
+
+	public void setApps(int apps) {
+		this.apps = apps;
+	}
+
+	public int getStatusRequests() {
+		return statusRequests;
+	}
+
+	public void setStatusRequests(int statusRequests) {
+		this.statusRequests = statusRequests;
+	}
+
+	public Duration getCompletionTimeout() {
+		return completionTimeout;
+	}
+
+	public void setCompletionTimeout(Duration completionTimeout) {
+		this.completionTimeout = completionTimeout;
+	}
+
+	public Duration getSamplingInterval() {
+		return samplingInterval;
+	}
+
+	public void setSamplingInterval(Duration samplingInterval) {
+		this.samplingInterval = samplingInterval;
+	}
+
+	public Platform getPlatform() {
+		return platform;
+	}
+
+	public void setPlatform(Platform platform) {
+		this.platform = platform;
+	}
+
+	public static class Platform {
+
+		/**
+		 * Name of the fake platform account.
+		 */
+		private String name = "fake";
+
+		/**
+		 * Time taken to deploy an app.
+		 */
+		private Duration deployLatency = Duration.ofMillis(50);
+
+		/**
+		 * Time taken to undeploy an app.
+		 */
+		private Duration undeployLatency = Duration.ofMillis(20);
+
+		/**
+		 * Time taken to query the status of one or more apps.
+		 */
+		private Duration statusLatency = Duration.ofMillis(5);
+
+		/**
+		 * Ratio, between 0 and 1, of the deployments failing.
+		 */
+		private double failureRate;
+
+		/**
+		 * Number of instances of each deployed app.
+		 */
+		private int instances = 1;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Duration getDeployLatency() {
+			return deployLatency;
+		}
+
+		public void setDeployLatency(Duration deployLatency) {
+			this.deployLatency = deployLatency;
+		}
+
+		public Duration getUndeployLatency() {
+			return undeployLatency;
+		}
+
+		public void setUndeployLatency(Duration undeployLatency) {
+			this.undeployLatency = undeployLatency;
+		}
+
+		public Duration getStatusLatency() {
+			return statusLatency;
+		}
+
+		public void setStatusLatency(Duration statusLatency) {
+			this.statusLatency = statusLatency;
+		}
+
+		public double getFailureRate() {
+			return failureRate;
+		}
+
+		public void setFailureRate(double failureRate) {
+			this.failureRate = failureRate;
+		}
+
+		public int getInstances() {
+			return instances;
+		}
+
+		public void setInstances(int instances) {
+			this.instances = instances;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManagerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cloud.skipper.client.DefaultSkipperClient;
+import org.springframework.cloud.skipper.client.SkipperClient;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.InstallProperties;
+import org.springframework.cloud.skipper.domain.InstallRequest;
+import org.springframework.cloud.skipper.domain.PackageIdentifier;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Drives releases through their whole lifecycle, install, upgrade, rollback and delete,
+ * with status requests in between, concurrently through the {@link SkipperClient}, and
+ * reports the latency percentiles of each operation, the number of executed database
+ * statements and the depth of the state machine executor queue.
+ */
+public class LoadTestRunner implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+	private static final String PACKAGE_NAME = "loadtest";
+
+	private static final String[] OPERATIONS = { "install", "upgrade", "upgrade.completion", "rollback",
+			"rollback.completion", "status", "delete" };
+
+	private final LoadTestProperties properties;
+
+	private final FakeAppDeployer fakeAppDeployer;
+
+	private final Statistics statistics;
+
+	private final ThreadPoolTaskExecutor stateMachineExecutor;
+
+	private final Environment environment;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	public LoadTestRunner(LoadTestProperties properties, FakeAppDeployer fakeAppDeployer,
+			EntityManagerFactory entityManagerFactory, TaskExecutor stateMachineExecutor, Environment environment) {
+		Assert.notNull(properties, "'properties' must be set");
+		Assert.notNull(fakeAppDeployer, "'fakeAppDeployer' must be set");
+		Assert.notNull(entityManagerFactory, "'entityManagerFactory' must be set");
+		Assert.isInstanceOf(ThreadPoolTaskExecutor.class, stateMachineExecutor,
+				"The state machine executor must be a ThreadPoolTaskExecutor");
+		this.properties = properties;
+		this.fakeAppDeployer = fakeAppDeployer;
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.stateMachineExecutor = (ThreadPoolTaskExecutor) stateMachineExecutor;
+		this.environment = environment;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		SkipperClient client = new DefaultSkipperClient(
+				"http://localhost:" + this.environment.getProperty("local.server.port") + "/api");
+		client.upload(LoadTestPackages.uploadRequest(PACKAGE_NAME, "1.0.0", this.properties.getApps()));
+		client.upload(LoadTestPackages.uploadRequest(PACKAGE_NAME, "1.0.1", this.properties.getApps()));
+
+		DistributionSummary queueDepth = DistributionSummary.builder("statemachine.queue.depth")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(this.meterRegistry);
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(
+				() -> queueDepth.record(this.stateMachineExecutor.getThreadPoolExecutor().getQueue().size()), 0,
+				this.properties.getSamplingInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+		this.statistics.setStatisticsEnabled(true);
+		this.statistics.clear();
+		logger.info("Running {} releases of {} apps with a concurrency of {}", this.properties.getReleases(),
+				this.properties.getApps(), this.properties.getConcurrency());
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(this.properties.getConcurrency());
+		AtomicInteger failedReleases = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < this.properties.getReleases(); i++) {
+				String releaseName = "release" + i;
+				futures.add(executor.submit(() -> {
+					try {
+						runLifecycle(client, releaseName);
+					}
+					catch (Exception e) {
+						failedReleases.incrementAndGet();
+						logger.warn("Lifecycle of {} failed: {}", releaseName, e.getMessage());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+			sampler.shutdownNow();
+		}
+		long elapsed = System.nanoTime() - start;
+		logger.info(report(elapsed, failedReleases.get(), queueDepth));
+	}
+
+	private void runLifecycle(SkipperClient client, String releaseName) {
+		time("install", () -> client.install(installRequest(releaseName)));
+		checkStatus(client, releaseName);
+		time("upgrade", () -> client.upgrade(upgradeRequest(releaseName)));
+		time("upgrade.completion", () -> awaitCompletion(client, releaseName, 2));
+		checkStatus(client, releaseName);
+		time("rollback", () -> client.rollback(releaseName, 0));
+		time("rollback.completion", () -> awaitCompletion(client, releaseName, 3));
+		checkStatus(client, releaseName);
+		time("delete", () -> {
+			client.delete(releaseName, false);
+			return null;
+		});
+	}
+
+	private void checkStatus(SkipperClient client, String releaseName) {
+		for (int i = 0; i < this.properties.getStatusRequests(); i++) {
+			time("status", () -> client.status(releaseName));
+		}
+	}
+
+	private Info awaitCompletion(SkipperClient client, String releaseName, int version) {
+		long deadline = System.currentTimeMillis() + this.properties.getCompletionTimeout().toMillis();
+		while (System.currentTimeMillis() < deadline) {
+			Info info = client.status(releaseName, version);
+			StatusCode statusCode = info.getStatus().getStatusCode();
+			if (statusCode == StatusCode.DEPLOYED) {
+				return info;
+			}
+			if (statusCode == StatusCode.FAILED) {
+				throw new IllegalStateException("Version " + version + " of " + releaseName + " failed");
+			}
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted waiting for " + releaseName, e);
+			}
+		}
+		throw new IllegalStateException("Timed out waiting for version " + version + " of " + releaseName);
+	}
+
+	private <T> T time(String operation, Supplier<T> supplier) {
+		Timer timer = Timer.builder("operation")
+				.tag("operation", operation)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(this.meterRegistry);
+		long start = System.nanoTime();
+		try {
+			return supplier.get();
+		}
+		catch (RuntimeException e) {
+			Counter.builder("operation.failures").tag("operation", operation).register(this.meterRegistry)
+					.increment();
+			throw e;
+		}
+		finally {
+			timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private InstallRequest installRequest(String releaseName) {
+		InstallProperties installProperties = new InstallProperties();
+		installProperties.setReleaseName(releaseName);
+		installProperties.setPlatformName(this.properties.getPlatform().getName());
+		InstallRequest installRequest = new InstallRequest();
+		installRequest.setPackageIdentifier(packageIdentifier("1.0.0"));
+		installRequest.setInstallProperties(installProperties);
+		return installRequest;
+	}
+
+	private UpgradeRequest upgradeRequest(String releaseName) {
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName(releaseName);
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setPackageIdentifier(packageIdentifier("1.0.1"));
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		return upgradeRequest;
+	}
+
+	private static PackageIdentifier packageIdentifier(String version) {
+		PackageIdentifier packageIdentifier = new PackageIdentifier();
+		packageIdentifier.setRepositoryName("local");
+		packageIdentifier.setPackageName(PACKAGE_NAME);
+		packageIdentifier.setPackageVersion(version);
+		return packageIdentifier;
+	}
+
+	private String report(long elapsedNanos, int failedReleases, DistributionSummary queueDepth) {
+		double seconds = elapsedNanos / 1e9;
+		StringBuilder report = new StringBuilder("\nLoad test report\n")
+				.append(String.format(Locale.ROOT, "Releases: %d (%d failed) in %.1fs, %.1f releases/s%n",
+						this.properties.getReleases(), failedReleases, seconds, this.properties.getReleases() / seconds))
+				.append(String.format(Locale.ROOT, "%-20s %8s %8s %10s %10s %10s %10s%n", "operation", "count",
+						"failures", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)"));
+		long operations = 0;
+		for (String operation : OPERATIONS) {
+			Timer timer = this.meterRegistry.find("operation").tag("operation", operation).timer();
+			if (timer == null) {
+				continue;
+			}
+			Counter failures = this.meterRegistry.find("operation.failures").tag("operation", operation).counter();
+			ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+			report.append(String.format(Locale.ROOT, "%-20s %8d %8d %10.1f %10.1f %10.1f %10.1f%n", operation,
+					timer.count(), failures != null ? (long) failures.count() : 0,
+					percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+					percentiles[2].value(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+			operations += timer.count();
+		}
+		ValueAtPercentile[] depths = queueDepth.takeSnapshot().percentileValues();
+		return report
+				.append(String.format(Locale.ROOT, "Database: %d statements, %d queries, %.1f statements/operation%n",
+						this.statistics.getPrepareStatementCount(), this.statistics.getQueryExecutionCount(),
+						operations > 0 ? (double) this.statistics.getPrepareStatementCount() / operations : 0))
+				.append(String.format(Locale.ROOT, "State machine queue depth: p50 %.0f, p95 %.0f, p99 %.0f, max %.0f%n",
+						depths[0].value(), depths[1].value(), depths[2].value(), queueDepth.max()))
+				.append(String.format(Locale.ROOT, "Platform: %d deploys, %d undeploys, %d status requests, "
+						+ "%d apps left deployed", this.fakeAppDeployer.getDeployCount(),
+						this.fakeAppDeployer.getUndeployCount(), this.fakeAppDeployer.getStatusCount(),
+						this.fakeAppDeployer.getDeployedApps()))
+				.toString();
+	}
+}
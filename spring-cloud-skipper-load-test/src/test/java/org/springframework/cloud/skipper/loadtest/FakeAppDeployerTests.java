@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FakeAppDeployer}.
+ */
+public class FakeAppDeployerTests {
+
+	private final LoadTestProperties.Platform properties = new LoadTestProperties.Platform();
+
+	@Before
+	public void setup() {
+		this.properties.setDeployLatency(Duration.ZERO);
+		this.properties.setUndeployLatency(Duration.ZERO);
+		this.properties.setStatusLatency(Duration.ZERO);
+	}
+
+	@Test
+	public void deploysAndUndeploysApps() {
+		this.properties.setInstances(2);
+		FakeAppDeployer deployer = new FakeAppDeployer(this.properties);
+
+		String id = deployer.deploy(request("log-v1", "release1"));
+
+		assertThat(id).isEqualTo("release1-log-v1");
+		assertThat(deployer.status(id).getState()).isEqualTo(DeploymentState.deployed);
+		assertThat(deployer.status(id).getInstances()).hasSize(2);
+		assertThat(deployer.states(id, "other")).containsEntry(id, DeploymentState.deployed)
+				.containsEntry("other", DeploymentState.unknown);
+
+		deployer.undeploy(id);
+
+		assertThat(deployer.status(id).getState()).isEqualTo(DeploymentState.unknown);
+		assertThat(deployer.getDeployedApps()).isZero();
+		assertThat(deployer.getDeployCount()).isEqualTo(1);
+		assertThat(deployer.getUndeployCount()).isEqualTo(1);
+		assertThatThrownBy(() -> deployer.undeploy(id)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void failsDeploymentsAtConfiguredRate() {
+		this.properties.setFailureRate(1.0);
+		FakeAppDeployer deployer = new FakeAppDeployer(this.properties);
+
+		assertThatThrownBy(() -> deployer.deploy(request("log-v1", "release1")))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(deployer.getDeployedApps()).isZero();
+	}
+
+	private static AppDeploymentRequest request(String name, String group) {
+		Map<String, String> deploymentProperties = new HashMap<>();
+		deploymentProperties.put(AppDeployer.GROUP_PROPERTY_KEY, group);
+		return new AppDeploymentRequest(new AppDefinition(name, new HashMap<>()), new ByteArrayResource(new byte[0]),
+				deploymentProperties);
+	}
+}
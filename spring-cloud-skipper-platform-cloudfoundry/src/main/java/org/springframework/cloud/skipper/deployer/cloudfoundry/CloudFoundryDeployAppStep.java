@@ -88,7 +88,9 @@ public class CloudFoundryDeployAppStep {
 
 	private void deployCFApp(Release replacingRelease) {
 		ApplicationManifest applicationManifest = this.cfManifestApplicationDeployer.getCFApplicationManifest(replacingRelease);
-		logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(replacingRelease.getManifest().getData()));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(replacingRelease.getManifest().getData()));
+		}
 		// Deploy the application
 		String applicationName = applicationManifest.getName();
 		Map<String, String> appDeploymentData = new HashMap<>();
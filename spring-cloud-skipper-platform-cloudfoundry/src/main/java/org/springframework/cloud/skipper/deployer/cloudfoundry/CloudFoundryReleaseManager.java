@@ -92,7 +92,9 @@ public class CloudFoundryReleaseManager implements ReleaseManager {
 		Release release = this.releaseRepository.save(newRelease);
 		ApplicationManifest applicationManifest = this.cfManifestApplicationDeployer.getCFApplicationManifest(release);
 		Assert.isTrue(applicationManifest != null, "CF Application Manifest must be set");
-		logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(newRelease.getManifest().getData()));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(newRelease.getManifest().getData()));
+		}
 		// Deploy the application
 		String applicationName = applicationManifest.getName();
 		Map<String, String> appDeploymentData = new HashMap<>();
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Creates the {@link RestTemplate} used by the platforms to access the actuator
+ * endpoints of the deployed apps. Connections are pooled so that proxied requests
+ * polling the same app instances reuse them instead of opening a new one each time.
+ */
+public class ActuatorRestTemplateFactory {
+
+	private static final long IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * Create an actuator rest template.
+	 *
+	 * @param properties the actuator properties
+	 * @return the rest template
+	 */
+	public static RestTemplate create(SkipperServerProperties.Actuator properties) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(properties.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+		CloseableHttpClient httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+				.evictExpiredConnections()
+				.build();
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+	}
+}
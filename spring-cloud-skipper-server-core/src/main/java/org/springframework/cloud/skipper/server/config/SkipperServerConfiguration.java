@@ -20,14 +20,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
 import org.springframework.cloud.common.security.AuthorizationProperties;
 import org.springframework.cloud.common.security.support.SecurityStateBean;
@@ -41,25 +47,32 @@ import org.springframework.cloud.skipper.io.DefaultPackageWriter;
 import org.springframework.cloud.skipper.io.PackageReader;
 import org.springframework.cloud.skipper.io.PackageWriter;
 import org.springframework.cloud.skipper.server.controller.AboutController;
+import org.springframework.cloud.skipper.server.controller.GzipRequestFilter;
 import org.springframework.cloud.skipper.server.controller.PackageController;
 import org.springframework.cloud.skipper.server.controller.ReleaseController;
+import org.springframework.cloud.skipper.server.controller.ReleaseETagFilter;
 import org.springframework.cloud.skipper.server.controller.RootController;
 import org.springframework.cloud.skipper.server.controller.SkipperErrorAttributes;
 import org.springframework.cloud.skipper.server.controller.VersionInfoProperties;
 import org.springframework.cloud.skipper.server.db.migration.SkipperFlywayConfigurationCustomizer;
 import org.springframework.cloud.skipper.server.db.migration.SkipperFlywayMigrationStrategy;
 import org.springframework.cloud.skipper.server.deployer.AppDeploymentRequestFactory;
+import org.springframework.cloud.skipper.server.deployer.ArtifactExistenceChecker;
+import org.springframework.cloud.skipper.server.deployer.ArtifactResolutionService;
 import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManagerFactory;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalyzer;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManagerFactory;
+import org.springframework.cloud.skipper.server.deployer.strategies.CanaryUpgradeStrategy;
 import org.springframework.cloud.skipper.server.deployer.strategies.DefaultUpgradeStrategyFactory;
 import org.springframework.cloud.skipper.server.deployer.strategies.DeleteStep;
 import org.springframework.cloud.skipper.server.deployer.strategies.DeployAppStep;
 import org.springframework.cloud.skipper.server.deployer.strategies.HandleHealthCheckStep;
 import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckProperties;
 import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckStep;
+import org.springframework.cloud.skipper.server.deployer.strategies.RollingUpgradeStrategy;
 import org.springframework.cloud.skipper.server.deployer.strategies.SimpleRedBlackUpgradeStrategy;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategy;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
@@ -72,8 +85,12 @@ import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository
 import org.springframework.cloud.skipper.server.repository.jpa.RepositoryRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.cloud.skipper.server.service.ActuatorService;
+import org.springframework.cloud.skipper.server.service.ContentCompressionMigrationService;
 import org.springframework.cloud.skipper.server.service.PackageMetadataService;
 import org.springframework.cloud.skipper.server.service.PackageService;
+import org.springframework.cloud.skipper.server.service.ReleaseBatchService;
+import org.springframework.cloud.skipper.server.service.ReleaseEventService;
+import org.springframework.cloud.skipper.server.service.ReleaseHistoryPruningService;
 import org.springframework.cloud.skipper.server.service.ReleaseReportService;
 import org.springframework.cloud.skipper.server.service.ReleaseService;
 import org.springframework.cloud.skipper.server.service.ReleaseStateUpdateService;
@@ -82,6 +99,7 @@ import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachine
 import org.springframework.cloud.skipper.server.statemachine.StateMachineConfiguration;
 import org.springframework.cloud.skipper.server.statemachine.StateMachineExecutorConfiguration;
 import org.springframework.cloud.skipper.server.statemachine.StateMachinePersistConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -92,6 +110,7 @@ import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -155,8 +174,41 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	@Bean
 	public ReleaseController releaseController(ReleaseService releaseService,
 			SkipperStateMachineService skipperStateMachineService,
-			ActuatorService actuatorService) {
-		return new ReleaseController(releaseService, skipperStateMachineService, actuatorService);
+			ActuatorService actuatorService, ReleaseBatchService releaseBatchService,
+			ReleaseReportService releaseReportService, ReleaseEventService releaseEventService) {
+		return new ReleaseController(releaseService, skipperStateMachineService, actuatorService,
+				releaseBatchService, releaseReportService, releaseEventService);
+	}
+
+	@Bean
+	public ReleaseEventService releaseEventService(SkipperServerProperties skipperServerProperties) {
+		SkipperServerProperties.ReleaseEvents releaseEvents = skipperServerProperties.getReleaseEvents();
+		return new ReleaseEventService(releaseEvents.getHistorySize(), releaseEvents.getHeartbeatInterval());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cloud.skipper.server.etags", name = "enabled", matchIfMissing = true)
+	public FilterRegistrationBean<ReleaseETagFilter> releaseETagFilter(SkipperServerProperties skipperServerProperties) {
+		SkipperServerProperties.ETags eTags = skipperServerProperties.getEtags();
+		FilterRegistrationBean<ReleaseETagFilter> registration = new FilterRegistrationBean<>(new ReleaseETagFilter(
+				eTags.getStatusTimeToLive(), eTags.getManifestTimeToLive(), eTags.getMaxSize()));
+		registration.addUrlPatterns("/api/release/*", "/api/releases/*");
+		return registration;
+	}
+
+	@Bean
+	public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilter(SkipperServerProperties skipperServerProperties) {
+		FilterRegistrationBean<GzipRequestFilter> registration = new FilterRegistrationBean<>(new GzipRequestFilter(
+				skipperServerProperties.getRequestCompression().getMaxDecodedSize()));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+
+	@Bean
+	public ReleaseBatchService releaseBatchService(SkipperStateMachineService skipperStateMachineService,
+			SkipperServerProperties skipperServerProperties) {
+		return new ReleaseBatchService(skipperStateMachineService,
+				skipperServerProperties.getBatch().getMaxConcurrency());
 	}
 
 	@Bean
@@ -166,9 +218,11 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	}
 
 	@Bean
-	ActuatorService actuatorService(ReleaseService releaseService, DeployerRepository deployerRepository,
-			ReleaseRepository releaseRepository) {
-		return new ActuatorService(releaseService, deployerRepository, releaseRepository);
+	ActuatorService actuatorService(DeployerRepository deployerRepository, ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository, SkipperServerProperties skipperServerProperties) {
+		SkipperServerProperties.Actuator actuator = skipperServerProperties.getActuator();
+		return new ActuatorService(deployerRepository, releaseRepository, appDeployerDataRepository,
+				actuator.getResponseCacheTimeToLive(), actuator.getResponseCacheMaxSize());
 	}
 
 	@Bean
@@ -195,8 +249,9 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	@Bean
 	public PackageService packageService(RepositoryRepository repositoryRepository,
 			PackageMetadataRepository packageMetadataRepository,
-			PackageReader packageReader) {
-		return new PackageService(repositoryRepository, packageMetadataRepository, packageReader);
+			PackageReader packageReader, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new PackageService(repositoryRepository, packageMetadataRepository, packageReader,
+				meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
 	}
 
 	@Bean
@@ -212,9 +267,13 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	@Bean
 	public ReleaseReportService releaseReportService(PackageMetadataRepository packageMetadataRepository,
 			ReleaseRepository releaseRepository, PackageService packageService,
-			ReleaseManagerFactory releaseManagerFactory) {
+			ReleaseManagerFactory releaseManagerFactory, SkipperServerProperties skipperServerProperties,
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ArtifactResolutionService artifactResolutionService) {
+		SkipperServerProperties.UpgradePlans upgradePlans = skipperServerProperties.getUpgradePlans();
 		return new ReleaseReportService(packageMetadataRepository, releaseRepository, packageService,
-				releaseManagerFactory);
+				releaseManagerFactory, upgradePlans.getTimeToLive(), upgradePlans.getMaxSize(),
+				applicationManifestReader, artifactResolutionService);
 	}
 
 	@Bean
@@ -231,16 +290,35 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	public ReleaseService releaseService(PackageMetadataRepository packageMetadataRepository,
 			ReleaseRepository releaseRepository, PackageService packageService,
 			ReleaseManagerFactory releaseManagerFactory, DeployerRepository deployerRepository,
-			PackageMetadataService packageMetadataService) {
+			PackageMetadataService packageMetadataService, UpgradeStrategyFactory upgradeStrategyFactory) {
 		return new ReleaseService(packageMetadataRepository, releaseRepository, packageService, releaseManagerFactory,
-				deployerRepository, packageMetadataService);
+				deployerRepository, packageMetadataService, upgradeStrategyFactory);
 	}
 
 	@Bean
 	@ConditionalOnProperty(prefix = "spring.cloud.skipper.server", name = "enableReleaseStateUpdateService", matchIfMissing = true)
 	public ReleaseStateUpdateService releaseStateUpdateService(ReleaseManagerFactory releaseManagerFactory,
-			ReleaseRepository releaseRepository) {
-		return new ReleaseStateUpdateService(releaseManagerFactory, releaseRepository);
+			ReleaseRepository releaseRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ReleaseStateUpdateService(releaseManagerFactory, releaseRepository,
+				meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cloud.skipper.server.release-history", name = "pruning-enabled", havingValue = "true")
+	public ReleaseHistoryPruningService releaseHistoryPruningService(ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository, PlatformTransactionManager transactionManager,
+			SkipperServerProperties skipperServerProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ReleaseHistoryPruningService(releaseRepository, appDeployerDataRepository, transactionManager,
+				skipperServerProperties.getReleaseHistory(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cloud.skipper.server.content-compression", name = "migrate-existing", havingValue = "true")
+	public ContentCompressionMigrationService contentCompressionMigrationService(ReleaseRepository releaseRepository,
+			DataSource dataSource, PlatformTransactionManager transactionManager,
+			SkipperServerProperties skipperServerProperties) {
+		return new ContentCompressionMigrationService(releaseRepository, dataSource, transactionManager,
+				skipperServerProperties.getContentCompression().getBatchSize());
 	}
 
 	@Bean
@@ -260,9 +338,17 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 			DeployerRepository deployerRepository,
 			ReleaseAnalyzer releaseAnalyzer,
 			AppDeploymentRequestFactory appDeploymentRequestFactory,
-			SpringCloudDeployerApplicationManifestReader applicationManifestReader) {
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ReleaseAppUndeployer releaseAppUndeployer) {
 		return new DefaultReleaseManager(releaseRepository, appDeployerDataRepository, deployerRepository,
-				releaseAnalyzer, appDeploymentRequestFactory, applicationManifestReader);
+				releaseAnalyzer, appDeploymentRequestFactory, applicationManifestReader, releaseAppUndeployer);
+	}
+
+	@Bean
+	public ReleaseAppUndeployer releaseAppUndeployer(SkipperServerProperties skipperServerProperties,
+			ApplicationEventPublisher applicationEventPublisher) {
+		return new ReleaseAppUndeployer(skipperServerProperties.getUndeploy().getMaxConcurrencyPerPlatform(),
+				applicationEventPublisher);
 	}
 
 	@Bean
@@ -271,8 +357,9 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	}
 
 	@Bean
-	public DeleteStep deleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository) {
-		return new DeleteStep(releaseRepository, deployerRepository);
+	public DeleteStep deleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository,
+			ReleaseAppUndeployer releaseAppUndeployer) {
+		return new DeleteStep(releaseRepository, deployerRepository, releaseAppUndeployer);
 	}
 
 	@Bean
@@ -283,6 +370,28 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 				deployAppStep);
 	}
 
+	@Bean
+	public UpgradeStrategy rollingUpgradeStrategy(DeployAppStep deployAppStep, HealthCheckStep healthCheckStep,
+			HandleHealthCheckStep healthCheckAndDeleteStep, ReleaseAppUndeployer releaseAppUndeployer,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			DeployerRepository deployerRepository, SkipperServerProperties skipperServerProperties) {
+		return new RollingUpgradeStrategy(deployAppStep, healthCheckStep, healthCheckAndDeleteStep,
+				releaseAppUndeployer, appDeployerDataRepository, releaseRepository, deployerRepository,
+				skipperServerProperties.getRollingUpgrade().getMaxSurge());
+	}
+
+	@Bean
+	public UpgradeStrategy canaryUpgradeStrategy(DeployAppStep deployAppStep, HealthCheckStep healthCheckStep,
+			HandleHealthCheckStep healthCheckAndDeleteStep, ReleaseAppUndeployer releaseAppUndeployer,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			DeployerRepository deployerRepository,
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			SkipperServerProperties skipperServerProperties) {
+		return new CanaryUpgradeStrategy(deployAppStep, healthCheckStep, healthCheckAndDeleteStep,
+				releaseAppUndeployer, appDeployerDataRepository, releaseRepository, deployerRepository,
+				applicationManifestReader, skipperServerProperties.getCanaryUpgrade());
+	}
+
 	@Bean
 	public HealthCheckStep healthCheckStep(AppDeployerDataRepository appDeployerDataRepository,
 			DeployerRepository deployerRepository,
@@ -295,9 +404,11 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 	public DeployAppStep DeployAppStep(DeployerRepository deployerRepository,
 			AppDeploymentRequestFactory appDeploymentRequestFactory,
 			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
-			SpringCloudDeployerApplicationManifestReader applicationManifestReader) {
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			SkipperServerProperties skipperServerProperties) {
 		return new DeployAppStep(deployerRepository, appDeploymentRequestFactory, appDeployerDataRepository,
-				releaseRepository, applicationManifestReader);
+				releaseRepository, applicationManifestReader,
+				skipperServerProperties.getDeploy().getMaxConcurrencyPerPlatform());
 	}
 
 	@Bean
@@ -322,16 +433,29 @@ public class SkipperServerConfiguration implements AsyncConfigurer {
 				throwable);
 	}
 
+	@Bean
+	public ArtifactResolutionService artifactResolutionService(DelegatingResourceLoader delegatingResourceLoader,
+			MavenProperties mavenProperties, SkipperServerProperties skipperServerProperties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		SkipperServerProperties.Artifacts artifacts = skipperServerProperties.getArtifacts();
+		ArtifactExistenceChecker artifactExistenceChecker = new ArtifactExistenceChecker(mavenProperties,
+				artifacts.getExistingTimeToLive(), artifacts.getMissingTimeToLive());
+		return new ArtifactResolutionService(delegatingResourceLoader, artifactExistenceChecker,
+				artifacts.getCacheMaxEntries(), artifacts.getMaxConcurrency(),
+				meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
 	@Bean
 	public ReleaseAnalyzer releaseAnalysisService(
 			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
-			DelegatingResourceLoader delegatingResourceLoader) {
-		return new ReleaseAnalyzer(applicationManifestReader, delegatingResourceLoader);
+			ArtifactResolutionService artifactResolutionService) {
+		return new ReleaseAnalyzer(applicationManifestReader, artifactResolutionService);
 	}
 
 	@Bean
-	public AppDeploymentRequestFactory appDeploymentRequestFactory(DelegatingResourceLoader delegatingResourceLoader) {
-		return new AppDeploymentRequestFactory(delegatingResourceLoader);
+	public AppDeploymentRequestFactory appDeploymentRequestFactory(
+			ArtifactResolutionService artifactResolutionService) {
+		return new AppDeploymentRequestFactory(artifactResolutionService);
 	}
 
 	@Bean
@@ -26,6 +26,7 @@ import org.springframework.cloud.deployer.spi.local.LocalAppDeployer;
 import org.springframework.cloud.deployer.spi.local.LocalDeployerProperties;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.domain.Platform;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
 import org.springframework.cloud.skipper.server.deployer.metadata.DeployerConfigurationMetadataResolver;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.cloud.skipper.server.service.DeployerInitializationService;
@@ -44,10 +45,15 @@ public class SkipperServerPlatformConfiguration {
 		return new DeployerConfigurationMetadataResolver(skipperServerProperties.getDeployerProperties());
 	}
 
+	@Bean
+	public DeployerRegistry deployerRegistry() {
+		return new DeployerRegistry();
+	}
+
 	@Bean
 	public DeployerInitializationService deployerInitializationService(DeployerRepository deployerRepository,
-			List<Platform> platforms, DeployerConfigurationMetadataResolver resolver) {
-		return new DeployerInitializationService(deployerRepository, platforms, resolver);
+			List<Platform> platforms, DeployerConfigurationMetadataResolver resolver, DeployerRegistry deployerRegistry) {
+		return new DeployerInitializationService(deployerRepository, platforms, resolver, deployerRegistry);
 	}
 
 	@Profile("local")
@@ -77,8 +83,8 @@ public class SkipperServerPlatformConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
-		RestTemplate actuatorRestTemplate() {
-			return new RestTemplate();
+		RestTemplate actuatorRestTemplate(SkipperServerProperties skipperServerProperties) {
+			return ActuatorRestTemplateFactory.create(skipperServerProperties.getActuator());
 		}
 
 		private String prettyPrintLocalDeployerProperties(LocalDeployerProperties localDeployerProperties) {
@@ -15,10 +15,12 @@
  */
 package org.springframework.cloud.skipper.server.config;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configurable properties of the server.
@@ -48,6 +50,32 @@ public class SkipperServerProperties {
 
 	private DeployerProperties deployerProperties = new DeployerProperties();
 
+	private Deploy deploy = new Deploy();
+
+	private Undeploy undeploy = new Undeploy();
+
+	private RollingUpgrade rollingUpgrade = new RollingUpgrade();
+
+	private CanaryUpgrade canaryUpgrade = new CanaryUpgrade();
+
+	private Batch batch = new Batch();
+
+	private ReleaseHistory releaseHistory = new ReleaseHistory();
+
+	private ContentCompression contentCompression = new ContentCompression();
+
+	private Actuator actuator = new Actuator();
+
+	private UpgradePlans upgradePlans = new UpgradePlans();
+
+	private Artifacts artifacts = new Artifacts();
+
+	private ETags etags = new ETags();
+
+	private ReleaseEvents releaseEvents = new ReleaseEvents();
+
+	private RequestCompression requestCompression = new RequestCompression();
+
 	public Map<String, PackageRepository> getPackageRepositories() {
 		return packageRepositories;
 	}
@@ -80,6 +108,110 @@ public class SkipperServerProperties {
 		this.deployerProperties = deployerProperties;
 	}
 
+	public Deploy getDeploy() {
+		return deploy;
+	}
+
+	public void setDeploy(Deploy deploy) {
+		this.deploy = deploy;
+	}
+
+	public Undeploy getUndeploy() {
+		return undeploy;
+	}
+
+	public void setUndeploy(Undeploy undeploy) {
+		this.undeploy = undeploy;
+	}
+
+	public RollingUpgrade getRollingUpgrade() {
+		return rollingUpgrade;
+	}
+
+	public void setRollingUpgrade(RollingUpgrade rollingUpgrade) {
+		this.rollingUpgrade = rollingUpgrade;
+	}
+
+	public CanaryUpgrade getCanaryUpgrade() {
+		return canaryUpgrade;
+	}
+
+	public void setCanaryUpgrade(CanaryUpgrade canaryUpgrade) {
+		this.canaryUpgrade = canaryUpgrade;
+	}
+
+	public Batch getBatch() {
+		return batch;
+	}
+
+	public void setBatch(Batch batch) {
+		this.batch = batch;
+	}
+
+	public ReleaseHistory getReleaseHistory() {
+		return releaseHistory;
+	}
+
+	public void setReleaseHistory(ReleaseHistory releaseHistory) {
+		this.releaseHistory = releaseHistory;
+	}
+
+	public ContentCompression getContentCompression() {
+		return contentCompression;
+	}
+
+	public void setContentCompression(ContentCompression contentCompression) {
+		this.contentCompression = contentCompression;
+	}
+
+	public Actuator getActuator() {
+		return actuator;
+	}
+
+	public void setActuator(Actuator actuator) {
+		this.actuator = actuator;
+	}
+
+	public UpgradePlans getUpgradePlans() {
+		return upgradePlans;
+	}
+
+	public void setUpgradePlans(UpgradePlans upgradePlans) {
+		this.upgradePlans = upgradePlans;
+	}
+
+	public Artifacts getArtifacts() {
+		return artifacts;
+	}
+
+	public void setArtifacts(Artifacts artifacts) {
+		this.artifacts = artifacts;
+	}
+
+	public ETags getEtags() {
+		return etags;
+	}
+
+	public void setEtags(ETags etags) {
+		this.etags = etags;
+	}
+
+	public ReleaseEvents getReleaseEvents() {
+		return releaseEvents;
+	}
+
+	public void setReleaseEvents(ReleaseEvents releaseEvents) {
+		this.releaseEvents = releaseEvents;
+	}
+
+	public RequestCompression getRequestCompression() {
+		return requestCompression;
+	}
+
+	public void setRequestCompression(RequestCompression requestCompression) {
+		this.requestCompression = requestCompression;
+	}
+
 	public static class PackageRepository {
 
 		private String url;
@@ -168,4 +300,460 @@ public class SkipperServerProperties {
 			this.groupExcludes = groupExcludes;
 		}
 	}
+
+	public static class Deploy {
+
+		/**
+		 * Maximum number of applications deployed concurrently on a single platform.
+		 */
+		private int maxConcurrencyPerPlatform = 4;
+
+		public int getMaxConcurrencyPerPlatform() {
+			return maxConcurrencyPerPlatform;
+		}
+
+		public void setMaxConcurrencyPerPlatform(int maxConcurrencyPerPlatform) {
+			this.maxConcurrencyPerPlatform = maxConcurrencyPerPlatform;
+		}
+	}
+
+	public static class Undeploy {
+
+		/**
+		 * Maximum number of applications undeployed concurrently on a single platform.
+		 */
+		private int maxConcurrencyPerPlatform = 4;
+
+		public int getMaxConcurrencyPerPlatform() {
+			return maxConcurrencyPerPlatform;
+		}
+
+		public void setMaxConcurrencyPerPlatform(int maxConcurrencyPerPlatform) {
+			this.maxConcurrencyPerPlatform = maxConcurrencyPerPlatform;
+		}
+	}
+
+	public static class RollingUpgrade {
+
+		/**
+		 * Default maximum number of upgraded applications deployed alongside the applications
+		 * they replace by the rolling upgrade strategy, upgrade requests can override it.
+		 */
+		private int maxSurge = 1;
+
+		public int getMaxSurge() {
+			return maxSurge;
+		}
+
+		public void setMaxSurge(int maxSurge) {
+			this.maxSurge = maxSurge;
+		}
+	}
+
+	public static class CanaryUpgrade {
+
+		/**
+		 * Number of instances the canaries of the upgraded applications are deployed with.
+		 */
+		private int instances = 1;
+
+		/**
+		 * Time the canaries have to stay healthy before the upgraded applications are scaled
+		 * up.
+		 */
+		private Duration observationWindow = Duration.ofMinutes(1);
+
+		/**
+		 * Number of steps scaling up the upgraded applications and scaling down the
+		 * applications they replace.
+		 */
+		private int steps = 2;
+
+		public int getInstances() {
+			return instances;
+		}
+
+		public void setInstances(int instances) {
+			this.instances = instances;
+		}
+
+		public Duration getObservationWindow() {
+			return observationWindow;
+		}
+
+		public void setObservationWindow(Duration observationWindow) {
+			this.observationWindow = observationWindow;
+		}
+
+		public int getSteps() {
+			return steps;
+		}
+
+		public void setSteps(int steps) {
+			this.steps = steps;
+		}
+	}
+
+	public static class Batch {
+
+		/**
+		 * Maximum number of batch operations executed concurrently across all batch requests.
+		 */
+		private int maxConcurrency = 8;
+
+		public int getMaxConcurrency() {
+			return maxConcurrency;
+		}
+
+		public void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+	}
+
+	public static class ReleaseHistory {
+
+		/**
+		 * Flag indicating if old release versions are pruned by a background job.
+		 */
+		private boolean pruningEnabled;
+
+		/**
+		 * Interval in milliseconds between two pruning runs.
+		 */
+		private long pruningInterval = 3600000;
+
+		/**
+		 * Number of most recent versions to keep for each release, 0 for no limit. The
+		 * latest version and the deployed version of a release are always kept.
+		 */
+		private int maxVersionsPerRelease = 0;
+
+		/**
+		 * Maximum age of a release version, based on its last deployed time, before it is
+		 * pruned. No age limit if not set.
+		 */
+		private Duration maxAge;
+
+		/**
+		 * Number of release versions removed in a single transaction.
+		 */
+		private int chunkSize = 100;
+
+		/**
+		 * Directory where pruned release versions are archived as compressed json files. Pruned
+		 * versions are not archived if not set.
+		 */
+		private String archiveDirectory;
+
+		public boolean isPruningEnabled() {
+			return pruningEnabled;
+		}
+
+		public void setPruningEnabled(boolean pruningEnabled) {
+			this.pruningEnabled = pruningEnabled;
+		}
+
+		public long getPruningInterval() {
+			return pruningInterval;
+		}
+
+		public void setPruningInterval(long pruningInterval) {
+			this.pruningInterval = pruningInterval;
+		}
+
+		public int getMaxVersionsPerRelease() {
+			return maxVersionsPerRelease;
+		}
+
+		public void setMaxVersionsPerRelease(int maxVersionsPerRelease) {
+			this.maxVersionsPerRelease = maxVersionsPerRelease;
+		}
+
+		public Duration getMaxAge() {
+			return maxAge;
+		}
+
+		public void setMaxAge(Duration maxAge) {
+			this.maxAge = maxAge;
+		}
+
+		public int getChunkSize() {
+			return chunkSize;
+		}
+
+		public void setChunkSize(int chunkSize) {
+			this.chunkSize = chunkSize;
+		}
+
+		public String getArchiveDirectory() {
+			return archiveDirectory;
+		}
+
+		public void setArchiveDirectory(String archiveDirectory) {
+			this.archiveDirectory = archiveDirectory;
+		}
+	}
+
+	public static class ContentCompression {
+
+		/**
+		 * Flag indicating if rows stored before content compression was introduced are
+		 * compressed in the background on startup.
+		 */
+		private boolean migrateExisting;
+
+		/**
+		 * Number of rows migrated in a single transaction.
+		 */
+		private int batchSize = 100;
+
+		public boolean isMigrateExisting() {
+			return migrateExisting;
+		}
+
+		public void setMigrateExisting(boolean migrateExisting) {
+			this.migrateExisting = migrateExisting;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+	}
+
+	public static class Actuator {
+
+		/**
+		 * Maximum number of pooled connections used to access the actuator endpoints of
+		 * the deployed apps.
+		 */
+		private int maxConnections = 200;
+
+		/**
+		 * Maximum number of pooled connections per app instance.
+		 */
+		private int maxConnectionsPerRoute = 5;
+
+		/**
+		 * Time to live of the cached responses of actuator GET requests, responses are not
+		 * cached if not set.
+		 */
+		private Duration responseCacheTimeToLive;
+
+		/**
+		 * Maximum number of cached responses of actuator GET requests.
+		 */
+		private int responseCacheMaxSize = 1000;
+
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public int getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Duration getResponseCacheTimeToLive() {
+			return responseCacheTimeToLive;
+		}
+
+		public void setResponseCacheTimeToLive(Duration responseCacheTimeToLive) {
+			this.responseCacheTimeToLive = responseCacheTimeToLive;
+		}
+
+		public int getResponseCacheMaxSize() {
+			return responseCacheMaxSize;
+		}
+
+		public void setResponseCacheMaxSize(int responseCacheMaxSize) {
+			this.responseCacheMaxSize = responseCacheMaxSize;
+		}
+	}
+
+	public static class UpgradePlans {
+
+		/**
+		 * Time an upgrade plan can be applied after it was planned.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(15);
+
+		/**
+		 * Maximum number of upgrade plans kept waiting to be applied.
+		 */
+		private int maxSize = 1000;
+
+		public Duration getTimeToLive() {
+			return timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(int maxSize) {
+			this.maxSize = maxSize;
+		}
+	}
+
+	public static class Artifacts {
+
+		/**
+		 * Maximum number of resolved artifacts kept in the artifact cache. The cache holds
+		 * the resources only, their files stay in the local Maven repository.
+		 */
+		private int cacheMaxEntries = 1000;
+
+		/**
+		 * Maximum number of artifacts of a release resolved concurrently.
+		 */
+		private int maxConcurrency = 4;
+
+		/**
+		 * Time the artifacts found to exist are not looked up again.
+		 */
+		private Duration existingTimeToLive = Duration.ofMinutes(5);
+
+		/**
+		 * Time the artifacts found missing are not looked up again.
+		 */
+		private Duration missingTimeToLive = Duration.ofSeconds(30);
+
+		public int getCacheMaxEntries() {
+			return cacheMaxEntries;
+		}
+
+		public void setCacheMaxEntries(int cacheMaxEntries) {
+			this.cacheMaxEntries = cacheMaxEntries;
+		}
+
+		public int getMaxConcurrency() {
+			return maxConcurrency;
+		}
+
+		public void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		public Duration getExistingTimeToLive() {
+			return existingTimeToLive;
+		}
+
+		public void setExistingTimeToLive(Duration existingTimeToLive) {
+			this.existingTimeToLive = existingTimeToLive;
+		}
+
+		public Duration getMissingTimeToLive() {
+			return missingTimeToLive;
+		}
+
+		public void setMissingTimeToLive(Duration missingTimeToLive) {
+			this.missingTimeToLive = missingTimeToLive;
+		}
+	}
+
+	public static class ETags {
+
+		/**
+		 * Time a conditional request for a release status or history is answered from the
+		 * last served ETag, without looking the release up again.
+		 */
+		private Duration statusTimeToLive = Duration.ofSeconds(5);
+
+		/**
+		 * Time a conditional request for a release manifest is answered from the last
+		 * served ETag, without looking the release up again.
+		 */
+		private Duration manifestTimeToLive = Duration.ofMinutes(1);
+
+		/**
+		 * Maximum number of served ETags remembered for each kind of resource.
+		 */
+		private int maxSize = 10000;
+
+		public Duration getStatusTimeToLive() {
+			return statusTimeToLive;
+		}
+
+		public void setStatusTimeToLive(Duration statusTimeToLive) {
+			this.statusTimeToLive = statusTimeToLive;
+		}
+
+		public Duration getManifestTimeToLive() {
+			return manifestTimeToLive;
+		}
+
+		public void setManifestTimeToLive(Duration manifestTimeToLive) {
+			this.manifestTimeToLive = manifestTimeToLive;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(int maxSize) {
+			this.maxSize = maxSize;
+		}
+	}
+
+	public static class ReleaseEvents {
+
+		/**
+		 * Number of last release status events kept for the clients reconnecting with the
+		 * id of the last event they received.
+		 */
+		private int historySize = 1000;
+
+		/**
+		 * Interval of the heartbeats sent to keep idle event streams alive.
+		 */
+		private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+		public int getHistorySize() {
+			return historySize;
+		}
+
+		public void setHistorySize(int historySize) {
+			this.historySize = historySize;
+		}
+
+		public Duration getHeartbeatInterval() {
+			return heartbeatInterval;
+		}
+
+		public void setHeartbeatInterval(Duration heartbeatInterval) {
+			this.heartbeatInterval = heartbeatInterval;
+		}
+	}
+
+	public static class RequestCompression {
+
+		/**
+		 * Maximum size of a gzip encoded request body once decoded, larger requests are
+		 * rejected with 413 Payload Too Large.
+		 */
+		private DataSize maxDecodedSize = DataSize.ofMegabytes(20);
+
+		public DataSize getMaxDecodedSize() {
+			return maxDecodedSize;
+		}
+
+		public void setMaxDecodedSize(DataSize maxDecodedSize) {
+			this.maxDecodedSize = maxDecodedSize;
+		}
+	}
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.controller;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter decoding the gzip encoded request bodies, as sent by clients compressing their
+ * requests. Bodies are decoded up to a maximum size, larger ones are answered with
+ * {@code 413 Payload Too Large} so that a small compressed request cannot exhaust the
+ * server memory.
+ */
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+	private static final String GZIP = "gzip";
+
+	private final long maxSize;
+
+	/**
+	 * Instantiates a new gzip request filter.
+	 *
+	 * @param maxSize the maximum size of a decoded request body
+	 */
+	public GzipRequestFilter(DataSize maxSize) {
+		Assert.notNull(maxSize, "'maxSize' must be set");
+		Assert.isTrue(maxSize.toBytes() > 0, "'maxSize' must be greater than zero");
+		this.maxSize = maxSize.toBytes();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+		String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+		if (contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim())) {
+			byte[] body;
+			try {
+				body = decode(request.getInputStream());
+			}
+			catch (ZipException e) {
+				response.sendError(HttpStatus.BAD_REQUEST.value(), "Request body is not valid gzip content");
+				return;
+			}
+			if (body == null) {
+				response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+						"Decoded request body is larger than " + this.maxSize + " bytes");
+				return;
+			}
+			request = new GzipRequestWrapper(request, body);
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	/**
+	 * Decode the given compressed stream.
+	 * @return the decoded bytes or {@code null} if they exceed the maximum size
+	 */
+	private byte[] decode(InputStream compressed) throws IOException {
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		try (GZIPInputStream in = new GZIPInputStream(compressed)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (decoded.size() + read > this.maxSize) {
+					return null;
+				}
+				decoded.write(buffer, 0, read);
+			}
+		}
+		return decoded.toByteArray();
+	}
+
+	private static class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		private ServletInputStream inputStream;
+
+		private BufferedReader reader;
+
+		GzipRequestWrapper(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			if (this.inputStream == null) {
+				this.inputStream = new DecodedServletInputStream(this.body);
+			}
+			return this.inputStream;
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+			if (this.reader == null) {
+				String encoding = getCharacterEncoding();
+				this.reader = new BufferedReader(new InputStreamReader(getInputStream(),
+						encoding != null ? encoding : "UTF-8"));
+			}
+			return this.reader;
+		}
+
+		@Override
+		public int getContentLength() {
+			return this.body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return this.body.length;
+		}
+
+		@Override
+		public String getHeader(String name) {
+			if (isDecodedHeader(name)) {
+				return null;
+			}
+			return super.getHeader(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(String name) {
+			if (isDecodedHeader(name)) {
+				return Collections.emptyEnumeration();
+			}
+			return super.getHeaders(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+			return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+					.filter(name -> !isDecodedHeader(name))
+					.collect(Collectors.toList()));
+		}
+
+		private static boolean isDecodedHeader(String name) {
+			return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+					|| HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+		}
+	}
+
+	private static class DecodedServletInputStream extends ServletInputStream {
+
+		private final ByteArrayInputStream decoded;
+
+		DecodedServletInputStream(byte[] body) {
+			this.decoded = new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public int read() {
+			return this.decoded.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			return this.decoded.read(b, off, len);
+		}
+
+		@Override
+		public boolean isFinished() {
+			return this.decoded.available() == 0;
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			// the whole body is already decoded, so it is available and read at once
+			try {
+				if (!isFinished()) {
+					readListener.onDataAvailable();
+				}
+				readListener.onAllDataRead();
+			}
+			catch (IOException e) {
+				readListener.onError(e);
+			}
+		}
+	}
+}
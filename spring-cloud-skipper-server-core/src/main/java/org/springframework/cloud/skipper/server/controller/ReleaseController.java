@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -35,23 +36,37 @@ import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.LogInfo;
 import org.springframework.cloud.skipper.domain.Manifest;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.controller.support.InfoResourceAssembler;
 import org.springframework.cloud.skipper.server.controller.support.ManifestResourceAssembler;
 import org.springframework.cloud.skipper.server.controller.support.ReleaseResourceAssembler;
 import org.springframework.cloud.skipper.server.controller.support.SimpleResourceAssembler;
 import org.springframework.cloud.skipper.server.service.ActuatorService;
+import org.springframework.cloud.skipper.server.service.ReleaseBatchService;
+import org.springframework.cloud.skipper.server.service.ReleaseEventService;
+import org.springframework.cloud.skipper.server.service.ReleaseReportService;
 import org.springframework.cloud.skipper.server.service.ReleaseService;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -91,6 +106,12 @@ public class ReleaseController {
 
 	private final ActuatorService actuatorService;
 
+	private final ReleaseBatchService releaseBatchService;
+
+	private final ReleaseReportService releaseReportService;
+
+	private final ReleaseEventService releaseEventService;
+
 	@Value("${info.app.name:#{null}}")
 	private String appName;
 
@@ -98,10 +119,15 @@ public class ReleaseController {
 	private String appVersion;
 
 	public ReleaseController(ReleaseService releaseService,
-			SkipperStateMachineService skipperStateMachineService, ActuatorService actuatorService) {
+			SkipperStateMachineService skipperStateMachineService, ActuatorService actuatorService,
+			ReleaseBatchService releaseBatchService, ReleaseReportService releaseReportService,
+			ReleaseEventService releaseEventService) {
 		this.releaseService = releaseService;
 		this.skipperStateMachineService = skipperStateMachineService;
 		this.actuatorService = actuatorService;
+		this.releaseBatchService = releaseBatchService;
+		this.releaseReportService = releaseReportService;
+		this.releaseEventService = releaseEventService;
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
@@ -126,6 +152,10 @@ public class ReleaseController {
 				.withRel("manifest/name/version"));
 		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).upgrade(null))
 				.withRel("upgrade"));
+		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).planUpgrade(null))
+				.withRel("upgrade/plan"));
+		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).batch(null))
+				.withRel("batch"));
 		resource.add(
 				WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).rollbackWithNamedVersion(null, 123))
 						.withRel("rollback"));
@@ -133,6 +163,10 @@ public class ReleaseController {
 				.withRel("list"));
 		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).list(null))
 				.withRel("list/name"));
+		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).summaries(null, null))
+				.withRel("summaries"));
+		resource.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).events(null, null, null))
+				.withRel("events"));
 		return resource;
 	}
 
@@ -150,6 +184,34 @@ public class ReleaseController {
 		return this.releaseService.states(names);
 	}
 
+	/**
+	 * Stream the changes of release statuses as server-sent events. Clients reconnecting
+	 * with the id of the last event they received get the events they missed, as long as
+	 * the server still keeps them.
+	 *
+	 * @param releaseNamePattern the pattern of the release names, supporting {@code *}
+	 * wildcards
+	 * @param platformName the platform name of the releases
+	 * @param lastEventId the id of the last event received
+	 * @return the release status events, interleaved with heartbeat comments
+	 */
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<ReleaseStatusEvent>> events(
+			@RequestParam(name = "name", required = false) String releaseNamePattern,
+			@RequestParam(name = "platform", required = false) String platformName,
+			@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+		Flux<ServerSentEvent<ReleaseStatusEvent>> events = this.releaseEventService
+				.events(releaseNamePattern, platformName, lastEventId)
+				.map(event -> ServerSentEvent.builder(event)
+						.id(String.valueOf(event.getId()))
+						.event("status")
+						.build());
+		Flux<ServerSentEvent<ReleaseStatusEvent>> heartbeats = Flux
+				.interval(this.releaseEventService.getHeartbeatInterval())
+				.map(i -> ServerSentEvent.<ReleaseStatusEvent>builder().comment("heartbeat").build());
+		return Flux.merge(events, heartbeats);
+	}
+
 	@RequestMapping(path = "/status/{name}", method = RequestMethod.GET)
 	@ResponseStatus(HttpStatus.OK)
 	public EntityModel<Info> status(@PathVariable("name") String name) {
@@ -197,10 +259,39 @@ public class ReleaseController {
 	@RequestMapping(path = "/upgrade", method = RequestMethod.POST)
 	@ResponseStatus(HttpStatus.CREATED)
 	public EntityModel<Release> upgrade(@RequestBody UpgradeRequest upgradeRequest) {
+		this.releaseService.validateUpgradeRequest(upgradeRequest);
 		Release release = this.skipperStateMachineService.upgradeRelease(upgradeRequest);
 		return this.releaseResourceAssembler.toModel(release);
 	}
 
+	/**
+	 * Plan an upgrade without deploying anything. The returned plan can be applied by
+	 * referencing its id in a following upgrade request.
+	 *
+	 * @param upgradeRequest the upgrade request to plan
+	 * @return the upgrade plan
+	 */
+	@RequestMapping(path = "/upgrade/plan", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.OK)
+	public EntityModel<UpgradePlan> planUpgrade(@RequestBody UpgradeRequest upgradeRequest) {
+		return new SimpleResourceAssembler<UpgradePlan>().toModel(this.releaseReportService.planUpgrade(upgradeRequest));
+	}
+
+	/**
+	 * Execute a batch of install, upgrade and delete operations. Results are streamed back
+	 * as each operation completes when requested as {@code application/x-ndjson}, otherwise
+	 * they are returned as a single JSON array.
+	 *
+	 * @param batchRequest the batch request
+	 * @return the results of the batch operations
+	 */
+	@RequestMapping(path = "/batch", method = RequestMethod.POST, produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	@ResponseStatus(HttpStatus.OK)
+	public Flux<ReleaseBatchResult> batch(@RequestBody ReleaseBatchRequest batchRequest) {
+		return this.releaseBatchService.execute(batchRequest);
+	}
+
 	@RequestMapping(path = "/rollback", method = RequestMethod.POST)
 	@ResponseStatus(HttpStatus.CREATED)
 	public EntityModel<Release> rollback(@RequestBody RollbackRequest rollbackRequest) {
@@ -260,6 +351,25 @@ public class ReleaseController {
 		return resources;
 	}
 
+	/**
+	 * List a page of the summaries of the releases with status of deployed or failed,
+	 * optionally filtered by the wildcard name of the releases.
+	 */
+	@GetMapping("/summaries")
+	@ResponseStatus(HttpStatus.OK)
+	public PagedModel<EntityModel<ReleaseSummary>> summaries(
+			@RequestParam(name = "name", required = false) String releaseNameLike,
+			@PageableDefault(size = 20) Pageable pageable) {
+		Page<ReleaseSummary> summaries = this.releaseService.listSummaries(releaseNameLike, pageable);
+		PagedModel<EntityModel<ReleaseSummary>> resources = PagedModel.of(
+				summaries.map(EntityModel::of).getContent(),
+				new PagedModel.PageMetadata(summaries.getSize(), summaries.getNumber(),
+						summaries.getTotalElements(), summaries.getTotalPages()));
+		resources.add(WebMvcLinkBuilder.linkTo(methodOn(ReleaseController.class).summaries(releaseNameLike, pageable))
+				.withSelfRel());
+		return resources;
+	}
+
 	@GetMapping("/actuator/{name}/{app}/{id}")
 	public ResponseEntity<String> getFromActuator(
 			@PathVariable("name") String releaseName,
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Filter adding strong ETags to the release status, manifest and history responses and
+ * answering conditional requests with {@code 304 Not Modified}.
+ * <p>
+ * ETags are the hash of the response content, which for these resources is derived from
+ * the release version, its status and its manifest. The ETag last served for a request
+ * is remembered for a short time to live, during which a matching {@code If-None-Match}
+ * is answered without computing the response, so without any database or platform
+ * lookup. Afterwards the response is computed again and a {@code 304} is only saving its
+ * transfer. Remembered ETags are dropped when releases are changed through this server.
+ */
+public class ReleaseETagFilter extends ShallowEtagHeaderFilter {
+
+	private static final String[] STATUS_PATHS = { "/api/release/status/", "/api/releases/search/" };
+
+	private static final String MANIFEST_PATH = "/api/release/manifest/";
+
+	private final Cache<String, String> statusETags;
+
+	private final Cache<String, String> manifestETags;
+
+	/**
+	 * Instantiates a new release ETag filter.
+	 *
+	 * @param statusTimeToLive the time ETags of status and history responses are trusted
+	 * @param manifestTimeToLive the time ETags of manifest responses are trusted
+	 * @param maxSize the maximum number of remembered ETags of each kind
+	 */
+	public ReleaseETagFilter(Duration statusTimeToLive, Duration manifestTimeToLive, int maxSize) {
+		Assert.notNull(statusTimeToLive, "'statusTimeToLive' must be set");
+		Assert.notNull(manifestTimeToLive, "'manifestTimeToLive' must be set");
+		this.statusETags = Caffeine.newBuilder()
+				.expireAfterWrite(statusTimeToLive.toNanos(), TimeUnit.NANOSECONDS)
+				.maximumSize(maxSize)
+				.build();
+		this.manifestETags = Caffeine.newBuilder()
+				.expireAfterWrite(manifestTimeToLive.toNanos(), TimeUnit.NANOSECONDS)
+				.maximumSize(maxSize)
+				.build();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+		Cache<String, String> eTags = getETags(request);
+		if (eTags == null) {
+			try {
+				filterChain.doFilter(request, response);
+			}
+			finally {
+				if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+					invalidate();
+				}
+			}
+			return;
+		}
+		String key = getKey(request);
+		String eTag = eTags.getIfPresent(key);
+		String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+		if (eTag != null && eTag.equals(ifNoneMatch)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			response.setHeader(HttpHeaders.ETAG, eTag);
+			return;
+		}
+		super.doFilterInternal(request, response, filterChain);
+		eTag = response.getHeader(HttpHeaders.ETAG);
+		if (eTag != null && (response.getStatus() == HttpServletResponse.SC_OK
+				|| response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED)) {
+			eTags.put(key, eTag);
+		}
+	}
+
+	/**
+	 * Forget all the remembered ETags, so that following conditional requests are
+	 * computed again.
+	 */
+	public void invalidate() {
+		this.statusETags.invalidateAll();
+		this.manifestETags.invalidateAll();
+	}
+
+	private Cache<String, String> getETags(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			return null;
+		}
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (path.startsWith(MANIFEST_PATH)) {
+			return this.manifestETags;
+		}
+		for (String statusPath : STATUS_PATHS) {
+			if (path.startsWith(statusPath)) {
+				return this.statusETags;
+			}
+		}
+		return null;
+	}
+
+	private static String getKey(HttpServletRequest request) {
+		return request.getRequestURI() + "?" + request.getQueryString() + " " + request.getHeader(HttpHeaders.ACCEPT);
+	}
+}
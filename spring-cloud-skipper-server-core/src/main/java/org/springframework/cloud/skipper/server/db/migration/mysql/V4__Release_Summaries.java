@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.db.migration.mysql;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.common.flyway.AbstractMigration;
+import org.springframework.cloud.dataflow.common.flyway.SqlCommand;
+
+/**
+ * Adds the indexes used by the paged release listing, filtering releases by status code
+ * and sorting them by name and version.
+ */
+public class V4__Release_Summaries extends AbstractMigration {
+
+	public final static String CREATE_INDEX_STATUS_CODE =
+			"create index idx_status_code on skipper_status (status_code)";
+
+	public final static String CREATE_INDEX_REL_NAME_VERSION =
+			"create index idx_rel_name_version on skipper_release (name, version)";
+
+	public V4__Release_Summaries() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_INDEX_STATUS_CODE),
+				SqlCommand.from(CREATE_INDEX_REL_NAME_VERSION)));
+	}
+}
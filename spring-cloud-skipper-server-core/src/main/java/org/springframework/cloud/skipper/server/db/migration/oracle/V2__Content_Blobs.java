@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.db.migration.oracle;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.common.flyway.AbstractMigration;
+import org.springframework.cloud.dataflow.common.flyway.SqlCommand;
+
+/**
+ * Adds the content blob table and the columns referencing it from releases and
+ * manifests.
+ */
+public class V2__Content_Blobs extends AbstractMigration {
+
+	public final static String CREATE_SKIPPER_CONTENT_BLOB_TABLE =
+			"create table skipper_content_blob (\n" +
+			"    hash varchar2(64 char) not null,\n" +
+			"    content blob,\n" +
+			"    primary key (hash)\n" +
+			")";
+
+	public final static String ADD_SKIPPER_RELEASE_PKG_JSON_HASH_COLUMN =
+			"alter table skipper_release add pkg_json_hash varchar2(64 char)";
+
+	public final static String ADD_SKIPPER_RELEASE_CONFIG_VALUES_HASH_COLUMN =
+			"alter table skipper_release add config_values_hash varchar2(64 char)";
+
+	public final static String ADD_SKIPPER_MANIFEST_DATA_HASH_COLUMN =
+			"alter table skipper_manifest add data_hash varchar2(64 char)";
+
+	public final static String ADD_SKIPPER_RELEASE_FK_RELEASE_PKG_JSON_BLOB_CONSTRAINT =
+			"alter table skipper_release\n" +
+			"    add constraint fk_release_pkg_json_blob\n" +
+			"    foreign key (pkg_json_hash)\n" +
+			"    references skipper_content_blob (hash)";
+
+	public final static String ADD_SKIPPER_RELEASE_FK_RELEASE_CONFIG_VALUES_BLOB_CONSTRAINT =
+			"alter table skipper_release\n" +
+			"    add constraint fk_release_config_values_blob\n" +
+			"    foreign key (config_values_hash)\n" +
+			"    references skipper_content_blob (hash)";
+
+	public final static String ADD_SKIPPER_MANIFEST_FK_MANIFEST_DATA_BLOB_CONSTRAINT =
+			"alter table skipper_manifest\n" +
+			"    add constraint fk_manifest_data_blob\n" +
+			"    foreign key (data_hash)\n" +
+			"    references skipper_content_blob (hash)";
+
+	public V2__Content_Blobs() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_SKIPPER_CONTENT_BLOB_TABLE),
+				SqlCommand.from(ADD_SKIPPER_RELEASE_PKG_JSON_HASH_COLUMN),
+				SqlCommand.from(ADD_SKIPPER_RELEASE_CONFIG_VALUES_HASH_COLUMN),
+				SqlCommand.from(ADD_SKIPPER_MANIFEST_DATA_HASH_COLUMN),
+				SqlCommand.from(ADD_SKIPPER_RELEASE_FK_RELEASE_PKG_JSON_BLOB_CONSTRAINT),
+				SqlCommand.from(ADD_SKIPPER_RELEASE_FK_RELEASE_CONFIG_VALUES_BLOB_CONSTRAINT),
+				SqlCommand.from(ADD_SKIPPER_MANIFEST_FK_MANIFEST_DATA_BLOB_CONSTRAINT)));
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.db.migration.oracle;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.dataflow.common.flyway.AbstractMigration;
+import org.springframework.cloud.dataflow.common.flyway.SqlCommand;
+
+/**
+ * Adds the app deployment table normalizing the deployment data of app deployer data,
+ * and indexes looking both up by release name and version.
+ */
+public class V3__App_Deployments extends AbstractMigration {
+
+	public final static String CREATE_SKIPPER_APP_DEPLOYMENT_TABLE =
+			"create table skipper_app_deployment (\n" +
+			"    id number(19,0) not null,\n" +
+			"    object_version number(19,0),\n" +
+			"    release_name varchar2(255 char),\n" +
+			"    release_version number(10,0),\n" +
+			"    app_name varchar2(255 char),\n" +
+			"    deployment_id varchar2(255 char),\n" +
+			"    app_deployer_data_id number(19,0),\n" +
+			"    primary key (id)\n" +
+			")";
+
+	public final static String ADD_SKIPPER_APP_DEPLOYMENT_FK_APP_DEPLOYMENT_APP_DEPLOYER_DATA_CONSTRAINT =
+			"alter table skipper_app_deployment\n" +
+			"    add constraint fk_app_dep_app_deployer_data\n" +
+			"    foreign key (app_deployer_data_id)\n" +
+			"    references skipper_app_deployer_data (id)";
+
+	public final static String CREATE_INDEX_APP_DEP_RELEASE =
+			"create index idx_app_dep_release on skipper_app_deployment (release_name, release_version)";
+
+	public final static String CREATE_INDEX_APP_DEPLOYER_DATA_RELEASE =
+			"create index idx_app_deployer_data_release on skipper_app_deployer_data (release_name, release_version)";
+
+	public V3__App_Deployments() {
+		super(Arrays.asList(
+				SqlCommand.from(CREATE_SKIPPER_APP_DEPLOYMENT_TABLE),
+				SqlCommand.from(ADD_SKIPPER_APP_DEPLOYMENT_FK_APP_DEPLOYMENT_APP_DEPLOYER_DATA_CONSTRAINT),
+				SqlCommand.from(CREATE_INDEX_APP_DEP_RELEASE),
+				SqlCommand.from(CREATE_INDEX_APP_DEPLOYER_DATA_RELEASE)));
+	}
+}
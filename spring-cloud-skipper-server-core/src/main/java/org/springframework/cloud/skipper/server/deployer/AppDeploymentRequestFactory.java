@@ -42,7 +42,7 @@ public class AppDeploymentRequestFactory {
 	private static final String APP_NAME_PROPERY = AppDeployer.PREFIX + "appName";
 	private static final Logger logger = LoggerFactory.getLogger(AppDeploymentRequestFactory.class);
 
-	private final DelegatingResourceLoader delegatingResourceLoader;
+	private final ArtifactResolutionService artifactResolutionService;
 
 	/**
 	 * Instantiates a new {@code AppDeploymentRequestFactory}.
@@ -50,8 +50,18 @@ public class AppDeploymentRequestFactory {
 	 * @param delegatingResourceLoader the delegating resource loader
 	 */
 	public AppDeploymentRequestFactory(DelegatingResourceLoader delegatingResourceLoader) {
-		Assert.notNull(delegatingResourceLoader, "'delegatingResourceLoader' must be set");
-		this.delegatingResourceLoader = delegatingResourceLoader;
+		this(new ArtifactResolutionService(delegatingResourceLoader));
+	}
+
+	/**
+	 * Instantiates a new {@code AppDeploymentRequestFactory} resolving resources through
+	 * the given, possibly shared, artifact resolution service.
+	 *
+	 * @param artifactResolutionService the artifact resolution service
+	 */
+	public AppDeploymentRequestFactory(ArtifactResolutionService artifactResolutionService) {
+		Assert.notNull(artifactResolutionService, "'artifactResolutionService' must be set");
+		this.artifactResolutionService = artifactResolutionService;
 	}
 
 	public static String getResourceLocation(String specResource, String specVersion) {
@@ -97,7 +107,7 @@ public class AppDeploymentRequestFactory {
 				applicationProperties);
 		Resource resource;
 		try {
-			resource = delegatingResourceLoader.getResource(getResourceLocation(spec.getResource(), spec.getVersion()));
+			resource = this.artifactResolutionService.getResource(getResourceLocation(spec.getResource(), spec.getVersion()));
 		}
 		catch (Exception e) {
 			throw new SkipperException(
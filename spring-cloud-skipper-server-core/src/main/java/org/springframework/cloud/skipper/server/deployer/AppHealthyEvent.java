@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event platforms able to watch their applications may publish when an application of a
+ * release became healthy. An upgrade waiting for its applications to become healthy then
+ * checks them right away instead of waiting for its next scheduled health check. The
+ * event is only a hint, the health of the applications is always verified by the upgrade
+ * strategy.
+ */
+@SuppressWarnings("serial")
+public class AppHealthyEvent extends ApplicationEvent {
+
+	private final String releaseName;
+
+	private final String deploymentId;
+
+	/**
+	 * Create an event.
+	 *
+	 * @param source the component publishing the event
+	 * @param releaseName the name of the release the application belongs to
+	 * @param deploymentId the deployment id of the application, may be {@code null}
+	 */
+	public AppHealthyEvent(Object source, String releaseName, String deploymentId) {
+		super(source);
+		this.releaseName = releaseName;
+		this.deploymentId = deploymentId;
+	}
+
+	public String getReleaseName() {
+		return releaseName;
+	}
+
+	public String getDeploymentId() {
+		return deploymentId;
+	}
+}
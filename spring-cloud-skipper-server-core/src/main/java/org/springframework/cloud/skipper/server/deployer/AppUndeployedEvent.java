@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by the {@link ReleaseAppUndeployer} each time an application of a
+ * release has been undeployed, successfully or not, reporting the progress of the
+ * overall undeploy operation.
+ */
+@SuppressWarnings("serial")
+public class AppUndeployedEvent extends ApplicationEvent {
+
+	private final String appName;
+
+	private final String deploymentId;
+
+	private final int completed;
+
+	private final int total;
+
+	private final Exception error;
+
+	public AppUndeployedEvent(Release release, String appName, String deploymentId, int completed, int total,
+			Exception error) {
+		super(release);
+		this.appName = appName;
+		this.deploymentId = deploymentId;
+		this.completed = completed;
+		this.total = total;
+		this.error = error;
+	}
+
+	public Release getRelease() {
+		return (Release) getSource();
+	}
+
+	public String getAppName() {
+		return appName;
+	}
+
+	public String getDeploymentId() {
+		return deploymentId;
+	}
+
+	/**
+	 * @return the number of applications of the operation undeployed so far, including this one
+	 */
+	public int getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * @return the total number of applications to undeploy in the operation
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return the exception raised by the platform, or {@code null} if the undeploy succeeded
+	 */
+	public Exception getError() {
+		return error;
+	}
+
+	public boolean isSuccess() {
+		return this.error == null;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Checks that the resources of the applications exist without fetching them. Maven
+ * artifacts are looked up in the local repository and then with {@code HEAD} requests
+ * against the remote repositories, the {@code maven-metadata.xml} of the version being
+ * looked up for snapshots. Http resources are looked up with a {@code HEAD} request and
+ * file resources on the file system. Docker images are pulled by the platforms with their
+ * own registry credentials and are always assumed to exist.
+ * <p>
+ * An artifact is only reported missing when every lookup tells it is, lookups failing
+ * for other reasons do not fail the check. Results are cached by location, missing
+ * artifacts for a shorter time so that an artifact published in the meantime is found.
+ */
+public class ArtifactExistenceChecker {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArtifactExistenceChecker.class);
+
+	private static final int TIMEOUT = (int) Duration.ofSeconds(5).toMillis();
+
+	private final MavenProperties mavenProperties;
+
+	// Key = resource location, value = result of the last lookup
+	private final Cache<String, Existence> results;
+
+	public ArtifactExistenceChecker(MavenProperties mavenProperties) {
+		this(mavenProperties, Duration.ofMinutes(5), Duration.ofSeconds(30));
+	}
+
+	public ArtifactExistenceChecker(MavenProperties mavenProperties, Duration existingTimeToLive,
+			Duration missingTimeToLive) {
+		Assert.notNull(existingTimeToLive, "'existingTimeToLive' must be set");
+		Assert.notNull(missingTimeToLive, "'missingTimeToLive' must be set");
+		this.mavenProperties = mavenProperties;
+		this.results = Caffeine.newBuilder()
+				.maximumSize(1000)
+				.expireAfter(new Expiry<String, Existence>() {
+
+					@Override
+					public long expireAfterCreate(String location, Existence existence, long currentTime) {
+						return (existence == Existence.EXISTS ? existingTimeToLive : missingTimeToLive).toNanos();
+					}
+
+					@Override
+					public long expireAfterUpdate(String location, Existence existence, long currentTime,
+							long currentDuration) {
+						return expireAfterCreate(location, existence, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(String location, Existence existence, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+
+	/**
+	 * Check if the resource of the given location exists.
+	 *
+	 * @param location the resource location
+	 * @param resource the resource loaded from the location
+	 * @return false if the resource is known not to exist
+	 */
+	public boolean exists(String location, Resource resource) {
+		Existence existence = this.results.get(location, l -> check(resource));
+		logger.debug("Artifact {} existence is {}", location, existence);
+		return existence != Existence.MISSING;
+	}
+
+	private Existence check(Resource resource) {
+		try {
+			if (resource instanceof MavenResource) {
+				return checkMaven((MavenResource) resource);
+			}
+			if (resource == null || resource instanceof DockerResource) {
+				return Existence.UNKNOWN;
+			}
+			if (resource.isFile()) {
+				return resource.getFile().exists() ? Existence.EXISTS : Existence.MISSING;
+			}
+			String protocol = resource.getURL().getProtocol();
+			if ("http".equals(protocol) || "https".equals(protocol)) {
+				return head(resource.getURL().toString(), null, null);
+			}
+		}
+		catch (IOException e) {
+			logger.debug("Could not look up artifact {}", resource, e);
+		}
+		return Existence.UNKNOWN;
+	}
+
+	private Existence checkMaven(MavenResource resource) {
+		if (this.mavenProperties == null) {
+			return Existence.UNKNOWN;
+		}
+		String directory = resource.getGroupId().replace('.', '/') + "/" + resource.getArtifactId() + "/"
+				+ resource.getVersion() + "/";
+		String fileName = resource.getArtifactId() + "-" + resource.getVersion()
+				+ (StringUtils.hasText(resource.getClassifier()) ? "-" + resource.getClassifier() : "")
+				+ "." + resource.getExtension();
+		if (new File(this.mavenProperties.getLocalRepository(), directory + fileName).exists()) {
+			return Existence.EXISTS;
+		}
+		if (this.mavenProperties.isOffline()) {
+			return Existence.MISSING;
+		}
+		if (this.mavenProperties.getRemoteRepositories().isEmpty()) {
+			return Existence.UNKNOWN;
+		}
+		// snapshots are deployed with timestamped file names, the version metadata tells if any exists
+		String path = directory + (resource.getVersion().endsWith("-SNAPSHOT") ? "maven-metadata.xml" : fileName);
+		Existence existence = Existence.MISSING;
+		for (MavenProperties.RemoteRepository repository : this.mavenProperties.getRemoteRepositories().values()) {
+			String url = StringUtils.trimTrailingCharacter(repository.getUrl(), '/') + "/" + path;
+			MavenProperties.Authentication auth = repository.getAuth();
+			Existence found = auth != null ? head(url, auth.getUsername(), auth.getPassword())
+					: head(url, null, null);
+			if (found == Existence.EXISTS) {
+				return found;
+			}
+			if (found == Existence.UNKNOWN) {
+				existence = found;
+			}
+		}
+		return existence;
+	}
+
+	private Existence head(String url, String username, String password) {
+		HttpURLConnection connection = null;
+		try {
+			connection = (HttpURLConnection) new URL(url).openConnection();
+			connection.setRequestMethod("HEAD");
+			connection.setConnectTimeout(TIMEOUT);
+			connection.setReadTimeout(TIMEOUT);
+			if (StringUtils.hasText(username)) {
+				String credentials = username + ":" + (password != null ? password : "");
+				connection.setRequestProperty("Authorization",
+						"Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+			}
+			int status = connection.getResponseCode();
+			if (status >= 200 && status < 300) {
+				return Existence.EXISTS;
+			}
+			return status == HttpURLConnection.HTTP_NOT_FOUND || status == HttpURLConnection.HTTP_GONE
+					? Existence.MISSING : Existence.UNKNOWN;
+		}
+		catch (IOException e) {
+			logger.debug("Could not look up {}", url, e);
+			return Existence.UNKNOWN;
+		}
+		finally {
+			if (connection != null) {
+				connection.disconnect();
+			}
+		}
+	}
+
+	private enum Existence {
+		EXISTS, MISSING, UNKNOWN
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Resolves the resources of the applications through the {@link DelegatingResourceLoader}
+ * and caches them by location, so that analysing and deploying a release resolve each
+ * artifact once. Checking that an artifact exists does not fetch it, see
+ * {@link ArtifactExistenceChecker}. Maven artifacts are fetched into the local repository when they are
+ * resolved and the checksum of the fetched file is kept, a cached artifact whose file got
+ * deleted or changed is resolved again. Concurrent resolutions of the same location share
+ * a single fetch. The cache only holds the resource handles and is bounded by their number,
+ * evicting the least used first; the fetched files stay in the local Maven repository,
+ * which is not cleaned by this service. Cache statistics are published as
+ * {@code cache.*} metrics of the {@code skipper.artifacts} cache.
+ */
+public class ArtifactResolutionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArtifactResolutionService.class);
+
+	private final DelegatingResourceLoader delegatingResourceLoader;
+
+	private final ArtifactExistenceChecker artifactExistenceChecker;
+
+	private final int maxConcurrency;
+
+	// Key = resource location, value = the resolved resource and its fetched file
+	private final Cache<String, ResolvedArtifact> artifacts;
+
+	public ArtifactResolutionService(DelegatingResourceLoader delegatingResourceLoader) {
+		this(delegatingResourceLoader, new ArtifactExistenceChecker(null), 1000, 4, new SimpleMeterRegistry());
+	}
+
+	public ArtifactResolutionService(DelegatingResourceLoader delegatingResourceLoader,
+			ArtifactExistenceChecker artifactExistenceChecker, int maxCacheEntries, int maxConcurrency,
+			MeterRegistry meterRegistry) {
+		Assert.notNull(delegatingResourceLoader, "'delegatingResourceLoader' must be set");
+		Assert.notNull(artifactExistenceChecker, "'artifactExistenceChecker' must be set");
+		Assert.isTrue(maxCacheEntries > 0, "'maxCacheEntries' must be greater than zero");
+		Assert.isTrue(maxConcurrency > 0, "'maxConcurrency' must be greater than zero");
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
+		this.delegatingResourceLoader = delegatingResourceLoader;
+		this.artifactExistenceChecker = artifactExistenceChecker;
+		this.maxConcurrency = maxConcurrency;
+		this.artifacts = Caffeine.newBuilder()
+				.maximumSize(maxCacheEntries)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.artifacts, "skipper.artifacts");
+	}
+
+	/**
+	 * Get the resource of the given location, resolving it if it is not cached yet or if
+	 * its cached file is no longer valid.
+	 *
+	 * @param location the resource location
+	 * @return the resource
+	 */
+	public Resource getResource(String location) {
+		try {
+			ResolvedArtifact artifact = this.artifacts.get(location, this::resolve);
+			if (!artifact.isValid()) {
+				logger.info("Cached artifact {} was deleted or changed, resolving it again", location);
+				this.artifacts.asMap().remove(location, artifact);
+				artifact = this.artifacts.get(location, this::resolve);
+			}
+			return artifact.resource;
+		}
+		catch (UnfetchedArtifactException e) {
+			// let the deployer fetch it and report the failure, as without pre-resolution
+			logger.warn("Could not fetch artifact {} ahead of deployment: {}", location, e.getCause().getMessage());
+			return e.resource;
+		}
+	}
+
+	/**
+	 * Check if the resource of the given location exists, without fetching it.
+	 *
+	 * @param location the resource location
+	 * @return false if the resource is known not to exist
+	 */
+	public boolean exists(String location) {
+		ResolvedArtifact artifact = this.artifacts.asMap().get(location);
+		if (artifact != null && artifact.file != null && artifact.file.exists()) {
+			return true;
+		}
+		return this.artifactExistenceChecker.exists(location, this.delegatingResourceLoader.getResource(location));
+	}
+
+	/**
+	 * Resolve the resources of the given locations in parallel, typically ahead of
+	 * deploying them. Locations failing to resolve are skipped, the failure is reported
+	 * again when the resource gets used.
+	 *
+	 * @param locations the resource locations
+	 * @return a mono completing once all the resources are resolved, resolution starts on
+	 * subscription
+	 */
+	public Mono<Void> resolveAll(Collection<String> locations) {
+		return Flux.fromIterable(new LinkedHashSet<>(locations))
+				.flatMap(location -> Mono.fromRunnable(() -> preResolve(location))
+						.subscribeOn(Schedulers.boundedElastic()), this.maxConcurrency)
+				.then();
+	}
+
+	private void preResolve(String location) {
+		try {
+			getResource(location);
+		}
+		catch (Exception e) {
+			logger.debug("Could not resolve artifact {}", location, e);
+		}
+	}
+
+	private ResolvedArtifact resolve(String location) {
+		Resource resource = this.delegatingResourceLoader.getResource(location);
+		if (!(resource instanceof MavenResource)) {
+			return new ResolvedArtifact(resource, null);
+		}
+		try {
+			File file = resource.getFile();
+			logger.debug("Fetched artifact {} to {}", location, file);
+			return new ResolvedArtifact(resource, file);
+		}
+		catch (Exception e) {
+			throw new UnfetchedArtifactException(resource, e);
+		}
+	}
+
+	private static String checksum(File file) {
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			return DigestUtils.md5DigestAsHex(in);
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static class ResolvedArtifact {
+
+		private final Resource resource;
+
+		private final File file;
+
+		private final String checksum;
+
+		private volatile long length;
+
+		private volatile long lastModified;
+
+		ResolvedArtifact(Resource resource, File file) {
+			this.resource = resource;
+			this.file = file;
+			if (file != null) {
+				this.length = file.length();
+				this.lastModified = file.lastModified();
+				this.checksum = checksum(file);
+			}
+			else {
+				this.checksum = null;
+			}
+		}
+
+		boolean isValid() {
+			if (this.file == null) {
+				return true;
+			}
+			if (!this.file.exists()) {
+				return false;
+			}
+			long length = this.file.length();
+			long lastModified = this.file.lastModified();
+			if (length == this.length && lastModified == this.lastModified) {
+				return true;
+			}
+			// the file was touched, only its content tells if it changed
+			if (length != this.length || this.checksum == null || !this.checksum.equals(checksum(this.file))) {
+				return false;
+			}
+			this.lastModified = lastModified;
+			return true;
+		}
+	}
+
+	private static class UnfetchedArtifactException extends RuntimeException {
+
+		private final transient Resource resource;
+
+		UnfetchedArtifactException(Resource resource, Exception cause) {
+			super(cause);
+			this.resource = resource;
+		}
+	}
+}
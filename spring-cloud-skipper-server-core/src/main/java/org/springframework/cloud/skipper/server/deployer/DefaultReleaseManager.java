@@ -60,6 +60,7 @@ import org.springframework.cloud.skipper.server.repository.map.DeployerRepositor
 import org.springframework.cloud.skipper.server.util.ArgumentSanitizer;
 import org.springframework.cloud.skipper.server.util.ConfigValueUtils;
 import org.springframework.cloud.skipper.server.util.ManifestUtils;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
@@ -93,6 +94,8 @@ public class DefaultReleaseManager implements ReleaseManager {
 
 	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader;
 
+	private final ReleaseAppUndeployer releaseAppUndeployer;
+
 	private final LoadingCache<CacheKey, Mono<Map<String, DeploymentState>>> cache = Caffeine.newBuilder()
 			.expireAfterWrite(60, TimeUnit.SECONDS)
 			.build(k -> {
@@ -109,13 +112,15 @@ public class DefaultReleaseManager implements ReleaseManager {
 	public DefaultReleaseManager(ReleaseRepository releaseRepository,
 			AppDeployerDataRepository appDeployerDataRepository, DeployerRepository deployerRepository,
 			ReleaseAnalyzer releaseAnalyzer, AppDeploymentRequestFactory appDeploymentRequestFactory,
-			SpringCloudDeployerApplicationManifestReader applicationManifestReader) {
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ReleaseAppUndeployer releaseAppUndeployer) {
 		this.releaseRepository = releaseRepository;
 		this.appDeployerDataRepository = appDeployerDataRepository;
 		this.deployerRepository = deployerRepository;
 		this.releaseAnalyzer = releaseAnalyzer;
 		this.appDeploymentRequestFactory = appDeploymentRequestFactory;
 		this.applicationManifestReader = applicationManifestReader;
+		this.releaseAppUndeployer = releaseAppUndeployer;
 	}
 
 	@Override
@@ -126,7 +131,9 @@ public class DefaultReleaseManager implements ReleaseManager {
 
 	public Release install(Release newRelease) {
 		Release release = this.releaseRepository.save(newRelease);
-		logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(newRelease.getManifest().getData()));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(newRelease.getManifest().getData()));
+		}
 		// Deploy the application
 		List<? extends SpringCloudDeployerApplicationManifest> applicationSpecList = this.applicationManifestReader
 				.read(release.getManifest().getData());
@@ -138,7 +145,7 @@ public class DefaultReleaseManager implements ReleaseManager {
 					springCloudDeployerApplicationManifest,
 					release.getName(),
 					String.valueOf(release.getVersion()));
-			try {
+			try (OperationTracer.Span span = OperationTracer.span("platform.deploy")) {
 				String deploymentId = appDeployer.deploy(appDeploymentRequest);
 				String applicationName = springCloudDeployerApplicationManifest.getApplicationName();
 				appNameDeploymentIdMap.put(applicationName, deploymentId);
@@ -548,17 +555,15 @@ public class DefaultReleaseManager implements ReleaseManager {
 				.getAppDeployer();
 		AppDeployerData appDeployerData = this.appDeployerDataRepository
 				.findByReleaseNameAndReleaseVersionRequired(release.getName(), release.getVersion());
-		List<String> deploymentIds = (appDeployerData != null) ? appDeployerData.getDeploymentIds() : Collections.EMPTY_LIST;
-		logger.debug("DeploymentIds to undeploy {}", deploymentIds);
-		if (!deploymentIds.isEmpty()) {
-			for (String deploymentId : deploymentIds) {
-				try {
-					appDeployer.undeploy(deploymentId);
-				}
-				catch (Exception e) {
-					logger.error(String.format("Exception undeploying the application with the deploymentId %s. "
-							+ "Exception message: %s", deploymentId, e.getMessage()));
-				}
+		Map<String, String> appNamesAndDeploymentIds = (appDeployerData != null) ?
+				appDeployerData.getDeploymentDataAsMap() : Collections.EMPTY_MAP;
+		logger.debug("DeploymentIds to undeploy {}", appNamesAndDeploymentIds.values());
+		if (!appNamesAndDeploymentIds.isEmpty()) {
+			ReleaseAppUndeployer.UndeployResult result = this.releaseAppUndeployer.undeploy(release, appDeployer,
+					appNamesAndDeploymentIds);
+			if (result.hasFailures()) {
+				logger.error("Could not undeploy applications {} of release {}-v{}", result.getFailures().keySet(),
+						release.getName(), release.getVersion());
 			}
 			Status deletedStatus = new Status();
 			deletedStatus.setStatusCode(StatusCode.DELETED);
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.cloud.skipper.domain.Deployer;
+
+/**
+ * Registry of the {@link Deployer}s of all platforms by name. The registry is an
+ * immutable snapshot swapped as a whole when deployers are saved or deleted, so lookups
+ * done for every status, health check, scale, logs, actuator and delete call are lock
+ * free and don't query the deployer repository.
+ */
+public class DeployerRegistry {
+
+	private volatile Map<String, Deployer> deployers = Collections.emptyMap();
+
+	/**
+	 * Replace the registered deployers.
+	 *
+	 * @param deployers the deployers of all platforms
+	 */
+	public synchronized void refresh(Iterable<Deployer> deployers) {
+		Map<String, Deployer> registered = new HashMap<>();
+		for (Deployer deployer : deployers) {
+			registered.put(deployer.getName(), deployer);
+		}
+		this.deployers = Collections.unmodifiableMap(registered);
+	}
+
+	/**
+	 * Find a registered deployer.
+	 *
+	 * @param name the name of the deployer
+	 * @return the deployer or {@code null} if there is none with the given name
+	 */
+	public Deployer find(String name) {
+		return name != null ? this.deployers.get(name) : null;
+	}
+
+	/**
+	 * @return all registered deployers
+	 */
+	public Collection<Deployer> getDeployers() {
+		return this.deployers.values();
+	}
+}
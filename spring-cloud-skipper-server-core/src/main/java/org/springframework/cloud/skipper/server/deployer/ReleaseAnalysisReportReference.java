@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact reference to a {@link ReleaseAnalysisReport} identifying the analysed releases
+ * by name and version. Unlike the report itself it is kept in the persisted state machine
+ * context, allowing the report to be restored without analysing the releases again.
+ */
+public class ReleaseAnalysisReportReference {
+
+	private String releaseName;
+
+	private int existingReleaseVersion;
+
+	private int replacingReleaseVersion;
+
+	private List<String> applicationNamesToUpgrade = new ArrayList<>();
+
+	public ReleaseAnalysisReportReference() {
+	}
+
+	/**
+	 * Create a reference to the given report.
+	 *
+	 * @param releaseAnalysisReport the release analysis report
+	 * @return the reference
+	 */
+	public static ReleaseAnalysisReportReference from(ReleaseAnalysisReport releaseAnalysisReport) {
+		ReleaseAnalysisReportReference reference = new ReleaseAnalysisReportReference();
+		reference.releaseName = releaseAnalysisReport.getReplacingRelease().getName();
+		reference.existingReleaseVersion = releaseAnalysisReport.getExistingRelease().getVersion();
+		reference.replacingReleaseVersion = releaseAnalysisReport.getReplacingRelease().getVersion();
+		reference.applicationNamesToUpgrade = new ArrayList<>(releaseAnalysisReport.getApplicationNamesToUpgrade());
+		return reference;
+	}
+
+	public String getReleaseName() {
+		return releaseName;
+	}
+
+	public int getExistingReleaseVersion() {
+		return existingReleaseVersion;
+	}
+
+	public int getReplacingReleaseVersion() {
+		return replacingReleaseVersion;
+	}
+
+	public List<String> getApplicationNamesToUpgrade() {
+		return applicationNamesToUpgrade;
+	}
+}
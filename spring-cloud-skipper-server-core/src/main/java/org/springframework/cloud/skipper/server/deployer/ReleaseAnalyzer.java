@@ -31,7 +31,6 @@ import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationMa
 import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
 import org.springframework.cloud.skipper.domain.deployer.ApplicationManifestDifference;
 import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
-import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
 /**
@@ -48,13 +47,18 @@ public class ReleaseAnalyzer {
 
 	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader;
 	private final Logger logger = LoggerFactory.getLogger(ReleaseAnalyzer.class);
-	private final DelegatingResourceLoader delegatingResourceLoader;
+	private final ArtifactResolutionService artifactResolutionService;
 	private ApplicationManifestDifferenceFactory applicationManifestDifferenceFactory = new ApplicationManifestDifferenceFactory();
 
 	public ReleaseAnalyzer(SpringCloudDeployerApplicationManifestReader applicationManifestReader,
 			DelegatingResourceLoader delegatingResourceLoader) {
+		this(applicationManifestReader, new ArtifactResolutionService(delegatingResourceLoader));
+	}
+
+	public ReleaseAnalyzer(SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ArtifactResolutionService artifactResolutionService) {
 		this.applicationManifestReader = applicationManifestReader;
-		this.delegatingResourceLoader = delegatingResourceLoader;
+		this.artifactResolutionService = artifactResolutionService;
 	}
 
 	/**
@@ -74,11 +78,12 @@ public class ReleaseAnalyzer {
 				.read(existingRelease.getManifest().getData());
 		List<? extends SpringCloudDeployerApplicationManifest> replacingApplicationSpecList = this.applicationManifestReader
 				.read(replacingRelease.getManifest().getData());
+		ReleaseAnalysisReport report;
 		if (existingRelease.getPkg().getDependencies().size() == replacingRelease.getPkg().getDependencies()
 				.size()) {
 			if (existingRelease.getPkg().getDependencies().size() == 0) {
 				logger.info("Existing Package and Upgrade Package both have no dependent packages.");
-				return analyzeTopLevelPackagesOnly(existingApplicationSpecList,
+				report = analyzeTopLevelPackagesOnly(existingApplicationSpecList,
 						replacingApplicationSpecList,
 						existingRelease, replacingRelease, isForceUpdate, appNamesToUpdate);
 			}
@@ -86,7 +91,7 @@ public class ReleaseAnalyzer {
 				if (existingRelease.getPkg().getTemplates().size() == 0 &&
 						replacingRelease.getPkg().getTemplates().size() == 0) {
 					logger.info("Existing Package and Upgrade package both have no top level templates");
-					return analyzeDependentPackagesOnly(existingApplicationSpecList,
+					report = analyzeDependentPackagesOnly(existingApplicationSpecList,
 							replacingApplicationSpecList,
 							existingRelease, replacingRelease, isForceUpdate, appNamesToUpdate);
 				}
@@ -100,6 +105,28 @@ public class ReleaseAnalyzer {
 			throw new SkipperException(
 					"Can not yet compare existing package and to be released packages with different sizes.");
 		}
+		resolveArtifactsToUpgrade(replacingApplicationSpecList, report.getApplicationNamesToUpgrade());
+		return report;
+	}
+
+	/**
+	 * Fetch the artifacts of the applications to upgrade in the background, in parallel, so
+	 * that the deployment does not wait on them one by one while the analysis only checked
+	 * they exist. Unchanged applications are not redeployed, their artifacts aren't fetched.
+	 */
+	private void resolveArtifactsToUpgrade(
+			List<? extends SpringCloudDeployerApplicationManifest> replacingApplicationSpecList,
+			List<String> applicationNamesToUpgrade) {
+		if (applicationNamesToUpgrade.isEmpty()) {
+			return;
+		}
+		this.artifactResolutionService.resolveAll(replacingApplicationSpecList.stream()
+				.filter(manifest -> applicationNamesToUpgrade.contains(manifest.getApplicationName()))
+				.map(SpringCloudDeployerApplicationManifest::getSpec)
+				.filter(spec -> spec != null && StringUtils.hasText(spec.getResource()))
+				.map(spec -> AppDeploymentRequestFactory.getResourceLocation(spec.getResource(), spec.getVersion()))
+				.collect(Collectors.toList()))
+				.subscribe();
 	}
 
 	public List<String> getAllApplicationNames(Release release) {
@@ -147,16 +174,19 @@ public class ReleaseAnalyzer {
 			SpringCloudDeployerApplicationManifest matchingReplacingApplicationManifest) {
 		String resourceName = matchingReplacingApplicationManifest.getSpec().getResource();
 		String resourceVersion = matchingReplacingApplicationManifest.getSpec().getVersion();
+		String message = "Could not find Resource in replacing release name [" + resourceName
+				+ "], version ["
+				+ resourceVersion + "].";
+		boolean exists;
 		try {
-			Resource resource = delegatingResourceLoader.getResource(
+			exists = this.artifactResolutionService.exists(
 					AppDeploymentRequestFactory.getResourceLocation(resourceName, resourceVersion));
 		}
 		catch (Exception e) {
-			throw new SkipperException(
-					"Could not find Resource in replacing release name [" + resourceName
-							+ "], version ["
-							+ resourceVersion + "].",
-					e);
+			throw new SkipperException(message, e);
+		}
+		if (!exists) {
+			throw new SkipperException(message);
 		}
 	}
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * Undeploys the applications of a release concurrently. The number of undeploy calls in
+ * flight against a single platform is bounded across all callers, every application is
+ * attempted even if others fail, and an {@link AppUndeployedEvent} is published as each
+ * application completes.
+ */
+public class ReleaseAppUndeployer {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReleaseAppUndeployer.class);
+
+	private final int maxConcurrencyPerPlatform;
+
+	private final ApplicationEventPublisher applicationEventPublisher;
+
+	private final Map<String, Semaphore> platformPermits = new ConcurrentHashMap<>();
+
+	public ReleaseAppUndeployer(int maxConcurrencyPerPlatform, ApplicationEventPublisher applicationEventPublisher) {
+		Assert.isTrue(maxConcurrencyPerPlatform > 0, "'maxConcurrencyPerPlatform' must be greater than zero");
+		this.maxConcurrencyPerPlatform = maxConcurrencyPerPlatform;
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+	/**
+	 * Undeploy the given applications of the release and wait for all of them to complete.
+	 * @param release the release the applications belong to
+	 * @param appDeployer the app deployer of the release platform
+	 * @param appNamesAndDeploymentIds map of application name to deployment id to undeploy
+	 * @return the outcome of the undeploy operation
+	 */
+	public UndeployResult undeploy(Release release, AppDeployer appDeployer,
+			Map<String, String> appNamesAndDeploymentIds) {
+		UndeployResult result = new UndeployResult(release);
+		int total = appNamesAndDeploymentIds.size();
+		if (total == 0) {
+			return result;
+		}
+		Semaphore permits = this.platformPermits.computeIfAbsent(release.getPlatformName(),
+				k -> new Semaphore(this.maxConcurrencyPerPlatform));
+		AtomicInteger completed = new AtomicInteger();
+		logger.info("Undeploying {} applications of release {}-v{}", total, release.getName(), release.getVersion());
+		try (OperationTracer.Span span = OperationTracer.span("platform.undeploy")) {
+			Flux.fromIterable(new ArrayList<>(appNamesAndDeploymentIds.entrySet()))
+					.flatMap(entry -> Mono.fromRunnable(() -> undeployApp(release, appDeployer, permits,
+							entry.getKey(), entry.getValue(), completed, total, result))
+							.subscribeOn(Schedulers.boundedElastic()), this.maxConcurrencyPerPlatform)
+					.then()
+					.block();
+		}
+		return result;
+	}
+
+	private void undeployApp(Release release, AppDeployer appDeployer, Semaphore permits, String appName,
+			String deploymentId, AtomicInteger completed, int total, UndeployResult result) {
+		Exception error = null;
+		permits.acquireUninterruptibly();
+		try {
+			logger.debug("For Release name {}, undeploying app {} with deploymentId {}", release.getName(),
+					appName, deploymentId);
+			appDeployer.undeploy(deploymentId);
+			result.undeployed.add(appName);
+		}
+		catch (Exception e) {
+			logger.error(String.format("Exception undeploying the application with the deploymentId %s. "
+					+ "Exception message: %s", deploymentId, e.getMessage()));
+			result.failures.put(appName, e);
+			error = e;
+		}
+		finally {
+			permits.release();
+		}
+		int done = completed.incrementAndGet();
+		logger.debug("Undeployed {}/{} applications of release {}-v{}", done, total, release.getName(),
+				release.getVersion());
+		if (this.applicationEventPublisher != null) {
+			this.applicationEventPublisher.publishEvent(
+					new AppUndeployedEvent(release, appName, deploymentId, done, total, error));
+		}
+	}
+
+	/**
+	 * Outcome of undeploying the applications of a release.
+	 */
+	public static class UndeployResult {
+
+		private final Release release;
+
+		private final List<String> undeployed = Collections.synchronizedList(new ArrayList<>());
+
+		private final Map<String, Exception> failures = new ConcurrentHashMap<>();
+
+		UndeployResult(Release release) {
+			this.release = release;
+		}
+
+		/**
+		 * @return names of the applications that were undeployed successfully
+		 */
+		public List<String> getUndeployed() {
+			return undeployed;
+		}
+
+		/**
+		 * @return map of application name to the exception raised while undeploying it
+		 */
+		public Map<String, Exception> getFailures() {
+			return failures;
+		}
+
+		public boolean hasFailures() {
+			return !this.failures.isEmpty();
+		}
+
+		/**
+		 * Throw a {@link SkipperException} aggregating all the failures, if any.
+		 */
+		public void throwIfFailed() {
+			if (!hasFailures()) {
+				return;
+			}
+			String details = this.failures.entrySet().stream()
+					.map(e -> String.format("%s: %s", e.getKey(), e.getValue().getMessage()))
+					.collect(Collectors.joining(", "));
+			SkipperException exception = new SkipperException(String.format(
+					"Could not undeploy %d of %d applications of release %s-v%s. Errors = [%s]",
+					this.failures.size(), this.failures.size() + this.undeployed.size(), this.release.getName(),
+					this.release.getVersion(), details), this.failures.values().iterator().next());
+			this.failures.values().stream().skip(1).forEach(exception::addSuppressed);
+			throw exception;
+		}
+	}
+}
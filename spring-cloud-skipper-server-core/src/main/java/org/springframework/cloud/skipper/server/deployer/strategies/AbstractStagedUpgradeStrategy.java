@@ -0,0 +1,302 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SkipperManifestKind;
+import org.springframework.cloud.skipper.domain.Status;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+
+/**
+ * Base class for {@link UpgradeStrategy}s moving from the existing apps to the upgraded
+ * ones in stages. The first stage is deployed by
+ * {@link #deployApps(Release, Release, ReleaseAnalysisReport, UpgradeRequest)}, each
+ * following one by {@link #deployNextStage} once the upgrade health checks found the
+ * previous one healthy, so that no stage is waited for on the thread deploying it. A
+ * stage failing to deploy restores the existing apps and marks the replacing release as
+ * failed, which {@link #hasFailed(Release)} reports so that the upgrade ends without
+ * waiting for its timeout. Cancelling the upgrade restores the existing apps the same way.
+ */
+public abstract class AbstractStagedUpgradeStrategy implements UpgradeStrategy {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	protected final DeployAppStep deployAppStep;
+
+	protected final HealthCheckStep healthCheckStep;
+
+	protected final HandleHealthCheckStep handleHealthCheckStep;
+
+	protected final ReleaseAppUndeployer releaseAppUndeployer;
+
+	protected final AppDeployerDataRepository appDeployerDataRepository;
+
+	protected final ReleaseRepository releaseRepository;
+
+	protected final DeployerRepository deployerRepository;
+
+	protected AbstractStagedUpgradeStrategy(DeployAppStep deployAppStep, HealthCheckStep healthCheckStep,
+			HandleHealthCheckStep handleHealthCheckStep, ReleaseAppUndeployer releaseAppUndeployer,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			DeployerRepository deployerRepository) {
+		this.deployAppStep = deployAppStep;
+		this.healthCheckStep = healthCheckStep;
+		this.handleHealthCheckStep = handleHealthCheckStep;
+		this.releaseAppUndeployer = releaseAppUndeployer;
+		this.appDeployerDataRepository = appDeployerDataRepository;
+		this.releaseRepository = releaseRepository;
+		this.deployerRepository = deployerRepository;
+	}
+
+	@Override
+	public Collection<String> getSupportedKinds() {
+		return Arrays.asList(SkipperManifestKind.SpringBootApp.name(),
+				SkipperManifestKind.SpringCloudDeployerApplication.name());
+	}
+
+	@Override
+	public void deployApps(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport) {
+		deployApps(existingRelease, replacingRelease, releaseAnalysisReport, null);
+	}
+
+	@Override
+	public void deployApps(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest) {
+		try {
+			deployStage(existingRelease, replacingRelease, releaseAnalysisReport, upgradeRequest, 0);
+		}
+		catch (Exception e) {
+			fail(existingRelease, replacingRelease, releaseAnalysisReport, 0, e);
+		}
+	}
+
+	@Override
+	public boolean deployNextStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		if (stage + 1 >= getStageCount(releaseAnalysisReport, upgradeRequest)) {
+			return false;
+		}
+		try {
+			completeStage(existingRelease, replacingRelease, releaseAnalysisReport, upgradeRequest, stage);
+			deployStage(existingRelease, replacingRelease, releaseAnalysisReport, upgradeRequest, stage + 1);
+		}
+		catch (Exception e) {
+			fail(existingRelease, replacingRelease, releaseAnalysisReport, stage + 1, e);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean checkStatus(Release replacingRelease) {
+		return !hasFailed(replacingRelease) && this.healthCheckStep.isHealthy(replacingRelease);
+	}
+
+	@Override
+	public boolean hasFailed(Release replacingRelease) {
+		return replacingRelease.getInfo() != null && replacingRelease.getInfo().getStatus() != null
+				&& replacingRelease.getInfo().getStatus().getStatusCode() == StatusCode.FAILED;
+	}
+
+	@Override
+	public void accept(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, boolean rollback) {
+		this.handleHealthCheckStep.handleHealthCheck(true, existingRelease,
+				releaseAnalysisReport.getApplicationNamesToUpgrade(), replacingRelease, null, false, rollback);
+	}
+
+	@Override
+	public void cancel(Release existingRelease, Release replacingRelease, ReleaseAnalysisReport releaseAnalysisReport,
+			Long timeout, boolean cancel, boolean rollback) {
+		if (hasFailed(replacingRelease)) {
+			// the failed stage already restored the existing apps
+			return;
+		}
+		restoreExistingApps(existingRelease, replacingRelease, releaseAnalysisReport);
+		// the upgraded apps are already deleted
+		this.handleHealthCheckStep.handleHealthCheck(false, existingRelease, Collections.emptyList(),
+				replacingRelease, timeout, cancel, rollback);
+	}
+
+	/**
+	 * Get the number of stages of an upgrade.
+	 * @param releaseAnalysisReport the release analysis report
+	 * @param upgradeRequest the upgrade request, {@code null} if not known
+	 * @return the number of stages
+	 */
+	protected abstract int getStageCount(ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest);
+
+	/**
+	 * Deploy a stage of an upgrade, saving the deployment data of the replacing release.
+	 * @param existingRelease the existing release
+	 * @param replacingRelease the replacing release
+	 * @param releaseAnalysisReport the release analysis report
+	 * @param upgradeRequest the upgrade request, {@code null} if not known
+	 * @param stage the zero based number of the stage
+	 */
+	protected abstract void deployStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage);
+
+	/**
+	 * Complete a healthy stage of an upgrade before the next one gets deployed, reducing the
+	 * existing apps it replaces.
+	 * @param existingRelease the existing release
+	 * @param replacingRelease the replacing release
+	 * @param releaseAnalysisReport the release analysis report
+	 * @param upgradeRequest the upgrade request, {@code null} if not known
+	 * @param stage the zero based number of the stage
+	 */
+	protected abstract void completeStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage);
+
+	/**
+	 * Restore the existing apps reduced by the completed stages.
+	 * @param existingRelease the existing release
+	 * @param existingAppNamesAndDeploymentIds the deployment data of the existing release
+	 * @param upgradedAppNames the names of the apps deployed in their upgraded version
+	 * @return the names of the apps which could not be restored
+	 */
+	protected abstract Collection<String> restoreReducedApps(Release existingRelease,
+			Map<String, String> existingAppNamesAndDeploymentIds, Collection<String> upgradedAppNames);
+
+	/**
+	 * Restore the existing apps and delete the upgraded ones, except those whose existing
+	 * app could not be restored.
+	 * @return false if the existing apps could not be restored
+	 */
+	protected boolean restoreExistingApps(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport) {
+		Map<String, String> existingAppNamesAndDeploymentIds = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersionRequired(existingRelease.getName(), existingRelease.getVersion())
+				.getDeploymentDataAsMap();
+		Map<String, String> upgradedAppNamesAndDeploymentIds = getUpgradedApps(replacingRelease,
+				releaseAnalysisReport, existingAppNamesAndDeploymentIds);
+		Collection<String> unrestoredAppNames = restoreReducedApps(existingRelease,
+				existingAppNamesAndDeploymentIds, upgradedAppNamesAndDeploymentIds.keySet());
+		// keep the upgraded apps running where the existing ones could not be restored
+		upgradedAppNamesAndDeploymentIds.keySet().removeAll(unrestoredAppNames);
+		undeploy(replacingRelease, getAppDeployer(replacingRelease), upgradedAppNamesAndDeploymentIds);
+		return unrestoredAppNames.isEmpty();
+	}
+
+	protected AppDeployer getAppDeployer(Release release) {
+		return this.deployerRepository.findByNameRequired(release.getPlatformName()).getAppDeployer();
+	}
+
+	/**
+	 * Undeploy the given apps, logging the failures instead of raising them.
+	 */
+	protected void undeploy(Release release, AppDeployer appDeployer, Map<String, String> appNamesAndDeploymentIds) {
+		ReleaseAppUndeployer.UndeployResult result = this.releaseAppUndeployer.undeploy(release, appDeployer,
+				appNamesAndDeploymentIds);
+		if (result.hasFailures()) {
+			logger.warn("Could not undeploy apps {} of release {}-v{}, manual intervention may be needed",
+					result.getFailures().keySet(), release.getName(), release.getVersion());
+		}
+	}
+
+	/**
+	 * Get the deployment data of the replacing release saved by the previous stage, or the
+	 * deployment data of the existing release for the first stage to carry over.
+	 */
+	protected Map<String, String> getDeploymentData(Release existingRelease, Release replacingRelease) {
+		AppDeployerData appDeployerData = this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion(
+				replacingRelease.getName(), replacingRelease.getVersion());
+		if (appDeployerData == null) {
+			appDeployerData = this.appDeployerDataRepository.findByReleaseNameAndReleaseVersionRequired(
+					existingRelease.getName(), existingRelease.getVersion());
+		}
+		return new LinkedHashMap<>(appDeployerData.getDeploymentDataAsMap());
+	}
+
+	protected void saveAppDeployerData(Release release, Map<String, String> appNamesAndDeploymentIds) {
+		AppDeployerData appDeployerData = new AppDeployerData();
+		appDeployerData.setReleaseName(release.getName());
+		appDeployerData.setReleaseVersion(release.getVersion());
+		appDeployerData.setDeploymentDataUsingMap(appNamesAndDeploymentIds);
+		this.appDeployerDataRepository.save(appDeployerData);
+	}
+
+	protected static Map<String, String> select(Map<String, String> appNamesAndDeploymentIds,
+			Collection<String> appNames) {
+		Map<String, String> selected = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : appNamesAndDeploymentIds.entrySet()) {
+			if (appNames.contains(entry.getKey())) {
+				selected.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return selected;
+	}
+
+	private void fail(Release existingRelease, Release replacingRelease, ReleaseAnalysisReport releaseAnalysisReport,
+			int stage, Exception e) {
+		logger.error("Stage {} of the upgrade of release {}-v{} failed, restoring the existing apps", stage,
+				replacingRelease.getName(), replacingRelease.getVersion(), e);
+		markFailed(replacingRelease, restoreExistingApps(existingRelease, replacingRelease, releaseAnalysisReport)
+				? "Could not upgrade apps: " + e.getMessage()
+				: "Could not upgrade apps nor restore the existing ones, manual intervention needed.");
+	}
+
+	/**
+	 * Mark the replacing release of a failed stage as failed. The release has no apps left,
+	 * so its deployment data is saved empty for later steps not to find any.
+	 */
+	private void markFailed(Release replacingRelease, String description) {
+		saveAppDeployerData(replacingRelease, new LinkedHashMap<>());
+		Status status = new Status();
+		status.setStatusCode(StatusCode.FAILED);
+		replacingRelease.getInfo().setStatus(status);
+		replacingRelease.getInfo().setDescription(description);
+		this.releaseRepository.save(replacingRelease);
+	}
+
+	/**
+	 * Get the apps of the replacing release deployed in their upgraded version, the others
+	 * carry over the deployment id of the existing release.
+	 */
+	private Map<String, String> getUpgradedApps(Release replacingRelease, ReleaseAnalysisReport releaseAnalysisReport,
+			Map<String, String> existingAppNamesAndDeploymentIds) {
+		AppDeployerData replacingAppDeployerData = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersion(replacingRelease.getName(), replacingRelease.getVersion());
+		Map<String, String> upgradedAppNamesAndDeploymentIds = new LinkedHashMap<>();
+		if (replacingAppDeployerData != null) {
+			select(replacingAppDeployerData.getDeploymentDataAsMap(),
+					releaseAnalysisReport.getApplicationNamesToUpgrade()).forEach((appName, deploymentId) -> {
+						if (!deploymentId.equals(existingAppNamesAndDeploymentIds.get(appName))) {
+							upgradedAppNamesAndDeploymentIds.put(appName, deploymentId);
+						}
+					});
+		}
+		return upgradedAppNamesAndDeploymentIds;
+	}
+}
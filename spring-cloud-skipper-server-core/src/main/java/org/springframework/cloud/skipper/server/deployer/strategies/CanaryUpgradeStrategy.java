@@ -0,0 +1,204 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppScaleRequest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
+import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManager;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Upgrades the apps of a release through canaries. The new version of each app is first
+ * deployed with a few instances which have to stay healthy during an observation window,
+ * then the new apps are scaled up and the old ones scaled down in steps, so that two full
+ * fleets never run at once. The canaries and each step are stages of the upgrade, health
+ * checked by the upgrade health checks: the old apps are scaled down once the new apps of
+ * a step are healthy, as the next step scales them up. The old apps are deleted once the
+ * upgrade is accepted. If a step fails or the upgrade is cancelled, the old apps are
+ * scaled back to their size, the new apps are deleted and the replacing release is marked
+ * as failed. Selected by upgrade requests using the {@link #NAME} strategy.
+ */
+public class CanaryUpgradeStrategy extends AbstractStagedUpgradeStrategy {
+
+	/**
+	 * Name upgrade requests select this strategy with.
+	 */
+	public static final String NAME = "canary";
+
+	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader;
+
+	private final SkipperServerProperties.CanaryUpgrade properties;
+
+	public CanaryUpgradeStrategy(DeployAppStep deployAppStep, HealthCheckStep healthCheckStep,
+			HandleHealthCheckStep handleHealthCheckStep, ReleaseAppUndeployer releaseAppUndeployer,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			DeployerRepository deployerRepository,
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			SkipperServerProperties.CanaryUpgrade properties) {
+		super(deployAppStep, healthCheckStep, handleHealthCheckStep, releaseAppUndeployer, appDeployerDataRepository,
+				releaseRepository, deployerRepository);
+		Assert.isTrue(properties.getInstances() > 0, "'instances' must be greater than zero");
+		Assert.isTrue(properties.getSteps() > 0, "'steps' must be greater than zero");
+		this.applicationManifestReader = applicationManifestReader;
+		this.properties = properties;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public long getObservationWindow(int stage) {
+		// only the canaries are observed
+		return stage == 0 ? this.properties.getObservationWindow().toMillis() : 0;
+	}
+
+	@Override
+	protected int getStageCount(ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest) {
+		return this.properties.getSteps() + 1;
+	}
+
+	/**
+	 * Deploy the canaries for the first stage, scale the new apps up for the following ones.
+	 */
+	@Override
+	protected void deployStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		List<String> applicationNamesToUpgrade = releaseAnalysisReport.getApplicationNamesToUpgrade();
+		Map<String, String> appNamesAndDeploymentIds = getDeploymentData(existingRelease, replacingRelease);
+		if (stage == 0) {
+			logger.info("Deploying canaries of apps {} of release {}-v{}", applicationNamesToUpgrade,
+					replacingRelease.getName(), replacingRelease.getVersion());
+			// carry over the deployment ids of the apps that are not upgraded
+			appNamesAndDeploymentIds.putAll(this.deployAppStep.deploy(replacingRelease, applicationNamesToUpgrade,
+					Collections.singletonMap(DefaultReleaseManager.SPRING_CLOUD_DEPLOYER_COUNT,
+							String.valueOf(this.properties.getInstances()))));
+			saveAppDeployerData(replacingRelease, appNamesAndDeploymentIds);
+			return;
+		}
+		int steps = this.properties.getSteps();
+		logger.info("Scaling up apps {} of release {}-v{} in step {} of {}", applicationNamesToUpgrade,
+				replacingRelease.getName(), replacingRelease.getVersion(), stage, steps);
+		AppDeployer appDeployer = getAppDeployer(replacingRelease);
+		Map<String, Integer> fleetSizes = getFleetSizes(replacingRelease, applicationNamesToUpgrade);
+		for (String appName : applicationNamesToUpgrade) {
+			scale(appDeployer, appNamesAndDeploymentIds.get(appName),
+					newFleetSize(fleetSizes.getOrDefault(appName, 1), stage, steps));
+		}
+	}
+
+	/**
+	 * Scale the old apps down once the new apps of a step are healthy.
+	 */
+	@Override
+	protected void completeStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		if (stage == 0) {
+			return;
+		}
+		int steps = this.properties.getSteps();
+		List<String> applicationNamesToUpgrade = releaseAnalysisReport.getApplicationNamesToUpgrade();
+		Map<String, String> existingAppNamesAndDeploymentIds = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersionRequired(existingRelease.getName(), existingRelease.getVersion())
+				.getDeploymentDataAsMap();
+		Map<String, Integer> existingFleetSizes = getFleetSizes(existingRelease, applicationNamesToUpgrade);
+		AppDeployer appDeployer = getAppDeployer(existingRelease);
+		for (String appName : applicationNamesToUpgrade) {
+			int existingFleetSize = existingFleetSizes.getOrDefault(appName, 1);
+			int oldFleetSize = oldFleetSize(existingFleetSize, stage, steps);
+			// the last instances of the old apps are deleted when the upgrade is accepted
+			if (oldFleetSize > 0 && oldFleetSize < existingFleetSize
+					&& existingAppNamesAndDeploymentIds.containsKey(appName)) {
+				scale(appDeployer, existingAppNamesAndDeploymentIds.get(appName), oldFleetSize);
+			}
+		}
+		logger.info("Completed step {} of {} upgrading apps {} of release {}-v{}", stage, steps,
+				applicationNamesToUpgrade, replacingRelease.getName(), replacingRelease.getVersion());
+	}
+
+	/**
+	 * Scale the existing apps back to the fleet size of the existing release.
+	 */
+	@Override
+	protected Collection<String> restoreReducedApps(Release existingRelease,
+			Map<String, String> existingAppNamesAndDeploymentIds, Collection<String> upgradedAppNames) {
+		AppDeployer appDeployer = getAppDeployer(existingRelease);
+		Map<String, Integer> fleetSizes = getFleetSizes(existingRelease, new ArrayList<>(upgradedAppNames));
+		List<String> unrestoredAppNames = new ArrayList<>();
+		for (Map.Entry<String, String> entry : select(existingAppNamesAndDeploymentIds, upgradedAppNames)
+				.entrySet()) {
+			try {
+				scale(appDeployer, entry.getValue(), fleetSizes.getOrDefault(entry.getKey(), 1));
+			}
+			catch (Exception e) {
+				logger.error("Could not scale app {} with deploymentId {} back", entry.getKey(), entry.getValue(), e);
+				unrestoredAppNames.add(entry.getKey());
+			}
+		}
+		return unrestoredAppNames;
+	}
+
+	private int newFleetSize(int fleetSize, int step, int steps) {
+		if (step == steps) {
+			return fleetSize;
+		}
+		int size = (int) Math.ceil((double) fleetSize * step / steps);
+		return Math.min(fleetSize, Math.max(size, this.properties.getInstances()));
+	}
+
+	private int oldFleetSize(int existingFleetSize, int step, int steps) {
+		return existingFleetSize - (int) Math.ceil((double) existingFleetSize * step / steps);
+	}
+
+	private void scale(AppDeployer appDeployer, String deploymentId, int count) {
+		logger.debug("Scaling deploymentId {} to {} instances", deploymentId, count);
+		appDeployer.scale(new AppScaleRequest(deploymentId, count, Collections.emptyMap()));
+	}
+
+	private Map<String, Integer> getFleetSizes(Release release, List<String> applicationNames) {
+		Map<String, Integer> fleetSizes = new LinkedHashMap<>();
+		for (SpringCloudDeployerApplicationManifest applicationManifest : this.applicationManifestReader
+				.read(release.getManifest().getData())) {
+			if (applicationNames.contains(applicationManifest.getApplicationName())) {
+				Map<String, String> deploymentProperties = applicationManifest.getSpec().getDeploymentProperties();
+				String count = deploymentProperties != null
+						? deploymentProperties.get(DefaultReleaseManager.SPRING_CLOUD_DEPLOYER_COUNT) : null;
+				fleetSizes.put(applicationManifest.getApplicationName(),
+						StringUtils.hasText(count) ? Integer.parseInt(count.trim()) : 1);
+			}
+		}
+		return fleetSizes;
+	}
+}
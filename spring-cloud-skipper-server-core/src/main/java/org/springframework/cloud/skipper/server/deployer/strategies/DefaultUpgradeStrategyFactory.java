@@ -32,11 +32,17 @@ public class DefaultUpgradeStrategyFactory implements UpgradeStrategyFactory {
 
 	private final Map<String, UpgradeStrategy> strategies = new HashMap<>();
 
+	private final Map<String, UpgradeStrategy> namedStrategies = new HashMap<>();
+
 	public DefaultUpgradeStrategyFactory(List<UpgradeStrategy> strategies) {
 		if (strategies != null) {
 			for (UpgradeStrategy strategy : strategies) {
 				for (String kind : strategy.getSupportedKinds()) {
-					this.strategies.put(kind, strategy);
+					this.namedStrategies.put(kind + "/" + strategy.getName(), strategy);
+					// strategies selected by name never take over as default of a kind
+					if (UpgradeStrategy.DEFAULT_NAME.equals(strategy.getName()) || !this.strategies.containsKey(kind)) {
+						this.strategies.put(kind, strategy);
+					}
 				}
 			}
 		}
@@ -50,4 +56,13 @@ public class DefaultUpgradeStrategyFactory implements UpgradeStrategyFactory {
 		}
 		throw new SkipperException("No update strategy available for '" + kind + "'");
 	}
+
+	@Override
+	public UpgradeStrategy getUpgradeStrategy(String kind, String name) {
+		UpgradeStrategy strategy = namedStrategies.get(kind + "/" + name);
+		if (strategy != null) {
+			return strategy;
+		}
+		throw new SkipperException("No update strategy '" + name + "' available for '" + kind + "'");
+	}
 }
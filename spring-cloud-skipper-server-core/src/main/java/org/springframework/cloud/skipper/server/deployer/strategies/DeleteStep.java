@@ -16,6 +16,7 @@
 package org.springframework.cloud.skipper.server.deployer.strategies;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,13 +27,15 @@ import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.cloud.skipper.domain.Status;
 import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
 import org.springframework.cloud.skipper.server.domain.AppDeployerData;
 import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 
 /**
  * Responsible for deleting the provided list of applications and updating the status of
- * the release.
+ * the release. Applications are undeployed concurrently through the
+ * {@link ReleaseAppUndeployer}.
  * @author Mark Pollack
  */
 public class DeleteStep {
@@ -43,9 +46,13 @@ public class DeleteStep {
 
 	private final DeployerRepository deployerRepository;
 
-	public DeleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository) {
+	private final ReleaseAppUndeployer releaseAppUndeployer;
+
+	public DeleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository,
+			ReleaseAppUndeployer releaseAppUndeployer) {
 		this.releaseRepository = releaseRepository;
 		this.deployerRepository = deployerRepository;
+		this.releaseAppUndeployer = releaseAppUndeployer;
 	}
 
 	public Release delete(Release release, AppDeployerData existingAppDeployerData,
@@ -56,14 +63,16 @@ public class DeleteStep {
 		Map<String, String> appNamesAndDeploymentIds = (existingAppDeployerData!= null) ?
 				existingAppDeployerData.getDeploymentDataAsMap() : Collections.emptyMap();
 
+		Map<String, String> appsToDelete = new LinkedHashMap<>();
 		for (Map.Entry<String, String> appNameAndDeploymentId : appNamesAndDeploymentIds.entrySet()) {
 			if (applicationNamesToDelete.contains(appNameAndDeploymentId.getKey())) {
 				logger.debug("For Release name {}, undeploying existing app {}", release.getName(),
 						appNameAndDeploymentId.getKey());
-				// simply attempt to undeploy and let caller stack to handle errors if any
-				appDeployer.undeploy(appNameAndDeploymentId.getValue());
+				appsToDelete.put(appNameAndDeploymentId.getKey(), appNameAndDeploymentId.getValue());
 			}
 		}
+		// attempt to undeploy all apps and let caller stack to handle the aggregated errors if any
+		this.releaseAppUndeployer.undeploy(release, appDeployer, appsToDelete).throwIfFailed();
 
 		if (setStatus) {
 			Status deletedStatus = new Status();
@@ -20,9 +20,19 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
 import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
@@ -34,18 +44,24 @@ import org.springframework.cloud.skipper.server.domain.AppDeployerData;
 import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
 import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 import org.springframework.dao.DataAccessException;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 /**
  * Responsible for taking the ReleaseAnalysisReport and deploying the apps in the
- * replacing release. Step operates in it's own transaction, catches all exceptions so
- * always commits.
+ * replacing release. Apps are deployed concurrently, bounded per platform across all
+ * callers, and outside of any database transaction so that slow platforms do not hold
+ * a connection. The deployment ids are saved once all apps have been deployed, if any
+ * app fails the apps that did start are undeployed again and the release is marked as
+ * failed. Catches all exceptions but data access ones.
  * @author Mark Pollack
  * @author Ilayaperumal Gopinathan
  */
 public class DeployAppStep {
 
+	private static final Logger logger = LoggerFactory.getLogger(DeployAppStep.class);
+
 	private final DeployerRepository deployerRepository;
 
 	private final AppDeploymentRequestFactory appDeploymentRequestFactory;
@@ -56,9 +72,22 @@ public class DeployAppStep {
 
 	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader;
 
+	private final int maxConcurrencyPerPlatform;
+
+	private final Map<String, Semaphore> platformPermits = new ConcurrentHashMap<>();
+
 	public DeployAppStep(DeployerRepository deployerRepository, AppDeploymentRequestFactory appDeploymentRequestFactory,
 			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
 			SpringCloudDeployerApplicationManifestReader applicationManifestReader) {
+		this(deployerRepository, appDeploymentRequestFactory, appDeployerDataRepository, releaseRepository,
+				applicationManifestReader, 4);
+	}
+
+	public DeployAppStep(DeployerRepository deployerRepository, AppDeploymentRequestFactory appDeploymentRequestFactory,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader, int maxConcurrencyPerPlatform) {
+		Assert.isTrue(maxConcurrencyPerPlatform > 0, "'maxConcurrencyPerPlatform' must be greater than zero");
+		this.maxConcurrencyPerPlatform = maxConcurrencyPerPlatform;
 		this.deployerRepository = deployerRepository;
 		this.appDeploymentRequestFactory = appDeploymentRequestFactory;
 		this.appDeployerDataRepository = appDeployerDataRepository;
@@ -66,7 +95,6 @@ public class DeployAppStep {
 		this.applicationManifestReader = applicationManifestReader;
 	}
 
-	@Transactional
 	public List<String> deployApps(Release existingRelease, Release replacingRelease,
 			ReleaseAnalysisReport releaseAnalysisReport) {
 		List<String> applicationNamesToUpgrade = new ArrayList<>();
@@ -78,6 +106,7 @@ public class DeployAppStep {
 			// Deploy the application
 			Map<String, String> appNameDeploymentIdMap = deploy(replacingRelease, applicationNamesToUpgrade,
 					appDeployer);
+			List<String> deployedAppNames = new ArrayList<>(appNameDeploymentIdMap.keySet());
 
 			// Carry over the applicationDeployment information for apps that were not updated.
 			carryOverAppDeploymentIds(existingRelease, appNameDeploymentIdMap);
@@ -86,7 +115,15 @@ public class DeployAppStep {
 			appDeployerData.setReleaseName(replacingRelease.getName());
 			appDeployerData.setReleaseVersion(replacingRelease.getVersion());
 			appDeployerData.setDeploymentDataUsingMap(appNameDeploymentIdMap);
-			this.appDeployerDataRepository.save(appDeployerData);
+			try {
+				this.appDeployerDataRepository.save(appDeployerData);
+			}
+			catch (DataAccessException e) {
+				// without the deployment ids nothing would ever undeploy the apps
+				appNameDeploymentIdMap.keySet().retainAll(deployedAppNames);
+				rollback(replacingRelease, appDeployer, appNameDeploymentIdMap);
+				throw e;
+			}
 		}
 		catch (DataAccessException e) {
 			throw e;
@@ -102,6 +139,33 @@ public class DeployAppStep {
 		return applicationNamesToUpgrade;
 	}
 
+	/**
+	 * Deploy the given apps of a release without saving their deployment ids. If any app
+	 * fails to deploy, the apps that did start are undeployed again and a
+	 * {@link SkipperException} is thrown.
+	 * @param release the release the apps belong to
+	 * @param applicationNames the names of the apps to deploy
+	 * @return map of application name to deployment id
+	 */
+	public Map<String, String> deploy(Release release, List<String> applicationNames) {
+		return deploy(release, applicationNames, Collections.emptyMap());
+	}
+
+	/**
+	 * Deploy the given apps of a release without saving their deployment ids, overriding
+	 * deployment properties of the apps, for example their instance count.
+	 * @param release the release the apps belong to
+	 * @param applicationNames the names of the apps to deploy
+	 * @param deploymentProperties deployment properties overriding the ones of the apps
+	 * @return map of application name to deployment id
+	 */
+	public Map<String, String> deploy(Release release, List<String> applicationNames,
+			Map<String, String> deploymentProperties) {
+		AppDeployer appDeployer = this.deployerRepository.findByNameRequired(release.getPlatformName())
+				.getAppDeployer();
+		return deploy(release, applicationNames, appDeployer, deploymentProperties);
+	}
+
 	private void carryOverAppDeploymentIds(Release existingRelease, Map<String, String> appNameDeploymentIdMap) {
 		AppDeployerData existingAppDeployerData = this.appDeployerDataRepository
 				.findByReleaseNameAndReleaseVersionRequired(
@@ -119,23 +183,92 @@ public class DeployAppStep {
 
 	private Map<String, String> deploy(Release replacingRelease, List<String> applicationNamesToUpgrade,
 			AppDeployer appDeployer) {
+		return deploy(replacingRelease, applicationNamesToUpgrade, appDeployer, Collections.emptyMap());
+	}
+
+	private Map<String, String> deploy(Release replacingRelease, List<String> applicationNamesToUpgrade,
+			AppDeployer appDeployer, Map<String, String> deploymentProperties) {
 		List<? extends SpringCloudDeployerApplicationManifest> applicationSpecList = this.applicationManifestReader
 				.read(replacingRelease
 						.getManifest().getData());
 
-		Map<String, String> appNameDeploymentIdMap = new HashMap<>();
+		Map<String, AppDeploymentRequest> appDeploymentRequests = new HashMap<>();
 		for (SpringCloudDeployerApplicationManifest applicationManifest : applicationSpecList) {
 			if (applicationNamesToUpgrade.contains(applicationManifest.getApplicationName())) {
 				AppDeploymentRequest appDeploymentRequest = appDeploymentRequestFactory.createAppDeploymentRequest(
 						applicationManifest, replacingRelease.getName(),
 						String.valueOf(replacingRelease.getVersion()));
-				// =============
-				// DEPLOY DEPLOY
-				// =============
-				String deploymentId = appDeployer.deploy(appDeploymentRequest);
-				appNameDeploymentIdMap.put(applicationManifest.getApplicationName(), deploymentId);
+				if (!deploymentProperties.isEmpty()) {
+					Map<String, String> properties = new HashMap<>(appDeploymentRequest.getDeploymentProperties());
+					properties.putAll(deploymentProperties);
+					appDeploymentRequest = new AppDeploymentRequest(appDeploymentRequest.getDefinition(),
+							appDeploymentRequest.getResource(), properties,
+							appDeploymentRequest.getCommandlineArguments());
+				}
+				appDeploymentRequests.put(applicationManifest.getApplicationName(), appDeploymentRequest);
+			}
+		}
+
+		Semaphore permits = this.platformPermits.computeIfAbsent(replacingRelease.getPlatformName(),
+				k -> new Semaphore(this.maxConcurrencyPerPlatform));
+		Map<String, String> appNameDeploymentIdMap = new ConcurrentHashMap<>();
+		Map<String, Exception> failures = new ConcurrentHashMap<>();
+		// =============
+		// DEPLOY DEPLOY
+		// =============
+		try (OperationTracer.Span span = OperationTracer.span("platform.deploy")) {
+			Flux.fromIterable(appDeploymentRequests.entrySet())
+					.flatMap(entry -> Mono.fromRunnable(() -> deployApp(appDeployer, permits, entry.getKey(),
+							entry.getValue(), appNameDeploymentIdMap, failures))
+							.subscribeOn(Schedulers.boundedElastic()), this.maxConcurrencyPerPlatform)
+					.then()
+					.block();
+		}
+		if (!failures.isEmpty()) {
+			rollback(replacingRelease, appDeployer, appNameDeploymentIdMap);
+			String details = failures.entrySet().stream()
+					.map(e -> String.format("%s: %s", e.getKey(), e.getValue().getMessage()))
+					.collect(Collectors.joining(", "));
+			SkipperException exception = new SkipperException(String.format(
+					"Could not deploy %d of %d applications of release %s-v%s. Errors = [%s]", failures.size(),
+					appDeploymentRequests.size(), replacingRelease.getName(), replacingRelease.getVersion(),
+					details), failures.values().iterator().next());
+			failures.values().stream().skip(1).forEach(exception::addSuppressed);
+			throw exception;
+		}
+		return new HashMap<>(appNameDeploymentIdMap);
+	}
+
+	private void deployApp(AppDeployer appDeployer, Semaphore permits, String appName,
+			AppDeploymentRequest appDeploymentRequest, Map<String, String> appNameDeploymentIdMap,
+			Map<String, Exception> failures) {
+		permits.acquireUninterruptibly();
+		try {
+			appNameDeploymentIdMap.put(appName, appDeployer.deploy(appDeploymentRequest));
+		}
+		catch (Exception e) {
+			logger.error("Could not deploy app {}", appName, e);
+			failures.put(appName, e);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Undeploy the apps of the replacing release which were deployed, best effort, so that a
+	 * partially deployed release does not leave apps running on the platform.
+	 */
+	private void rollback(Release replacingRelease, AppDeployer appDeployer, Map<String, String> deployedApps) {
+		for (Map.Entry<String, String> entry : deployedApps.entrySet()) {
+			try {
+				logger.info("Undeploying app {} with deploymentId {} of failed release {}-v{}", entry.getKey(),
+						entry.getValue(), replacingRelease.getName(), replacingRelease.getVersion());
+				appDeployer.undeploy(entry.getValue());
+			}
+			catch (Exception e) {
+				logger.warn("Could not undeploy app {} with deploymentId {}", entry.getKey(), entry.getValue(), e);
 			}
 		}
-		return appNameDeploymentIdMap;
 	}
 }
@@ -27,6 +27,12 @@ public class HealthCheckProperties {
 
 	private long sleepInMillis = 5000; // 5 seconds
 
+	private long initialSleepInMillis = 1000; // 1 second
+
+	private double backoffMultiplier = 2.0;
+
+	private double jitter = 0.2;
+
 	public long getTimeoutInMillis() {
 		return timeoutInMillis;
 	}
@@ -42,4 +48,36 @@ public class HealthCheckProperties {
 	public void setSleepInMillis(long sleepInMillis) {
 		this.sleepInMillis = sleepInMillis;
 	}
+
+	/**
+	 * @return the delay before the first check, the delay then grows by
+	 * {@link #getBackoffMultiplier()} after each check up to {@link #getSleepInMillis()}
+	 */
+	public long getInitialSleepInMillis() {
+		return initialSleepInMillis;
+	}
+
+	public void setInitialSleepInMillis(long initialSleepInMillis) {
+		this.initialSleepInMillis = initialSleepInMillis;
+	}
+
+	public double getBackoffMultiplier() {
+		return backoffMultiplier;
+	}
+
+	public void setBackoffMultiplier(double backoffMultiplier) {
+		this.backoffMultiplier = backoffMultiplier;
+	}
+
+	/**
+	 * @return the fraction, between 0 and 1, of each delay randomly cut off so that
+	 * concurrent upgrades don't check in lockstep
+	 */
+	public double getJitter() {
+		return jitter;
+	}
+
+	public void setJitter(double jitter) {
+		this.jitter = jitter;
+	}
 }
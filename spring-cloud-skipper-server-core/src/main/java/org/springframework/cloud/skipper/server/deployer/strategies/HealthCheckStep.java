@@ -29,6 +29,7 @@ import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationMa
 import org.springframework.cloud.skipper.server.domain.AppDeployerData;
 import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 
 /**
  * Checks if the apps in the Replacing release are healthy. Health polling values are set
@@ -66,7 +67,10 @@ public class HealthCheckStep {
 		return appNamesAndDeploymentIds.entrySet().stream()
 			.map(e -> {
 				logger.debug("Checking status for appName={}, deploymentId={}", e.getKey(), e.getValue());
-				AppStatus status = appDeployer.status(e.getValue());
+				AppStatus status;
+				try (OperationTracer.Span span = OperationTracer.span("platform.status")) {
+					status = appDeployer.status(e.getValue());
+				}
 				logger.debug("Got status {} for appName={}, deploymentId={}",
 						status != null ? status.getState() : null, e.getKey(), e.getValue());
 				return status.getState() == DeploymentState.deployed;
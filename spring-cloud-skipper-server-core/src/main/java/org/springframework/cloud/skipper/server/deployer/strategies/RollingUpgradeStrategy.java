@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+import org.springframework.util.Assert;
+
+/**
+ * Upgrades the apps of a release in batches so that at most {@code maxSurge} new apps run
+ * alongside the apps they replace, instead of deploying a second copy of every changed
+ * app at once. Each batch is a stage of the upgrade: it is deployed, health checked by the
+ * upgrade health checks and then replaces the old apps of the batch as the next batch is
+ * deployed. The old apps of the last batch are deleted when the upgrade is accepted. If a
+ * batch fails or the upgrade is cancelled, the new apps are deleted, the apps of the
+ * batches already upgraded are deployed again in their existing version and the
+ * replacing release is marked as failed. Selected by upgrade requests using the
+ * {@link #NAME} strategy.
+ */
+public class RollingUpgradeStrategy extends AbstractStagedUpgradeStrategy {
+
+	/**
+	 * Name upgrade requests select this strategy with.
+	 */
+	public static final String NAME = "rolling";
+
+	private final int maxSurge;
+
+	public RollingUpgradeStrategy(DeployAppStep deployAppStep, HealthCheckStep healthCheckStep,
+			HandleHealthCheckStep handleHealthCheckStep, ReleaseAppUndeployer releaseAppUndeployer,
+			AppDeployerDataRepository appDeployerDataRepository, ReleaseRepository releaseRepository,
+			DeployerRepository deployerRepository, int maxSurge) {
+		super(deployAppStep, healthCheckStep, handleHealthCheckStep, releaseAppUndeployer, appDeployerDataRepository,
+				releaseRepository, deployerRepository);
+		Assert.isTrue(maxSurge > 0, "'maxSurge' must be greater than zero");
+		this.maxSurge = maxSurge;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	protected int getStageCount(ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest) {
+		int batchSize = getBatchSize(upgradeRequest);
+		return (releaseAnalysisReport.getApplicationNamesToUpgrade().size() + batchSize - 1) / batchSize;
+	}
+
+	/**
+	 * Deploy a batch of apps, carrying over the deployment ids of the apps of the other
+	 * batches.
+	 */
+	@Override
+	protected void deployStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		List<String> batch = getBatch(releaseAnalysisReport, upgradeRequest, stage);
+		Map<String, String> appNamesAndDeploymentIds = getDeploymentData(existingRelease, replacingRelease);
+		if (!batch.isEmpty()) {
+			logger.info("Upgrading apps {} of release {}-v{}", batch, replacingRelease.getName(),
+					replacingRelease.getVersion());
+			appNamesAndDeploymentIds.putAll(this.deployAppStep.deploy(replacingRelease, batch));
+		}
+		saveAppDeployerData(replacingRelease, appNamesAndDeploymentIds);
+	}
+
+	/**
+	 * Delete the old apps of an upgraded batch. The existing release only keeps the
+	 * deployment ids of the apps still running, telling which apps to restore.
+	 */
+	@Override
+	protected void completeStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		List<String> batch = getBatch(releaseAnalysisReport, upgradeRequest, stage);
+		AppDeployerData existingAppDeployerData = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersionRequired(existingRelease.getName(), existingRelease.getVersion());
+		Map<String, String> appNamesAndDeploymentIds = new LinkedHashMap<>(
+				existingAppDeployerData.getDeploymentDataAsMap());
+		undeploy(existingRelease, getAppDeployer(existingRelease), select(appNamesAndDeploymentIds, batch));
+		appNamesAndDeploymentIds.keySet().removeAll(batch);
+		saveAppDeployerData(existingRelease, appNamesAndDeploymentIds);
+	}
+
+	/**
+	 * Deploy the apps whose old version was already deleted again in the version of the
+	 * existing release.
+	 */
+	@Override
+	protected Collection<String> restoreReducedApps(Release existingRelease,
+			Map<String, String> existingAppNamesAndDeploymentIds, Collection<String> upgradedAppNames) {
+		List<String> deletedAppNames = new ArrayList<>(upgradedAppNames);
+		deletedAppNames.removeAll(existingAppNamesAndDeploymentIds.keySet());
+		if (deletedAppNames.isEmpty()) {
+			return Collections.emptyList();
+		}
+		try {
+			Map<String, String> appNamesAndDeploymentIds = new LinkedHashMap<>(existingAppNamesAndDeploymentIds);
+			appNamesAndDeploymentIds.putAll(this.deployAppStep.deploy(existingRelease, deletedAppNames));
+			saveAppDeployerData(existingRelease, appNamesAndDeploymentIds);
+			return Collections.emptyList();
+		}
+		catch (Exception e) {
+			logger.error("Could not restore apps {} of release {}-v{}", deletedAppNames, existingRelease.getName(),
+					existingRelease.getVersion(), e);
+			return deletedAppNames;
+		}
+	}
+
+	private int getBatchSize(UpgradeRequest upgradeRequest) {
+		int batchSize = (upgradeRequest != null && upgradeRequest.getMaxSurge() != null)
+				? upgradeRequest.getMaxSurge() : this.maxSurge;
+		Assert.isTrue(batchSize > 0, "'maxSurge' must be greater than zero");
+		return batchSize;
+	}
+
+	private List<String> getBatch(ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest,
+			int stage) {
+		int batchSize = getBatchSize(upgradeRequest);
+		List<String> applicationNamesToUpgrade = releaseAnalysisReport.getApplicationNamesToUpgrade();
+		int from = Math.min(stage * batchSize, applicationNamesToUpgrade.size());
+		return applicationNamesToUpgrade.subList(from, Math.min(from + batchSize, applicationNamesToUpgrade.size()));
+	}
+}
@@ -18,6 +18,7 @@ package org.springframework.cloud.skipper.server.deployer.strategies;
 import java.util.Collection;
 
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
 
 /**
@@ -28,12 +29,81 @@ import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
  */
 public interface UpgradeStrategy {
 
+	/**
+	 * Name of the strategy used when an upgrade request does not select one.
+	 */
+	String DEFAULT_NAME = "redblack";
+
+	/**
+	 * Get the name upgrade requests select this strategy with.
+	 *
+	 * @return the name of the strategy
+	 */
+	default String getName() {
+		return DEFAULT_NAME;
+	}
+
 	Collection<String> getSupportedKinds();
 
 	void deployApps(Release existingRelease, Release replacingRelease, ReleaseAnalysisReport releaseAnalysisReport);
 
+	/**
+	 * Deploy the apps of the replacing release using the options of the upgrade request.
+	 * Defaults to {@link #deployApps(Release, Release, ReleaseAnalysisReport)}.
+	 *
+	 * @param existingRelease the existing release
+	 * @param replacingRelease the replacing release
+	 * @param releaseAnalysisReport the release analysis report
+	 * @param upgradeRequest the upgrade request, {@code null} if not known
+	 */
+	default void deployApps(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest) {
+		deployApps(existingRelease, replacingRelease, releaseAnalysisReport);
+	}
+
 	boolean checkStatus(Release replacingRelease);
 
+	/**
+	 * Complete a stage of an upgrade deploying the apps of the replacing release in stages
+	 * and deploy the next one. Called by the upgrade health checks once the apps of the
+	 * stage are healthy, so that no stage is waited for within a single call. Strategies
+	 * deploying all the apps at once have a single stage and never deploy a next one.
+	 *
+	 * @param existingRelease the existing release
+	 * @param replacingRelease the replacing release
+	 * @param releaseAnalysisReport the release analysis report
+	 * @param upgradeRequest the upgrade request, {@code null} if not known
+	 * @param stage the zero based number of the healthy stage
+	 * @return true if a next stage was deployed, false if the stage was the last one
+	 */
+	default boolean deployNextStage(Release existingRelease, Release replacingRelease,
+			ReleaseAnalysisReport releaseAnalysisReport, UpgradeRequest upgradeRequest, int stage) {
+		return false;
+	}
+
+	/**
+	 * Get how long the apps of a stage have to stay healthy before the next stage is
+	 * deployed or the upgrade accepted. The upgrade fails if they are found unhealthy
+	 * within that time.
+	 *
+	 * @param stage the zero based number of the stage
+	 * @return the observation window in milliseconds, zero if none
+	 */
+	default long getObservationWindow(int stage) {
+		return 0;
+	}
+
+	/**
+	 * Check if the upgrade has already failed, in which case there is no need to wait for the
+	 * apps of the replacing release to become healthy until the upgrade times out.
+	 *
+	 * @param replacingRelease the replacing release
+	 * @return true if the upgrade failed
+	 */
+	default boolean hasFailed(Release replacingRelease) {
+		return false;
+	}
+
 	void accept(Release existingRelease, Release replacingRelease, ReleaseAnalysisReport releaseAnalysisReport,
 			boolean rollback);
 
@@ -30,4 +30,13 @@ public interface UpgradeStrategyFactory {
 	 * @return the resolved upgrade strategy
 	 */
 	UpgradeStrategy getUpgradeStrategy(String kind);
+
+	/**
+	 * Resolve {@link UpgradeStrategy} by its name for an {@code application kind}.
+	 *
+	 * @param kind the application kind
+	 * @param name the name of the strategy
+	 * @return the resolved upgrade strategy
+	 */
+	UpgradeStrategy getUpgradeStrategy(String kind, String name);
 }
@@ -17,18 +17,27 @@ package org.springframework.cloud.skipper.server.domain;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
+import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.AbstractEntity;
@@ -37,23 +46,40 @@ import org.springframework.cloud.skipper.domain.AbstractEntity;
  * Entity that contains deployment data for the given release identified by the release
  * name and version.
  *
- * The deployment data is a JSON serialized Map containing the application name and
- * deployment id.
+ * The deployment data maps application names to deployment ids and is stored as
+ * {@link AppDeployment} rows. Rows written before that still hold it as a JSON serialized
+ * Map in {@code deploymentData}. Either way it is decoded once into a read-only map.
  *
  * @author Mark Pollack
  */
 @Entity
-@Table(name = "SkipperAppDeployerData")
+@Table(name = "SkipperAppDeployerData", indexes = @Index(name = "idx_app_deployer_data_release",
+		columnList = "releaseName,releaseVersion"))
 public class AppDeployerData extends AbstractEntity {
 
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static final ObjectReader mapReader = objectMapper
+			.readerFor(new TypeReference<LinkedHashMap<String, String>>() {
+			})
+			.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
 	private String releaseName;
 
 	private Integer releaseVersion;
 
-	// Store deployment Ids associated with the given release.
+	// Legacy JSON serialized deployment ids, only read for rows written before deployments were normalized.
 	@Lob
 	private String deploymentData;
 
+	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@JoinColumn(name = "app_deployer_data_id", foreignKey = @ForeignKey(name = "fk_app_dep_app_deployer_data"))
+	@OrderBy("id")
+	private List<AppDeployment> deployments = new ArrayList<>();
+
+	@Transient
+	private volatile Map<String, String> deploymentDataMap;
+
 	public AppDeployerData() {
 	}
 
@@ -63,6 +89,7 @@ public class AppDeployerData extends AbstractEntity {
 
 	public void setReleaseName(String releaseName) {
 		this.releaseName = releaseName;
+		this.deployments.forEach(deployment -> deployment.setReleaseName(releaseName));
 	}
 
 	public Integer getReleaseVersion() {
@@ -71,28 +98,49 @@ public class AppDeployerData extends AbstractEntity {
 
 	public void setReleaseVersion(Integer releaseVersion) {
 		this.releaseVersion = releaseVersion;
+		this.deployments.forEach(deployment -> deployment.setReleaseVersion(releaseVersion));
 	}
 
+	/**
+	 * @return the deployment data as JSON serialized Map
+	 */
 	public String getDeploymentData() {
-		return deploymentData;
+		if (this.deploymentData != null || this.deployments.isEmpty()) {
+			return this.deploymentData;
+		}
+		try {
+			return objectMapper.writeValueAsString(getDeploymentDataAsMap());
+		}
+		catch (JsonProcessingException e) {
+			throw new SkipperException("Could not serialize appNameDeploymentIdMap", e);
+		}
 	}
 
 	public void setDeploymentData(String deploymentData) {
-		this.deploymentData = deploymentData;
+		setDeploymentDataUsingMap(parse(deploymentData));
 	}
 
+	/**
+	 * Get the deployment data, decoded only once.
+	 *
+	 * @return read-only map with the application name as a key and the deployment id as a value
+	 */
 	public Map<String, String> getDeploymentDataAsMap() {
-		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-			TypeReference<Map<String, String>> typeRef = new TypeReference<Map<String, String>>() {
-			};
-			return (this.deploymentData != null) ? mapper.readValue(this.deploymentData, typeRef) :
-					Collections.EMPTY_MAP;
-		}
-		catch (Exception e) {
-			throw new SkipperException("Could not parse appNameDeploymentIdMap JSON:" + this.deploymentData, e);
+		Map<String, String> map = this.deploymentDataMap;
+		if (map == null) {
+			if (this.deployments.isEmpty()) {
+				map = parse(this.deploymentData);
+			}
+			else {
+				map = new LinkedHashMap<>();
+				for (AppDeployment deployment : this.deployments) {
+					map.put(deployment.getAppName(), deployment.getDeploymentId());
+				}
+			}
+			map = Collections.unmodifiableMap(map);
+			this.deploymentDataMap = map;
 		}
+		return map;
 	}
 
 	/**
@@ -100,22 +148,26 @@ public class AppDeployerData extends AbstractEntity {
 	 * @param appNameDeploymentIdMap Map that has the application name as a key and the deployment as a value.
 	 */
 	public void setDeploymentDataUsingMap(Map<String, String> appNameDeploymentIdMap) {
-		ObjectMapper objectMapper = new ObjectMapper();
-		try {
-			setDeploymentData(objectMapper.writeValueAsString(appNameDeploymentIdMap));
-		}
-		catch (JsonProcessingException e) {
-			throw new SkipperException("Could not serialize appNameDeploymentIdMap", e);
-		}
+		this.deploymentData = null;
+		this.deploymentDataMap = null;
+		this.deployments.clear();
+		appNameDeploymentIdMap.forEach((appName, deploymentId) -> this.deployments
+				.add(new AppDeployment(this.releaseName, this.releaseVersion, appName, deploymentId)));
 	}
 
 	public List<String> getDeploymentIds() {
-		if (this.deploymentData != null) {
-			Map<String, String> appNameDeploymentIdMap = this.getDeploymentDataAsMap();
-			return appNameDeploymentIdMap.values().stream().collect(Collectors.toList());
+		return new ArrayList<>(getDeploymentDataAsMap().values());
+	}
+
+	private static Map<String, String> parse(String deploymentData) {
+		if (deploymentData == null) {
+			return new LinkedHashMap<>();
 		}
-		else {
-			return new ArrayList<>();
+		try {
+			return mapReader.readValue(deploymentData);
+		}
+		catch (Exception e) {
+			throw new SkipperException("Could not parse appNameDeploymentIdMap JSON:" + deploymentData, e);
 		}
 	}
 
@@ -124,7 +176,7 @@ public class AppDeployerData extends AbstractEntity {
 		return "AppDeployerData{" +
 				"releaseName='" + releaseName + '\'' +
 				", releaseVersion=" + releaseVersion +
-				", deploymentData='" + deploymentData + '\'' +
+				", deploymentData=" + getDeploymentDataAsMap() +
 				'}';
 	}
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.domain;
+
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.springframework.cloud.skipper.domain.AbstractEntity;
+
+/**
+ * Deployment id of an application of a release, part of the {@link AppDeployerData} of
+ * the release. The release name and version are repeated on each row so that the
+ * deployments of a release can be looked up through an index without a join.
+ */
+@Entity
+@Table(name = "SkipperAppDeployment", indexes = @Index(name = "idx_app_dep_release",
+		columnList = "releaseName,releaseVersion"))
+public class AppDeployment extends AbstractEntity {
+
+	private String releaseName;
+
+	private Integer releaseVersion;
+
+	private String appName;
+
+	private String deploymentId;
+
+	public AppDeployment() {
+	}
+
+	public AppDeployment(String releaseName, Integer releaseVersion, String appName, String deploymentId) {
+		this.releaseName = releaseName;
+		this.releaseVersion = releaseVersion;
+		this.appName = appName;
+		this.deploymentId = deploymentId;
+	}
+
+	public String getReleaseName() {
+		return releaseName;
+	}
+
+	public void setReleaseName(String releaseName) {
+		this.releaseName = releaseName;
+	}
+
+	public Integer getReleaseVersion() {
+		return releaseVersion;
+	}
+
+	public void setReleaseVersion(Integer releaseVersion) {
+		this.releaseVersion = releaseVersion;
+	}
+
+	public String getAppName() {
+		return appName;
+	}
+
+	public String getDeploymentId() {
+		return deploymentId;
+	}
+}
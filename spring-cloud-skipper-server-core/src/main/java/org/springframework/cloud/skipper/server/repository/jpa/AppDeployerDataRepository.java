@@ -26,10 +26,18 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @RepositoryRestResource(exported = false)
 @Transactional
+@SuppressWarnings("unchecked")
 public interface AppDeployerDataRepository
 		extends KeyValueRepository<AppDeployerData, Long>, AppDeployerDataRepositoryCustom {
 
+	@Override
 	@Transactional(readOnly = true)
 	AppDeployerData findByReleaseNameAndReleaseVersion(String releaseName, Integer releaseVersion);
 
+	@Override
+	AppDeployerData save(AppDeployerData appDeployerData);
+
+	@Override
+	void delete(AppDeployerData appDeployerData);
+
 }
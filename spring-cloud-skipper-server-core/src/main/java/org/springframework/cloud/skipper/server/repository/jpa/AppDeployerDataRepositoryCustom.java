@@ -22,6 +22,30 @@ import org.springframework.cloud.skipper.server.domain.AppDeployerData;
  */
 public interface AppDeployerDataRepositoryCustom {
 
+	/**
+	 * Find the app deployer data of a release version. Results are cached, the returned
+	 * instance may be shared and must not be modified unless saved.
+	 *
+	 * @param releaseName the release name
+	 * @param releaseVersion the release version
+	 * @return the app deployer data or {@code null} if there is none
+	 */
+	AppDeployerData findByReleaseNameAndReleaseVersion(String releaseName, Integer releaseVersion);
+
 	AppDeployerData findByReleaseNameAndReleaseVersionRequired(String releaseName, Integer releaseVersion);
 
+	/**
+	 * Save the app deployer data, evicting it from the cache.
+	 *
+	 * @param appDeployerData the app deployer data to save
+	 * @return the saved app deployer data
+	 */
+	AppDeployerData save(AppDeployerData appDeployerData);
+
+	/**
+	 * Delete the app deployer data, evicting it from the cache.
+	 *
+	 * @param appDeployerData the app deployer data to delete
+	 */
+	void delete(AppDeployerData appDeployerData);
 }
@@ -16,13 +16,23 @@
 package org.springframework.cloud.skipper.server.repository.jpa;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 /**
@@ -30,9 +40,63 @@ import org.springframework.util.StringUtils;
  */
 public class AppDeployerDataRepositoryImpl implements AppDeployerDataRepositoryCustom {
 
+	/**
+	 * App deployer data is looked up on every status, health check, scale, logs and delete
+	 * operation but written only once per release version, so found entries are cached
+	 * until saved or deleted. Immutable values are cached and every lookup gets its own
+	 * copy, so that callers changing it don't affect the others.
+	 */
+	private final Cache<String, CachedAppDeployerData> cache = Caffeine.newBuilder()
+			.maximumSize(256)
+			.expireAfterWrite(5, TimeUnit.MINUTES)
+			.build();
+
 	@Autowired
 	private ObjectProvider<AppDeployerDataRepository> appDeployerDataRepository;
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public AppDeployerData findByReleaseNameAndReleaseVersion(String releaseName, Integer releaseVersion) {
+		String key = cacheKey(releaseName, releaseVersion);
+		CachedAppDeployerData cached = this.cache.getIfPresent(key);
+		if (cached == null) {
+			List<AppDeployerData> found = findAll(releaseName, releaseVersion);
+			if (found.isEmpty()) {
+				return null;
+			}
+			cached = new CachedAppDeployerData(found.get(0));
+			this.cache.put(key, cached);
+		}
+		return cached.toAppDeployerData();
+	}
+
+	@Override
+	public AppDeployerData save(AppDeployerData appDeployerData) {
+		evict(appDeployerData);
+		if (appDeployerData.getId() == null) {
+			this.entityManager.persist(appDeployerData);
+			return appDeployerData;
+		}
+		return this.entityManager.merge(appDeployerData);
+	}
+
+	@Override
+	public void delete(AppDeployerData appDeployerData) {
+		evict(appDeployerData);
+		if (appDeployerData.getId() == null) {
+			// a looked up copy, standing for all the data of its release version
+			findAll(appDeployerData.getReleaseName(), appDeployerData.getReleaseVersion())
+					.forEach(this.entityManager::remove);
+			return;
+		}
+		AppDeployerData existing = this.entityManager.find(AppDeployerData.class, appDeployerData.getId());
+		if (existing != null) {
+			this.entityManager.remove(existing);
+		}
+	}
+
 	@Override
 	public AppDeployerData findByReleaseNameAndReleaseVersionRequired(String releaseName, Integer releaseVersion) {
 		AppDeployerData appDeployerData = appDeployerDataRepository.getIfAvailable().findByReleaseNameAndReleaseVersion(releaseName,
@@ -48,4 +112,55 @@ public class AppDeployerDataRepositoryImpl implements AppDeployerDataRepositoryC
 		}
 		return appDeployerData;
 	}
+
+	private void evict(AppDeployerData appDeployerData) {
+		String key = cacheKey(appDeployerData.getReleaseName(), appDeployerData.getReleaseVersion());
+		this.cache.invalidate(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// a concurrent lookup may cache the old state until the transaction completes
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(key);
+				}
+			});
+		}
+	}
+
+	private List<AppDeployerData> findAll(String releaseName, Integer releaseVersion) {
+		return this.entityManager.createQuery("select d from AppDeployerData d"
+				+ " where d.releaseName = :releaseName and d.releaseVersion = :releaseVersion"
+				+ " order by d.id desc", AppDeployerData.class)
+				.setParameter("releaseName", releaseName)
+				.setParameter("releaseVersion", releaseVersion)
+				.getResultList();
+	}
+
+	private static String cacheKey(String releaseName, Integer releaseVersion) {
+		return releaseName + ":" + releaseVersion;
+	}
+
+	private static class CachedAppDeployerData {
+
+		private final String releaseName;
+
+		private final Integer releaseVersion;
+
+		private final Map<String, String> deploymentData;
+
+		CachedAppDeployerData(AppDeployerData appDeployerData) {
+			this.releaseName = appDeployerData.getReleaseName();
+			this.releaseVersion = appDeployerData.getReleaseVersion();
+			// already read-only
+			this.deploymentData = appDeployerData.getDeploymentDataAsMap();
+		}
+
+		AppDeployerData toAppDeployerData() {
+			AppDeployerData appDeployerData = new AppDeployerData();
+			appDeployerData.setReleaseName(this.releaseName);
+			appDeployerData.setReleaseVersion(this.releaseVersion);
+			appDeployerData.setDeploymentDataUsingMap(this.deploymentData);
+			return appDeployerData;
+		}
+	}
 }
@@ -20,6 +20,9 @@ import java.util.List;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.core.annotation.RestResource;
 
 /**
@@ -105,6 +108,20 @@ public interface ReleaseRepositoryCustom {
 	@RestResource(exported = false)
 	List<Release> findLatestDeployedOrFailed();
 
+	/**
+	 * Find a page of the summaries of the releases with the state either deployed or
+	 * failed, without loading the releases themselves. Summaries are sorted by name and
+	 * version unless sorted by any of {@code name}, {@code version}, {@code statusCode},
+	 * {@code platformName} or {@code lastDeployed}.
+	 *
+	 * @param releaseNameLike the wildcard name of the releases, all releases if null
+	 * @param pageable the page to find
+	 * @return the page of release summaries
+	 * @throws SkipperException if sorted by any other property
+	 */
+	@RestResource(exported = false)
+	Page<ReleaseSummary> findLatestDeployedOrFailedSummaries(String releaseNameLike, Pageable pageable);
+
 	/**
 	 * Return the release by the given name if the most recent status of the release is
 	 * {@link org.springframework.cloud.skipper.domain.StatusCode#DELETED}.
@@ -116,4 +133,63 @@ public interface ReleaseRepositoryCustom {
 	@RestResource(exported = false)
 	Release findLatestReleaseIfDeleted(String releaseName);
 
+	/**
+	 * Find the summaries of all the versions of a release, newest first, without loading
+	 * the releases themselves. Summaries only carry the name, version, status code and
+	 * last deployed date of each version, the first deployed date if it was never
+	 * redeployed.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the summaries of the release versions
+	 */
+	@RestResource(exported = false)
+	List<ReleaseSummary> findVersionSummaries(String releaseName);
+
+	/**
+	 * Find the distinct names of all the releases, regardless of their versions and status.
+	 *
+	 * @return list of release names
+	 */
+	@RestResource(exported = false)
+	List<String> findReleaseNames();
+
+	/**
+	 * Find the platform name of the latest version of a release, without loading the
+	 * release itself.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the platform name of the latest version of the release
+	 * @throws {@link ReleaseNotFoundException} if there is no release with the given name
+	 */
+	@RestResource(exported = false)
+	String findLatestPlatformName(String releaseName);
+
+	/**
+	 * Find the version of the latest release, without loading the release itself.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the version of the latest release
+	 * @throws {@link ReleaseNotFoundException} if there is no release with the given name
+	 */
+	@RestResource(exported = false)
+	int findLatestVersion(String releaseName);
+
+	/**
+	 * Save the release, storing its package json, config values and manifest as shared
+	 * content blobs so that content identical across release versions is stored only
+	 * once.
+	 *
+	 * @param release the release to save
+	 * @return the saved release
+	 */
+	@RestResource(exported = false)
+	Release save(Release release);
+
+	/**
+	 * Delete the content blobs no longer referenced by any release or manifest.
+	 *
+	 * @return the number of deleted content blobs
+	 */
+	@RestResource(exported = false)
+	int deleteUnreferencedContentBlobs();
 }
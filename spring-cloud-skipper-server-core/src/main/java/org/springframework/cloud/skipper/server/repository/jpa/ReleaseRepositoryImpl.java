@@ -15,14 +15,41 @@
  */
 package org.springframework.cloud.skipper.server.repository.jpa;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.exception.ConstraintViolationException;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.ContentBlob;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
+import org.springframework.cloud.skipper.domain.Status;
 import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.server.service.ReleaseEventService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * @author Mark Pollack
@@ -30,9 +57,26 @@ import org.springframework.cloud.skipper.domain.StatusCode;
  */
 public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
 
+	// Key = sortable property of release summaries, value = the property in queries
+	private static final Map<String, String> SUMMARY_SORT_PROPERTIES = new LinkedHashMap<>();
+
+	static {
+		SUMMARY_SORT_PROPERTIES.put("name", "r.name");
+		SUMMARY_SORT_PROPERTIES.put("version", "r.version");
+		SUMMARY_SORT_PROPERTIES.put("statusCode", "s.statusCode");
+		SUMMARY_SORT_PROPERTIES.put("platformName", "r.platformName");
+		SUMMARY_SORT_PROPERTIES.put("lastDeployed", "i.lastDeployed");
+	}
+
 	@Autowired
 	private ObjectProvider<ReleaseRepository> releaseRepository;
 
+	@Autowired
+	private ObjectProvider<ReleaseEventService> releaseEventService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Override
 	public Release findLatestRelease(String releaseName) {
 		Release latestRelease = this.releaseRepository.getIfAvailable().findTopByNameOrderByVersionDesc(releaseName);
@@ -81,19 +125,15 @@ public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
 
 	@Override
 	public Release findByNameAndVersion(String releaseName, int version) {
-		Iterable<Release> releases = this.releaseRepository.getIfAvailable().findAll();
-
-		Release matchingRelease = null;
-		for (Release release : releases) {
-			if (release.getName().equals(releaseName) && release.getVersion() == version) {
-				matchingRelease = release;
-				break;
-			}
-		}
-		if (matchingRelease == null) {
+		List<Release> releases = this.entityManager
+				.createQuery("select r from Release r where r.name = :name and r.version = :version", Release.class)
+				.setParameter("name", releaseName)
+				.setParameter("version", version)
+				.getResultList();
+		if (releases.isEmpty()) {
 			throw new ReleaseNotFoundException(releaseName, version);
 		}
-		return matchingRelease;
+		return releases.get(0);
 	}
 
 	@Override
@@ -114,6 +154,63 @@ public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
 		return getDeployedOrFailed(this.releaseRepository.getIfAvailable().findAll());
 	}
 
+	@Override
+	public Page<ReleaseSummary> findLatestDeployedOrFailedSummaries(String releaseNameLike, Pageable pageable) {
+		String from = " from Release r join r.info i join i.status s";
+		String where = " where s.statusCode in (:statusCodes)"
+				+ (StringUtils.hasText(releaseNameLike) ? " and lower(r.name) like :name" : "");
+		TypedQuery<Object[]> query = this.entityManager.createQuery("select r.name, r.version, s.statusCode,"
+				+ " r.platformName, i.lastDeployed, s.platformStatus, pm.name, pm.version" + from
+				+ " left join PackageMetadata pm on pm.id = r.packageMetadataId" + where
+				+ " order by " + summaryOrder(pageable.getSort()), Object[].class);
+		TypedQuery<Long> countQuery = this.entityManager.createQuery("select count(r)" + from + where, Long.class);
+		for (TypedQuery<?> q : Arrays.asList(query, countQuery)) {
+			q.setParameter("statusCodes", Arrays.asList(StatusCode.DEPLOYED, StatusCode.FAILED));
+			if (StringUtils.hasText(releaseNameLike)) {
+				q.setParameter("name", "%" + releaseNameLike.toLowerCase(Locale.ROOT) + "%");
+			}
+		}
+		if (pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+		}
+		List<ReleaseSummary> summaries = new ArrayList<>();
+		for (Object[] row : query.getResultList()) {
+			ReleaseSummary summary = new ReleaseSummary();
+			summary.setName((String) row[0]);
+			summary.setVersion((Integer) row[1]);
+			summary.setStatusCode((StatusCode) row[2]);
+			summary.setPlatformName((String) row[3]);
+			summary.setLastDeployed((Date) row[4]);
+			if (row[5] != null) {
+				Status status = new Status();
+				status.setPlatformStatus((String) row[5]);
+				for (DeploymentState state : status.getDeploymentStateList()) {
+					summary.getAppStates().merge(state.name(), 1, Integer::sum);
+				}
+			}
+			summary.setPackageName((String) row[6]);
+			summary.setPackageVersion((String) row[7]);
+			summaries.add(summary);
+		}
+		return PageableExecutionUtils.getPage(summaries, pageable, countQuery::getSingleResult);
+	}
+
+	private static String summaryOrder(Sort sort) {
+		if (sort.isUnsorted()) {
+			return "r.name asc, r.version desc";
+		}
+		List<String> orders = new ArrayList<>();
+		for (Sort.Order order : sort) {
+			String property = SUMMARY_SORT_PROPERTIES.get(order.getProperty());
+			if (property == null) {
+				throw new SkipperException("Can not sort releases by " + order.getProperty()
+						+ ", sortable properties are " + SUMMARY_SORT_PROPERTIES.keySet());
+			}
+			orders.add(property + (order.isAscending() ? " asc" : " desc"));
+		}
+		return String.join(", ", orders);
+	}
+
 	private List<Release> getDeployedOrFailed(Iterable<Release> allReleases) {
 		List<Release> releases = new ArrayList<>();
 		for (Release release : allReleases) {
@@ -132,4 +229,112 @@ public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
 				latestRelease.getInfo().getStatus().getStatusCode().equals(StatusCode.DELETED)) ? latestRelease : null;
 	}
 
+	@Override
+	public List<ReleaseSummary> findVersionSummaries(String releaseName) {
+		List<Object[]> rows = this.entityManager.createQuery("select r.version, s.statusCode,"
+				+ " i.lastDeployed, i.firstDeployed from Release r left join r.info i left join i.status s"
+				+ " where r.name = :name order by r.version desc", Object[].class)
+				.setParameter("name", releaseName)
+				.getResultList();
+		List<ReleaseSummary> summaries = new ArrayList<>();
+		for (Object[] row : rows) {
+			ReleaseSummary summary = new ReleaseSummary();
+			summary.setName(releaseName);
+			summary.setVersion((Integer) row[0]);
+			summary.setStatusCode((StatusCode) row[1]);
+			summary.setLastDeployed(row[2] != null ? (Date) row[2] : (Date) row[3]);
+			summaries.add(summary);
+		}
+		return summaries;
+	}
+
+	@Override
+	public List<String> findReleaseNames() {
+		return this.entityManager.createQuery("select distinct r.name from Release r order by r.name", String.class)
+				.getResultList();
+	}
+
+	@Override
+	public String findLatestPlatformName(String releaseName) {
+		List<String> platformNames = this.entityManager.createQuery("select r.platformName from Release r"
+				+ " where r.name = :name order by r.version desc", String.class)
+				.setParameter("name", releaseName)
+				.setMaxResults(1)
+				.getResultList();
+		if (platformNames.isEmpty()) {
+			throw new ReleaseNotFoundException(releaseName);
+		}
+		return platformNames.get(0);
+	}
+
+	@Override
+	public int findLatestVersion(String releaseName) {
+		Integer version = this.entityManager.createQuery("select max(r.version) from Release r"
+				+ " where r.name = :name", Integer.class)
+				.setParameter("name", releaseName)
+				.getSingleResult();
+		if (version == null) {
+			throw new ReleaseNotFoundException(releaseName);
+		}
+		return version;
+	}
+
+	@Override
+	public Release save(Release release) {
+		release.resolveContentBlobs(this::findOrCreateContentBlob);
+		Release saved;
+		if (release.getId() == null) {
+			this.entityManager.persist(release);
+			saved = release;
+		}
+		else {
+			saved = this.entityManager.merge(release);
+		}
+		this.releaseEventService.ifAvailable(service -> service.publish(saved));
+		return saved;
+	}
+
+	@Override
+	public int deleteUnreferencedContentBlobs() {
+		return this.entityManager.createQuery("delete from ContentBlob b"
+				+ " where not exists (select r.id from Release r where r.pkgJsonBlob = b or r.configValuesBlob = b)"
+				+ " and not exists (select m.id from Manifest m where m.dataBlob = b)")
+				.executeUpdate();
+	}
+
+	private ContentBlob findOrCreateContentBlob(String content) {
+		String hash = ContentBlob.hash(content);
+		ContentBlob blob = this.entityManager.find(ContentBlob.class, hash);
+		if (blob != null) {
+			return blob;
+		}
+		// The blob is inserted right away on the connection of the calling transaction, so
+		// it is rolled back together with the release referencing it. The insert waits for a
+		// concurrent transaction inserting the same content, if that one commits only the
+		// insert is rolled back to the savepoint, not the calling transaction.
+		Session session = this.entityManager.unwrap(Session.class);
+		session.doWork(connection -> insertIfAbsent(session, connection, ContentBlob.of(content)));
+		// A reference, as the blob may have been committed after this transaction started
+		return this.entityManager.getReference(ContentBlob.class, hash);
+	}
+
+	private static void insertIfAbsent(Session session, Connection connection, ContentBlob blob)
+			throws SQLException {
+		Savepoint savepoint = connection.setSavepoint();
+		try (StatelessSession statelessSession = session.getSessionFactory().withStatelessOptions()
+				.connection(connection).openStatelessSession()) {
+			statelessSession.insert(blob);
+		}
+		catch (ConstraintViolationException e) {
+			// Inserted meanwhile by another transaction
+			connection.rollback(savepoint);
+			return;
+		}
+		try {
+			connection.releaseSavepoint(savepoint);
+		}
+		catch (SQLException e) {
+			// Not supported by all drivers, savepoints end with the transaction anyway
+		}
+	}
 }
@@ -16,9 +16,11 @@
 package org.springframework.cloud.skipper.server.repository.map;
 
 import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
 import org.springframework.data.keyvalue.repository.KeyValueRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -32,6 +34,13 @@ public interface DeployerRepository extends KeyValueRepository<Deployer, String>
 
 	Deployer findByName(String name);
 
+	/**
+	 * Served from the {@link DeployerRegistry}, so no transaction is needed.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	Deployer findByNameRequired(String name);
+
 	@Override
 	@RestResource(exported = false)
 	Deployer save(Deployer deployer);
@@ -19,6 +19,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
 
 /**
  * @author Mark Pollack
@@ -28,12 +29,24 @@ public class DeployerRepositoryImpl implements DeployerRepositoryCustom {
 	@Autowired
 	private ObjectProvider<DeployerRepository> deployerRepository;
 
+	@Autowired
+	private ObjectProvider<DeployerRegistry> deployerRegistry;
+
 	@Override
 	public Deployer findByNameRequired(String name) {
+		DeployerRegistry registry = this.deployerRegistry.getIfAvailable();
+		Deployer registered = registry != null ? registry.find(name) : null;
+		if (registered != null) {
+			return registered;
+		}
 		Deployer deployer = deployerRepository.getIfAvailable().findByName(name);
 		if (deployer == null) {
 			throw new SkipperException(String.format("No deployer named '%s'", name));
 		}
+		if (registry != null) {
+			// deployer added after the registry was built
+			registry.refresh(deployerRepository.getIfAvailable().findAll());
+		}
 		return deployer;
 	}
 }
@@ -16,11 +16,19 @@
 
 package org.springframework.cloud.skipper.server.service;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import org.springframework.cloud.deployer.spi.app.ActuatorOperations;
 import org.springframework.cloud.skipper.domain.ActuatorPostRequest;
-import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
 import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.http.HttpHeaders;
@@ -29,24 +37,57 @@ import org.springframework.util.Assert;
 /**
  * Service used to access an actuator endpoint for a deployed app instance.
  *
+ * The app is resolved from the deployer data of the latest release version rather than
+ * from the release status, so that proxying a request does not query the platform for
+ * the status of every app of the release. Responses of GET requests can optionally be
+ * cached for a short time to shield the apps from tools polling their endpoints.
+ *
  * @author David Turanski
  */
 public class ActuatorService {
 
-	private final ReleaseService releaseService;
-
 	private final DeployerRepository deployerRepository;
 
 	private final ReleaseRepository releaseRepository;
 
-	public ActuatorService(ReleaseService releaseService, DeployerRepository deployerRepository,
-			ReleaseRepository releaseRepository) {
-		Assert.notNull(releaseService, "'releaseService' is required");
-		this.releaseService = releaseService;
+	private final AppDeployerDataRepository appDeployerDataRepository;
+
+	private final Cache<List<String>, String> responseCache;
+
+	public ActuatorService(DeployerRepository deployerRepository, ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository) {
+		this(deployerRepository, releaseRepository, appDeployerDataRepository, null, 0);
+	}
+
+	/**
+	 * Create the service.
+	 *
+	 * @param deployerRepository the deployer repository
+	 * @param releaseRepository the release repository
+	 * @param appDeployerDataRepository the app deployer data repository
+	 * @param responseCacheTimeToLive the time to live of cached GET responses, responses
+	 *     are not cached if {@code null} or zero
+	 * @param responseCacheMaxSize the maximum number of cached GET responses
+	 */
+	public ActuatorService(DeployerRepository deployerRepository, ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository, Duration responseCacheTimeToLive,
+			int responseCacheMaxSize) {
 		Assert.notNull(deployerRepository, "'deployerRepository' is required");
 		this.deployerRepository = deployerRepository;
 		Assert.notNull(releaseRepository, "'releaseRepository' is required");
 		this.releaseRepository = releaseRepository;
+		Assert.notNull(appDeployerDataRepository, "'appDeployerDataRepository' is required");
+		this.appDeployerDataRepository = appDeployerDataRepository;
+		if (responseCacheTimeToLive != null && !responseCacheTimeToLive.isZero()
+				&& !responseCacheTimeToLive.isNegative()) {
+			this.responseCache = Caffeine.newBuilder()
+					.maximumSize(responseCacheMaxSize)
+					.expireAfterWrite(responseCacheTimeToLive.toNanos(), TimeUnit.NANOSECONDS)
+					.build();
+		}
+		else {
+			this.responseCache = null;
+		}
 	}
 
 	/**
@@ -61,9 +102,14 @@ public class ActuatorService {
 	 */
 	public String getFromActuator(String releaseName, String appName, String appId, String endpoint,
 			Optional<String> authorization) {
-
-		return actuatorOperations(releaseName).getFromActuator(deploymentId(releaseName, appName), appId, endpoint,
-				String.class, authHeader(authorization));
+		if (this.responseCache == null) {
+			return doGetFromActuator(releaseName, appName, appId, endpoint, authorization);
+		}
+		// the authorization is part of the key so that a response is never served to a
+		// caller not allowed to see it
+		List<String> key = Arrays.asList(releaseName, appName, appId, endpoint, authorization.orElse(null));
+		return this.responseCache.get(key,
+				k -> doGetFromActuator(releaseName, appName, appId, endpoint, authorization));
 	}
 
 	/**
@@ -82,12 +128,21 @@ public class ActuatorService {
 				postRequest.getBody(), Object.class, authHeader(authorization));
 	}
 
+	private String doGetFromActuator(String releaseName, String appName, String appId, String endpoint,
+			Optional<String> authorization) {
+		return actuatorOperations(releaseName).getFromActuator(deploymentId(releaseName, appName), appId, endpoint,
+				String.class, authHeader(authorization));
+	}
+
 	private String deploymentId(String releaseName, String appName) {
-		return this.releaseService.status(releaseName).getStatus().getAppStatusList().stream()
-				.filter(as -> appName.equals(as.getDeploymentId()))
-				.map(as -> as.getDeploymentId())
-				.findFirst().orElseThrow(() -> new IllegalArgumentException(
-						String.format("app %s is not found in release %s", appName, releaseName)));
+		int version = this.releaseRepository.findLatestVersion(releaseName);
+		AppDeployerData appDeployerData = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersion(releaseName, version);
+		if (appDeployerData == null || !appDeployerData.getDeploymentDataAsMap().containsValue(appName)) {
+			throw new IllegalArgumentException(
+					String.format("app %s is not found in release %s", appName, releaseName));
+		}
+		return appName;
 	}
 
 	private Optional<HttpHeaders> authHeader(Optional<String> authorization) {
@@ -99,8 +154,7 @@ public class ActuatorService {
 	}
 
 	private ActuatorOperations actuatorOperations(String releaseName) {
-		Release release = this.releaseRepository.findTopByNameOrderByVersionDesc(releaseName);
-		return this.deployerRepository.findByNameRequired(release.getPlatformName())
+		return this.deployerRepository.findByNameRequired(this.releaseRepository.findLatestPlatformName(releaseName))
 				.getActuatorOperations();
 	}
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.skipper.domain.CompressedStringConverter;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Migrates rows written before content compression was introduced. Releases still
+ * holding their package json, config values or manifest inline are saved again so that
+ * their content moves to shared content blobs, and uncompressed platform statuses are
+ * rewritten compressed. Rows are processed in batches, each in its own transaction, so
+ * the migration can run in the background of a live server and resume after a restart.
+ */
+public class ContentCompressionMigrationService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ContentCompressionMigrationService.class);
+
+	private final ReleaseRepository releaseRepository;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	private final CompressedStringConverter converter = new CompressedStringConverter();
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public ContentCompressionMigrationService(ReleaseRepository releaseRepository, DataSource dataSource,
+			PlatformTransactionManager transactionManager, int batchSize) {
+		Assert.notNull(releaseRepository, "'releaseRepository' must be set");
+		Assert.notNull(dataSource, "'dataSource' must be set");
+		Assert.notNull(transactionManager, "'transactionManager' must be set");
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than zero");
+		this.releaseRepository = releaseRepository;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setMaxRows(batchSize);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	@Async
+	@EventListener
+	public void migrate(ApplicationReadyEvent event) {
+		long start = System.currentTimeMillis();
+		int releases = migrateReleases();
+		int statuses = migrateStatuses();
+		logger.info("Content compression migration moved {} releases to content blobs and compressed {} "
+				+ "statuses in {}ms", releases, statuses, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Move the inline content of releases to content blobs.
+	 *
+	 * @return the number of migrated releases
+	 */
+	public int migrateReleases() {
+		int migrated = 0;
+		List<Long> ids;
+		do {
+			ids = this.transactionTemplate.execute(status -> {
+				List<Long> batch = this.entityManager.createQuery("select r.id from Release r left join r.manifest m"
+						+ " where r.pkgJsonString is not null or r.configValuesString is not null"
+						+ " or m.inlineData is not null order by r.id", Long.class)
+						.setMaxResults(this.batchSize)
+						.getResultList();
+				batch.forEach(id -> this.releaseRepository.findById(id).ifPresent(this.releaseRepository::save));
+				return batch;
+			});
+			migrated += ids.size();
+			logger.debug("Moved {} releases to content blobs", migrated);
+		}
+		while (ids.size() == this.batchSize);
+		return migrated;
+	}
+
+	/**
+	 * Compress the platform statuses stored uncompressed.
+	 *
+	 * @return the number of compressed statuses
+	 */
+	public int migrateStatuses() {
+		int migrated = 0;
+		long lastId = -1;
+		List<Object[]> rows;
+		do {
+			rows = this.jdbcTemplate.query("select id, platform_status from skipper_status where id > ? order by id",
+					(rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) }, lastId);
+			List<Object[]> updates = new ArrayList<>();
+			for (Object[] row : rows) {
+				lastId = (Long) row[0];
+				String platformStatus = (String) row[1];
+				if (platformStatus != null && !CompressedStringConverter.isCompressed(platformStatus)
+						&& platformStatus.length() >= CompressedStringConverter.THRESHOLD) {
+					updates.add(new Object[] { this.converter.convertToDatabaseColumn(platformStatus), lastId });
+				}
+			}
+			if (!updates.isEmpty()) {
+				this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate
+						.batchUpdate("update skipper_status set platform_status = ? where id = ?", updates));
+				migrated += updates.size();
+			}
+		}
+		while (rows.size() == this.batchSize);
+		return migrated;
+	}
+}
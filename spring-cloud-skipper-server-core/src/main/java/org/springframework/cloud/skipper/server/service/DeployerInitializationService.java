@@ -25,14 +25,22 @@ import org.springframework.boot.configurationmetadata.ConfigurationMetadataPrope
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cloud.skipper.domain.Platform;
 import org.springframework.cloud.skipper.domain.deployer.ConfigurationMetadataPropertyEntity;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
 import org.springframework.cloud.skipper.server.deployer.metadata.DeployerConfigurationMetadataResolver;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent.AfterDeleteEvent;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent.AfterDropKeySpaceEvent;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent.AfterInsertEvent;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent.AfterUpdateEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Populates the DeployerRepository with AppDeployer instances
+ * Populates the DeployerRepository with AppDeployer instances and builds the
+ * {@link DeployerRegistry} from it, refreshing the registry whenever a deployer is saved
+ * or deleted.
  *
  * @author Mark Pollack
  * @author Ilayaperumal Gopinathan
@@ -45,15 +53,18 @@ public class DeployerInitializationService {
 	private final Logger logger = LoggerFactory
 			.getLogger(DeployerInitializationService.class);
 	private static final String KEY_PREFIX = "spring.cloud.deployer.";
+	private static final String DEPLOYER_KEYSPACE = "deployer";
 	private final DeployerRepository deployerRepository;
 	private final List<Platform> platforms;
 	private final DeployerConfigurationMetadataResolver resolver;
+	private final DeployerRegistry deployerRegistry;
 
 	public DeployerInitializationService(DeployerRepository deployerRepository, List<Platform> platforms,
-			DeployerConfigurationMetadataResolver resolver) {
+			DeployerConfigurationMetadataResolver resolver, DeployerRegistry deployerRegistry) {
 		this.deployerRepository = deployerRepository;
 		this.platforms = platforms;
 		this.resolver = resolver;
+		this.deployerRegistry = deployerRegistry;
 	}
 
 	@EventListener
@@ -72,6 +83,22 @@ public class DeployerInitializationService {
 						deployer.getName()));
 			});
 		});
+		this.deployerRegistry.refresh(this.deployerRepository.findAll());
+	}
+
+	/**
+	 * Rebuild the registry when a deployer gets added, redefined or removed, so that
+	 * lookups never return a stale deployer. Only events published after a change are
+	 * handled, reads don't rebuild the registry.
+	 *
+	 * @param event the key value event of the changed entity
+	 */
+	@EventListener({ AfterInsertEvent.class, AfterUpdateEvent.class, AfterDeleteEvent.class,
+			AfterDropKeySpaceEvent.class })
+	public void onDeployerChanged(KeyValueEvent<?> event) {
+		if (DEPLOYER_KEYSPACE.equals(event.getKeyspace())) {
+			this.deployerRegistry.refresh(this.deployerRepository.findAll());
+		}
 	}
 
 	private List<ConfigurationMetadataPropertyEntity> createMetadataPropertyEntities(
@@ -23,11 +23,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.zafarkhaja.semver.ParseException;
 import com.github.zafarkhaja.semver.Version;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zeroturnaround.zip.ZipUtil;
@@ -43,6 +52,7 @@ import org.springframework.cloud.skipper.io.PackageReader;
 import org.springframework.cloud.skipper.io.TempFileUtils;
 import org.springframework.cloud.skipper.server.repository.jpa.PackageMetadataRepository;
 import org.springframework.cloud.skipper.server.repository.jpa.RepositoryRepository;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -54,7 +64,9 @@ import org.springframework.util.StreamUtils;
 
 /**
  * Service responsible for downloading package .zip files and loading them into the
- * Package object.
+ * Package object. Packages stored in the database are immutable once uploaded, so their
+ * deserialized form is cached by package metadata id and concurrent loads of the same
+ * package share a single unzip.
  *
  * @author Mark Pollack
  * @author Ilayaperumal Gopinathan
@@ -70,28 +82,93 @@ public class PackageService implements ResourceLoaderAware {
 
 	private final PackageReader packageReader;
 
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	// Key = package metadata id, value = package json without the package file bytes
+	private final Cache<Long, String> packageJsonCache = Caffeine.newBuilder()
+			.maximumSize(100)
+			.expireAfterAccess(10, TimeUnit.MINUTES)
+			.build();
+
+	private final MeterRegistry meterRegistry;
+
 	private ResourceLoader resourceLoader;
 
 	public PackageService(RepositoryRepository repositoryRepository,
 			PackageMetadataRepository packageMetadataRepository,
 			PackageReader packageReader) {
+		this(repositoryRepository, packageMetadataRepository, packageReader, new SimpleMeterRegistry());
+	}
+
+	public PackageService(RepositoryRepository repositoryRepository,
+			PackageMetadataRepository packageMetadataRepository,
+			PackageReader packageReader, MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
 		this.repositoryRepository = repositoryRepository;
 		this.packageMetadataRepository = packageMetadataRepository;
 		this.packageReader = packageReader;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Transactional
 	public Package downloadPackage(PackageMetadata packageMetadata) {
 		Assert.notNull(packageMetadata, "Can't download PackageMetadata, it is a null value.");
+		// downloaded packages get their file attached, so resolve where it comes from upfront
+		String source = packageMetadata.getPackageFile() != null ? "database" : "repository";
+		Timer.Sample sample = Timer.start(this.meterRegistry);
+		String outcome = "failure";
+		try (OperationTracer.Span span = OperationTracer.span("package.load")) {
+			Package pkg = loadPackage(packageMetadata);
+			outcome = "success";
+			return pkg;
+		}
+		finally {
+			sample.stop(Timer.builder("skipper.package.load")
+					.description("Time taken to load a package from the database or a package repository")
+					.tag("package", packageMetadata.getName() != null ? packageMetadata.getName() : "none")
+					.tag("source", source)
+					.tag("outcome", outcome)
+					.register(this.meterRegistry));
+		}
+	}
+
+	private Package loadPackage(PackageMetadata packageMetadata) {
 		// Database contains the package file from a previous upload
 		if (packageMetadata.getPackageFile() != null) {
-			return deserializePackageFromDatabase(packageMetadata);
+			if (packageMetadata.getId() == null) {
+				return deserializePackageFromDatabase(packageMetadata);
+			}
+			String pkgJson = this.packageJsonCache.get(packageMetadata.getId(),
+					id -> toJson(deserializePackageFromDatabase(packageMetadata)));
+			return fromJson(pkgJson, packageMetadata);
 		}
 		else {
 			return downloadAndDeserializePackage(packageMetadata);
 		}
 	}
 
+	private String toJson(Package pkg) {
+		try {
+			return this.objectMapper.writeValueAsString(pkg);
+		}
+		catch (JsonProcessingException e) {
+			throw new SkipperException("Error processing pkg json string", e);
+		}
+	}
+
+	private Package fromJson(String pkgJson, PackageMetadata packageMetadata) {
+		try {
+			// each caller gets its own copy as packages are mutated while creating releases
+			Package pkg = this.objectMapper.readValue(pkgJson, Package.class);
+			pkg.setMetadata(packageMetadata);
+			return pkg;
+		}
+		catch (IOException e) {
+			throw new SkipperException("Error processing pkg json string", e);
+		}
+	}
+
 	private Package downloadAndDeserializePackage(PackageMetadata packageMetadata) {
 		Path targetPath = null;
 		// package file is in a non DB hosted repository
@@ -209,6 +286,9 @@ public class PackageService implements ResourceLoaderAware {
 		Assert.isTrue(packageMetadata.getRepositoryId() > 0, "Invalid Repository ID.");
 
 		this.packageMetadataRepository.delete(packageMetadata);
+		if (packageMetadata.getId() != null) {
+			this.packageJsonCache.invalidate(packageMetadata.getId());
+		}
 	}
 
 	@Transactional
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.skipper.domain.DeleteProperties;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchOperation;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Executes a {@link ReleaseBatchRequest} by dispatching its operations to the
+ * {@link SkipperStateMachineService}. Operations targeting the same release are executed
+ * in request order on that release's state machine, while operations on different
+ * releases run concurrently. The number of operations in flight is bounded across all
+ * batch requests handled by the server.
+ */
+public class ReleaseBatchService implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReleaseBatchService.class);
+
+	private final SkipperStateMachineService skipperStateMachineService;
+
+	private final int maxConcurrency;
+
+	private final Scheduler scheduler;
+
+	public ReleaseBatchService(SkipperStateMachineService skipperStateMachineService, int maxConcurrency) {
+		Assert.notNull(skipperStateMachineService, "'skipperStateMachineService' must be set");
+		Assert.isTrue(maxConcurrency > 0, "'maxConcurrency' must be greater than zero");
+		this.skipperStateMachineService = skipperStateMachineService;
+		this.maxConcurrency = maxConcurrency;
+		this.scheduler = Schedulers.newBoundedElastic(maxConcurrency, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+				"skipper-batch");
+	}
+
+	/**
+	 * Execute the operations of the batch request, emitting the result of each operation as
+	 * soon as it completes. Once an operation fails, the remaining operations on the same
+	 * release are skipped.
+	 *
+	 * @param batchRequest the batch request
+	 * @return the results of the operations in completion order
+	 */
+	public Flux<ReleaseBatchResult> execute(ReleaseBatchRequest batchRequest) {
+		Assert.notNull(batchRequest, "'batchRequest' must be set");
+		List<ReleaseBatchResult> invalid = new ArrayList<>();
+		Map<String, List<ReleaseBatchOperation>> operationsByRelease = new LinkedHashMap<>();
+		for (ReleaseBatchOperation operation : batchRequest.getOperations()) {
+			if (operation.getType() == null || !StringUtils.hasText(operation.getReleaseName())) {
+				invalid.add(ReleaseBatchResult.failure(operation, "Operation type and release name must be set"));
+			}
+			else {
+				operationsByRelease.computeIfAbsent(operation.getReleaseName(), k -> new ArrayList<>()).add(operation);
+			}
+		}
+		logger.info("Executing batch of {} operations on {} releases", batchRequest.getOperations().size(),
+				operationsByRelease.size());
+		return Flux.fromIterable(invalid)
+				.concatWith(Flux.fromIterable(operationsByRelease.values())
+						.flatMap(this::executeInOrder, this.maxConcurrency));
+	}
+
+	private Flux<ReleaseBatchResult> executeInOrder(List<ReleaseBatchOperation> operations) {
+		AtomicBoolean failed = new AtomicBoolean();
+		return Flux.fromIterable(operations)
+				.concatMap(operation -> {
+					if (failed.get()) {
+						return Mono.just(ReleaseBatchResult.failure(operation,
+								"Skipped as a previous operation on the release failed"));
+					}
+					return Mono.fromCallable(() -> executeOperation(operation))
+							.subscribeOn(this.scheduler)
+							.doOnNext(result -> {
+								if (!result.isSuccess()) {
+									failed.set(true);
+								}
+							});
+				});
+	}
+
+	private ReleaseBatchResult executeOperation(ReleaseBatchOperation operation) {
+		try {
+			Release release;
+			switch (operation.getType()) {
+			case INSTALL:
+				release = this.skipperStateMachineService.installRelease(operation.getInstallRequest());
+				break;
+			case UPGRADE:
+				release = this.skipperStateMachineService.upgradeRelease(operation.getUpgradeRequest());
+				break;
+			case DELETE:
+				DeleteProperties deleteProperties = operation.getDeleteProperties() != null
+						? operation.getDeleteProperties() : new DeleteProperties();
+				release = this.skipperStateMachineService.deleteRelease(operation.getReleaseName(),
+						deleteProperties);
+				break;
+			default:
+				return ReleaseBatchResult.failure(operation, "Unsupported operation type " + operation.getType());
+			}
+			return ReleaseBatchResult.success(operation, release);
+		}
+		catch (Exception e) {
+			logger.warn("Batch operation {} on release {} failed", operation.getType(), operation.getReleaseName(),
+					e);
+			return ReleaseBatchResult.failure(operation, e.getMessage());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduler.dispose();
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.time.Duration;
+import java.util.Date;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.cloud.skipper.domain.Status;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Publishes the changes of release statuses to any number of subscribers. Releases are
+ * published whenever they are saved and an event is only emitted when the status code or
+ * an application state of the release version actually changed, so the work is done
+ * once per change rather than once per subscriber.
+ * <p>
+ * The last events are kept so that subscribers reconnecting with the id of the last event
+ * they received get the events they missed, as long as they are still kept. Event ids
+ * start from the time the service was created, in milliseconds, so that the ids issued
+ * before a restart are not mistaken for ids issued by this instance. Subscribers
+ * reconnecting with such an id get the events published from then on.
+ */
+public class ReleaseEventService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReleaseEventService.class);
+
+	private static final int MAX_TRACKED_RELEASES = 10000;
+
+	private final Sinks.Many<ReleaseStatusEvent> events;
+
+	// Key = release name and version, value = status code and application states last published
+	private final Cache<String, String> publishedStates = Caffeine.newBuilder()
+			.maximumSize(MAX_TRACKED_RELEASES)
+			.build();
+
+	private final Duration heartbeatInterval;
+
+	// Ids issued by this instance are greater than this one
+	private final long firstEventIdExclusive;
+
+	private long lastEventId;
+
+	/**
+	 * Instantiates a new release event service.
+	 *
+	 * @param historySize the number of last events kept for reconnecting subscribers
+	 * @param heartbeatInterval the interval of the heartbeats keeping idle subscriptions
+	 * alive
+	 */
+	public ReleaseEventService(int historySize, Duration heartbeatInterval) {
+		Assert.isTrue(historySize > 0, "'historySize' must be greater than zero");
+		Assert.notNull(heartbeatInterval, "'heartbeatInterval' must be set");
+		this.events = Sinks.many().replay().limit(historySize);
+		this.heartbeatInterval = heartbeatInterval;
+		this.firstEventIdExclusive = System.currentTimeMillis();
+		this.lastEventId = this.firstEventIdExclusive;
+	}
+
+	/**
+	 * Publish the status of the given release if it changed since it was last published.
+	 * Within a transaction, the status is published once the transaction is committed.
+	 *
+	 * @param release the release
+	 */
+	public void publish(Release release) {
+		if (release == null || release.getInfo() == null || release.getInfo().getStatus() == null) {
+			return;
+		}
+		ReleaseStatusEvent event = toEvent(release);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					emit(event);
+				}
+			});
+		}
+		else {
+			emit(event);
+		}
+	}
+
+	/**
+	 * Get the release status events, starting with the events following the given event
+	 * id when it was issued by this instance, and otherwise with the events published
+	 * after subscribing.
+	 *
+	 * @param releaseNamePattern the pattern of the release names, supporting {@code *}
+	 * wildcards, or null for all releases
+	 * @param platformName the platform name of the releases, or null for all platforms
+	 * @param lastEventId the id of the last event received, or null
+	 * @return the release status events
+	 */
+	public Flux<ReleaseStatusEvent> events(String releaseNamePattern, String platformName, Long lastEventId) {
+		return Flux.defer(() -> {
+			long after = getStartEventId(lastEventId);
+			return this.events.asFlux()
+					.filter(event -> event.getId() > after)
+					.filter(event -> !StringUtils.hasText(releaseNamePattern)
+							|| PatternMatchUtils.simpleMatch(releaseNamePattern, event.getName()))
+					.filter(event -> !StringUtils.hasText(platformName)
+							|| platformName.equals(event.getPlatformName()));
+		});
+	}
+
+	/**
+	 * @return the interval of the heartbeats keeping idle subscriptions alive
+	 */
+	public Duration getHeartbeatInterval() {
+		return this.heartbeatInterval;
+	}
+
+	private synchronized long getStartEventId(Long lastEventId) {
+		if (lastEventId != null && lastEventId > this.firstEventIdExclusive && lastEventId <= this.lastEventId) {
+			return lastEventId;
+		}
+		return this.lastEventId;
+	}
+
+	private synchronized void emit(ReleaseStatusEvent event) {
+		String key = event.getName() + ":" + event.getVersion();
+		String state = event.getStatusCode() + " " + event.getAppStates();
+		if (state.equals(this.publishedStates.getIfPresent(key))) {
+			return;
+		}
+		this.publishedStates.put(key, state);
+		event.setId(++this.lastEventId);
+		logger.debug("Publishing {}", event);
+		Sinks.EmitResult result = this.events.tryEmitNext(event);
+		if (result.isFailure()) {
+			logger.warn("Could not publish {}, {}", event, result);
+		}
+	}
+
+	private static ReleaseStatusEvent toEvent(Release release) {
+		Status status = release.getInfo().getStatus();
+		ReleaseStatusEvent event = new ReleaseStatusEvent();
+		event.setTimestamp(new Date());
+		event.setName(release.getName());
+		event.setVersion(release.getVersion());
+		event.setPlatformName(release.getPlatformName());
+		event.setStatusCode(status.getStatusCode());
+		for (AppStatus appStatus : status.getAppStatusList()) {
+			event.getAppStates().put(appStatus.getDeploymentId(), appStatus.getState());
+		}
+		return event;
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Service which periodically prunes old versions of releases, together with their
+ * manifest, info, status and {@link AppDeployerData}, according to the configured
+ * {@link SkipperServerProperties.ReleaseHistory} retention policy. The latest version of a
+ * release, the deployed version and versions with an operation in progress are never
+ * pruned. Pruned versions are removed in chunks, each in its own transaction, and are
+ * optionally archived as gzipped json files before removal. Content blobs no longer
+ * referenced by any release are removed once versions have been pruned.
+ */
+public class ReleaseHistoryPruningService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReleaseHistoryPruningService.class);
+
+	private final ReleaseRepository releaseRepository;
+
+	private final AppDeployerDataRepository appDeployerDataRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final SkipperServerProperties.ReleaseHistory properties;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Counter releasesPruned;
+
+	private final Counter appDeployerDataPruned;
+
+	private final Counter contentBlobsPruned;
+
+	private final Counter releasesArchived;
+
+	/**
+	 * Instantiates a new release history pruning service.
+	 *
+	 * @param releaseRepository the release repository
+	 * @param appDeployerDataRepository the app deployer data repository
+	 * @param transactionManager the transaction manager used for each chunk
+	 * @param properties the retention policy
+	 * @param meterRegistry the registry where pruning metrics are published
+	 */
+	public ReleaseHistoryPruningService(ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository, PlatformTransactionManager transactionManager,
+			SkipperServerProperties.ReleaseHistory properties, MeterRegistry meterRegistry) {
+		Assert.notNull(releaseRepository, "'releaseRepository' must be set");
+		Assert.notNull(appDeployerDataRepository, "'appDeployerDataRepository' must be set");
+		Assert.notNull(transactionManager, "'transactionManager' must be set");
+		Assert.notNull(properties, "'properties' must be set");
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
+		Assert.isTrue(properties.getChunkSize() > 0, "'chunkSize' must be greater than zero");
+		this.releaseRepository = releaseRepository;
+		this.appDeployerDataRepository = appDeployerDataRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		this.releasesPruned = Counter.builder("skipper.release.history.pruned")
+				.description("Number of pruned rows")
+				.tag("type", "release")
+				.register(meterRegistry);
+		this.appDeployerDataPruned = Counter.builder("skipper.release.history.pruned")
+				.description("Number of pruned rows")
+				.tag("type", "appDeployerData")
+				.register(meterRegistry);
+		this.contentBlobsPruned = Counter.builder("skipper.release.history.pruned")
+				.description("Number of pruned rows")
+				.tag("type", "contentBlob")
+				.register(meterRegistry);
+		this.releasesArchived = Counter.builder("skipper.release.history.archived")
+				.description("Number of release versions archived before pruning")
+				.register(meterRegistry);
+		log.info("Setting up ReleaseHistoryPruningService with maxVersionsPerRelease={}, maxAge={}",
+				properties.getMaxVersionsPerRelease(), properties.getMaxAge());
+	}
+
+	@Scheduled(initialDelayString = "${spring.cloud.skipper.server.release-history.pruning-interval:3600000}",
+			fixedDelayString = "${spring.cloud.skipper.server.release-history.pruning-interval:3600000}")
+	public synchronized void prune() {
+		log.debug("Scheduled release history pruning running...");
+		long now = System.currentTimeMillis();
+		int pruned = 0;
+		for (String releaseName : this.releaseRepository.findReleaseNames()) {
+			List<Integer> candidates = this.transactionTemplate
+					.execute(status -> findPruneCandidates(releaseName, now));
+			for (int from = 0; from < candidates.size(); from += this.properties.getChunkSize()) {
+				List<Integer> chunk = candidates.subList(from,
+						Math.min(from + this.properties.getChunkSize(), candidates.size()));
+				// releases and app deployer data deleted by the chunk
+				int[] deleted = new int[2];
+				this.transactionTemplate.executeWithoutResult(
+						status -> chunk.forEach(version -> pruneVersion(releaseName, version, deleted)));
+				// only count chunks which got committed
+				this.releasesPruned.increment(deleted[0]);
+				this.appDeployerDataPruned.increment(deleted[1]);
+				pruned += deleted[0];
+			}
+		}
+		if (pruned > 0) {
+			Integer blobs = this.transactionTemplate
+					.execute(status -> this.releaseRepository.deleteUnreferencedContentBlobs());
+			this.contentBlobsPruned.increment(blobs != null ? blobs : 0);
+			log.info("Pruned {} release versions and {} unreferenced content blobs", pruned, blobs);
+		}
+	}
+
+	/**
+	 * Find the versions of the release to prune according to the retention policy, from
+	 * the summaries of the versions rather than the releases themselves.
+	 *
+	 * @param releaseName the release name
+	 * @param now the reference time for the max age
+	 * @return the release versions to prune, oldest first
+	 */
+	List<Integer> findPruneCandidates(String releaseName, long now) {
+		int maxVersions = this.properties.getMaxVersionsPerRelease();
+		Date cutoff = (this.properties.getMaxAge() != null)
+				? new Date(now - this.properties.getMaxAge().toMillis()) : null;
+		if (maxVersions <= 0 && cutoff == null) {
+			return Collections.emptyList();
+		}
+		List<ReleaseSummary> versions = this.releaseRepository.findVersionSummaries(releaseName);
+		List<Integer> candidates = new ArrayList<>();
+		// the latest version is always kept
+		for (int i = versions.size() - 1; i > 0; i--) {
+			ReleaseSummary version = versions.get(i);
+			if (!isPrunable(version.getStatusCode())) {
+				continue;
+			}
+			boolean exceedsCount = maxVersions > 0 && i >= maxVersions;
+			Date lastDeployed = version.getLastDeployed();
+			boolean exceedsAge = cutoff != null && lastDeployed != null && lastDeployed.before(cutoff);
+			if (exceedsCount || exceedsAge) {
+				candidates.add(version.getVersion());
+			}
+		}
+		return candidates;
+	}
+
+	private boolean isPrunable(StatusCode statusCode) {
+		// deployed apps are still running and unknown means an operation is in progress
+		return statusCode != StatusCode.DEPLOYED && statusCode != StatusCode.UNKNOWN;
+	}
+
+	private void pruneVersion(String releaseName, int version, int[] deleted) {
+		Release release;
+		try {
+			release = this.releaseRepository.findByNameAndVersion(releaseName, version);
+		}
+		catch (ReleaseNotFoundException e) {
+			return;
+		}
+		AppDeployerData appDeployerData = this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersion(release.getName(), release.getVersion());
+		if (StringUtils.hasText(this.properties.getArchiveDirectory())) {
+			archive(release, appDeployerData);
+		}
+		log.debug("Pruning release {}-v{}", release.getName(), release.getVersion());
+		if (appDeployerData != null) {
+			this.appDeployerDataRepository.delete(appDeployerData);
+			deleted[1]++;
+		}
+		this.releaseRepository.delete(release);
+		deleted[0]++;
+	}
+
+	private void archive(Release release, AppDeployerData appDeployerData) {
+		File directory = new File(this.properties.getArchiveDirectory(), release.getName());
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new SkipperException("Could not create release archive directory " + directory);
+		}
+		File target = new File(directory, release.getName() + "-v" + release.getVersion() + ".json.gz");
+		Map<String, Object> archived = new LinkedHashMap<>();
+		archived.put("release", release);
+		archived.put("deploymentData",
+				appDeployerData != null ? appDeployerData.getDeploymentDataAsMap() : Collections.emptyMap());
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(target))) {
+			this.objectMapper.writeValue(out, archived);
+		}
+		catch (IOException e) {
+			// don't remove anything we could not archive
+			throw new SkipperException("Could not archive release " + release.getName() + "-v"
+					+ release.getVersion() + " to " + target, e);
+		}
+		this.releasesArchived.increment();
+	}
+}
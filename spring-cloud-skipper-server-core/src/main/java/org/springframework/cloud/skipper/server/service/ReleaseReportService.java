@@ -16,14 +16,27 @@
 
 package org.springframework.cloud.skipper.server.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
 
+import org.springframework.cloud.skipper.ReleaseUpgradeException;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.ContentBlob;
 import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.Manifest;
 import org.springframework.cloud.skipper.domain.Package;
@@ -31,25 +44,43 @@ import org.springframework.cloud.skipper.domain.PackageIdentifier;
 import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
 import org.springframework.cloud.skipper.domain.UpgradeProperties;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.domain.deployer.ApplicationManifestDifference;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.deployer.AppDeploymentRequestFactory;
+import org.springframework.cloud.skipper.server.deployer.ArtifactResolutionService;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReportReference;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManagerFactory;
 import org.springframework.cloud.skipper.server.repository.jpa.PackageMetadataRepository;
 import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
 import org.springframework.cloud.skipper.server.util.ConfigValueUtils;
 import org.springframework.cloud.skipper.server.util.ManifestUtils;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
+import org.springframework.cloud.skipper.support.PropertiesDiff;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
+ * Creates the {@link ReleaseAnalysisReport} of upgrades. Reports can also be planned
+ * ahead as an {@link UpgradePlan} without deploying anything, planned reports are kept
+ * for a limited time so that an upgrade referencing the plan applies it as planned
+ * without analysing the releases again. Plans report the resources of the applications to
+ * upgrade that do not exist, checked without fetching them.
+ *
  * @author Mark Pollack
  * @author Chris Bono
  */
 public class ReleaseReportService {
 
+	private static final Logger logger = LoggerFactory.getLogger(ReleaseReportService.class);
+
 	private final PackageMetadataRepository packageMetadataRepository;
 
 	private final ReleaseRepository releaseRepository;
@@ -58,14 +89,48 @@ public class ReleaseReportService {
 
 	private final ReleaseManagerFactory releaseManagerFactory;
 
+	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader;
+
+	private final ArtifactResolutionService artifactResolutionService;
+
+	// Key = plan id, value = the planned report and the request it was planned for
+	private final Cache<String, PlannedUpgrade> plannedUpgrades;
+
 	public ReleaseReportService(PackageMetadataRepository packageMetadataRepository,
 			ReleaseRepository releaseRepository,
 			PackageService packageService,
 			ReleaseManagerFactory releaseManagerFactory) {
+		this(packageMetadataRepository, releaseRepository, packageService, releaseManagerFactory,
+				Duration.ofMinutes(15), 1000);
+	}
+
+	public ReleaseReportService(PackageMetadataRepository packageMetadataRepository,
+			ReleaseRepository releaseRepository,
+			PackageService packageService,
+			ReleaseManagerFactory releaseManagerFactory,
+			Duration planTimeToLive, int planCacheMaxSize) {
+		this(packageMetadataRepository, releaseRepository, packageService, releaseManagerFactory, planTimeToLive,
+				planCacheMaxSize, null, null);
+	}
+
+	public ReleaseReportService(PackageMetadataRepository packageMetadataRepository,
+			ReleaseRepository releaseRepository,
+			PackageService packageService,
+			ReleaseManagerFactory releaseManagerFactory,
+			Duration planTimeToLive, int planCacheMaxSize,
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ArtifactResolutionService artifactResolutionService) {
+		Assert.notNull(planTimeToLive, "'planTimeToLive' must be set");
 		this.packageMetadataRepository = packageMetadataRepository;
 		this.releaseRepository = releaseRepository;
 		this.packageService = packageService;
 		this.releaseManagerFactory = releaseManagerFactory;
+		this.applicationManifestReader = applicationManifestReader;
+		this.artifactResolutionService = artifactResolutionService;
+		this.plannedUpgrades = Caffeine.newBuilder()
+				.expireAfterWrite(planTimeToLive.toNanos(), TimeUnit.NANOSECONDS)
+				.maximumSize(planCacheMaxSize)
+				.build();
 	}
 
 	/**
@@ -82,6 +147,79 @@ public class ReleaseReportService {
 	@Transactional
 	public ReleaseAnalysisReport createReport(UpgradeRequest upgradeRequest, RollbackRequest rollbackRequest,
 			boolean initial) {
+		if (initial && StringUtils.hasText(upgradeRequest.getPlanId())) {
+			return applyPlan(upgradeRequest);
+		}
+		return createReport(upgradeRequest, rollbackRequest, initial, initial);
+	}
+
+	/**
+	 * Plans the upgrade described by the request without deploying or saving anything. The
+	 * returned plan can be referenced by the id of the plan in a following upgrade request
+	 * until it expires or gets applied.
+	 *
+	 * @param upgradeRequest the upgrade request to plan
+	 * @return the upgrade plan
+	 */
+	@Transactional(readOnly = true)
+	public UpgradePlan planUpgrade(UpgradeRequest upgradeRequest) {
+		ReleaseAnalysisReport report = createReport(upgradeRequest, null, true, false);
+		Release existingRelease = report.getExistingRelease();
+		Release replacingRelease = report.getReplacingRelease();
+		UpgradePlan plan = new UpgradePlan();
+		plan.setReleaseName(replacingRelease.getName());
+		plan.setExistingVersion(existingRelease.getVersion());
+		plan.setReplacingVersion(replacingRelease.getVersion());
+		plan.setPackageName(replacingRelease.getPkg().getMetadata().getName());
+		plan.setPackageVersion(replacingRelease.getPkg().getMetadata().getVersion());
+		plan.setApplicationNamesToUpgrade(new ArrayList<>(report.getApplicationNamesToUpgrade()));
+		for (ApplicationManifestDifference difference : report.getReleaseDifference().getDifferences()) {
+			if (!difference.areEqual()) {
+				plan.getChangedProperties().put(difference.getApplicationName(), changedPropertyNames(difference));
+			}
+		}
+		plan.setMissingResources(missingResources(replacingRelease, report.getApplicationNamesToUpgrade()));
+		String requestKey = requestKey(upgradeRequest);
+		plan.setId(ContentBlob.hash(requestKey + "\n" + existingRelease.getVersion() + "\n"
+				+ replacingRelease.getVersion() + "\n" + replacingRelease.getManifest().getData()));
+		this.plannedUpgrades.put(plan.getId(), new PlannedUpgrade(requestKey, report));
+		logger.info("Planned upgrade {} of release {} from version {} to {}", plan.getId(), plan.getReleaseName(),
+				plan.getExistingVersion(), plan.getReplacingVersion());
+		return plan;
+	}
+
+	private ReleaseAnalysisReport applyPlan(UpgradeRequest upgradeRequest) {
+		PlannedUpgrade planned = this.plannedUpgrades.getIfPresent(upgradeRequest.getPlanId());
+		if (planned == null) {
+			throw new ReleaseUpgradeException("Upgrade plan " + upgradeRequest.getPlanId()
+					+ " does not exist or has expired.");
+		}
+		if (!planned.requestKey.equals(requestKey(upgradeRequest))) {
+			throw new ReleaseUpgradeException("Upgrade plan " + upgradeRequest.getPlanId()
+					+ " was planned for a different upgrade request.");
+		}
+		ReleaseAnalysisReport report = planned.report;
+		String releaseName = report.getReplacingRelease().getName();
+		Release existingRelease = this.releaseRepository.findLatestReleaseForUpdate(releaseName);
+		Release latestRelease = this.releaseRepository.findLatestRelease(releaseName);
+		if (existingRelease.getVersion() != report.getExistingRelease().getVersion()
+				|| latestRelease.getVersion() + 1 != report.getReplacingRelease().getVersion()) {
+			throw new ReleaseUpgradeException("Upgrade plan " + upgradeRequest.getPlanId() + " is stale, release "
+					+ releaseName + " changed since it was planned.");
+		}
+		// plans are applied once, the release they create makes them stale anyway
+		if (!this.plannedUpgrades.asMap().remove(upgradeRequest.getPlanId(), planned)) {
+			throw new ReleaseUpgradeException("Upgrade plan " + upgradeRequest.getPlanId()
+					+ " does not exist or has expired.");
+		}
+		logger.info("Applying upgrade plan {} of release {}", upgradeRequest.getPlanId(), releaseName);
+		Release replacingRelease = this.releaseRepository.save(report.getReplacingRelease());
+		return new ReleaseAnalysisReport(report.getApplicationNamesToUpgrade(), report.getReleaseDifference(),
+				existingRelease, replacingRelease);
+	}
+
+	private ReleaseAnalysisReport createReport(UpgradeRequest upgradeRequest, RollbackRequest rollbackRequest,
+			boolean initial, boolean save) {
 		Assert.notNull(upgradeRequest.getUpgradeProperties(), "UpgradeProperties can not be null");
 		Assert.notNull(upgradeRequest.getPackageIdentifier(), "PackageIdentifier can not be null");
 		UpgradeProperties upgradeProperties = upgradeRequest.getUpgradeProperties();
@@ -110,7 +248,10 @@ public class ReleaseReportService {
 		Map<String, Object> mergedReplacingReleaseModel = ConfigValueUtils.mergeConfigValues(replacingRelease.getPkg(),
 				replacingRelease.getConfigValues());
 
-		String manifestData = ManifestUtils.createManifest(replacingRelease.getPkg(), mergedReplacingReleaseModel);
+		String manifestData;
+		try (OperationTracer.Span span = OperationTracer.span("manifest.render")) {
+			manifestData = ManifestUtils.createManifest(replacingRelease.getPkg(), mergedReplacingReleaseModel);
+		}
 		Manifest manifest = new Manifest();
 		manifest.setData(manifestData);
 		replacingRelease.setManifest(manifest);
@@ -118,8 +259,101 @@ public class ReleaseReportService {
 		// TODO: should check both releases
 		String kind = ManifestUtils.resolveKind(existingRelease.getManifest().getData());
 		ReleaseManager releaseManager = this.releaseManagerFactory.getReleaseManager(kind);
-		return releaseManager.createReport(existingRelease, replacingRelease, initial, upgradeRequest.isForce(),
-				upgradeRequest.getAppNames());
+		try (OperationTracer.Span span = OperationTracer.span("release.analyze")) {
+			return releaseManager.createReport(existingRelease, replacingRelease, save, upgradeRequest.isForce(),
+					upgradeRequest.getAppNames());
+		}
+	}
+
+	private List<String> missingResources(Release release, List<String> applicationNames) {
+		List<String> missingResources = new ArrayList<>();
+		String manifestData = release.getManifest().getData();
+		if (this.artifactResolutionService == null || this.applicationManifestReader == null
+				|| !this.applicationManifestReader.canSupport(manifestData)) {
+			return missingResources;
+		}
+		for (SpringCloudDeployerApplicationManifest applicationManifest : this.applicationManifestReader
+				.read(manifestData)) {
+			if (!applicationNames.contains(applicationManifest.getApplicationName())
+					|| applicationManifest.getSpec() == null
+					|| !StringUtils.hasText(applicationManifest.getSpec().getResource())) {
+				continue;
+			}
+			String location = AppDeploymentRequestFactory.getResourceLocation(
+					applicationManifest.getSpec().getResource(), applicationManifest.getSpec().getVersion());
+			boolean exists;
+			try {
+				exists = this.artifactResolutionService.exists(location);
+			}
+			catch (Exception e) {
+				logger.warn("Could not check if resource {} exists: {}", location, e.getMessage());
+				exists = false;
+			}
+			if (!exists) {
+				missingResources.add(location);
+			}
+		}
+		return missingResources;
+	}
+
+	private static List<String> changedPropertyNames(ApplicationManifestDifference difference) {
+		TreeSet<String> names = new TreeSet<>();
+		addChangedPropertyNames(difference.getResourceAndVersionDifference(), names);
+		addChangedPropertyNames(difference.getMetadataDifference(), names);
+		addChangedPropertyNames(difference.getApplicationPropertiesDifference(), names);
+		addChangedPropertyNames(difference.getDeploymentPropertiesDifference(), names);
+		return new ArrayList<>(names);
+	}
+
+	private static void addChangedPropertyNames(PropertiesDiff diff, TreeSet<String> names) {
+		names.addAll(diff.getAdded().keySet());
+		names.addAll(diff.getRemoved().keySet());
+		names.addAll(diff.getChanged().keySet());
+	}
+
+	private static String requestKey(UpgradeRequest upgradeRequest) {
+		UpgradeProperties upgradeProperties = upgradeRequest.getUpgradeProperties();
+		PackageIdentifier packageIdentifier = upgradeRequest.getPackageIdentifier();
+		return String.join("\n", upgradeProperties.getReleaseName(),
+				packageIdentifier.getRepositoryName() + ":" + packageIdentifier.getPackageName() + ":"
+						+ packageIdentifier.getPackageVersion(),
+				upgradeProperties.getConfigValues() != null ? upgradeProperties.getConfigValues().getRaw() + "" : "",
+				String.valueOf(upgradeRequest.isForce()),
+				upgradeRequest.getAppNames() != null
+						? upgradeRequest.getAppNames().stream().sorted().collect(Collectors.joining(","))
+						: "");
+	}
+
+	private static class PlannedUpgrade {
+
+		private final String requestKey;
+
+		private final ReleaseAnalysisReport report;
+
+		PlannedUpgrade(String requestKey, ReleaseAnalysisReport report) {
+			this.requestKey = requestKey;
+			this.report = report;
+		}
+	}
+
+	/**
+	 * Restores a report created earlier during the same upgrade from its reference by
+	 * loading the analysed releases, without analysing them or querying the platform
+	 * again. Detailed differences between the releases are not part of the reference, so
+	 * the restored report carries an empty {@link ReleaseDifference}.
+	 *
+	 * @param reference the reference to a report created earlier
+	 * @return the restored report
+	 */
+	@Transactional(readOnly = true)
+	public ReleaseAnalysisReport restoreReport(ReleaseAnalysisReportReference reference) {
+		Assert.notNull(reference, "ReleaseAnalysisReportReference can not be null");
+		Release existingRelease = this.releaseRepository.findByNameAndVersion(reference.getReleaseName(),
+				reference.getExistingReleaseVersion());
+		Release replacingRelease = this.releaseRepository.findByNameAndVersion(reference.getReleaseName(),
+				reference.getReplacingReleaseVersion());
+		return new ReleaseAnalysisReport(new ArrayList<>(reference.getApplicationNamesToUpgrade()),
+				new ReleaseDifference(), existingRelease, replacingRelease);
 	}
 
 	private Release updateReplacingReleaseConfigValues(Release targetRelease, Release replacingRelease) {
@@ -28,6 +28,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.PackageDeleteException;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.ReleaseUpgradeException;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.InstallProperties;
@@ -38,17 +39,22 @@ import org.springframework.cloud.skipper.domain.Package;
 import org.springframework.cloud.skipper.domain.PackageIdentifier;
 import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
 import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManagerFactory;
+import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
 import org.springframework.cloud.skipper.server.repository.jpa.PackageMetadataRepository;
 import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.cloud.skipper.server.util.ArgumentSanitizer;
 import org.springframework.cloud.skipper.server.util.ConfigValueUtils;
 import org.springframework.cloud.skipper.server.util.ManifestUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -79,6 +85,8 @@ public class ReleaseService {
 
 	private final DeployerRepository deployerRepository;
 
+	private final UpgradeStrategyFactory upgradeStrategyFactory;
+
 	private PackageMetadataService packageMetadataService;
 
 	public ReleaseService(PackageMetadataRepository packageMetadataRepository,
@@ -86,13 +94,15 @@ public class ReleaseService {
 						  PackageService packageService,
 						  ReleaseManagerFactory releaseManagerFactory,
 						  DeployerRepository deployerRepository,
-						  PackageMetadataService packageMetadataService) {
+						  PackageMetadataService packageMetadataService,
+						  UpgradeStrategyFactory upgradeStrategyFactory) {
 		this.packageMetadataRepository = packageMetadataRepository;
 		this.releaseRepository = releaseRepository;
 		this.packageService = packageService;
 		this.releaseManagerFactory = releaseManagerFactory;
 		this.deployerRepository = deployerRepository;
 		this.packageMetadataService = packageMetadataService;
+		this.upgradeStrategyFactory = upgradeStrategyFactory;
 	}
 
 	/**
@@ -187,7 +197,9 @@ public class ReleaseService {
 		Map<String, Object> mergedMap = ConfigValueUtils.mergeConfigValues(release.getPkg(), release.getConfigValues());
 		// Render yaml resources
 		String manifestData = ManifestUtils.createManifest(release.getPkg(), mergedMap);
-		logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(manifestData));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Manifest = " + ArgumentSanitizer.sanitizeYml(manifestData));
+		}
 		Manifest manifest = new Manifest();
 		manifest.setData(manifestData);
 		release.setManifest(manifest);
@@ -347,6 +359,34 @@ public class ReleaseService {
 		return releaseManager.scale(release, scaleRequest);
 	}
 
+	/**
+	 * Validate the upgrade options of an upgrade request before the upgrade starts, as the
+	 * apps are deployed and health checked after the request has been accepted.
+	 *
+	 * @param upgradeRequest the upgrade request
+	 * @throws ReleaseUpgradeException if the request selects an upgrade strategy not
+	 * available for the kind of the release or a {@code maxSurge} lower than one
+	 */
+	@Transactional(readOnly = true)
+	public void validateUpgradeRequest(UpgradeRequest upgradeRequest) {
+		Assert.notNull(upgradeRequest, "Upgrade request can not be null");
+		if (upgradeRequest.getMaxSurge() != null && upgradeRequest.getMaxSurge() < 1) {
+			throw new ReleaseUpgradeException(String.format("Invalid maxSurge '%s', it must be greater than zero",
+					upgradeRequest.getMaxSurge()));
+		}
+		if (StringUtils.hasText(upgradeRequest.getStrategy()) && upgradeRequest.getUpgradeProperties() != null) {
+			Release release = this.releaseRepository
+					.findLatestRelease(upgradeRequest.getUpgradeProperties().getReleaseName());
+			String kind = ManifestUtils.resolveKind(release.getManifest().getData());
+			try {
+				this.upgradeStrategyFactory.getUpgradeStrategy(kind, upgradeRequest.getStrategy());
+			}
+			catch (SkipperException e) {
+				throw new ReleaseUpgradeException(e.getMessage());
+			}
+		}
+	}
+
 	/**
 	 * Return the manifest, the final set of instructions to deploy for a given release.
 	 *
@@ -448,4 +488,17 @@ public class ReleaseService {
 		return this.releaseRepository.findLatestDeployedOrFailed();
 	}
 
+	/**
+	 * Get a page of the summaries of the releases with status of deployed or failed state.
+	 *
+	 * @param releaseNameLike the wildcard name of releases to search for, all releases if
+	 * null
+	 * @param pageable the page to get
+	 * @return the page of matching release summaries
+	 */
+	@Transactional(readOnly = true)
+	public Page<ReleaseSummary> listSummaries(String releaseNameLike, Pageable pageable) {
+		return this.releaseRepository.findLatestDeployedOrFailedSummaries(releaseNameLike, pageable);
+	}
+
 }
@@ -16,7 +16,12 @@
 package org.springframework.cloud.skipper.server.service;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
@@ -47,6 +52,10 @@ public class ReleaseStateUpdateService {
 
 	private final ReleaseRepository releaseRepository;
 
+	private final Timer updateTimer;
+
+	private final DistributionSummary releasesPolled;
+
 	private long nextFullPoll;
 
 	private boolean initialPoll = true;
@@ -59,10 +68,29 @@ public class ReleaseStateUpdateService {
 	 */
 	public ReleaseStateUpdateService(ReleaseManagerFactory releaseManagerFactory,
 			ReleaseRepository releaseRepository) {
+		this(releaseManagerFactory, releaseRepository, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * Instantiates a new release state update service.
+	 *
+	 * @param releaseManagerFactory the release manager factory
+	 * @param releaseRepository the release repository
+	 * @param meterRegistry the registry where status polling metrics are published
+	 */
+	public ReleaseStateUpdateService(ReleaseManagerFactory releaseManagerFactory,
+			ReleaseRepository releaseRepository, MeterRegistry meterRegistry) {
 		Assert.notNull(releaseManagerFactory, "'releaseManagerFactory' must be set");
 		Assert.notNull(releaseRepository, "'releaseRepository' must be set");
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
 		this.releaseManagerFactory = releaseManagerFactory;
 		this.releaseRepository = releaseRepository;
+		this.updateTimer = Timer.builder("skipper.release.state.update")
+				.description("Time taken by a scheduled update of release states")
+				.register(meterRegistry);
+		this.releasesPolled = DistributionSummary.builder("skipper.release.state.update.releases")
+				.description("Number of releases polled from platforms by a scheduled update")
+				.register(meterRegistry);
 		this.nextFullPoll = getNextFullPoll();
 		log.info("Setting up ReleaseStateUpdateService");
 	}
@@ -71,6 +99,10 @@ public class ReleaseStateUpdateService {
 	@Transactional
 	public synchronized void updateReactively() {
 		log.debug("Scheduled update state method running...");
+		this.updateTimer.record(this::update);
+	}
+
+	private void update() {
 		long now = System.currentTimeMillis();
 
 		boolean fullPoll = now > this.nextFullPoll;
@@ -86,6 +118,7 @@ public class ReleaseStateUpdateService {
 			initialPoll = false;
 		}
 
+		AtomicInteger polled = new AtomicInteger();
 		Flux.fromIterable(this.releaseRepository.findLatestDeployedOrFailed())
 			.flatMap(release -> {
 				Info info = release.getInfo();
@@ -104,6 +137,7 @@ public class ReleaseStateUpdateService {
 				if (poll) {
 					String kind = ManifestUtils.resolveKind(release.getManifest().getData());
 					ReleaseManager releaseManager = this.releaseManagerFactory.getReleaseManager(kind);
+					polled.incrementAndGet();
 					return releaseManager.statusReactive(release);
 				}
 				else {
@@ -123,6 +157,7 @@ public class ReleaseStateUpdateService {
 			// fire and forget with subscribe() as it would mess up times between invocations.
 			// block was kinda recommended by framework guys.
 			.blockLast();
+		this.releasesPolled.record(polled.get());
 	}
 
 	/**
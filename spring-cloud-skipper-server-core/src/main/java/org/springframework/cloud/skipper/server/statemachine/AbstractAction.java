@@ -18,15 +18,18 @@ package org.springframework.cloud.skipper.server.statemachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 
 /**
  * Base class for {@link Action}s wanting to automatically wrap its execution in
  * try/catch and add exception into extended state for further processing for
- * interested parties.
+ * interested parties. Execution is traced as a span of the operation which
+ * started the machine.
  *
  * @author Janne Valkealahti
  *
@@ -37,7 +40,8 @@ public abstract class AbstractAction implements Action<SkipperStates, SkipperEve
 
 	@Override
 	public final void execute(StateContext<SkipperStates, SkipperEvents> context) {
-		try {
+		String traceId = context.getExtendedState().get(SkipperEventHeaders.TRACE_ID, String.class);
+		try (OperationTracer.Span span = OperationTracer.start("action." + getClass().getSimpleName(), traceId)) {
 			executeInternal(context);
 		}
 		catch (Exception e) {
@@ -18,6 +18,9 @@ package org.springframework.cloud.skipper.server.statemachine;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReportReference;
+import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategy;
+import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
 import org.springframework.cloud.skipper.server.service.ReleaseReportService;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
@@ -26,6 +29,7 @@ import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachine
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * Base class for upgrade related {@link Action}s wanting some shared functionality.
@@ -50,6 +54,10 @@ public abstract class AbstractUpgradeStartAction extends AbstractAction {
 
 	@Override
 	protected void executeInternal(StateContext<SkipperStates, SkipperEvents> context) {
+		createReleaseAnalysisReport(context);
+	}
+
+	private void createReleaseAnalysisReport(StateContext<SkipperStates, SkipperEvents> context) {
 		UpgradeRequest upgradeRequest = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST,
 				UpgradeRequest.class);
 		RollbackRequest rollbackRequest = context.getExtendedState().get(SkipperEventHeaders.ROLLBACK_REQUEST,
@@ -58,6 +66,35 @@ public abstract class AbstractUpgradeStartAction extends AbstractAction {
 		ReleaseAnalysisReport releaseAnalysisReport = this.getReleaseReportService().createReport(upgradeRequest,
 				rollbackRequest, handlesInitialReport());
 		context.getExtendedState().getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, releaseAnalysisReport);
+		context.getExtendedState().getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT_REFERENCE,
+				ReleaseAnalysisReportReference.from(releaseAnalysisReport));
+	}
+
+	/**
+	 * Gets the {@link ReleaseAnalysisReport} created by an earlier action without analysing
+	 * the releases again. If the report is not in extended state, which is the case after
+	 * the machine has been restored from persistence, it is restored from its persisted
+	 * reference or, failing that, created.
+	 *
+	 * @param context the state context
+	 * @return the release analysis report
+	 */
+	protected ReleaseAnalysisReport getOrRestoreReleaseAnalysisReport(
+			StateContext<SkipperStates, SkipperEvents> context) {
+		ReleaseAnalysisReport releaseAnalysisReport = context.getExtendedState()
+				.get(SkipperVariables.RELEASE_ANALYSIS_REPORT, ReleaseAnalysisReport.class);
+		if (releaseAnalysisReport != null) {
+			return releaseAnalysisReport;
+		}
+		ReleaseAnalysisReportReference reference = context.getExtendedState()
+				.get(SkipperVariables.RELEASE_ANALYSIS_REPORT_REFERENCE, ReleaseAnalysisReportReference.class);
+		if (reference == null) {
+			createReleaseAnalysisReport(context);
+			return getReleaseAnalysisReport(context);
+		}
+		releaseAnalysisReport = this.getReleaseReportService().restoreReport(reference);
+		context.getExtendedState().getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, releaseAnalysisReport);
+		return releaseAnalysisReport;
 	}
 
 	protected ReleaseAnalysisReport getReleaseAnalysisReport(
@@ -68,6 +105,25 @@ public abstract class AbstractUpgradeStartAction extends AbstractAction {
 		return releaseAnalysisReport;
 	}
 
+	/**
+	 * Gets the {@link UpgradeStrategy} selected by the upgrade request in extended state, or
+	 * the default strategy of the kind if the request does not select one.
+	 *
+	 * @param upgradeStrategyFactory the upgrade strategy factory
+	 * @param context the state context
+	 * @param kind the application kind
+	 * @return the upgrade strategy
+	 */
+	protected UpgradeStrategy getUpgradeStrategy(UpgradeStrategyFactory upgradeStrategyFactory,
+			StateContext<SkipperStates, SkipperEvents> context, String kind) {
+		UpgradeRequest upgradeRequest = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST,
+				UpgradeRequest.class);
+		if (upgradeRequest != null && StringUtils.hasText(upgradeRequest.getStrategy())) {
+			return upgradeStrategyFactory.getUpgradeStrategy(kind, upgradeRequest.getStrategy());
+		}
+		return upgradeStrategyFactory.getUpgradeStrategy(kind);
+	}
+
 	protected boolean handlesInitialReport() {
 		return false;
 	}
@@ -99,5 +99,11 @@ public class ResetVariablesAction implements Action<SkipperStates, SkipperEvents
 		if (scaleRequest != null) {
 			context.getExtendedState().getVariables().put(SkipperEventHeaders.SCALE_REQUEST, scaleRequest);
 		}
+
+		// for tracing all actions of the operation, including later upgrade checks
+		String traceId = context.getMessageHeaders().get(SkipperEventHeaders.TRACE_ID, String.class);
+		if (traceId != null) {
+			context.getExtendedState().getVariables().put(SkipperEventHeaders.TRACE_ID, traceId);
+		}
 	}
 }
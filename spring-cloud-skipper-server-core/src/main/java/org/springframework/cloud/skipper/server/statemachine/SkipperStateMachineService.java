@@ -16,8 +16,13 @@
 package org.springframework.cloud.skipper.server.statemachine;
 
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,8 +34,11 @@ import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.ScaleRequest;
+import org.springframework.cloud.skipper.domain.StatusCode;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReportReference;
+import org.springframework.cloud.skipper.server.util.OperationTracer;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateContext;
@@ -58,14 +66,29 @@ public class SkipperStateMachineService {
 
 	private final StateMachineService<SkipperStates, SkipperEvents> stateMachineService;
 
+	private final MeterRegistry meterRegistry;
+
 	/**
 	 * Instantiates a new skipper state machine service.
 	 *
 	 * @param stateMachineService the state machine service
 	 */
 	public SkipperStateMachineService(StateMachineService<SkipperStates, SkipperEvents> stateMachineService) {
+		this(stateMachineService, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * Instantiates a new skipper state machine service.
+	 *
+	 * @param stateMachineService the state machine service
+	 * @param meterRegistry the registry where release operation metrics are published
+	 */
+	public SkipperStateMachineService(StateMachineService<SkipperStates, SkipperEvents> stateMachineService,
+			MeterRegistry meterRegistry) {
 		Assert.notNull(stateMachineService, "'stateMachineService' must be set");
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
 		this.stateMachineService = stateMachineService;
+		this.meterRegistry = meterRegistry;
 	}
 
 	/**
@@ -193,9 +216,40 @@ public class SkipperStateMachineService {
 	}
 
 	private Release handleMessageAndWait(Message<SkipperEvents> message, String machineId, SkipperStates... statesToWait) {
+		String operation = message.getPayload().name().toLowerCase(Locale.ROOT);
 		// machine gets acquired fully started
 		StateMachine<SkipperStates, SkipperEvents> stateMachine = stateMachineService.acquireStateMachine(machineId);
+		// upgrades return while apps are health checked, the operation is timed until the
+		// machine is back in its initial state
+		OperationTimer operationTimer = new OperationTimer(stateMachine, operation);
+		stateMachine.addStateListener(operationTimer);
+		try (OperationTracer.Span span = OperationTracer.start("release." + operation,
+				OperationTracer.newTraceId())) {
+			log.info("Handling {} of release {} with trace {}", operation, machineId, span.getTraceId());
+			Release release = sendMessageAndWait(MessageBuilder.fromMessage(message)
+					.setHeader(SkipperEventHeaders.TRACE_ID, span.getTraceId())
+					.build(), stateMachine, statesToWait);
+			if (release != null) {
+				release.setTraceId(span.getTraceId());
+			}
+			return release;
+		}
+		catch (RuntimeException e) {
+			operationTimer.stop(null, "failure");
+			throw e;
+		}
+	}
+
+	private static String packageName(Release release) {
+		if (release == null || release.getPkg() == null || release.getPkg().getMetadata() == null
+				|| release.getPkg().getMetadata().getName() == null) {
+			return "none";
+		}
+		return release.getPkg().getMetadata().getName();
+	}
 
+	private Release sendMessageAndWait(Message<SkipperEvents> message,
+			StateMachine<SkipperStates, SkipperEvents> stateMachine, SkipperStates... statesToWait) {
 		// setup future handling blocking requirement returning release
 		SettableListenableFuture<Release> future = new SettableListenableFuture<>();
 		StateMachineListener<SkipperStates, SkipperEvents> listener = new StateMachineListenerAdapter<SkipperStates, SkipperEvents>() {
@@ -254,6 +308,64 @@ public class SkipperStateMachineService {
 		}
 	}
 
+	/**
+	 * Listener timing an operation as the {@code skipper.release.operation} timer until
+	 * the machine is back in its initial state, which for upgrades and rollbacks includes
+	 * health checking and accepting or cancelling the upgrade.
+	 */
+	private class OperationTimer extends StateMachineListenerAdapter<SkipperStates, SkipperEvents> {
+
+		private final Timer.Sample sample = Timer.start(meterRegistry);
+
+		private final AtomicBoolean stopped = new AtomicBoolean();
+
+		private final StateMachine<SkipperStates, SkipperEvents> stateMachine;
+
+		private final String operation;
+
+		OperationTimer(StateMachine<SkipperStates, SkipperEvents> stateMachine, String operation) {
+			this.stateMachine = stateMachine;
+			this.operation = operation;
+		}
+
+		@Override
+		public void stateContext(StateContext<SkipperStates, SkipperEvents> stateContext) {
+			if (stateContext.getStage() == Stage.STATE_ENTRY && stateContext.getTarget() != null
+					&& stateContext.getTarget().getId() == SkipperStates.INITIAL
+					&& !isInitialTransition(stateContext.getTransition())) {
+				// variables are cleared only when the initial state is exited
+				Release release = stateContext.getExtendedState().get(SkipperVariables.RELEASE, Release.class);
+				boolean failed = stateContext.getExtendedState().get(SkipperVariables.ERROR, Exception.class) != null
+						|| (release != null && release.getInfo() != null && release.getInfo().getStatus() != null
+								&& release.getInfo().getStatus().getStatusCode() == StatusCode.FAILED);
+				stop(release, failed ? "failure" : "success");
+			}
+		}
+
+		@Override
+		public void stateMachineStopped(StateMachine<SkipperStates, SkipperEvents> stateMachine) {
+			// the operation did not complete on this machine instance, nothing to record
+			if (this.stopped.compareAndSet(false, true)) {
+				this.stateMachine.removeStateListener(this);
+			}
+		}
+
+		void stop(Release release, String outcome) {
+			if (!this.stopped.compareAndSet(false, true)) {
+				return;
+			}
+			this.stateMachine.removeStateListener(this);
+			this.sample.stop(Timer.builder("skipper.release.operation")
+					.description("Time taken by release operations handled by the state machine")
+					.tag("operation", this.operation)
+					.tag("platform", release != null && release.getPlatformName() != null
+							? release.getPlatformName() : "none")
+					.tag("package", packageName(release))
+					.tag("outcome", outcome)
+					.register(meterRegistry));
+		}
+	}
+
 	/**
 	 * Enumeration of all possible states used by a machine.
 	 */
@@ -523,6 +635,11 @@ public class SkipperStateMachineService {
 		 * Header for {@link ScaleRequest}.
 		 */
 		public static final String SCALE_REQUEST = "SCALE_REQUEST";
+
+		/**
+		 * Header for the id of the trace of an operation.
+		 */
+		public static final String TRACE_ID = "TRACE_ID";
 	}
 
 	/**
@@ -547,6 +664,12 @@ public class SkipperStateMachineService {
 		 */
 		RELEASE_ANALYSIS_REPORT,
 
+		/**
+		 * Variable keeping a {@link ReleaseAnalysisReportReference} in a context. Unlike the
+		 * report itself it is persisted, allowing the report to be restored after a restart.
+		 */
+		RELEASE_ANALYSIS_REPORT_REFERENCE,
+
 		/**
 		 * Variable for a {@link Release} where skipper is coming from.
 		 */
@@ -562,6 +685,33 @@ public class SkipperStateMachineService {
 		 */
 		UPGRADE_CUTOFF_TIME,
 
+		/**
+		 * Variable keeping the zero based number of the current upgrade health check.
+		 */
+		UPGRADE_CHECK_ATTEMPT,
+
+		/**
+		 * Variable keeping the time the last upgrade health check was scheduled.
+		 */
+		UPGRADE_LAST_CHECK_TIME,
+
+		/**
+		 * Variable keeping the time the next upgrade health check is due.
+		 */
+		UPGRADE_NEXT_CHECK_TIME,
+
+		/**
+		 * Variable keeping the zero based number of the stage of an upgrade deploying apps in
+		 * stages.
+		 */
+		UPGRADE_STAGE,
+
+		/**
+		 * Variable keeping the time the apps of the current upgrade stage were first found
+		 * healthy, while they are observed.
+		 */
+		UPGRADE_STAGE_HEALTHY_TIME,
+
 		/**
 		 * Variable internally used in a an upgrade state for current status.
 		 */
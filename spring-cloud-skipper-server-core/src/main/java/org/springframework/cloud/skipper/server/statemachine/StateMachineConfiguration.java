@@ -15,9 +15,12 @@
  */
 package org.springframework.cloud.skipper.server.statemachine;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckProperties;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
@@ -57,18 +60,6 @@ public class StateMachineConfiguration {
 
 	private static final Logger log = LoggerFactory.getLogger(StateMachineConfiguration.class);
 
-	private static long adjustTimerPeriod(HealthCheckProperties healthCheckProperties) {
-		// keep hard coded default as 1000ms and use sleepInMillis from documented
-		// setting for now. Just make sure value is positive as otherwise
-		// machine would go crazy.
-		if (healthCheckProperties != null && healthCheckProperties.getSleepInMillis() > 0) {
-			return healthCheckProperties.getSleepInMillis();
-		}
-		else {
-			return 1000;
-		}
-	}
-
 	/**
 	 * Configuration defining {@link StateMachineFactory} for skipper release handling.
 	 */
@@ -97,6 +88,9 @@ public class StateMachineConfiguration {
 		@Autowired
 		private StateMachineRuntimePersister<SkipperStates, SkipperEvents, String> stateMachineRuntimePersister;
 
+		@Autowired
+		private ObjectProvider<MeterRegistry> meterRegistry;
+
 		@Override
 		public void configure(StateMachineConfigurationConfigurer<SkipperStates, SkipperEvents> config) throws Exception {
 			config
@@ -109,6 +103,7 @@ public class StateMachineConfiguration {
 							log.info("Entering state {}", state);
 						}
 					})
+					.listener(stateMachineMetricsListener())
 					.transitionConflictPolicy(TransitionConflictPolicy.PARENT)
 				.and()
 				.withPersistence()
@@ -244,7 +239,10 @@ public class StateMachineConfiguration {
 					.and()
 				.withExternal()
 					.source(SkipperStates.UPGRADE_WAIT_TARGET_APPS).target(SkipperStates.UPGRADE_CHECK_CHOICE)
-					.timer(adjustTimerPeriod(healthCheckProperties))
+					// timer ticks at the shortest check delay, the scheduler lets
+					// it through once a check is actually due
+					.timer(upgradeHealthCheckScheduler().getTimerPeriod())
+					.guard(upgradeHealthCheckScheduler())
 					.and()
 				.withExternal()
 					.source(SkipperStates.UPGRADE_CHECK_TARGET_APPS).target(SkipperStates.UPGRADE_WAIT_TARGET_APPS)
@@ -330,6 +328,11 @@ public class StateMachineConfiguration {
 					.source(SkipperStates.ROLLBACK_EXIT_INSTALL).target(SkipperStates.INSTALL);
 		}
 
+		@Bean
+		public StateMachineMetricsListener stateMachineMetricsListener() {
+			return new StateMachineMetricsListener(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+		}
+
 		@Bean
 		public ResetVariablesAction resetVariablesAction() {
 			return new ResetVariablesAction();
@@ -357,12 +360,19 @@ public class StateMachineConfiguration {
 
 		@Bean
 		public UpgradeDeployTargetAppsAction upgradeDeployTargetAppsAction() {
-			return new UpgradeDeployTargetAppsAction(releaseReportService, upgradeStrategyFactory, healthCheckProperties);
+			return new UpgradeDeployTargetAppsAction(releaseReportService, upgradeStrategyFactory, healthCheckProperties,
+					upgradeHealthCheckScheduler());
 		}
 
 		@Bean
 		public UpgradeCheckTargetAppsAction upgradeCheckTargetAppsAction() {
-			return new UpgradeCheckTargetAppsAction(releaseReportService, upgradeStrategyFactory);
+			return new UpgradeCheckTargetAppsAction(releaseReportService, upgradeStrategyFactory,
+					upgradeHealthCheckScheduler(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+		}
+
+		@Bean
+		public UpgradeHealthCheckScheduler upgradeHealthCheckScheduler() {
+			return new UpgradeHealthCheckScheduler(healthCheckProperties);
 		}
 
 		@Bean
@@ -387,12 +397,14 @@ public class StateMachineConfiguration {
 
 		@Bean
 		public UpgradeCancelAction upgradeCancelAction() {
-			return new UpgradeCancelAction(releaseReportService, upgradeStrategyFactory);
+			return new UpgradeCancelAction(releaseReportService, upgradeStrategyFactory,
+					upgradeHealthCheckScheduler());
 		}
 
 		@Bean
 		public UpgradeDeleteSourceAppsAction upgradeDeleteSourceAppsAction() {
-			return new UpgradeDeleteSourceAppsAction(releaseReportService, upgradeStrategyFactory);
+			return new UpgradeDeleteSourceAppsAction(releaseReportService, upgradeStrategyFactory,
+					upgradeHealthCheckScheduler());
 		}
 
 		@Bean
@@ -439,8 +451,9 @@ public class StateMachineConfiguration {
 		}
 
 		@Bean
-		public SkipperStateMachineService skipperStateMachineService(StateMachineService<SkipperStates, SkipperEvents> stateMachineService) {
-			return new SkipperStateMachineService(stateMachineService);
+		public SkipperStateMachineService skipperStateMachineService(StateMachineService<SkipperStates, SkipperEvents> stateMachineService,
+				ObjectProvider<MeterRegistry> meterRegistry) {
+			return new SkipperStateMachineService(stateMachineService, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
 		}
 	}
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.statemachine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.state.State;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.statemachine.listener.StateMachineListener} publishing the
+ * time every release machine spends in each of the {@link SkipperStates} as the
+ * {@code skipper.statemachine.state} timer tagged by state. Entry times of a machine are
+ * dropped when it stops, as a machine released while waiting in a state never exits it.
+ */
+public class StateMachineMetricsListener extends StateMachineListenerAdapter<SkipperStates, SkipperEvents> {
+
+	static final String STATE_TIMER = "skipper.statemachine.state";
+
+	private final MeterRegistry meterRegistry;
+
+	// Key = machine id, value = monotonic time each of its current states was entered
+	private final Map<String, Map<SkipperStates, Long>> entered = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new state machine metrics listener.
+	 *
+	 * @param meterRegistry the registry where state metrics are published
+	 */
+	public StateMachineMetricsListener(MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "'meterRegistry' must be set");
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void stateContext(StateContext<SkipperStates, SkipperEvents> stateContext) {
+		if (stateContext.getStage() == Stage.STATE_ENTRY) {
+			State<SkipperStates, SkipperEvents> state = stateContext.getTarget();
+			if (state != null) {
+				this.entered.computeIfAbsent(machineId(stateContext.getStateMachine()), id -> new ConcurrentHashMap<>())
+						.put(state.getId(), this.meterRegistry.config().clock().monotonicTime());
+			}
+		}
+		else if (stateContext.getStage() == Stage.STATE_EXIT) {
+			State<SkipperStates, SkipperEvents> state = stateContext.getSource() != null ? stateContext.getSource()
+					: stateContext.getTarget();
+			if (state == null) {
+				return;
+			}
+			// machines restored from persisted context exit states they were never seen entering
+			Map<SkipperStates, Long> states = this.entered.get(machineId(stateContext.getStateMachine()));
+			Long start = states != null ? states.remove(state.getId()) : null;
+			if (start != null) {
+				Timer.builder(STATE_TIMER)
+						.description("Time release state machines spend in a state")
+						.tag("state", state.getId().name())
+						.register(this.meterRegistry)
+						.record(this.meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	@Override
+	public void stateMachineStopped(StateMachine<SkipperStates, SkipperEvents> stateMachine) {
+		this.entered.remove(machineId(stateMachine));
+	}
+
+	private static String machineId(StateMachine<SkipperStates, SkipperEvents> stateMachine) {
+		return String.valueOf(stateMachine != null ? stateMachine.getId() : null);
+	}
+}
@@ -38,6 +38,8 @@ public class UpgradeCancelAction extends AbstractUpgradeStartAction {
 
 	private final UpgradeStrategyFactory upgradeStrategyFactory;
 
+	private final UpgradeHealthCheckScheduler upgradeHealthCheckScheduler;
+
 	/**
 	 * Instantiates a new upgrade cancel action.
 	 *
@@ -45,8 +47,21 @@ public class UpgradeCancelAction extends AbstractUpgradeStartAction {
 	 * @param upgradeStrategyFactory the upgrade strategy factory
 	 */
 	public UpgradeCancelAction(ReleaseReportService releaseReportService, UpgradeStrategyFactory upgradeStrategyFactory) {
+		this(releaseReportService, upgradeStrategyFactory, null);
+	}
+
+	/**
+	 * Instantiates a new upgrade cancel action.
+	 *
+	 * @param releaseReportService the release report service
+	 * @param upgradeStrategyFactory the upgrade strategy factory
+	 * @param upgradeHealthCheckScheduler the upgrade health check scheduler
+	 */
+	public UpgradeCancelAction(ReleaseReportService releaseReportService, UpgradeStrategyFactory upgradeStrategyFactory,
+			UpgradeHealthCheckScheduler upgradeHealthCheckScheduler) {
 		super(releaseReportService);
 		this.upgradeStrategyFactory = upgradeStrategyFactory;
+		this.upgradeHealthCheckScheduler = upgradeHealthCheckScheduler;
 	}
 
 	@Override
@@ -68,13 +83,16 @@ public class UpgradeCancelAction extends AbstractUpgradeStartAction {
 		}
 
 		ReleaseAnalysisReport releaseAnalysisReport = getReleaseAnalysisReport(context);
+		if (this.upgradeHealthCheckScheduler != null) {
+			this.upgradeHealthCheckScheduler.completeChecks(releaseAnalysisReport.getReplacingRelease().getName());
+		}
 
 		// check if we're doing rollback and pass flag to strategy
 		RollbackRequest rollbackRequest = context.getExtendedState().get(SkipperEventHeaders.ROLLBACK_REQUEST,
 				RollbackRequest.class);
 		// TODO: should check both releases
 		String kind = ManifestUtils.resolveKind(releaseAnalysisReport.getExistingRelease().getManifest().getData());
-		UpgradeStrategy upgradeStrategy = this.upgradeStrategyFactory.getUpgradeStrategy(kind);
+		UpgradeStrategy upgradeStrategy = getUpgradeStrategy(this.upgradeStrategyFactory, context, kind);
 		upgradeStrategy.cancel(releaseAnalysisReport.getExistingRelease(), releaseAnalysisReport.getReplacingRelease(),
 				releaseAnalysisReport, upgradeTimeout, event == SkipperEvents.UPGRADE_CANCEL, rollbackRequest != null);
 	}
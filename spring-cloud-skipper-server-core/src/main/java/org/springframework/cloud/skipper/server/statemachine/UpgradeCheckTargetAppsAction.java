@@ -15,13 +15,18 @@
  */
 package org.springframework.cloud.skipper.server.statemachine;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategy;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
 import org.springframework.cloud.skipper.server.service.ReleaseReportService;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperVariables;
@@ -31,6 +36,8 @@ import org.springframework.statemachine.action.Action;
 
 /**
  * StateMachine {@link Action} checking upgrade status with an {@link UpgradeStrategy}.
+ * Strategies deploying apps in stages deploy their next stage once the apps of the
+ * current stage are healthy, each stage getting the whole upgrade timeout.
  *
  * @author Janne Valkealahti
  *
@@ -39,39 +46,137 @@ public class UpgradeCheckTargetAppsAction extends AbstractUpgradeStartAction {
 
 	private static final Logger log = LoggerFactory.getLogger(UpgradeCheckTargetAppsAction.class);
 	private final UpgradeStrategyFactory upgradeStrategyFactory;
+	private final UpgradeHealthCheckScheduler upgradeHealthCheckScheduler;
+	private final MeterRegistry meterRegistry;
 
 	/**
 	 * Instantiates a new upgrade check target apps action.
 	 *
 	 * @param releaseReportService the release report service
 	 * @param upgradeStrategyFactory the upgrade strategy factory
+	 * @param upgradeHealthCheckScheduler the upgrade health check scheduler
 	 */
-	public UpgradeCheckTargetAppsAction(ReleaseReportService releaseReportService, UpgradeStrategyFactory upgradeStrategyFactory) {
+	public UpgradeCheckTargetAppsAction(ReleaseReportService releaseReportService,
+			UpgradeStrategyFactory upgradeStrategyFactory, UpgradeHealthCheckScheduler upgradeHealthCheckScheduler) {
+		this(releaseReportService, upgradeStrategyFactory, upgradeHealthCheckScheduler, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * Instantiates a new upgrade check target apps action.
+	 *
+	 * @param releaseReportService the release report service
+	 * @param upgradeStrategyFactory the upgrade strategy factory
+	 * @param upgradeHealthCheckScheduler the upgrade health check scheduler
+	 * @param meterRegistry the registry where health check metrics are published
+	 */
+	public UpgradeCheckTargetAppsAction(ReleaseReportService releaseReportService,
+			UpgradeStrategyFactory upgradeStrategyFactory, UpgradeHealthCheckScheduler upgradeHealthCheckScheduler,
+			MeterRegistry meterRegistry) {
 		super(releaseReportService);
 		this.upgradeStrategyFactory = upgradeStrategyFactory;
+		this.upgradeHealthCheckScheduler = upgradeHealthCheckScheduler;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Override
 	protected void executeInternal(StateContext<SkipperStates, SkipperEvents> context) {
-		super.executeInternal(context);
-		ReleaseAnalysisReport releaseAnalysisReport = getReleaseAnalysisReport(context);
+		// the report was created when the upgrade started, this is called on every health check
+		ReleaseAnalysisReport releaseAnalysisReport = getOrRestoreReleaseAnalysisReport(context);
 
 		int upgradeStatus = 0;
+		String outcome = "pending";
 		// TODO: should check both releases
 		String kind = ManifestUtils.resolveKind(releaseAnalysisReport.getReplacingRelease().getManifest().getData());
-		UpgradeStrategy upgradeStrategy = this.upgradeStrategyFactory.getUpgradeStrategy(kind);
+		UpgradeStrategy upgradeStrategy = getUpgradeStrategy(this.upgradeStrategyFactory, context, kind);
 		boolean ok = upgradeStrategy.checkStatus(releaseAnalysisReport.getReplacingRelease());
 		log.debug("upgradeStrategy checkStatus {}", ok);
+		Integer stage = context.getExtendedState().get(SkipperVariables.UPGRADE_STAGE, Integer.class);
+		stage = stage != null ? stage : 0;
 		if (ok) {
-			upgradeStatus = 1;
+			outcome = "healthy";
+			if (isObserved(context, upgradeStrategy, stage)) {
+				this.upgradeHealthCheckScheduler.scheduleNextCheck(context);
+			}
+			else if (deployNextStage(context, upgradeStrategy, releaseAnalysisReport, stage)) {
+				if (upgradeStrategy.hasFailed(releaseAnalysisReport.getReplacingRelease())) {
+					// the failed stage already restored the existing apps
+					upgradeStatus = -1;
+					outcome = "failed";
+				}
+			}
+			else {
+				upgradeStatus = 1;
+			}
+		}
+		else if (upgradeStrategy.hasFailed(releaseAnalysisReport.getReplacingRelease())) {
+			upgradeStatus = -1;
+			outcome = "failed";
 		}
-		else if (!ok && cutOffTimeExceed(context)) {
+		else if (context.getExtendedState().get(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME, Long.class) != null) {
+			log.info("Apps of upgrade stage {} became unhealthy while observed", stage);
 			upgradeStatus = -1;
+			outcome = "failed";
+		}
+		else if (cutOffTimeExceed(context)) {
+			upgradeStatus = -1;
+			outcome = "timeout";
+		}
+		else {
+			this.upgradeHealthCheckScheduler.scheduleNextCheck(context);
 		}
+		Counter.builder("skipper.upgrade.healthcheck")
+				.description("Number of health checks of upgraded apps")
+				.tag("outcome", outcome)
+				.register(this.meterRegistry)
+				.increment();
 		log.debug("Setting upgradeStatus {}", upgradeStatus);
 		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_STATUS, upgradeStatus);
 	}
 
+	/**
+	 * Check if the healthy apps of a stage are still to be observed, remembering when they
+	 * were first found healthy.
+	 */
+	private boolean isObserved(StateContext<SkipperStates, SkipperEvents> context, UpgradeStrategy upgradeStrategy,
+			int stage) {
+		long observationWindow = upgradeStrategy.getObservationWindow(stage);
+		if (observationWindow <= 0) {
+			return false;
+		}
+		long now = System.currentTimeMillis();
+		Long healthyTime = context.getExtendedState().get(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME, Long.class);
+		if (healthyTime == null) {
+			healthyTime = now;
+			context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME, healthyTime);
+		}
+		return now - healthyTime < observationWindow;
+	}
+
+	/**
+	 * Deploy the next stage of the upgrade, if any, giving it the whole upgrade timeout to
+	 * become healthy.
+	 */
+	private boolean deployNextStage(StateContext<SkipperStates, SkipperEvents> context,
+			UpgradeStrategy upgradeStrategy, ReleaseAnalysisReport releaseAnalysisReport, int stage) {
+		UpgradeRequest upgradeRequest = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST,
+				UpgradeRequest.class);
+		if (!upgradeStrategy.deployNextStage(releaseAnalysisReport.getExistingRelease(),
+				releaseAnalysisReport.getReplacingRelease(), releaseAnalysisReport, upgradeRequest, stage)) {
+			return false;
+		}
+		log.info("Deployed upgrade stage {} of release {}", stage + 1,
+				releaseAnalysisReport.getReplacingRelease().getName());
+		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_STAGE, stage + 1);
+		context.getExtendedState().getVariables().remove(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME);
+		Long upgradeTimeout = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_TIMEOUT, Long.class);
+		if (upgradeTimeout != null) {
+			context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_CUTOFF_TIME,
+					System.currentTimeMillis() + upgradeTimeout);
+		}
+		this.upgradeHealthCheckScheduler.scheduleFirstCheck(context);
+		return true;
+	}
+
 	private boolean cutOffTimeExceed(StateContext<SkipperStates, SkipperEvents> context) {
 		long now = System.currentTimeMillis();
 		Long cutOffTime = context.getExtendedState().get(SkipperVariables.UPGRADE_CUTOFF_TIME, Long.class);
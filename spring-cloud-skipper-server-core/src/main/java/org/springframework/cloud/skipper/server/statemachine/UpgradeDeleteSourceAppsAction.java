@@ -37,6 +37,8 @@ public class UpgradeDeleteSourceAppsAction extends AbstractUpgradeStartAction {
 
 	private final UpgradeStrategyFactory upgradeStrategyFactory;
 
+	private final UpgradeHealthCheckScheduler upgradeHealthCheckScheduler;
+
 	/**
 	 * Instantiates a new upgrade delete source apps action.
 	 *
@@ -44,14 +46,30 @@ public class UpgradeDeleteSourceAppsAction extends AbstractUpgradeStartAction {
 	 * @param upgradeStrategyFactory the upgrade strategy factory
 	 */
 	public UpgradeDeleteSourceAppsAction(ReleaseReportService releaseReportService, UpgradeStrategyFactory upgradeStrategyFactory) {
+		this(releaseReportService, upgradeStrategyFactory, null);
+	}
+
+	/**
+	 * Instantiates a new upgrade delete source apps action.
+	 *
+	 * @param releaseReportService the release report service
+	 * @param upgradeStrategyFactory the upgrade strategy factory
+	 * @param upgradeHealthCheckScheduler the upgrade health check scheduler
+	 */
+	public UpgradeDeleteSourceAppsAction(ReleaseReportService releaseReportService, UpgradeStrategyFactory upgradeStrategyFactory,
+			UpgradeHealthCheckScheduler upgradeHealthCheckScheduler) {
 		super(releaseReportService);
 		this.upgradeStrategyFactory = upgradeStrategyFactory;
+		this.upgradeHealthCheckScheduler = upgradeHealthCheckScheduler;
 	}
 
 	@Override
 	protected void executeInternal(StateContext<SkipperStates, SkipperEvents> context) {
 		super.executeInternal(context);
 		ReleaseAnalysisReport releaseAnalysisReport = getReleaseAnalysisReport(context);
+		if (this.upgradeHealthCheckScheduler != null) {
+			this.upgradeHealthCheckScheduler.completeChecks(releaseAnalysisReport.getReplacingRelease().getName());
+		}
 
 		// check if we're doing rollback and pass flag to strategy
 		RollbackRequest rollbackRequest = context.getExtendedState().get(SkipperEventHeaders.ROLLBACK_REQUEST,
@@ -59,7 +77,7 @@ public class UpgradeDeleteSourceAppsAction extends AbstractUpgradeStartAction {
 
 		// TODO: should check both releases
 		String kind = ManifestUtils.resolveKind(releaseAnalysisReport.getExistingRelease().getManifest().getData());
-		UpgradeStrategy upgradeStrategy = this.upgradeStrategyFactory.getUpgradeStrategy(kind);
+		UpgradeStrategy upgradeStrategy = getUpgradeStrategy(this.upgradeStrategyFactory, context, kind);
 		upgradeStrategy.accept(releaseAnalysisReport.getExistingRelease(), releaseAnalysisReport.getReplacingRelease(),
 				releaseAnalysisReport, rollbackRequest != null);
 	}
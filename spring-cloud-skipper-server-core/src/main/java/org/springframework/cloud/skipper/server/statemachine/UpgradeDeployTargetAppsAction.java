@@ -18,6 +18,7 @@ package org.springframework.cloud.skipper.server.statemachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
 import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckProperties;
 import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategy;
@@ -43,6 +44,7 @@ public class UpgradeDeployTargetAppsAction extends AbstractUpgradeStartAction {
 	private static final long DEFAULT_UPGRADE_TIMEOUT = 300000L;
 	private final UpgradeStrategyFactory upgradeStrategyFactory;
 	private final HealthCheckProperties healthCheckProperties;
+	private final UpgradeHealthCheckScheduler upgradeHealthCheckScheduler;
 
 	/**
 	 * Instantiates a new upgrade deploy target apps action.
@@ -50,13 +52,16 @@ public class UpgradeDeployTargetAppsAction extends AbstractUpgradeStartAction {
 	 * @param releaseReportService the release report service
 	 * @param upgradeStrategyFactory the upgrade strategy factory
 	 * @param healthCheckProperties the health check properties
+	 * @param upgradeHealthCheckScheduler the upgrade health check scheduler
 	 */
 	public UpgradeDeployTargetAppsAction(ReleaseReportService releaseReportService,
 			UpgradeStrategyFactory upgradeStrategyFactory,
-			HealthCheckProperties healthCheckProperties) {
+			HealthCheckProperties healthCheckProperties,
+			UpgradeHealthCheckScheduler upgradeHealthCheckScheduler) {
 		super(releaseReportService);
 		this.upgradeStrategyFactory = upgradeStrategyFactory;
 		this.healthCheckProperties = healthCheckProperties;
+		this.upgradeHealthCheckScheduler = upgradeHealthCheckScheduler;
 	}
 
 	@Override
@@ -66,12 +71,16 @@ public class UpgradeDeployTargetAppsAction extends AbstractUpgradeStartAction {
 
 		// TODO: should check both releases
 		String kind = ManifestUtils.resolveKind(releaseAnalysisReport.getExistingRelease().getManifest().getData());
-		UpgradeStrategy upgradeStrategy = this.upgradeStrategyFactory.getUpgradeStrategy(kind);
+		UpgradeStrategy upgradeStrategy = getUpgradeStrategy(this.upgradeStrategyFactory, context, kind);
 		log.info("Using UpgradeStrategy {}", upgradeStrategy);
-		setUpgradeCutOffTime(context);
 		upgradeStrategy.deployApps(releaseAnalysisReport.getExistingRelease(),
-				releaseAnalysisReport.getReplacingRelease(), releaseAnalysisReport);
+				releaseAnalysisReport.getReplacingRelease(), releaseAnalysisReport,
+				context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST, UpgradeRequest.class));
+		// the apps have the whole timeout to become healthy once deployed
+		setUpgradeCutOffTime(context);
+		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_STAGE, 0);
 		context.getExtendedState().getVariables().put(SkipperVariables.RELEASE, releaseAnalysisReport.getReplacingRelease());
+		this.upgradeHealthCheckScheduler.scheduleFirstCheck(context);
 	}
 
 	private void setUpgradeCutOffTime(StateContext<SkipperStates, SkipperEvents> context) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.statemachine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.RollbackRequest;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.deployer.AppHealthyEvent;
+import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckProperties;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperVariables;
+import org.springframework.context.event.EventListener;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.guard.Guard;
+
+/**
+ * Schedules the health checks of upgraded apps. The first check happens after a short
+ * initial delay, the delay then grows exponentially up to the configured sleep time. A
+ * random part of each delay is cut off so that concurrent upgrades don't check in
+ * lockstep. Server defaults from {@link HealthCheckProperties} can be overridden per
+ * upgrade with {@link UpgradeProperties}.
+ * <p>
+ * The wait state timer ticks at the shortest configured delay and this class, as a
+ * {@link Guard}, only lets it through once a check is due or once an
+ * {@link AppHealthyEvent} has been received for the release since its last check. As the
+ * timer period is fixed when the machine is built, from server defaults only, a per
+ * upgrade {@link UpgradeProperties#getHealthCheckInitialSleepInMillis() initial sleep}
+ * or {@link UpgradeProperties#getHealthCheckSleepInMillis() sleep} shorter than the
+ * period takes effect at the next tick, checks are never more frequent than the period.
+ */
+public class UpgradeHealthCheckScheduler implements Guard<SkipperStates, SkipperEvents> {
+
+	private static final Logger log = LoggerFactory.getLogger(UpgradeHealthCheckScheduler.class);
+
+	private static final long DEFAULT_TIMER_PERIOD = 1000;
+
+	private final HealthCheckProperties healthCheckProperties;
+
+	private final Map<String, Long> lastHealthyEventTimes = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new upgrade health check scheduler.
+	 *
+	 * @param healthCheckProperties the health check properties
+	 */
+	public UpgradeHealthCheckScheduler(HealthCheckProperties healthCheckProperties) {
+		this.healthCheckProperties = healthCheckProperties != null ? healthCheckProperties
+				: new HealthCheckProperties();
+	}
+
+	/**
+	 * Gets the period of the wait state timer, which is the shortest delay configured on
+	 * the server. Shorter delays requested by a single upgrade are rounded up to it.
+	 *
+	 * @return the timer period
+	 */
+	public long getTimerPeriod() {
+		long period = Math.min(positive(this.healthCheckProperties.getInitialSleepInMillis()),
+				positive(this.healthCheckProperties.getSleepInMillis()));
+		// just make sure value is positive as otherwise machine would go crazy
+		return period < Long.MAX_VALUE ? period : DEFAULT_TIMER_PERIOD;
+	}
+
+	/**
+	 * Schedules the first health check of an upgrade.
+	 *
+	 * @param context the state context
+	 */
+	public void scheduleFirstCheck(StateContext<SkipperStates, SkipperEvents> context) {
+		schedule(context, 0);
+	}
+
+	/**
+	 * Schedules the next health check of an upgrade after an unsuccessful check.
+	 *
+	 * @param context the state context
+	 */
+	public void scheduleNextCheck(StateContext<SkipperStates, SkipperEvents> context) {
+		Integer attempt = context.getExtendedState().get(SkipperVariables.UPGRADE_CHECK_ATTEMPT, Integer.class);
+		schedule(context, attempt != null ? attempt + 1 : 0);
+	}
+
+	@Override
+	public boolean evaluate(StateContext<SkipperStates, SkipperEvents> context) {
+		Long nextCheckTime = context.getExtendedState().get(SkipperVariables.UPGRADE_NEXT_CHECK_TIME, Long.class);
+		if (nextCheckTime == null || System.currentTimeMillis() >= nextCheckTime) {
+			return true;
+		}
+		String releaseName = getReleaseName(context);
+		if (releaseName == null) {
+			return false;
+		}
+		Long lastCheckTime = context.getExtendedState().get(SkipperVariables.UPGRADE_LAST_CHECK_TIME, Long.class);
+		Long healthyEventTime = this.lastHealthyEventTimes.get(releaseName);
+		if (healthyEventTime != null && (lastCheckTime == null || healthyEventTime > lastCheckTime)) {
+			log.debug("Checking apps ahead of schedule after an app healthy event");
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Records an app of a release becoming healthy, letting an upgrade of the release
+	 * waiting for its next health check to check right away.
+	 *
+	 * @param event the app healthy event
+	 */
+	@EventListener
+	public void onAppHealthy(AppHealthyEvent event) {
+		if (event.getReleaseName() != null) {
+			this.lastHealthyEventTimes.put(event.getReleaseName(), event.getTimestamp());
+		}
+	}
+
+	/**
+	 * Forgets the app healthy events of a release once its upgrade got accepted or
+	 * cancelled, as no more health checks are scheduled for it.
+	 *
+	 * @param releaseName the release name
+	 */
+	public void completeChecks(String releaseName) {
+		if (releaseName != null) {
+			this.lastHealthyEventTimes.remove(releaseName);
+		}
+	}
+
+	/**
+	 * Computes the delay before a health check.
+	 *
+	 * @param upgradeProperties the upgrade properties overriding server defaults, may be
+	 * {@code null}
+	 * @param attempt the zero based number of the check
+	 * @return the delay in milliseconds
+	 */
+	long getDelay(UpgradeProperties upgradeProperties, int attempt) {
+		long initial = this.healthCheckProperties.getInitialSleepInMillis();
+		long max = this.healthCheckProperties.getSleepInMillis();
+		double multiplier = this.healthCheckProperties.getBackoffMultiplier();
+		double jitter = this.healthCheckProperties.getJitter();
+		if (upgradeProperties != null) {
+			initial = upgradeProperties.getHealthCheckInitialSleepInMillis() != null
+					? upgradeProperties.getHealthCheckInitialSleepInMillis() : initial;
+			max = upgradeProperties.getHealthCheckSleepInMillis() != null
+					? upgradeProperties.getHealthCheckSleepInMillis() : max;
+			multiplier = upgradeProperties.getHealthCheckBackoffMultiplier() != null
+					? upgradeProperties.getHealthCheckBackoffMultiplier() : multiplier;
+			jitter = upgradeProperties.getHealthCheckJitter() != null
+					? upgradeProperties.getHealthCheckJitter() : jitter;
+		}
+		max = Math.max(max, 0);
+		double delay = Math.min(Math.max(initial, 0) * Math.pow(Math.max(multiplier, 1), attempt), max);
+		jitter = Math.min(Math.max(jitter, 0), 1);
+		return (long) (delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+	}
+
+	private void schedule(StateContext<SkipperStates, SkipperEvents> context, int attempt) {
+		UpgradeRequest upgradeRequest = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST,
+				UpgradeRequest.class);
+		long now = System.currentTimeMillis();
+		long delay = getDelay(upgradeRequest != null ? upgradeRequest.getUpgradeProperties() : null, attempt);
+		log.debug("Scheduling health check {} in {}ms", attempt, delay);
+		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_CHECK_ATTEMPT, attempt);
+		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_LAST_CHECK_TIME, now);
+		context.getExtendedState().getVariables().put(SkipperVariables.UPGRADE_NEXT_CHECK_TIME, now + delay);
+	}
+
+	private static String getReleaseName(StateContext<SkipperStates, SkipperEvents> context) {
+		UpgradeRequest upgradeRequest = context.getExtendedState().get(SkipperEventHeaders.UPGRADE_REQUEST,
+				UpgradeRequest.class);
+		if (upgradeRequest != null && upgradeRequest.getUpgradeProperties() != null
+				&& upgradeRequest.getUpgradeProperties().getReleaseName() != null) {
+			return upgradeRequest.getUpgradeProperties().getReleaseName();
+		}
+		// rollbacks run the same wait loop
+		RollbackRequest rollbackRequest = context.getExtendedState().get(SkipperEventHeaders.ROLLBACK_REQUEST,
+				RollbackRequest.class);
+		if (rollbackRequest != null && rollbackRequest.getReleaseName() != null) {
+			return rollbackRequest.getReleaseName();
+		}
+		Release release = context.getExtendedState().get(SkipperVariables.TARGET_RELEASE, Release.class);
+		return release != null ? release.getName() : null;
+	}
+
+	private static long positive(long value) {
+		return value > 0 ? value : Long.MAX_VALUE;
+	}
+}
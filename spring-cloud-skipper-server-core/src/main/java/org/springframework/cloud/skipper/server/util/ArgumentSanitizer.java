@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,41 @@
  */
 package org.springframework.cloud.skipper.server.util;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.regex.Pattern;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+import org.springframework.cloud.skipper.domain.ContentBlob;
 
 /**
- * Sanitizes potentially sensitive keys from manifest data.
+ * Sanitizes potentially sensitive keys from manifest data. The yaml is sanitized while
+ * it is parsed, event by event, without building the documents in memory, and the
+ * sanitized form of the last manifests is cached by the hash of their content.
  *
  * @author Glenn Renfro
  */
@@ -34,20 +58,25 @@ public class ArgumentSanitizer {
 
 	private static final String REDACTION_STRING = "******";
 
-	private static final String[] REGEX_PARTS = { "*", "$", "^", "+" };
-
-	private static final String[] KEYS_TO_SANITIZE = { "password", "secret", "key", "token", ".*credentials.*",
-			"vcap_services" };
+	/**
+	 * Keys ending with password, secret, key, token or vcap_services, or containing
+	 * credentials.
+	 */
+	private static final Pattern KEYS_TO_SANITIZE = Pattern
+			.compile("(password|secret|key|token|vcap_services)$|credentials", Pattern.CASE_INSENSITIVE);
 
-	private static Pattern[] keysToSanitize;
+	private static final DumperOptions DUMPER_OPTIONS = new DumperOptions();
 
 	static {
-		keysToSanitize = new Pattern[KEYS_TO_SANITIZE.length];
-		for (int i = 0; i < keysToSanitize.length; i++) {
-			keysToSanitize[i] = getPattern(KEYS_TO_SANITIZE[i]);
-		}
+		DUMPER_OPTIONS.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		DUMPER_OPTIONS.setPrettyFlow(true);
 	}
 
+	// Key = hash of the yaml, value = sanitized yaml
+	private static final Cache<String, String> sanitizedYmls = Caffeine.newBuilder()
+			.maximumSize(100)
+			.build();
+
 	/**
 	 * Redacts the values stored for keys that contain the following:  password,
 	 * secret, key, token, *credentials.*.
@@ -55,74 +84,107 @@ public class ArgumentSanitizer {
 	 * @return redacted yaml String.
 	 */
 	public static String sanitizeYml(String yml) {
-		String result = "";
+		if (yml == null || yml.isEmpty()) {
+			return yml;
+		}
+		return sanitizedYmls.get(ContentBlob.hash(yml), hash -> sanitize(yml));
+	}
+
+	private static String sanitize(String yml) {
+		StringWriter writer = new StringWriter(yml.length());
 		try {
-			DumperOptions options = new DumperOptions();
-			options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-			options.setPrettyFlow(true);
-			Yaml yaml = new Yaml(options);
-			Iterator<Object> iter = yaml.loadAll(yml).iterator();
-			while (iter.hasNext()) {
-				Object o = iter.next();
-				if (o instanceof LinkedHashMap) {
-					iterateLinkedHashMap((LinkedHashMap<String, Object>) o);
+			Parser parser = new ParserImpl(new StreamReader(yml));
+			Deque<CollectionState> collections = new ArrayDeque<>();
+			Emitter emitter = null;
+			while (!parser.checkEvent(Event.ID.StreamEnd)) {
+				Event event = parser.getEvent();
+				if (event instanceof StreamStartEvent) {
+					continue;
+				}
+				// documents are written one after the other, without separators
+				if (event instanceof DocumentStartEvent) {
+					emitter = new Emitter(writer, DUMPER_OPTIONS);
+					emitter.emit(new StreamStartEvent(null, null));
+					emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+					continue;
+				}
+				if (event instanceof DocumentEndEvent) {
+					emitter.emit(new DocumentEndEvent(null, null, false));
+					emitter.emit(new StreamEndEvent(null, null));
+					continue;
+				}
+				if (event instanceof CollectionEndEvent) {
+					collections.pop();
+					emitter.emit(event);
+					nodeEnded(collections);
+					continue;
+				}
+				CollectionState parent = collections.peek();
+				if (parent != null && parent.sanitizeValue && !(event instanceof MappingStartEvent)) {
+					// values being mappings are sanitized key by key, other values are redacted
+					String anchor = event instanceof AliasEvent ? null : ((NodeEvent) event).getAnchor();
+					if (event instanceof SequenceStartEvent) {
+						skipCollection(parser);
+					}
+					emitter.emit(new ScalarEvent(anchor, null, new ImplicitTuple(true, true), REDACTION_STRING,
+							null, null, DumperOptions.ScalarStyle.PLAIN));
+					nodeEnded(collections);
+					continue;
+				}
+				if (parent != null && parent.expectingKey) {
+					parent.sanitizeValue = event instanceof ScalarEvent
+							&& KEYS_TO_SANITIZE.matcher(((ScalarEvent) event).getValue()).find();
+				}
+				emitter.emit(event);
+				if (event instanceof CollectionStartEvent) {
+					collections.push(new CollectionState(event instanceof MappingStartEvent));
+				}
+				else {
+					nodeEnded(collections);
 				}
-				result += yaml.dump(o);
 			}
 		}
-		catch (Throwable throwable) {
-			logger.error("Unable to redact data from Manifest debug entry", throwable);
+		catch (IOException | RuntimeException e) {
+			logger.error("Unable to redact data from Manifest debug entry", e);
 		}
-		if (result == null || result.length() == 0) {
-			result = yml;
-		}
-		return result;
+		String result = writer.toString();
+		return result.isEmpty() ? yml : result;
 	}
 
-	private static void iterateLinkedHashMap(LinkedHashMap<String, Object> map) {
-		for (String key : map.keySet()) {
-			Object value = map.get(key);
-			if (value instanceof LinkedHashMap) {
-				iterateLinkedHashMap((LinkedHashMap<String, Object>) value);
-			}
-			else {
-				if (toBeSanitized(key)) {
-					map.put(key, REDACTION_STRING);
-				}
+	private static void nodeEnded(Deque<CollectionState> collections) {
+		CollectionState parent = collections.peek();
+		if (parent != null && parent.mapping) {
+			parent.expectingKey = !parent.expectingKey;
+			if (parent.expectingKey) {
+				parent.sanitizeValue = false;
 			}
 		}
 	}
 
-	/**
-	 * Replaces a potential secure value with "******".
-	 *
-	 * @param key to evaluate if its value should be redacted.
-	 * @return true if result needs to be sanitized.
-	 */
-	private static boolean toBeSanitized(String key) {
-		boolean result = false;
-		for (Pattern pattern : keysToSanitize) {
-			if (pattern.matcher(key).matches()) {
-				result = true;
-				break;
+	private static void skipCollection(Parser parser) {
+		int depth = 1;
+		while (depth > 0) {
+			Event event = parser.getEvent();
+			if (event instanceof CollectionStartEvent) {
+				depth++;
+			}
+			else if (event instanceof CollectionEndEvent) {
+				depth--;
 			}
 		}
-		return result;
 	}
 
-	private static Pattern getPattern(String value) {
-		if (isRegex(value)) {
-			return Pattern.compile(value, Pattern.CASE_INSENSITIVE);
-		}
-		return Pattern.compile(".*" + value + "$", Pattern.CASE_INSENSITIVE);
-	}
+	private static class CollectionState {
 
-	private static boolean isRegex(String value) {
-		for (String part : REGEX_PARTS) {
-			if (value.contains(part)) {
-				return true;
-			}
+		private final boolean mapping;
+
+		private boolean expectingKey;
+
+		private boolean sanitizeValue;
+
+		CollectionState(boolean mapping) {
+			this.mapping = mapping;
+			this.expectingKey = mapping;
 		}
-		return false;
 	}
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Lightweight tracing of release operations. A trace is started for every operation sent
+ * to a release state machine and its id travels with the machine, so that the time spent
+ * loading packages, creating reports, calling platforms and checking health is recorded
+ * as spans of the same trace, even when executed on other threads. Spans are published
+ * as the {@code skipper.release.span} timer and logged at debug level, and the trace id
+ * is set in the {@link MDC} under {@link #TRACE_ID_KEY} while a span is current.
+ */
+public final class OperationTracer {
+
+	/**
+	 * Key of the trace id in the logging {@link MDC}.
+	 */
+	public static final String TRACE_ID_KEY = "skipperTraceId";
+
+	private static final Logger logger = LoggerFactory.getLogger(OperationTracer.class);
+
+	private static final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+	private static final Span NOOP = new Span(null, null);
+
+	private OperationTracer() {
+	}
+
+	/**
+	 * Generate a new trace id.
+	 *
+	 * @return the hex encoded trace id
+	 */
+	public static String newTraceId() {
+		return String.format("%016x", ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Get the id of the trace current on this thread.
+	 *
+	 * @return the trace id or {@code null} if there is no current trace
+	 */
+	public static String currentTraceId() {
+		Span span = currentSpan.get();
+		return span != null ? span.traceId : null;
+	}
+
+	/**
+	 * Start a span of the given trace and make it current on this thread until closed.
+	 *
+	 * @param name the span name
+	 * @param traceId the trace id, nothing is traced if {@code null}
+	 * @return the started span
+	 */
+	public static Span start(String name, String traceId) {
+		if (traceId == null) {
+			return NOOP;
+		}
+		Span span = new Span(name, traceId);
+		span.start();
+		return span;
+	}
+
+	/**
+	 * Start a span of the trace current on this thread and make it current until closed.
+	 *
+	 * @param name the span name
+	 * @return the started span, doing nothing if there is no current trace
+	 */
+	public static Span span(String name) {
+		return start(name, currentTraceId());
+	}
+
+	/**
+	 * A timed unit of work of a trace.
+	 */
+	public static final class Span implements AutoCloseable {
+
+		private final String name;
+
+		private final String traceId;
+
+		private Span previous;
+
+		private String previousTraceId;
+
+		private long startNanos;
+
+		private Span(String name, String traceId) {
+			this.name = name;
+			this.traceId = traceId;
+		}
+
+		private void start() {
+			this.previous = currentSpan.get();
+			this.previousTraceId = MDC.get(TRACE_ID_KEY);
+			currentSpan.set(this);
+			MDC.put(TRACE_ID_KEY, this.traceId);
+			this.startNanos = System.nanoTime();
+		}
+
+		/**
+		 * Get the id of the trace this span belongs to.
+		 *
+		 * @return the trace id or {@code null} for a span not traced
+		 */
+		public String getTraceId() {
+			return this.traceId;
+		}
+
+		@Override
+		public void close() {
+			if (this.traceId == null) {
+				return;
+			}
+			long elapsed = System.nanoTime() - this.startNanos;
+			Timer.builder("skipper.release.span")
+					.description("Time taken by a unit of work of a release operation")
+					.tag("span", this.name)
+					.register(Metrics.globalRegistry)
+					.record(elapsed, TimeUnit.NANOSECONDS);
+			logger.debug("Span {} of trace {} took {}ms", this.name, this.traceId,
+					TimeUnit.NANOSECONDS.toMillis(elapsed));
+			if (this.previous != null) {
+				currentSpan.set(this.previous);
+			}
+			else {
+				currentSpan.remove();
+			}
+			if (this.previousTraceId != null) {
+				MDC.put(TRACE_ID_KEY, this.previousTraceId);
+			}
+			else {
+				MDC.remove(TRACE_ID_KEY);
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+create table skipper_content_blob (
+    hash varchar(64) not null,
+    content blob,
+    primary key (hash)
+);
+
+alter table skipper_release add column pkg_json_hash varchar(64);
+
+alter table skipper_release add column config_values_hash varchar(64);
+
+alter table skipper_manifest add column data_hash varchar(64);
+
+alter table skipper_release
+    add constraint fk_release_pkg_json_blob
+    foreign key (pkg_json_hash)
+    references skipper_content_blob;
+
+alter table skipper_release
+    add constraint fk_release_config_values_blob
+    foreign key (config_values_hash)
+    references skipper_content_blob;
+
+alter table skipper_manifest
+    add constraint fk_manifest_data_blob
+    foreign key (data_hash)
+    references skipper_content_blob;
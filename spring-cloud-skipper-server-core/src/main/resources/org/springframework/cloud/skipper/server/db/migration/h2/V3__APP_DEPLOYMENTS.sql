@@ -0,0 +1,19 @@
+create table skipper_app_deployment (
+    id bigint not null,
+    object_version bigint,
+    release_name varchar(255),
+    release_version integer,
+    app_name varchar(255),
+    deployment_id varchar(255),
+    app_deployer_data_id bigint,
+    primary key (id)
+);
+
+alter table skipper_app_deployment
+    add constraint fk_app_dep_app_deployer_data
+    foreign key (app_deployer_data_id)
+    references skipper_app_deployer_data;
+
+create index idx_app_dep_release on skipper_app_deployment (release_name, release_version);
+
+create index idx_app_deployer_data_release on skipper_app_deployer_data (release_name, release_version);
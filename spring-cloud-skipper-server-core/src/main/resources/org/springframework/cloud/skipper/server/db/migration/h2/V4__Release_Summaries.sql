@@ -0,0 +1,3 @@
+create index idx_status_code on skipper_status (status_code);
+
+create index idx_rel_name_version on skipper_release (name, version);
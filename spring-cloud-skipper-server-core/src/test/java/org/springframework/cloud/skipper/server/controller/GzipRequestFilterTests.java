@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GzipRequestFilterTests {
+
+	private static final String BODY = "{\"releaseName\":\"log\"}";
+
+	private final GzipRequestFilter filter = new GzipRequestFilter(DataSize.ofBytes(1024));
+
+	private String body;
+
+	private String contentEncoding;
+
+	private final FilterChain chain = (request, response) -> {
+		this.body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+		this.contentEncoding = ((HttpServletRequest) request).getHeader(HttpHeaders.CONTENT_ENCODING);
+	};
+
+	@Test
+	public void decodesGzipRequestBodies() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		request.setContent(gzip(BODY));
+
+		this.filter.doFilter(request, new MockHttpServletResponse(), this.chain);
+
+		assertThat(this.body).isEqualTo(BODY);
+		assertThat(this.contentEncoding).isNull();
+	}
+
+	@Test
+	public void rejectsBodiesDecodedBeyondMaxSize() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		char[] content = new char[1025];
+		Arrays.fill(content, 'a');
+		request.setContent(gzip(new String(content)));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		this.filter.doFilter(request, response, this.chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+		assertThat(this.body).isNull();
+	}
+
+	@Test
+	public void rejectsInvalidGzipBodies() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		this.filter.doFilter(request, response, this.chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+		assertThat(this.body).isNull();
+	}
+
+	@Test
+	public void notifiesReadListenersOfDecodedBodies() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		request.setContent(gzip(BODY));
+		List<String> notifications = new ArrayList<>();
+		FilterChain asyncChain = (req, res) -> {
+			ServletInputStream in = req.getInputStream();
+			in.setReadListener(new ReadListener() {
+
+				@Override
+				public void onDataAvailable() throws IOException {
+					notifications.add(StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+				}
+
+				@Override
+				public void onAllDataRead() {
+					notifications.add("done");
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					notifications.add("error");
+				}
+			});
+		};
+
+		this.filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+		assertThat(notifications).containsExactly(BODY, "done");
+	}
+
+	@Test
+	public void passesOtherRequestBodiesAsIs() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+		this.filter.doFilter(request, new MockHttpServletResponse(), this.chain);
+
+		assertThat(this.body).isEqualTo(BODY);
+	}
+
+	private static byte[] gzip(String content) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+}
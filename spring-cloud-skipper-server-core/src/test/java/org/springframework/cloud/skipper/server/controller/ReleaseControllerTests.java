@@ -22,6 +22,8 @@ import java.util.Optional;
 import javax.servlet.DispatcherType;
 import javax.servlet.ServletContext;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +39,7 @@ import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
 import org.springframework.cloud.skipper.domain.Repository;
 import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
 import org.springframework.cloud.skipper.domain.UpgradeProperties;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManager;
@@ -57,6 +60,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -220,6 +224,66 @@ public class ReleaseControllerTests extends AbstractControllerTests {
 		assertThat(release.getVersion()).isEqualTo(2);
 	}
 
+	@Test
+	public void planAndApplyUpgrade() throws Exception {
+		String releaseName = "myPlannedLog";
+		install("log", "1.0.0", releaseName);
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		PackageIdentifier packageIdentifier = new PackageIdentifier();
+		packageIdentifier.setPackageName("log");
+		packageIdentifier.setPackageVersion("1.1.0");
+		upgradeRequest.setPackageIdentifier(packageIdentifier);
+		upgradeRequest.setUpgradeProperties(createUpdateProperties(releaseName));
+
+		// Plan
+		MvcResult result = mockMvc.perform(post("/api/release/upgrade/plan")
+				.content(convertObjectToJson(upgradeRequest))).andDo(print())
+				.andExpect(status().isOk()).andReturn();
+		UpgradePlan plan = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+				.readValue(result.getResponse().getContentAsString(), UpgradePlan.class);
+		assertThat(plan.getId()).isNotEmpty();
+		assertThat(plan.getExistingVersion()).isEqualTo(1);
+		assertThat(plan.getReplacingVersion()).isEqualTo(2);
+		assertThat(plan.getPackageVersion()).isEqualTo("1.1.0");
+		assertThat(plan.getApplicationNamesToUpgrade()).isNotEmpty();
+		assertThat(this.releaseRepository.findLatestRelease(releaseName).getVersion()).isEqualTo(1);
+
+		// Apply
+		upgradeRequest.setPlanId(plan.getId());
+		result = mockMvc.perform(post("/api/release/upgrade")
+				.content(convertObjectToJson(upgradeRequest))).andDo(print())
+				.andExpect(status().isCreated()).andReturn();
+		Release release = convertContentToRelease(result.getResponse().getContentAsString());
+		assertThat(release.getVersion()).isEqualTo(2);
+		assertReleaseIsDeployedSuccessfully(releaseName, 2);
+
+		// Plans are applied once
+		mockMvc.perform(post("/api/release/upgrade")
+				.content(convertObjectToJson(upgradeRequest))).andDo(print())
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	public void listReleaseSummaries() throws Exception {
+		install("log", "1.0.0", "summaryLogA");
+		install("log", "1.0.0", "summaryLogB");
+		upgrade("log", "1.1.0", "summaryLogB");
+
+		mockMvc.perform(get("/api/release/summaries").param("name", "SUMMARYLOG").param("size", "1")
+				.param("sort", "name,desc")).andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.releaseSummaries.length()").value(1))
+				.andExpect(jsonPath("$._embedded.releaseSummaries[0].name").value("summaryLogB"))
+				.andExpect(jsonPath("$._embedded.releaseSummaries[0].version").value(2))
+				.andExpect(jsonPath("$._embedded.releaseSummaries[0].statusCode").value("DEPLOYED"))
+				.andExpect(jsonPath("$._embedded.releaseSummaries[0].packageVersion").value("1.1.0"))
+				.andExpect(jsonPath("$.page.totalElements").value(2))
+				.andExpect(jsonPath("$.page.totalPages").value(2));
+
+		mockMvc.perform(get("/api/release/summaries").param("sort", "manifest")).andDo(print())
+				.andExpect(status().isConflict());
+	}
+
 	@Test
 	public void cancelNonExistingRelease() throws Exception {
 		cancel("myLog2", HttpStatus.OK.value(), false);
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReleaseETagFilterTests {
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final FilterChain chain = (request, response) -> {
+		this.calls.incrementAndGet();
+		response.getOutputStream().write("{\"status\":\"deployed\"}".getBytes(StandardCharsets.UTF_8));
+	};
+
+	@Test
+	public void answersConditionalRequestsWithoutComputingResponse() throws Exception {
+		ReleaseETagFilter filter = new ReleaseETagFilter(Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+		MockHttpServletResponse response = get(filter, "/api/release/status/log", null);
+		String eTag = response.getHeader(HttpHeaders.ETAG);
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(eTag).isNotNull();
+		assertThat(this.calls.get()).isEqualTo(1);
+
+		response = get(filter, "/api/release/status/log", eTag);
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+		assertThat(response.getContentLength()).isEqualTo(0);
+		assertThat(this.calls.get()).isEqualTo(1);
+
+		response = get(filter, "/api/release/status/log", "\"other\"");
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(this.calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void computesResponseAgainOnceExpiredOrInvalidated() throws Exception {
+		ReleaseETagFilter filter = new ReleaseETagFilter(Duration.ZERO, Duration.ofMinutes(1), 10);
+
+		String eTag = get(filter, "/api/release/status/log", null).getHeader(HttpHeaders.ETAG);
+		MockHttpServletResponse response = get(filter, "/api/release/status/log", eTag);
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(this.calls.get()).isEqualTo(2);
+
+		eTag = get(filter, "/api/release/manifest/log", null).getHeader(HttpHeaders.ETAG);
+		MockHttpServletRequest upgrade = new MockHttpServletRequest("POST", "/api/release/upgrade");
+		filter.doFilter(upgrade, new MockHttpServletResponse(), this.chain);
+		response = get(filter, "/api/release/manifest/log", eTag);
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(this.calls.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void ignoresOtherResources() throws Exception {
+		ReleaseETagFilter filter = new ReleaseETagFilter(Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+
+		MockHttpServletResponse response = get(filter, "/api/release/logs/log", null);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+	}
+
+	private MockHttpServletResponse get(ReleaseETagFilter filter, String uri, String ifNoneMatch) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, this.chain);
+		return response;
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.cloud.skipper.server.controller.docs;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +62,7 @@ import org.springframework.cloud.skipper.server.deployer.AppDeploymentRequestFac
 import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.DefaultReleaseManagerFactory;
 import org.springframework.cloud.skipper.server.deployer.ReleaseAnalyzer;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManager;
 import org.springframework.cloud.skipper.server.deployer.ReleaseManagerFactory;
 import org.springframework.cloud.skipper.server.deployer.strategies.DefaultUpgradeStrategyFactory;
@@ -83,11 +85,14 @@ import org.springframework.cloud.skipper.server.repository.map.DeployerRepositor
 import org.springframework.cloud.skipper.server.service.ActuatorService;
 import org.springframework.cloud.skipper.server.service.PackageMetadataService;
 import org.springframework.cloud.skipper.server.service.PackageService;
+import org.springframework.cloud.skipper.server.service.ReleaseBatchService;
+import org.springframework.cloud.skipper.server.service.ReleaseEventService;
 import org.springframework.cloud.skipper.server.service.ReleaseReportService;
 import org.springframework.cloud.skipper.server.service.ReleaseService;
 import org.springframework.cloud.skipper.server.service.ReleaseStateUpdateService;
 import org.springframework.cloud.skipper.server.service.RepositoryInitializationService;
 import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -147,8 +152,16 @@ public class ServerDependencies implements AsyncConfigurer {
 
 	@Bean
 	public ReleaseController releaseController(ReleaseService releaseService,
-			SkipperStateMachineService skipperStateMachineService, ActuatorService actuatorService) {
-		return new ReleaseController(releaseService, skipperStateMachineService, actuatorService);
+			SkipperStateMachineService skipperStateMachineService, ActuatorService actuatorService,
+			ReleaseBatchService releaseBatchService,
+			ReleaseReportService releaseReportService) {
+		return new ReleaseController(releaseService, skipperStateMachineService, actuatorService,
+				releaseBatchService, releaseReportService, new ReleaseEventService(10, Duration.ofSeconds(15)));
+	}
+
+	@Bean
+	public ReleaseBatchService releaseBatchService() {
+		return mock(ReleaseBatchService.class);
 	}
 
 	@Bean
@@ -158,9 +171,9 @@ public class ServerDependencies implements AsyncConfigurer {
 	}
 
 	@Bean
-	ActuatorService actuatorService(ReleaseService releaseService,
-			DeployerRepository deployerRepository,  ReleaseRepository releaseRepository) {
-		return new ActuatorService(releaseService,  deployerRepository, releaseRepository);
+	ActuatorService actuatorService(DeployerRepository deployerRepository, ReleaseRepository releaseRepository,
+			AppDeployerDataRepository appDeployerDataRepository) {
+		return new ActuatorService(deployerRepository, releaseRepository, appDeployerDataRepository);
 	}
 
 	@Bean
@@ -243,9 +256,17 @@ public class ServerDependencies implements AsyncConfigurer {
 			DeployerRepository deployerRepository,
 			ReleaseAnalyzer releaseAnalyzer,
 			AppDeploymentRequestFactory appDeploymentRequestFactory,
-			SpringCloudDeployerApplicationManifestReader applicationManifestReader) {
+			SpringCloudDeployerApplicationManifestReader applicationManifestReader,
+			ReleaseAppUndeployer releaseAppUndeployer) {
 		return new DefaultReleaseManager(releaseRepository, appDeployerDataRepository, deployerRepository,
-				releaseAnalyzer, appDeploymentRequestFactory, applicationManifestReader);
+				releaseAnalyzer, appDeploymentRequestFactory, applicationManifestReader, releaseAppUndeployer);
+	}
+
+	@Bean
+	public ReleaseAppUndeployer releaseAppUndeployer(SkipperServerProperties skipperServerProperties,
+			ApplicationEventPublisher applicationEventPublisher) {
+		return new ReleaseAppUndeployer(skipperServerProperties.getUndeploy().getMaxConcurrencyPerPlatform(),
+				applicationEventPublisher);
 	}
 
 	@Bean
@@ -254,8 +275,9 @@ public class ServerDependencies implements AsyncConfigurer {
 	}
 
 	@Bean
-	public DeleteStep deleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository) {
-		return new DeleteStep(releaseRepository, deployerRepository);
+	public DeleteStep deleteStep(ReleaseRepository releaseRepository, DeployerRepository deployerRepository,
+			ReleaseAppUndeployer releaseAppUndeployer) {
+		return new DeleteStep(releaseRepository, deployerRepository, releaseAppUndeployer);
 	}
 
 	@Bean
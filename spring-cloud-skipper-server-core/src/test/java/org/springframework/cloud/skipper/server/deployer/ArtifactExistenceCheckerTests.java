@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.deployer.resource.maven.MavenProperties;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArtifactExistenceCheckerTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+	private final MavenProperties mavenProperties = new MavenProperties();
+
+	private HttpServer server;
+
+	private ArtifactExistenceChecker checker;
+
+	@Before
+	public void setup() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/", exchange -> {
+			this.requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+			boolean found = exchange.getRequestURI().getPath().equals("/repo/org/example/app/1.0.0/app-1.0.0.jar")
+					|| exchange.getRequestURI().getPath().equals("/repo/org/example/app/1.1.0-SNAPSHOT/maven-metadata.xml");
+			exchange.sendResponseHeaders(found ? 200 : 404, -1);
+			exchange.close();
+		});
+		this.server.start();
+		this.mavenProperties.setLocalRepository(this.folder.newFolder("m2").getAbsolutePath());
+		MavenProperties.RemoteRepository remoteRepository = new MavenProperties.RemoteRepository(
+				"http://localhost:" + this.server.getAddress().getPort() + "/repo/");
+		this.mavenProperties.setRemoteRepositories(Collections.singletonMap("test", remoteRepository));
+		this.checker = new ArtifactExistenceChecker(this.mavenProperties, Duration.ofMinutes(5), Duration.ofMinutes(5));
+	}
+
+	@After
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	@Test
+	public void looksUpMavenArtifactsWithoutFetchingThem() {
+		assertThat(this.checker.exists("release", mavenResource("1.0.0"))).isTrue();
+		assertThat(this.checker.exists("snapshot", mavenResource("1.1.0-SNAPSHOT"))).isTrue();
+		assertThat(this.checker.exists("missing", mavenResource("2.0.0"))).isFalse();
+		assertThat(this.requests).containsExactly("HEAD /repo/org/example/app/1.0.0/app-1.0.0.jar",
+				"HEAD /repo/org/example/app/1.1.0-SNAPSHOT/maven-metadata.xml",
+				"HEAD /repo/org/example/app/2.0.0/app-2.0.0.jar");
+
+		assertThat(this.checker.exists("release", mavenResource("1.0.0"))).isTrue();
+		assertThat(this.checker.exists("missing", mavenResource("2.0.0"))).isFalse();
+		assertThat(this.requests).hasSize(3);
+	}
+
+	@Test
+	public void findsMavenArtifactsInLocalRepository() throws IOException {
+		File directory = new File(this.mavenProperties.getLocalRepository(), "org/example/app/3.0.0");
+		assertThat(directory.mkdirs()).isTrue();
+		assertThat(new File(directory, "app-3.0.0.jar").createNewFile()).isTrue();
+
+		assertThat(this.checker.exists("local", mavenResource("3.0.0"))).isTrue();
+		assertThat(this.requests).isEmpty();
+	}
+
+	@Test
+	public void looksUpFilesAndIgnoresFailedLookups() throws IOException {
+		assertThat(this.checker.exists("file", new FileSystemResource(this.folder.newFile()))).isTrue();
+		assertThat(this.checker.exists("no-file", new FileSystemResource(new File(this.folder.getRoot(), "none"))))
+				.isFalse();
+
+		this.server.stop(0);
+		assertThat(this.checker.exists("unreachable", mavenResource("4.0.0"))).isTrue();
+	}
+
+	private MavenResource mavenResource(String version) {
+		MavenResource resource = mock(MavenResource.class);
+		when(resource.getGroupId()).thenReturn("org.example");
+		when(resource.getArtifactId()).thenReturn("app");
+		when(resource.getVersion()).thenReturn(version);
+		when(resource.getExtension()).thenReturn("jar");
+		return resource;
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArtifactResolutionServiceTests {
+
+	private static final String LOCATION = "maven://org.springframework.cloud.stream.app:log-sink-rabbit:1.2.0.RELEASE";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final DelegatingResourceLoader resourceLoader = mock(DelegatingResourceLoader.class);
+
+	private final MavenResource resource = mock(MavenResource.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ArtifactResolutionService service = new ArtifactResolutionService(this.resourceLoader,
+			new ArtifactExistenceChecker(null), 1024, 4, this.meterRegistry);
+
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		this.file = this.folder.newFile("log-sink-rabbit-1.2.0.RELEASE.jar");
+		Files.write(this.file.toPath(), "v1".getBytes(StandardCharsets.UTF_8));
+		when(this.resourceLoader.getResource(LOCATION)).thenReturn(this.resource);
+		when(this.resource.getFile()).thenReturn(this.file);
+	}
+
+	@Test
+	public void resolvesEachLocationOnce() throws IOException {
+		this.service.resolveAll(Arrays.asList(LOCATION, LOCATION, LOCATION)).block();
+		Resource resolved = this.service.getResource(LOCATION);
+
+		assertThat(resolved).isSameAs(this.resource);
+		verify(this.resourceLoader, times(1)).getResource(LOCATION);
+		verify(this.resource, times(1)).getFile();
+		assertThat(this.meterRegistry.get("cache.gets").tag("cache", "skipper.artifacts").tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void resolvesChangedArtifactsAgain() throws IOException {
+		this.service.getResource(LOCATION);
+		this.file.setLastModified(this.file.lastModified() - 10000);
+		this.service.getResource(LOCATION);
+		verify(this.resourceLoader, times(1)).getResource(LOCATION);
+
+		Files.write(this.file.toPath(), "v2".getBytes(StandardCharsets.UTF_8));
+		this.file.setLastModified(this.file.lastModified() - 20000);
+		this.service.getResource(LOCATION);
+		verify(this.resourceLoader, times(2)).getResource(LOCATION);
+
+		this.file.delete();
+		this.service.getResource(LOCATION);
+		verify(this.resourceLoader, times(3)).getResource(LOCATION);
+	}
+
+	@Test
+	public void returnsArtifactsFailingToFetchWithoutCachingThem() throws IOException {
+		when(this.resource.getFile()).thenThrow(new IOException("offline"));
+
+		assertThat(this.service.getResource(LOCATION)).isSameAs(this.resource);
+		assertThat(this.service.getResource(LOCATION)).isSameAs(this.resource);
+		verify(this.resourceLoader, times(2)).getResource(LOCATION);
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.ActuatorOperations;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.domain.Deployer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link DeployerRegistry}.
+ */
+public class DeployerRegistryTests {
+
+	@Test
+	public void registersDeployersByName() {
+		Deployer first = new Deployer("first", "test", mock(AppDeployer.class), mock(ActuatorOperations.class));
+		Deployer second = new Deployer("second", "test", mock(AppDeployer.class), null);
+		DeployerRegistry registry = new DeployerRegistry();
+		registry.refresh(Arrays.asList(first, second));
+
+		assertThat(registry.find("first")).isSameAs(first);
+		assertThat(registry.find("second")).isSameAs(second);
+		assertThat(registry.find("unknown")).isNull();
+		assertThat(registry.find(null)).isNull();
+	}
+
+	@Test
+	public void refreshReplacesSnapshot() {
+		DeployerRegistry registry = new DeployerRegistry();
+		registry.refresh(Collections.singletonList(new Deployer("old", "test", mock(AppDeployer.class), null)));
+		registry.refresh(Collections.singletonList(new Deployer("new", "test", mock(AppDeployer.class), null)));
+
+		assertThat(registry.find("old")).isNull();
+		assertThat(registry.find("new")).isNotNull();
+		assertThat(registry.getDeployers()).hasSize(1);
+	}
+}
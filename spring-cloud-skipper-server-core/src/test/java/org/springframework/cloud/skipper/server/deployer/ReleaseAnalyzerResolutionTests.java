@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the artifacts {@link ReleaseAnalyzer} resolves ahead of deploying an upgrade.
+ */
+public class ReleaseAnalyzerResolutionTests {
+
+	private static final String TIME = "maven://org.springframework.cloud.stream.app:time-source-rabbit";
+
+	private static final String LOG = "maven://org.springframework.cloud.stream.app:log-sink-rabbit";
+
+	private final ArtifactResolutionService artifactResolutionService = mock(ArtifactResolutionService.class);
+
+	private final ReleaseAnalyzer releaseAnalyzer = new ReleaseAnalyzer(
+			new SpringCloudDeployerApplicationManifestReader(), this.artifactResolutionService);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void resolvesOnlyArtifactsOfAppsToUpgrade() {
+		when(this.artifactResolutionService.exists(anyString())).thenReturn(true);
+		when(this.artifactResolutionService.resolveAll(any())).thenReturn(Mono.empty());
+
+		ReleaseAnalysisReport report = this.releaseAnalyzer.analyze(release("1.0.0", "1.0.0"),
+				release("1.0.0", "1.1.0"), false, null);
+
+		assertThat(report.getApplicationNamesToUpgrade()).containsExactly("log");
+		ArgumentCaptor<Collection<String>> locations = ArgumentCaptor.forClass(Collection.class);
+		verify(this.artifactResolutionService).resolveAll(locations.capture());
+		assertThat(locations.getValue()).containsExactly(LOG + ":1.1.0");
+	}
+
+	@Test
+	public void resolvesNothingWithoutAppsToUpgrade() {
+		when(this.artifactResolutionService.exists(anyString())).thenReturn(true);
+
+		ReleaseAnalysisReport report = this.releaseAnalyzer.analyze(release("1.0.0", "1.0.0"),
+				release("1.0.0", "1.0.0"), false, null);
+
+		assertThat(report.getApplicationNamesToUpgrade()).isEmpty();
+		verify(this.artifactResolutionService, never()).resolveAll(any());
+	}
+
+	private static Release release(String timeVersion, String logVersion) {
+		Manifest manifest = new Manifest();
+		manifest.setData(application("time", TIME, timeVersion) + "---\n" + application("log", LOG, logVersion));
+		// two dependencies without top level templates, one per application
+		Package pkg = new Package();
+		pkg.setDependencies(Arrays.asList(new Package(), new Package()));
+		pkg.setTemplates(Collections.emptyList());
+		Release release = new Release();
+		release.setName("ticktock");
+		release.setPkg(pkg);
+		release.setManifest(manifest);
+		return release;
+	}
+
+	private static String application(String name, String resource, String version) {
+		return "apiVersion: skipper.spring.io/v1\n"
+				+ "kind: SpringCloudDeployerApplication\n"
+				+ "metadata:\n"
+				+ "  name: " + name + "\n"
+				+ "spec:\n"
+				+ "  resource: " + resource + "\n"
+				+ "  version: " + version + "\n";
+	}
+}
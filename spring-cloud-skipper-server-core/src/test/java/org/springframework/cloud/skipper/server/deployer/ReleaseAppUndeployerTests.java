@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ReleaseAppUndeployerTests {
+
+	@Test
+	public void undeploysAllAppsWithinConcurrencyLimit() {
+		AppDeployer appDeployer = mock(AppDeployer.class);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		doAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			inFlight.decrementAndGet();
+			return null;
+		}).when(appDeployer).undeploy(any());
+		ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+		ReleaseAppUndeployer undeployer = new ReleaseAppUndeployer(2, publisher);
+
+		ReleaseAppUndeployer.UndeployResult result = undeployer.undeploy(release(), appDeployer, apps(6));
+
+		assertThat(result.hasFailures()).isFalse();
+		assertThat(result.getUndeployed()).containsExactlyInAnyOrder("app0", "app1", "app2", "app3", "app4", "app5");
+		assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+		verify(appDeployer, times(6)).undeploy(any());
+		verify(publisher, times(6)).publishEvent(any(AppUndeployedEvent.class));
+	}
+
+	@Test
+	public void aggregatesFailuresAfterAttemptingAllApps() {
+		AppDeployer appDeployer = mock(AppDeployer.class);
+		doThrow(new IllegalStateException("boom1")).when(appDeployer).undeploy("app1-id");
+		doThrow(new IllegalStateException("boom3")).when(appDeployer).undeploy("app3-id");
+		ReleaseAppUndeployer undeployer = new ReleaseAppUndeployer(4, null);
+
+		ReleaseAppUndeployer.UndeployResult result = undeployer.undeploy(release(), appDeployer, apps(4));
+
+		verify(appDeployer, times(4)).undeploy(any());
+		assertThat(result.getUndeployed()).containsExactlyInAnyOrder("app0", "app2");
+		assertThat(result.getFailures()).containsOnlyKeys("app1", "app3");
+		assertThatThrownBy(result::throwIfFailed).isInstanceOf(SkipperException.class)
+				.hasMessageContaining("Could not undeploy 2 of 4 applications of release test-v1")
+				.hasMessageContaining("boom1")
+				.hasMessageContaining("boom3");
+	}
+
+	private static Release release() {
+		Release release = new Release();
+		release.setName("test");
+		release.setVersion(1);
+		release.setPlatformName("default");
+		return release;
+	}
+
+	private static Map<String, String> apps(int count) {
+		Map<String, String> apps = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			apps.put("app" + i, "app" + i + "-id");
+		}
+		return apps;
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppScaleRequest;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationSpec;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link CanaryUpgradeStrategy}.
+ */
+public class CanaryUpgradeStrategyTests {
+
+	private final AppDeployer appDeployer = mock(AppDeployer.class);
+
+	private final DeployAppStep deployAppStep = mock(DeployAppStep.class);
+
+	private final HandleHealthCheckStep handleHealthCheckStep = mock(HandleHealthCheckStep.class);
+
+	private final AppDeployerDataRepository appDeployerDataRepository = mock(AppDeployerDataRepository.class);
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final Release existingRelease = release(1);
+
+	private final Release replacingRelease = release(2);
+
+	// latest app deployer data saved by release version
+	private final Map<Integer, AppDeployerData> appDeployerData = new HashMap<>();
+
+	private CanaryUpgradeStrategy strategy;
+
+	@Before
+	public void setup() {
+		DeployerRepository deployerRepository = mock(DeployerRepository.class);
+		when(deployerRepository.findByNameRequired("default"))
+				.thenReturn(new Deployer("default", "local", this.appDeployer, null));
+		when(this.appDeployerDataRepository.save(any(AppDeployerData.class))).thenAnswer(invocation -> {
+			AppDeployerData data = invocation.getArgument(0);
+			this.appDeployerData.put(data.getReleaseVersion(), data);
+			return data;
+		});
+		when(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion(eq("test"), anyInt()))
+				.thenAnswer(invocation -> this.appDeployerData.get(invocation.getArgument(1)));
+		when(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersionRequired(eq("test"), anyInt()))
+				.thenAnswer(invocation -> this.appDeployerData.get(invocation.getArgument(1)));
+		AppDeployerData existingAppDeployerData = new AppDeployerData();
+		existingAppDeployerData.setReleaseName("test");
+		existingAppDeployerData.setReleaseVersion(1);
+		existingAppDeployerData.setDeploymentDataUsingMap(deploymentIds(1, "app0", "app1", "other"));
+		this.appDeployerData.put(1, existingAppDeployerData);
+		when(this.deployAppStep.deploy(any(Release.class), any(), anyMap())).thenAnswer(invocation -> {
+			Release release = invocation.getArgument(0);
+			List<String> appNames = invocation.getArgument(1);
+			return deploymentIds(release.getVersion(), appNames.toArray(new String[0]));
+		});
+		SpringCloudDeployerApplicationManifestReader applicationManifestReader = mock(
+				SpringCloudDeployerApplicationManifestReader.class);
+		// the existing release runs three instances of app0, the replacing release four
+		doAnswer(invocation -> Arrays.asList(
+				manifest("app0", "manifest-v1".equals(invocation.getArgument(0)) ? "3" : "4"),
+				manifest("app1", null))).when(applicationManifestReader).read(any());
+		SkipperServerProperties.CanaryUpgrade properties = new SkipperServerProperties.CanaryUpgrade();
+		properties.setObservationWindow(Duration.ofSeconds(30));
+		this.strategy = new CanaryUpgradeStrategy(this.deployAppStep, mock(HealthCheckStep.class),
+				this.handleHealthCheckStep, new ReleaseAppUndeployer(4, null), this.appDeployerDataRepository,
+				this.releaseRepository, deployerRepository, applicationManifestReader, properties);
+	}
+
+	@Test
+	public void deploysCanariesOnly() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+
+		verify(this.deployAppStep).deploy(this.replacingRelease, Arrays.asList("app0", "app1"),
+				Collections.singletonMap("spring.cloud.deployer.count", "1"));
+		assertThat(scaleRequests()).isEmpty();
+		assertThat(this.appDeployerData.get(2).getDeploymentDataAsMap())
+				.containsAllEntriesOf(deploymentIds(2, "app0", "app1")).containsEntry("other", "other-v1");
+		// only the canaries are observed
+		assertThat(this.strategy.getObservationWindow(0)).isEqualTo(30000);
+		assertThat(this.strategy.getObservationWindow(1)).isZero();
+		assertThat(this.strategy.hasFailed(this.replacingRelease)).isFalse();
+	}
+
+	@Test
+	public void scalesNewAppsUpAndExistingAppsDownPerStep() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+
+		assertThat(deployNextStage(0)).isTrue();
+		assertThat(scaleRequests()).containsExactly("app0-v2=2", "app1-v2=1");
+		assertThat(deployNextStage(1)).isTrue();
+		assertThat(scaleRequests()).containsExactly("app0-v2=2", "app1-v2=1", "app0-v1=1", "app0-v2=4",
+				"app1-v2=1");
+
+		// the last instances of the old apps are left for the upgrade to be accepted
+		assertThat(deployNextStage(2)).isFalse();
+		verify(this.appDeployer, never()).undeploy(any());
+		this.strategy.accept(this.existingRelease, this.replacingRelease, report(), false);
+		verify(this.handleHealthCheckStep).handleHealthCheck(true, this.existingRelease,
+				Arrays.asList("app0", "app1"), this.replacingRelease, null, false, false);
+	}
+
+	@Test
+	public void scalesExistingAppsBackWhenStepFails() {
+		doThrow(new IllegalStateException("boom")).when(this.appDeployer)
+				.scale(argThat(request -> request.getCount() == 4));
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+		deployNextStage(0);
+
+		assertThat(deployNextStage(1)).isTrue();
+
+		assertThat(scaleRequests()).containsExactly("app0-v2=2", "app1-v2=1", "app0-v1=1", "app0-v2=4",
+				"app0-v1=3", "app1-v1=1");
+		verify(this.appDeployer).undeploy("app0-v2");
+		verify(this.appDeployer).undeploy("app1-v2");
+		verify(this.appDeployer, never()).undeploy("app0-v1");
+		assertThat(this.strategy.hasFailed(this.replacingRelease)).isTrue();
+		assertThat(this.replacingRelease.getInfo().getStatus().getStatusCode()).isEqualTo(StatusCode.FAILED);
+		assertThat(this.replacingRelease.getInfo().getDescription()).contains("boom");
+	}
+
+	@Test
+	public void cancelScalesExistingAppsBackAndDeletesCanaries() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+		deployNextStage(0);
+		deployNextStage(1);
+
+		this.strategy.cancel(this.existingRelease, this.replacingRelease, report(), 50L, true, false);
+
+		assertThat(scaleRequests()).endsWith("app0-v1=3", "app1-v1=1");
+		verify(this.appDeployer).undeploy("app0-v2");
+		verify(this.appDeployer).undeploy("app1-v2");
+		verify(this.appDeployer, never()).undeploy("other-v1");
+		verify(this.handleHealthCheckStep).handleHealthCheck(false, this.existingRelease, Collections.emptyList(),
+				this.replacingRelease, 50L, true, false);
+	}
+
+	@Test
+	public void keepsNewAppWhenExistingOneCannotBeScaledBack() {
+		doThrow(new IllegalStateException("boom")).when(this.appDeployer)
+				.scale(argThat(request -> "app0-v1".equals(request.getDeploymentId()) && request.getCount() == 3));
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+		deployNextStage(0);
+		deployNextStage(1);
+
+		this.strategy.cancel(this.existingRelease, this.replacingRelease, report(), 50L, true, false);
+
+		verify(this.appDeployer).undeploy("app1-v2");
+		verify(this.appDeployer, never()).undeploy("app0-v2");
+	}
+
+	private boolean deployNextStage(int stage) {
+		return this.strategy.deployNextStage(this.existingRelease, this.replacingRelease, report(),
+				new UpgradeRequest(), stage);
+	}
+
+	private List<String> scaleRequests() {
+		ArgumentCaptor<AppScaleRequest> requests = ArgumentCaptor.forClass(AppScaleRequest.class);
+		verify(this.appDeployer, atLeast(0)).scale(requests.capture());
+		return requests.getAllValues().stream().map(r -> r.getDeploymentId() + "=" + r.getCount())
+				.collect(Collectors.toList());
+	}
+
+	private ReleaseAnalysisReport report() {
+		return new ReleaseAnalysisReport(Arrays.asList("app0", "app1"), new ReleaseDifference(),
+				this.existingRelease, this.replacingRelease);
+	}
+
+	private static SpringCloudDeployerApplicationManifest manifest(String appName, String count) {
+		SpringCloudDeployerApplicationSpec spec = new SpringCloudDeployerApplicationSpec();
+		if (count != null) {
+			spec.setDeploymentProperties(Collections.singletonMap("spring.cloud.deployer.count", count));
+		}
+		SpringCloudDeployerApplicationManifest manifest = new SpringCloudDeployerApplicationManifest();
+		manifest.setMetadata(Collections.singletonMap("name", appName));
+		manifest.setSpec(spec);
+		return manifest;
+	}
+
+	private static Map<String, String> deploymentIds(int version, String... appNames) {
+		Map<String, String> deploymentIds = new LinkedHashMap<>();
+		for (String appName : appNames) {
+			deploymentIds.put(appName, appName + "-v" + version);
+		}
+		return deploymentIds;
+	}
+
+	private static Release release(int version) {
+		Release release = new Release();
+		release.setName("test");
+		release.setVersion(version);
+		release.setPlatformName("default");
+		release.setInfo(Info.createNewInfo("test"));
+		Manifest manifest = new Manifest();
+		manifest.setData("manifest-v" + version);
+		release.setManifest(manifest);
+		return release;
+	}
+}
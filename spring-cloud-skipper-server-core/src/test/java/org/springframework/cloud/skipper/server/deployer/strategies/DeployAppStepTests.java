@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifest;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.deployer.AppDeploymentRequestFactory;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DeployAppStep}.
+ */
+public class DeployAppStepTests {
+
+	private final AppDeployer appDeployer = mock(AppDeployer.class);
+
+	private final AppDeploymentRequestFactory appDeploymentRequestFactory = mock(AppDeploymentRequestFactory.class);
+
+	private final AppDeployerDataRepository appDeployerDataRepository = mock(AppDeployerDataRepository.class);
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final SpringCloudDeployerApplicationManifestReader applicationManifestReader = mock(
+			SpringCloudDeployerApplicationManifestReader.class);
+
+	private DeployAppStep deployAppStep;
+
+	@Before
+	public void setup() {
+		DeployerRepository deployerRepository = mock(DeployerRepository.class);
+		when(deployerRepository.findByNameRequired("default"))
+				.thenReturn(new Deployer("default", "local", this.appDeployer, null));
+		List<SpringCloudDeployerApplicationManifest> manifests = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			SpringCloudDeployerApplicationManifest manifest = new SpringCloudDeployerApplicationManifest();
+			manifest.setMetadata(Collections.singletonMap("name", "app" + i));
+			manifests.add(manifest);
+		}
+		doAnswer(invocation -> manifests).when(this.applicationManifestReader).read(any());
+		when(this.appDeploymentRequestFactory.createAppDeploymentRequest(any(), any(), any()))
+				.thenAnswer(invocation -> {
+					SpringCloudDeployerApplicationManifest manifest = invocation.getArgument(0);
+					AppDeploymentRequest request = mock(AppDeploymentRequest.class);
+					when(request.getCommandlineArguments())
+							.thenReturn(Collections.singletonList(manifest.getApplicationName()));
+					return request;
+				});
+		AppDeployerData existing = new AppDeployerData();
+		existing.setDeploymentDataUsingMap(Collections.singletonMap("other", "other-v1"));
+		when(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersionRequired("test", 1))
+				.thenReturn(existing);
+		this.deployAppStep = new DeployAppStep(deployerRepository, this.appDeploymentRequestFactory,
+				this.appDeployerDataRepository, this.releaseRepository, this.applicationManifestReader, 2);
+	}
+
+	@Test
+	public void deploysAppsConcurrentlyWithinLimit() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		when(this.appDeployer.deploy(any())).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			inFlight.decrementAndGet();
+			return deploymentId(invocation.getArgument(0));
+		});
+
+		Release existingRelease = release(1);
+		Release replacingRelease = release(2);
+
+		List<String> upgraded = this.deployAppStep.deployApps(existingRelease, replacingRelease,
+				report(existingRelease, replacingRelease, "app0", "app1", "app2", "app3"));
+
+		assertThat(upgraded).containsExactly("app0", "app1", "app2", "app3");
+		assertThat(maxInFlight.get()).isBetween(1, 2);
+		verify(this.appDeployer, times(4)).deploy(any());
+		ArgumentCaptor<AppDeployerData> data = ArgumentCaptor.forClass(AppDeployerData.class);
+		verify(this.appDeployerDataRepository).save(data.capture());
+		assertThat(data.getValue().getDeploymentDataAsMap()).containsOnlyKeys("app0", "app1", "app2", "app3",
+				"other");
+		assertThat(data.getValue().getDeploymentDataAsMap()).containsEntry("app2", "app2-v2");
+		verify(this.appDeployer, never()).undeploy(anyString());
+	}
+
+	@Test
+	public void undeploysStartedAppsWhenAnAppFails() {
+		when(this.appDeployer.deploy(any())).thenAnswer(invocation -> {
+			String deploymentId = deploymentId(invocation.getArgument(0));
+			if (deploymentId.startsWith("app1")) {
+				throw new IllegalStateException("boom");
+			}
+			return deploymentId;
+		});
+		Release existingRelease = release(1);
+		Release replacingRelease = release(2);
+
+		this.deployAppStep.deployApps(existingRelease, replacingRelease,
+				report(existingRelease, replacingRelease, "app0", "app1", "app2"));
+
+		verify(this.appDeployer).undeploy("app0-v2");
+		verify(this.appDeployer).undeploy("app2-v2");
+		verify(this.appDeployer, never()).undeploy("app1-v2");
+		verify(this.appDeployer, never()).undeploy("other-v1");
+		verify(this.appDeployerDataRepository, never()).save(any(AppDeployerData.class));
+		verify(this.releaseRepository).save(eq(replacingRelease));
+		assertThat(replacingRelease.getInfo().getStatus().getStatusCode()).isEqualTo(StatusCode.FAILED);
+	}
+
+	private static String deploymentId(AppDeploymentRequest request) {
+		return request.getCommandlineArguments().get(0) + "-v2";
+	}
+
+	private static ReleaseAnalysisReport report(Release existingRelease, Release replacingRelease,
+			String... appNames) {
+		return new ReleaseAnalysisReport(Arrays.asList(appNames), new ReleaseDifference(), existingRelease,
+				replacingRelease);
+	}
+
+	private static Release release(int version) {
+		Release release = new Release();
+		release.setName("test");
+		release.setVersion(version);
+		release.setPlatformName("default");
+		release.setInfo(Info.createNewInfo("test"));
+		Manifest manifest = new Manifest();
+		manifest.setData("manifest");
+		release.setManifest(manifest);
+		return release;
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.deployer.strategies;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAppUndeployer;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RollingUpgradeStrategy}.
+ */
+public class RollingUpgradeStrategyTests {
+
+	private final AppDeployer appDeployer = mock(AppDeployer.class);
+
+	private final DeployAppStep deployAppStep = mock(DeployAppStep.class);
+
+	private final HealthCheckStep healthCheckStep = mock(HealthCheckStep.class);
+
+	private final HandleHealthCheckStep handleHealthCheckStep = mock(HandleHealthCheckStep.class);
+
+	private final AppDeployerDataRepository appDeployerDataRepository = mock(AppDeployerDataRepository.class);
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final Release existingRelease = release(1);
+
+	private final Release replacingRelease = release(2);
+
+	// latest app deployer data saved by release version
+	private final Map<Integer, AppDeployerData> appDeployerData = new HashMap<>();
+
+	private RollingUpgradeStrategy strategy;
+
+	@Before
+	public void setup() {
+		DeployerRepository deployerRepository = mock(DeployerRepository.class);
+		when(deployerRepository.findByNameRequired("default"))
+				.thenReturn(new Deployer("default", "local", this.appDeployer, null));
+		when(this.appDeployerDataRepository.save(any(AppDeployerData.class))).thenAnswer(invocation -> {
+			AppDeployerData data = invocation.getArgument(0);
+			this.appDeployerData.put(data.getReleaseVersion(), data);
+			return data;
+		});
+		when(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion(eq("test"), anyInt()))
+				.thenAnswer(invocation -> this.appDeployerData.get(invocation.getArgument(1)));
+		when(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersionRequired(eq("test"), anyInt()))
+				.thenAnswer(invocation -> this.appDeployerData.get(invocation.getArgument(1)));
+		AppDeployerData existingAppDeployerData = new AppDeployerData();
+		existingAppDeployerData.setReleaseName("test");
+		existingAppDeployerData.setReleaseVersion(1);
+		existingAppDeployerData.setDeploymentDataUsingMap(deploymentIds(1, "app0", "app1", "app2", "other"));
+		this.appDeployerData.put(1, existingAppDeployerData);
+		when(this.deployAppStep.deploy(any(Release.class), any())).thenAnswer(invocation -> {
+			Release release = invocation.getArgument(0);
+			List<String> appNames = invocation.getArgument(1);
+			return deploymentIds(release.getVersion(), appNames.toArray(new String[0]));
+		});
+		this.strategy = new RollingUpgradeStrategy(this.deployAppStep, this.healthCheckStep,
+				this.handleHealthCheckStep, new ReleaseAppUndeployer(4, null), this.appDeployerDataRepository,
+				this.releaseRepository, deployerRepository, 2);
+	}
+
+	@Test
+	public void deploysFirstBatchOnly() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+
+		verify(this.deployAppStep).deploy(this.replacingRelease, Arrays.asList("app0", "app1"));
+		verify(this.appDeployer, never()).undeploy(any());
+		assertThat(this.appDeployerData.get(2).getDeploymentDataAsMap())
+				.containsAllEntriesOf(deploymentIds(2, "app0", "app1"))
+				.containsAllEntriesOf(deploymentIds(1, "app2", "other"));
+		assertThat(this.strategy.hasFailed(this.replacingRelease)).isFalse();
+	}
+
+	@Test
+	public void replacesBatchWhenDeployingNextOne() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+
+		assertThat(deployNextStage(new UpgradeRequest(), 0)).isTrue();
+
+		verify(this.appDeployer).undeploy("app0-v1");
+		verify(this.appDeployer).undeploy("app1-v1");
+		verify(this.deployAppStep).deploy(this.replacingRelease, Collections.singletonList("app2"));
+		assertThat(this.appDeployerData.get(1).getDeploymentDataAsMap())
+				.isEqualTo(deploymentIds(1, "app2", "other"));
+		assertThat(this.appDeployerData.get(2).getDeploymentDataAsMap())
+				.containsAllEntriesOf(deploymentIds(2, "app0", "app1", "app2"))
+				.containsEntry("other", "other-v1");
+
+		// the old apps of the last batch are left for the upgrade to be accepted
+		assertThat(deployNextStage(new UpgradeRequest(), 1)).isFalse();
+		verify(this.appDeployer, never()).undeploy("app2-v1");
+		this.strategy.accept(this.existingRelease, this.replacingRelease, report(), false);
+		verify(this.handleHealthCheckStep).handleHealthCheck(true, this.existingRelease,
+				Arrays.asList("app0", "app1", "app2"), this.replacingRelease, null, false, false);
+	}
+
+	@Test
+	public void maxSurgeCanBeSetByRequest() {
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setMaxSurge(1);
+
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), upgradeRequest);
+
+		assertThat(deployNextStage(upgradeRequest, 0)).isTrue();
+		assertThat(deployNextStage(upgradeRequest, 1)).isTrue();
+		assertThat(deployNextStage(upgradeRequest, 2)).isFalse();
+		verify(this.deployAppStep, times(3)).deploy(eq(this.replacingRelease), any());
+	}
+
+	@Test
+	public void restoresReplacedAppsWhenCancelled() {
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+		deployNextStage(new UpgradeRequest(), 0);
+
+		this.strategy.cancel(this.existingRelease, this.replacingRelease, report(), 50L, true, false);
+
+		// replaced apps deployed again, the old app of the current batch is still running
+		verify(this.deployAppStep).deploy(this.existingRelease, Arrays.asList("app0", "app1"));
+		verify(this.appDeployer).undeploy("app0-v2");
+		verify(this.appDeployer).undeploy("app1-v2");
+		verify(this.appDeployer).undeploy("app2-v2");
+		verify(this.appDeployer, never()).undeploy("app2-v1");
+		assertThat(this.appDeployerData.get(1).getDeploymentDataAsMap())
+				.isEqualTo(deploymentIds(1, "app2", "other", "app0", "app1"));
+		verify(this.handleHealthCheckStep).handleHealthCheck(false, this.existingRelease, Collections.emptyList(),
+				this.replacingRelease, 50L, true, false);
+	}
+
+	@Test
+	public void restoresReplacedAppsWhenBatchFailsToDeploy() {
+		when(this.deployAppStep.deploy(this.replacingRelease, Collections.singletonList("app2")))
+				.thenThrow(new SkipperException("boom"));
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+
+		assertThat(deployNextStage(new UpgradeRequest(), 0)).isTrue();
+
+		verify(this.deployAppStep).deploy(this.existingRelease, Arrays.asList("app0", "app1"));
+		verify(this.appDeployer).undeploy("app0-v2");
+		verify(this.appDeployer).undeploy("app1-v2");
+		assertThat(this.strategy.hasFailed(this.replacingRelease)).isTrue();
+		assertThat(this.strategy.checkStatus(this.replacingRelease)).isFalse();
+		verify(this.releaseRepository).save(this.replacingRelease);
+		assertThat(this.replacingRelease.getInfo().getStatus().getStatusCode()).isEqualTo(StatusCode.FAILED);
+		assertThat(this.replacingRelease.getInfo().getDescription()).contains("boom");
+		assertThat(this.appDeployerData.get(1).getDeploymentDataAsMap())
+				.isEqualTo(deploymentIds(1, "app2", "other", "app0", "app1"));
+
+		this.strategy.cancel(this.existingRelease, this.replacingRelease, report(), 50L, false, false);
+		verify(this.handleHealthCheckStep, never()).handleHealthCheck(anyBoolean(), any(), any(), any(), any(),
+				anyBoolean(), anyBoolean());
+	}
+
+	@Test
+	public void keepsUpgradedAppsWhenReplacedOnesCannotBeRestored() {
+		when(this.deployAppStep.deploy(this.existingRelease, Arrays.asList("app0", "app1")))
+				.thenThrow(new SkipperException("restore"));
+		this.strategy.deployApps(this.existingRelease, this.replacingRelease, report(), new UpgradeRequest());
+		deployNextStage(new UpgradeRequest(), 0);
+
+		this.strategy.cancel(this.existingRelease, this.replacingRelease, report(), 50L, true, false);
+
+		verify(this.appDeployer).undeploy("app2-v2");
+		verify(this.appDeployer, never()).undeploy("app0-v2");
+		verify(this.appDeployer, never()).undeploy("app1-v2");
+	}
+
+	private boolean deployNextStage(UpgradeRequest upgradeRequest, int stage) {
+		return this.strategy.deployNextStage(this.existingRelease, this.replacingRelease, report(), upgradeRequest,
+				stage);
+	}
+
+	private ReleaseAnalysisReport report() {
+		return new ReleaseAnalysisReport(Arrays.asList("app0", "app1", "app2"), new ReleaseDifference(),
+				this.existingRelease, this.replacingRelease);
+	}
+
+	private static Map<String, String> deploymentIds(int version, String... appNames) {
+		Map<String, String> deploymentIds = new LinkedHashMap<>();
+		for (String appName : appNames) {
+			deploymentIds.put(appName, appName + "-v" + version);
+		}
+		return deploymentIds;
+	}
+
+	private static Release release(int version) {
+		Release release = new Release();
+		release.setName("test");
+		release.setVersion(version);
+		release.setPlatformName("default");
+		release.setInfo(Info.createNewInfo("test"));
+		return release;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link AppDeployerData}.
+ */
+public class AppDeployerDataTests {
+
+	@Test
+	public void storesDeploymentsAsRows() {
+		Map<String, String> deployments = new LinkedHashMap<>();
+		deployments.put("log", "r1-log-v1");
+		deployments.put("time", "r1-time-v1");
+		AppDeployerData appDeployerData = new AppDeployerData();
+		appDeployerData.setDeploymentDataUsingMap(deployments);
+		appDeployerData.setReleaseName("r1");
+		appDeployerData.setReleaseVersion(1);
+
+		assertThat(appDeployerData.getDeploymentDataAsMap()).containsExactly(
+				entry("log", "r1-log-v1"), entry("time", "r1-time-v1"));
+		assertThat(appDeployerData.getDeploymentIds()).containsExactly("r1-log-v1", "r1-time-v1");
+		assertThat(appDeployerData.getDeploymentDataAsMap()).isSameAs(appDeployerData.getDeploymentDataAsMap());
+		assertThatThrownBy(() -> appDeployerData.getDeploymentDataAsMap().put("foo", "bar"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThat(appDeployerData.getDeploymentData())
+				.isEqualTo("{\"log\":\"r1-log-v1\",\"time\":\"r1-time-v1\"}");
+	}
+
+	@Test
+	public void readsLegacyJsonDeploymentData() {
+		AppDeployerData appDeployerData = new AppDeployerData();
+		// as loaded from a row written before deployments were normalized
+		ReflectionTestUtils.setField(appDeployerData, "deploymentData", "{\"log\":\"r1-log-v1\"}");
+
+		assertThat(appDeployerData.getDeploymentDataAsMap()).containsExactly(entry("log", "r1-log-v1"));
+		assertThat(new AppDeployerData().getDeploymentIds()).isEmpty();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.repository;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.skipper.server.AbstractIntegrationTest;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@ActiveProfiles("repo-test")
+@Transactional
+public class AppDeployerDataRepositoryTests extends AbstractIntegrationTest {
+
+	@Autowired
+	private AppDeployerDataRepository appDeployerDataRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	public void verifyLookupIsCachedUntilSaved() {
+		AppDeployerData appDeployerData = new AppDeployerData();
+		appDeployerData.setReleaseName("cached");
+		appDeployerData.setReleaseVersion(1);
+		appDeployerData.setDeploymentDataUsingMap(Collections.singletonMap("log", "cached-log-v1"));
+		this.appDeployerDataRepository.save(appDeployerData);
+		this.entityManager.flush();
+		this.entityManager.clear();
+
+		AppDeployerData found = this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 1);
+		assertThat(found.getDeploymentDataAsMap()).containsExactly(entry("log", "cached-log-v1"));
+		AppDeployerData foundAgain = this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 1);
+		assertThat(foundAgain).isNotSameAs(found);
+		assertThat(foundAgain.getDeploymentDataAsMap()).containsExactly(entry("log", "cached-log-v1"));
+
+		// changing a looked up instance doesn't change the cached one
+		found.setDeploymentDataUsingMap(Collections.singletonMap("log", "changed"));
+		assertThat(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 1)
+				.getDeploymentDataAsMap()).containsExactly(entry("log", "cached-log-v1"));
+
+		AppDeployerData replacing = new AppDeployerData();
+		replacing.setReleaseName("cached");
+		replacing.setReleaseVersion(1);
+		replacing.setDeploymentDataUsingMap(Collections.singletonMap("log", "cached-log-v2"));
+		this.appDeployerDataRepository.save(replacing);
+		this.entityManager.flush();
+
+		assertThat(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 1)
+				.getDeploymentDataAsMap()).containsExactly(entry("log", "cached-log-v2"));
+		assertThat(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 2)).isNull();
+
+		this.appDeployerDataRepository.delete(this.appDeployerDataRepository
+				.findByReleaseNameAndReleaseVersion("cached", 1));
+		this.appDeployerDataRepository.delete(found);
+		this.entityManager.flush();
+		assertThat(this.appDeployerDataRepository.findByReleaseNameAndReleaseVersion("cached", 1)).isNull();
+	}
+}
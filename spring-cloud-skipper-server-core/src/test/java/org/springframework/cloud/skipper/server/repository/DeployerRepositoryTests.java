@@ -24,6 +24,7 @@ import org.springframework.cloud.deployer.spi.local.LocalAppDeployer;
 import org.springframework.cloud.deployer.spi.local.LocalDeployerProperties;
 import org.springframework.cloud.skipper.domain.Deployer;
 import org.springframework.cloud.skipper.server.AbstractIntegrationTest;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
 import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
@@ -40,6 +41,9 @@ public class DeployerRepositoryTests extends AbstractIntegrationTest {
 	@Autowired
 	private DeployerRepository deployerRepository;
 
+	@Autowired
+	private DeployerRegistry deployerRegistry;
+
 	@Test
 	public void basicCrud() {
 		LocalDeployerProperties properties = new LocalDeployerProperties();
@@ -59,4 +63,29 @@ public class DeployerRepositoryTests extends AbstractIntegrationTest {
 		assertThat(deployerRepository.findByName("default").getDescription()).isNotNull();
 		assertThat(deployerRepository.findByName("default").getActuatorOperations()).isNotNull();
 	}
+
+	@Test
+	public void findByNameRequiredUsesRegistry() {
+		assertThat(this.deployerRegistry.find("default")).isNotNull();
+		assertThat(this.deployerRegistry.find("default").getAppDeployer()).isInstanceOf(LocalAppDeployer.class);
+		assertThat(this.deployerRepository.findByNameRequired("default"))
+				.isSameAs(this.deployerRegistry.find("default"));
+	}
+
+	@Test
+	public void registryFollowsRepositoryChanges() {
+		LocalAppDeployer localAppDeployer = new LocalAppDeployer(new LocalDeployerProperties());
+		Deployer deployer = new Deployer("registeredDeployer", "local", localAppDeployer, null);
+		this.deployerRepository.save(deployer);
+		assertThat(this.deployerRegistry.find("registeredDeployer")).isSameAs(deployer);
+
+		Deployer redefined = new Deployer("registeredDeployer", "local", localAppDeployer, null);
+		redefined.setId(deployer.getId());
+		redefined.setDescription("Redefined local Deployer.");
+		this.deployerRepository.save(redefined);
+		assertThat(this.deployerRegistry.find("registeredDeployer")).isSameAs(redefined);
+
+		this.deployerRepository.delete(redefined);
+		assertThat(this.deployerRegistry.find("registeredDeployer")).isNull();
+	}
 }
@@ -15,17 +15,28 @@
  */
 package org.springframework.cloud.skipper.server.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
 
 import org.junit.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
 import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.ConfigValues;
 import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Manifest;
 import org.springframework.cloud.skipper.domain.Package;
 import org.springframework.cloud.skipper.domain.PackageMetadata;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.Status;
 import org.springframework.cloud.skipper.domain.StatusCode;
 import org.springframework.cloud.skipper.server.AbstractIntegrationTest;
@@ -34,7 +45,10 @@ import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository
 import org.springframework.cloud.skipper.server.repository.jpa.RepositoryRepository;
 import org.springframework.cloud.skipper.server.service.PackageMetadataService;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Java6Assertions.fail;
@@ -63,6 +77,12 @@ public class ReleaseRepositoryTests extends AbstractIntegrationTest {
 	@Autowired
 	private RepositoryRepository repositoryRepository;
 
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
 	@Test
 	public void verifyFindByMethods() {
 		PackageMetadata packageMetadata1 = new PackageMetadata();
@@ -551,4 +571,147 @@ public class ReleaseRepositoryTests extends AbstractIntegrationTest {
 					String.format("Release with the name [%s] and version [%s] doesn't exist", releaseName, version)));
 		}
 	}
+
+	@Test
+	public void verifyIdenticalContentIsStoredOnce() {
+		PackageMetadata packageMetadata = new PackageMetadata();
+		packageMetadata.setApiVersion("skipper.spring.io/v1");
+		packageMetadata.setKind("SpringCloudDeployerApplication");
+		packageMetadata.setRepositoryId(LOCAL_REPO);
+		packageMetadata.setRepositoryName("local");
+		packageMetadata.setName("dedup");
+		packageMetadata.setVersion("1.0.0");
+		this.packageMetadataRepository.save(packageMetadata);
+		Package pkg = new Package();
+		pkg.setMetadata(packageMetadata);
+		ConfigValues configValues = new ConfigValues();
+		configValues.setRaw("foo: bar");
+
+		long blobsBefore = countContentBlobs();
+		for (int version = 1; version <= 3; version++) {
+			Manifest manifest = new Manifest();
+			manifest.setData("kind: SpringCloudDeployerApplication");
+			Release release = new Release();
+			release.setName("dedup");
+			release.setVersion(version);
+			release.setPlatformName("default");
+			release.setPkg(pkg);
+			release.setConfigValues(configValues);
+			release.setManifest(manifest);
+			release.setInfo(createDeployedInfo());
+			this.releaseRepository.save(release);
+		}
+		this.entityManager.flush();
+		this.entityManager.clear();
+
+		assertThat(countContentBlobs() - blobsBefore).isEqualTo(3L);
+		Release loaded = this.releaseRepository.findByNameAndVersion("dedup", 2);
+		assertThat(loaded.getPkg().getMetadata().getName()).isEqualTo("dedup");
+		assertThat(loaded.getConfigValues().getRaw()).isEqualTo("foo: bar");
+		assertThat(loaded.getManifest().getData()).isEqualTo("kind: SpringCloudDeployerApplication");
+	}
+
+	@Test
+	public void verifyVersionSummaries() {
+		Date firstDeployed = new Date(1000L);
+		Date lastDeployed = new Date(2000L);
+		PackageMetadata packageMetadata = new PackageMetadata();
+		packageMetadata.setApiVersion("skipper.spring.io/v1");
+		packageMetadata.setKind("SpringCloudDeployerApplication");
+		packageMetadata.setName("summarized");
+		packageMetadata.setVersion("1.0.0");
+		Package pkg = new Package();
+		pkg.setMetadata(packageMetadata);
+		for (int version = 1; version <= 2; version++) {
+			Info info = version == 1 ? createFailedInfo() : createDeployedInfo();
+			info.setFirstDeployed(firstDeployed);
+			info.setLastDeployed(version == 1 ? null : lastDeployed);
+			Manifest manifest = new Manifest();
+			manifest.setData("kind: SpringCloudDeployerApplication");
+			Release release = new Release();
+			release.setName("summarized");
+			release.setVersion(version);
+			release.setPlatformName("default");
+			release.setPkg(pkg);
+			release.setManifest(manifest);
+			release.setInfo(info);
+			this.releaseRepository.save(release);
+		}
+
+		List<ReleaseSummary> summaries = this.releaseRepository.findVersionSummaries("summarized");
+
+		assertThat(summaries).extracting(ReleaseSummary::getVersion).containsExactly(2, 1);
+		assertThat(summaries).extracting(ReleaseSummary::getStatusCode)
+				.containsExactly(StatusCode.DEPLOYED, StatusCode.FAILED);
+		assertThat(summaries.get(0).getLastDeployed()).hasSameTimeAs(lastDeployed);
+		assertThat(summaries.get(1).getLastDeployed()).hasSameTimeAs(firstDeployed);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void verifyConcurrentSavesOfIdenticalContent() throws Exception {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		CountDownLatch firstSaved = new CountDownLatch(1);
+		CountDownLatch secondSaving = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// The first transaction stays open while the second one saves the same content,
+			// the second one waits for the first one to commit and then references its blobs
+			Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				this.releaseRepository.save(createConcurrentRelease(1));
+				this.entityManager.flush();
+				firstSaved.countDown();
+				try {
+					secondSaving.await(10, TimeUnit.SECONDS);
+					Thread.sleep(200);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			assertThat(firstSaved.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				secondSaving.countDown();
+				this.releaseRepository.save(createConcurrentRelease(2));
+			}));
+			first.get(10, TimeUnit.SECONDS);
+			second.get(10, TimeUnit.SECONDS);
+
+			List<Release> releases = this.releaseRepository.findByNameOrderByVersionDesc("concurrent");
+			assertThat(releases).hasSize(2);
+			assertThat(releases.get(1).getManifest().getData()).isEqualTo("kind: SpringCloudDeployerApplication");
+		}
+		finally {
+			executor.shutdownNow();
+			transactionTemplate.executeWithoutResult(status -> this.releaseRepository
+					.deleteAll(this.releaseRepository.findByNameOrderByVersionDesc("concurrent")));
+		}
+	}
+
+	private Release createConcurrentRelease(int version) {
+		PackageMetadata packageMetadata = new PackageMetadata();
+		packageMetadata.setApiVersion("skipper.spring.io/v1");
+		packageMetadata.setKind("SpringCloudDeployerApplication");
+		packageMetadata.setName("concurrent");
+		packageMetadata.setVersion("1.0.0");
+		Package pkg = new Package();
+		pkg.setMetadata(packageMetadata);
+		ConfigValues configValues = new ConfigValues();
+		configValues.setRaw("concurrent: true");
+		Manifest manifest = new Manifest();
+		manifest.setData("kind: SpringCloudDeployerApplication");
+		Release release = new Release();
+		release.setName("concurrent");
+		release.setVersion(version);
+		release.setPlatformName("default");
+		release.setPkg(pkg);
+		release.setConfigValues(configValues);
+		release.setManifest(manifest);
+		release.setInfo(createDeployedInfo());
+		return release;
+	}
+
+	private long countContentBlobs() {
+		return this.entityManager.createQuery("select count(b) from ContentBlob b", Long.class).getSingleResult();
+	}
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.ActuatorOperations;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ActuatorService}.
+ */
+public class ActuatorServiceTests {
+
+	private final DeployerRepository deployerRepository = mock(DeployerRepository.class);
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final AppDeployerDataRepository appDeployerDataRepository = mock(AppDeployerDataRepository.class);
+
+	private final ActuatorOperations actuatorOperations = mock(ActuatorOperations.class);
+
+	@Before
+	public void setup() {
+		AppDeployerData appDeployerData = new AppDeployerData();
+		appDeployerData.setDeploymentDataUsingMap(Collections.singletonMap("log", "r1.log-v2"));
+		when(releaseRepository.findLatestVersion("r1")).thenReturn(2);
+		when(releaseRepository.findLatestPlatformName("r1")).thenReturn("default");
+		when(appDeployerDataRepository.findByReleaseNameAndReleaseVersion("r1", 2)).thenReturn(appDeployerData);
+		when(deployerRepository.findByNameRequired("default"))
+				.thenReturn(new Deployer("default", "local", mock(AppDeployer.class), this.actuatorOperations));
+		when(actuatorOperations.getFromActuator(eq("r1.log-v2"), eq("r1.log-v2-0"), eq("info"), eq(String.class),
+				any())).thenReturn("{}");
+	}
+
+	@Test
+	public void resolvesAppFromDeployerData() {
+		ActuatorService actuatorService = new ActuatorService(this.deployerRepository, this.releaseRepository,
+				this.appDeployerDataRepository);
+
+		assertThat(actuatorService.getFromActuator("r1", "r1.log-v2", "r1.log-v2-0", "info", Optional.empty()))
+				.isEqualTo("{}");
+		assertThat(actuatorService.getFromActuator("r1", "r1.log-v2", "r1.log-v2-0", "info", Optional.empty()))
+				.isEqualTo("{}");
+		verify(actuatorOperations, times(2)).getFromActuator(eq("r1.log-v2"), eq("r1.log-v2-0"), eq("info"),
+				eq(String.class), any());
+	}
+
+	@Test
+	public void failsForAppNotInLatestRelease() {
+		ActuatorService actuatorService = new ActuatorService(this.deployerRepository, this.releaseRepository,
+				this.appDeployerDataRepository);
+
+		assertThatThrownBy(() -> actuatorService.getFromActuator("r1", "r1.log-v1", "r1.log-v1-0", "info",
+				Optional.empty())).isInstanceOf(IllegalArgumentException.class)
+						.hasMessage("app r1.log-v1 is not found in release r1");
+		verify(actuatorOperations, never()).getFromActuator(any(), any(), any(), any(), any());
+	}
+
+	@Test
+	public void cachesGetResponses() {
+		ActuatorService actuatorService = new ActuatorService(this.deployerRepository, this.releaseRepository,
+				this.appDeployerDataRepository, Duration.ofSeconds(10), 10);
+
+		actuatorService.getFromActuator("r1", "r1.log-v2", "r1.log-v2-0", "info", Optional.empty());
+		actuatorService.getFromActuator("r1", "r1.log-v2", "r1.log-v2-0", "info", Optional.empty());
+		actuatorService.getFromActuator("r1", "r1.log-v2", "r1.log-v2-0", "info", Optional.of("Bearer token"));
+
+		verify(actuatorOperations, times(2)).getFromActuator(eq("r1.log-v2"), eq("r1.log-v2-0"), eq("info"),
+				eq(String.class), any());
+	}
+}
@@ -25,6 +25,7 @@ import org.springframework.cloud.skipper.server.util.ArgumentSanitizer;
 import org.springframework.cloud.skipper.server.util.LineUtil;
 import org.springframework.util.StreamUtils;
 
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * @author Glenn Renfro
@@ -64,4 +65,30 @@ public class ArgumentSanitizerTests {
 		String result = ArgumentSanitizer.sanitizeYml(initialYaml);
 		LineUtil.assertEqualRemoveCr(result, redactedYaml);
 	}
+
+	@Test
+	public void testSequencesAndAliases() {
+		String yaml = "spring:\n"
+				+ "  datasource:\n"
+				+ "    password: s3cr3t\n"
+				+ "    url: local\n"
+				+ "token:\n"
+				+ "- one\n"
+				+ "- two\n"
+				+ "apps:\n"
+				+ "- name: a\n"
+				+ "  apiKey: xyz\n"
+				+ "base: &pw hunter2\n"
+				+ "secret: *pw\n";
+		assertThat(ArgumentSanitizer.sanitizeYml(yaml)).isEqualTo("spring:\n"
+				+ "  datasource:\n"
+				+ "    password: '******'\n"
+				+ "    url: local\n"
+				+ "token: '******'\n"
+				+ "apps:\n"
+				+ "- name: a\n"
+				+ "  apiKey: '******'\n"
+				+ "base: &pw hunter2\n"
+				+ "secret: '******'\n");
+	}
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.skipper.domain.Deployer;
+import org.springframework.cloud.skipper.server.deployer.DeployerRegistry;
+import org.springframework.cloud.skipper.server.deployer.metadata.DeployerConfigurationMetadataResolver;
+import org.springframework.cloud.skipper.server.repository.map.DeployerRepository;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DeployerInitializationService}.
+ */
+public class DeployerInitializationServiceTests {
+
+	@Test
+	public void refreshesRegistryWhenDeployerChanges() {
+		DeployerRepository repository = mock(DeployerRepository.class);
+		DeployerRegistry registry = new DeployerRegistry();
+		DeployerInitializationService service = new DeployerInitializationService(repository,
+				Collections.emptyList(), mock(DeployerConfigurationMetadataResolver.class), registry);
+		Deployer original = new Deployer("test", "local", mock(AppDeployer.class), null);
+		Deployer redefined = new Deployer("test", "local", mock(AppDeployer.class), null);
+
+		when(repository.findAll()).thenReturn(Collections.singletonList(original));
+		service.onDeployerChanged(KeyValueEvent.afterInsert("1", "deployer", Deployer.class, original));
+		assertThat(registry.find("test")).isSameAs(original);
+
+		when(repository.findAll()).thenReturn(Collections.singletonList(redefined));
+		service.onDeployerChanged(KeyValueEvent.afterUpdate("1", "deployer", Deployer.class, redefined, original));
+		assertThat(registry.find("test")).isSameAs(redefined);
+
+		when(repository.findAll()).thenReturn(Collections.emptyList());
+		service.onDeployerChanged(KeyValueEvent.afterDelete("1", "deployer", Deployer.class, redefined));
+		assertThat(registry.find("test")).isNull();
+	}
+
+	@Test
+	public void ignoresChangesOfOtherKeyspaces() {
+		DeployerRepository repository = mock(DeployerRepository.class);
+		DeployerInitializationService service = new DeployerInitializationService(repository,
+				Collections.emptyList(), mock(DeployerConfigurationMetadataResolver.class), new DeployerRegistry());
+
+		service.onDeployerChanged(KeyValueEvent.afterInsert("1", "other", Object.class, new Object()));
+		verifyNoInteractions(repository);
+	}
+}
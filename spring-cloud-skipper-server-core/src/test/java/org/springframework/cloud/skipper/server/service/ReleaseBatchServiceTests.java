@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.cloud.skipper.domain.DeleteProperties;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseBatchOperation;
+import org.springframework.cloud.skipper.domain.ReleaseBatchRequest;
+import org.springframework.cloud.skipper.domain.ReleaseBatchResult;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ReleaseBatchService}.
+ */
+public class ReleaseBatchServiceTests {
+
+	private final SkipperStateMachineService stateMachineService = mock(SkipperStateMachineService.class);
+
+	private final ReleaseBatchService batchService = new ReleaseBatchService(stateMachineService, 2);
+
+	@After
+	public void cleanup() {
+		this.batchService.destroy();
+	}
+
+	@Test
+	public void executesOperationsOfAllReleases() {
+		when(stateMachineService.upgradeRelease(any())).thenReturn(new Release());
+		when(stateMachineService.deleteRelease(any(), any())).thenReturn(new Release());
+		ReleaseBatchRequest request = new ReleaseBatchRequest(Arrays.asList(
+				ReleaseBatchOperation.upgrade(upgradeRequest("r1")),
+				ReleaseBatchOperation.upgrade(upgradeRequest("r2")),
+				ReleaseBatchOperation.delete("r3", null)));
+
+		List<ReleaseBatchResult> results = this.batchService.execute(request).collectList().block();
+
+		assertThat(results).hasSize(3);
+		assertThat(results).allMatch(ReleaseBatchResult::isSuccess);
+		assertThat(results).extracting(ReleaseBatchResult::getReleaseName).containsExactlyInAnyOrder("r1", "r2", "r3");
+		verify(stateMachineService).deleteRelease(eq("r3"), any(DeleteProperties.class));
+	}
+
+	@Test
+	public void skipsRemainingOperationsOfFailedRelease() {
+		when(stateMachineService.upgradeRelease(any())).thenThrow(new SkipperException("upgrade failed"));
+		ReleaseBatchRequest request = new ReleaseBatchRequest(Arrays.asList(
+				ReleaseBatchOperation.upgrade(upgradeRequest("r1")),
+				ReleaseBatchOperation.delete("r1", null),
+				new ReleaseBatchOperation()));
+
+		List<ReleaseBatchResult> results = this.batchService.execute(request).collectList().block();
+
+		assertThat(results).hasSize(3);
+		assertThat(results).noneMatch(ReleaseBatchResult::isSuccess);
+		assertThat(results).extracting(ReleaseBatchResult::getError).contains("upgrade failed",
+				"Skipped as a previous operation on the release failed",
+				"Operation type and release name must be set");
+		verify(stateMachineService, never()).deleteRelease(any(), any());
+	}
+
+	private static UpgradeRequest upgradeRequest(String releaseName) {
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName(releaseName);
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		return upgradeRequest;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseStatusEvent;
+import org.springframework.cloud.skipper.domain.StatusCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReleaseEventServiceTests {
+
+	private final ReleaseEventService releaseEventService = new ReleaseEventService(2, Duration.ofSeconds(15));
+
+	@Test
+	public void publishesChangesOnly() {
+		CompletableFuture<List<ReleaseStatusEvent>> events = this.releaseEventService.events(null, null, null)
+				.take(3).collectList().toFuture();
+
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DEPLOYED, DeploymentState.deploying));
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DEPLOYED, DeploymentState.deploying));
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+		this.releaseEventService.publish(release("log", 2, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+
+		List<ReleaseStatusEvent> received = events.join();
+		long firstId = received.get(0).getId();
+		assertThat(received).extracting(ReleaseStatusEvent::getId).containsExactly(firstId, firstId + 1, firstId + 2);
+		assertThat(received).extracting(ReleaseStatusEvent::getVersion).containsExactly(1, 1, 2);
+		assertThat(received.get(1).getAppStates()).containsEntry("log-app", DeploymentState.deployed);
+	}
+
+	@Test
+	public void filtersByNameAndPlatform() {
+		CompletableFuture<List<ReleaseStatusEvent>> events = this.releaseEventService.events("ti*", "cf", null)
+				.take(1).collectList().toFuture();
+
+		this.releaseEventService.publish(release("log", 1, "cf", StatusCode.DEPLOYED, DeploymentState.deployed));
+		this.releaseEventService.publish(release("time", 1, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+		this.releaseEventService.publish(release("ticktock", 1, "cf", StatusCode.FAILED, DeploymentState.failed));
+
+		assertThat(events.join()).extracting(ReleaseStatusEvent::getName).containsExactly("ticktock");
+	}
+
+	@Test
+	public void replaysEventsAfterLastEventId() {
+		CompletableFuture<List<ReleaseStatusEvent>> events = this.releaseEventService.events(null, null, null)
+				.take(3).collectList().toFuture();
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DELETED, DeploymentState.undeployed));
+		this.releaseEventService.publish(release("log", 2, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+		long firstId = events.join().get(0).getId();
+
+		// only the last two events are kept
+		List<ReleaseStatusEvent> replayed = this.releaseEventService.events(null, null, firstId)
+				.take(2).collectList().block(Duration.ofSeconds(5));
+		assertThat(replayed).extracting(ReleaseStatusEvent::getId).containsExactly(firstId + 1, firstId + 2);
+
+		replayed = this.releaseEventService.events(null, null, firstId + 1)
+				.take(1).collectList().block(Duration.ofSeconds(5));
+		assertThat(replayed).extracting(ReleaseStatusEvent::getStatusCode).containsExactly(StatusCode.DEPLOYED);
+	}
+
+	@Test
+	public void startsFromNowWithUnknownLastEventId() {
+		this.releaseEventService.publish(release("log", 1, "local", StatusCode.DEPLOYED, DeploymentState.deployed));
+
+		// ids issued before a restart, lower or higher than the ones of this instance
+		for (long lastEventId : new long[] { 1L, Long.MAX_VALUE }) {
+			CompletableFuture<List<ReleaseStatusEvent>> events = this.releaseEventService
+					.events(null, null, lastEventId).take(1).collectList().toFuture();
+			this.releaseEventService.publish(release("log", 1, "local", StatusCode.DELETED,
+					lastEventId == 1L ? DeploymentState.undeployed : DeploymentState.unknown));
+
+			assertThat(events.join()).extracting(ReleaseStatusEvent::getStatusCode)
+					.containsExactly(StatusCode.DELETED);
+		}
+	}
+
+	private static Release release(String name, int version, String platformName, StatusCode statusCode,
+			DeploymentState state) {
+		Release release = new Release();
+		release.setName(name);
+		release.setVersion(version);
+		release.setPlatformName(platformName);
+		Info info = Info.createNewInfo("test");
+		info.getStatus().setStatusCode(statusCode);
+		info.getStatus().setPlatformStatusAsAppStatusList(
+				Collections.singletonList(AppStatus.of(name + "-app").generalState(state).build()));
+		release.setInfo(info);
+		return release;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cloud.skipper.domain.Info;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
+import org.springframework.cloud.skipper.domain.Status;
+import org.springframework.cloud.skipper.domain.StatusCode;
+import org.springframework.cloud.skipper.server.config.SkipperServerProperties;
+import org.springframework.cloud.skipper.server.domain.AppDeployerData;
+import org.springframework.cloud.skipper.server.repository.jpa.AppDeployerDataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ReleaseHistoryPruningService}.
+ */
+public class ReleaseHistoryPruningServiceTests {
+
+	private static final long DAY = Duration.ofDays(1).toMillis();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final AppDeployerDataRepository appDeployerDataRepository = mock(AppDeployerDataRepository.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final SkipperServerProperties.ReleaseHistory properties = new SkipperServerProperties.ReleaseHistory();
+
+	@Test
+	public void keepsLatestAndDeployedVersions() {
+		long now = System.currentTimeMillis();
+		this.properties.setMaxVersionsPerRelease(1);
+		when(releaseRepository.findVersionSummaries("r1")).thenReturn(Arrays.asList(
+				summary(4, StatusCode.FAILED, now),
+				summary(3, StatusCode.DEPLOYED, now),
+				summary(2, StatusCode.DELETED, now),
+				summary(1, StatusCode.UNKNOWN, now)));
+
+		assertThat(service().findPruneCandidates("r1", now)).containsExactly(2);
+	}
+
+	@Test
+	public void prunesVersionsOlderThanMaxAge() {
+		long now = System.currentTimeMillis();
+		this.properties.setMaxAge(Duration.ofDays(30));
+		when(releaseRepository.findVersionSummaries("r1")).thenReturn(Arrays.asList(
+				summary(3, StatusCode.DELETED, now - 60 * DAY),
+				summary(2, StatusCode.DELETED, now - 10 * DAY),
+				summary(1, StatusCode.DELETED, now - 40 * DAY)));
+
+		assertThat(service().findPruneCandidates("r1", now)).containsExactly(1);
+	}
+
+	@Test
+	public void nothingPrunedWithoutRetentionLimits() {
+		assertThat(service().findPruneCandidates("r1", System.currentTimeMillis())).isEmpty();
+		verify(releaseRepository, never()).findVersionSummaries(any());
+	}
+
+	@Test
+	public void archivesAndDeletesPrunedVersions() throws Exception {
+		long now = System.currentTimeMillis();
+		this.properties.setMaxVersionsPerRelease(1);
+		this.properties.setChunkSize(1);
+		this.properties.setArchiveDirectory(this.folder.getRoot().getAbsolutePath());
+		Release v2 = release(2, StatusCode.DELETED, now);
+		Release v1 = release(1, StatusCode.DELETED, now);
+		AppDeployerData appDeployerData = new AppDeployerData();
+		appDeployerData.setDeploymentDataUsingMap(Collections.singletonMap("app", "r1-app-v1"));
+		when(releaseRepository.findReleaseNames()).thenReturn(Collections.singletonList("r1"));
+		when(releaseRepository.findVersionSummaries("r1")).thenReturn(Arrays.asList(
+				summary(3, StatusCode.DEPLOYED, now), summary(2, StatusCode.DELETED, now),
+				summary(1, StatusCode.DELETED, now)));
+		when(releaseRepository.findByNameAndVersion("r1", 2)).thenReturn(v2);
+		when(releaseRepository.findByNameAndVersion("r1", 1)).thenReturn(v1);
+		when(appDeployerDataRepository.findByReleaseNameAndReleaseVersion("r1", 1)).thenReturn(appDeployerData);
+
+		service().prune();
+
+		verify(releaseRepository).delete(v1);
+		verify(releaseRepository).delete(v2);
+		verify(appDeployerDataRepository).delete(appDeployerData);
+		assertThat(new File(this.folder.getRoot(), "r1/r1-v1.json.gz")).exists();
+		assertThat(new File(this.folder.getRoot(), "r1/r1-v2.json.gz")).exists();
+		assertThat(this.meterRegistry.get("skipper.release.history.pruned").tag("type", "release").counter()
+				.count()).isEqualTo(2);
+		assertThat(this.meterRegistry.get("skipper.release.history.archived").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void countsOnlyCommittedChunks() {
+		long now = System.currentTimeMillis();
+		this.properties.setMaxVersionsPerRelease(1);
+		this.properties.setChunkSize(1);
+		Release v2 = release(2, StatusCode.DELETED, now);
+		Release v1 = release(1, StatusCode.DELETED, now);
+		when(releaseRepository.findReleaseNames()).thenReturn(Collections.singletonList("r1"));
+		when(releaseRepository.findVersionSummaries("r1")).thenReturn(Arrays.asList(
+				summary(3, StatusCode.DEPLOYED, now), summary(2, StatusCode.DELETED, now),
+				summary(1, StatusCode.DELETED, now)));
+		when(releaseRepository.findByNameAndVersion("r1", 2)).thenReturn(v2);
+		when(releaseRepository.findByNameAndVersion("r1", 1)).thenReturn(v1);
+		doThrow(new IllegalStateException("delete failed")).when(releaseRepository).delete(v2);
+
+		assertThatThrownBy(() -> service().prune()).isInstanceOf(IllegalStateException.class);
+
+		assertThat(this.meterRegistry.get("skipper.release.history.pruned").tag("type", "release").counter()
+				.count()).isEqualTo(1);
+	}
+
+	private ReleaseHistoryPruningService service() {
+		return new ReleaseHistoryPruningService(this.releaseRepository, this.appDeployerDataRepository,
+				mock(PlatformTransactionManager.class), this.properties, this.meterRegistry);
+	}
+
+	private static ReleaseSummary summary(int version, StatusCode statusCode, long lastDeployed) {
+		ReleaseSummary summary = new ReleaseSummary();
+		summary.setName("r1");
+		summary.setVersion(version);
+		summary.setStatusCode(statusCode);
+		summary.setLastDeployed(new Date(lastDeployed));
+		return summary;
+	}
+
+	private static Release release(int version, StatusCode statusCode, long lastDeployed) {
+		Status status = new Status();
+		status.setStatusCode(statusCode);
+		Info info = new Info();
+		info.setStatus(status);
+		info.setLastDeployed(new Date(lastDeployed));
+		Release release = new Release();
+		ReflectionTestUtils.setField(release, "id", (long) version);
+		release.setName("r1");
+		release.setVersion(version);
+		release.setInfo(info);
+		return release;
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.service;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.ReleaseUpgradeException;
+import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.PackageIdentifier;
+import org.springframework.cloud.skipper.domain.PackageMetadata;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.SpringCloudDeployerApplicationManifestReader;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.cloud.skipper.domain.UpgradePlan;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.deployer.ArtifactResolutionService;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseManager;
+import org.springframework.cloud.skipper.server.deployer.ReleaseManagerFactory;
+import org.springframework.cloud.skipper.server.repository.jpa.PackageMetadataRepository;
+import org.springframework.cloud.skipper.server.repository.jpa.ReleaseRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ReleaseReportService}.
+ */
+public class ReleaseReportServiceTests {
+
+	private static final String RESOURCE = "maven://org.springframework.cloud.stream.app:log-sink-rabbit:3.2.1";
+
+	private static final String MANIFEST = "apiVersion: skipper.spring.io/v1\n"
+			+ "kind: SpringCloudDeployerApplication\n"
+			+ "metadata:\n"
+			+ "  name: log\n"
+			+ "spec:\n"
+			+ "  resource: " + RESOURCE + "\n";
+
+	private final PackageMetadataRepository packageMetadataRepository = mock(PackageMetadataRepository.class);
+
+	private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+
+	private final PackageService packageService = mock(PackageService.class);
+
+	private final ReleaseManager releaseManager = mock(ReleaseManager.class);
+
+	private final ArtifactResolutionService artifactResolutionService = mock(ArtifactResolutionService.class);
+
+	private ReleaseReportService releaseReportService;
+
+	private Release existingRelease;
+
+	@Before
+	public void setup() {
+		ReleaseManagerFactory releaseManagerFactory = mock(ReleaseManagerFactory.class);
+		when(releaseManagerFactory.getReleaseManager("SpringCloudDeployerApplication")).thenReturn(this.releaseManager);
+		this.releaseReportService = new ReleaseReportService(this.packageMetadataRepository, this.releaseRepository,
+				this.packageService, releaseManagerFactory, Duration.ofMinutes(1), 10,
+				new SpringCloudDeployerApplicationManifestReader(), this.artifactResolutionService);
+
+		PackageMetadata packageMetadata = new PackageMetadata();
+		packageMetadata.setName("log");
+		packageMetadata.setVersion("1.1.0");
+		Template template = new Template();
+		template.setName("log.yml");
+		template.setData(MANIFEST);
+		Package pkg = new Package();
+		pkg.setMetadata(packageMetadata);
+		pkg.setTemplates(Collections.singletonList(template));
+		when(this.packageMetadataRepository.findByNameAndOptionalVersionRequired("log", "1.1.0"))
+				.thenReturn(packageMetadata);
+		when(this.packageService.downloadPackage(packageMetadata)).thenReturn(pkg);
+
+		this.existingRelease = release(1);
+		when(this.releaseRepository.findLatestReleaseForUpdate("myLog")).thenReturn(this.existingRelease);
+		when(this.releaseRepository.findLatestRelease("myLog")).thenReturn(this.existingRelease);
+		when(this.releaseRepository.save(any(Release.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(this.releaseManager.createReport(any(), any(), anyBoolean(), anyBoolean(), any()))
+				.thenAnswer(invocation -> {
+					ReleaseDifference releaseDifference = new ReleaseDifference();
+					releaseDifference.setDifferences(Collections.emptyList());
+					return new ReleaseAnalysisReport(Collections.singletonList("log"), releaseDifference,
+							invocation.getArgument(0), invocation.getArgument(1));
+				});
+	}
+
+	@Test
+	public void planReportsMissingResources() {
+		when(this.artifactResolutionService.exists(RESOURCE)).thenReturn(false);
+
+		UpgradePlan plan = this.releaseReportService.planUpgrade(upgradeRequest(false));
+
+		assertThat(plan.getApplicationNamesToUpgrade()).containsExactly("log");
+		assertThat(plan.getMissingResources()).containsExactly(RESOURCE);
+	}
+
+	@Test
+	public void planOmitsExistingResources() {
+		when(this.artifactResolutionService.exists(RESOURCE)).thenReturn(true);
+
+		UpgradePlan plan = this.releaseReportService.planUpgrade(upgradeRequest(false));
+
+		assertThat(plan.getMissingResources()).isEmpty();
+	}
+
+	@Test
+	public void planRejectedForDifferentRequestCanStillBeApplied() {
+		UpgradePlan plan = this.releaseReportService.planUpgrade(upgradeRequest(false));
+
+		UpgradeRequest differentRequest = upgradeRequest(true);
+		differentRequest.setPlanId(plan.getId());
+		assertThatThrownBy(() -> this.releaseReportService.createReport(differentRequest, null, true))
+				.isInstanceOf(ReleaseUpgradeException.class)
+				.hasMessageContaining("different upgrade request");
+
+		UpgradeRequest plannedRequest = upgradeRequest(false);
+		plannedRequest.setPlanId(plan.getId());
+		ReleaseAnalysisReport report = this.releaseReportService.createReport(plannedRequest, null, true);
+		assertThat(report.getReplacingRelease().getVersion()).isEqualTo(2);
+	}
+
+	@Test
+	public void planRejectedAsStaleCanStillBeApplied() {
+		UpgradePlan plan = this.releaseReportService.planUpgrade(upgradeRequest(false));
+		UpgradeRequest plannedRequest = upgradeRequest(false);
+		plannedRequest.setPlanId(plan.getId());
+
+		when(this.releaseRepository.findLatestRelease("myLog")).thenReturn(release(2));
+		assertThatThrownBy(() -> this.releaseReportService.createReport(plannedRequest, null, true))
+				.isInstanceOf(ReleaseUpgradeException.class)
+				.hasMessageContaining("is stale");
+
+		when(this.releaseRepository.findLatestRelease("myLog")).thenReturn(this.existingRelease);
+		ReleaseAnalysisReport report = this.releaseReportService.createReport(plannedRequest, null, true);
+		assertThat(report.getReplacingRelease().getVersion()).isEqualTo(2);
+
+		assertThatThrownBy(() -> this.releaseReportService.createReport(plannedRequest, null, true))
+				.isInstanceOf(ReleaseUpgradeException.class)
+				.hasMessageContaining("does not exist");
+	}
+
+	private static Release release(int version) {
+		Manifest manifest = new Manifest();
+		manifest.setData(MANIFEST);
+		Release release = new Release();
+		release.setName("myLog");
+		release.setVersion(version);
+		release.setConfigValues(new ConfigValues());
+		release.setManifest(manifest);
+		return release;
+	}
+
+	private static UpgradeRequest upgradeRequest(boolean force) {
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName("myLog");
+		upgradeProperties.setConfigValues(new ConfigValues());
+		PackageIdentifier packageIdentifier = new PackageIdentifier();
+		packageIdentifier.setPackageName("log");
+		packageIdentifier.setPackageVersion("1.1.0");
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		upgradeRequest.setPackageIdentifier(packageIdentifier);
+		upgradeRequest.setForce(force);
+		return upgradeRequest;
+	}
+}
@@ -30,6 +30,7 @@ import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.skipper.PackageDeleteException;
 import org.springframework.cloud.skipper.ReleaseNotFoundException;
+import org.springframework.cloud.skipper.ReleaseUpgradeException;
 import org.springframework.cloud.skipper.SkipperException;
 import org.springframework.cloud.skipper.domain.ConfigValues;
 import org.springframework.cloud.skipper.domain.Info;
@@ -140,6 +141,39 @@ public class ReleaseServiceTests extends AbstractIntegrationTest {
 		delete(release.getName());
 	}
 
+	@Test
+	public void testValidateUpgradeRequest() throws InterruptedException {
+		String releaseName = "logrelease";
+		InstallRequest installRequest = new InstallRequest();
+		installRequest.setInstallProperties(createInstallProperties(releaseName));
+		PackageIdentifier packageIdentifier = new PackageIdentifier();
+		packageIdentifier.setPackageName("log");
+		packageIdentifier.setPackageVersion("1.0.0");
+		installRequest.setPackageIdentifier(packageIdentifier);
+		Release release = install(installRequest);
+
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName(releaseName);
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		upgradeRequest.setStrategy("rolling");
+		upgradeRequest.setMaxSurge(2);
+		this.releaseService.validateUpgradeRequest(upgradeRequest);
+
+		upgradeRequest.setMaxSurge(0);
+		assertThatThrownBy(() -> this.releaseService.validateUpgradeRequest(upgradeRequest))
+				.isInstanceOf(ReleaseUpgradeException.class)
+				.hasMessageContaining("maxSurge");
+
+		upgradeRequest.setMaxSurge(null);
+		upgradeRequest.setStrategy("unknown");
+		assertThatThrownBy(() -> this.releaseService.validateUpgradeRequest(upgradeRequest))
+				.isInstanceOf(ReleaseUpgradeException.class)
+				.hasMessageContaining("No update strategy 'unknown'");
+
+		delete(release.getName());
+	}
+
 	@Test
 	public void testStatus() throws InterruptedException, IOException {
 		String releaseName = "logrelease";
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.statemachine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.state.State;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link StateMachineMetricsListener}.
+ */
+public class StateMachineMetricsListenerTests {
+
+	private final MockClock clock = new MockClock();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, this.clock);
+
+	private final StateMachineMetricsListener listener = new StateMachineMetricsListener(this.meterRegistry);
+
+	@Test
+	public void recordsTimeSpentInState() {
+		this.listener.stateContext(context(Stage.STATE_ENTRY, "r1", SkipperStates.UPGRADE_WAIT_TARGET_APPS));
+		this.listener.stateContext(context(Stage.STATE_ENTRY, "r2", SkipperStates.UPGRADE_WAIT_TARGET_APPS));
+		this.clock.add(Duration.ofSeconds(3));
+		this.listener.stateContext(context(Stage.STATE_EXIT, "r1", SkipperStates.UPGRADE_WAIT_TARGET_APPS));
+
+		Timer timer = this.meterRegistry.get(StateMachineMetricsListener.STATE_TIMER)
+				.tag("state", "UPGRADE_WAIT_TARGET_APPS").timer();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(timer.totalTime(TimeUnit.SECONDS)).isEqualTo(3);
+	}
+
+	@Test
+	public void ignoresExitWithoutEntry() {
+		this.listener.stateContext(context(Stage.STATE_EXIT, "r1", SkipperStates.INITIAL));
+
+		assertThat(this.meterRegistry.find(StateMachineMetricsListener.STATE_TIMER).timer()).isNull();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void forgetsStatesOfStoppedMachine() {
+		this.listener.stateContext(context(Stage.STATE_ENTRY, "r1", SkipperStates.UPGRADE_WAIT_TARGET_APPS));
+		StateMachine<SkipperStates, SkipperEvents> stateMachine = mock(StateMachine.class);
+		when(stateMachine.getId()).thenReturn("r1");
+		this.listener.stateMachineStopped(stateMachine);
+		this.listener.stateContext(context(Stage.STATE_EXIT, "r1", SkipperStates.UPGRADE_WAIT_TARGET_APPS));
+
+		assertThat(this.meterRegistry.find(StateMachineMetricsListener.STATE_TIMER).timer()).isNull();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static StateContext<SkipperStates, SkipperEvents> context(Stage stage, String machineId,
+			SkipperStates id) {
+		State<SkipperStates, SkipperEvents> state = mock(State.class);
+		when(state.getId()).thenReturn(id);
+		StateMachine<SkipperStates, SkipperEvents> stateMachine = mock(StateMachine.class);
+		when(stateMachine.getId()).thenReturn(machineId);
+		StateContext<SkipperStates, SkipperEvents> context = mock(StateContext.class);
+		when(context.getStage()).thenReturn(stage);
+		when(context.getStateMachine()).thenReturn(stateMachine);
+		if (stage == Stage.STATE_ENTRY) {
+			when(context.getTarget()).thenReturn(state);
+		}
+		else {
+			when(context.getSource()).thenReturn(state);
+		}
+		return context;
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.statemachine;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.domain.Manifest;
+import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.deployer.ReleaseDifference;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReport;
+import org.springframework.cloud.skipper.server.deployer.ReleaseAnalysisReportReference;
+import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategy;
+import org.springframework.cloud.skipper.server.deployer.strategies.UpgradeStrategyFactory;
+import org.springframework.cloud.skipper.server.service.ReleaseReportService;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperVariables;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.support.DefaultExtendedState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link UpgradeCheckTargetAppsAction}.
+ */
+public class UpgradeCheckTargetAppsActionTests {
+
+	private final ReleaseReportService releaseReportService = mock(ReleaseReportService.class);
+
+	private final UpgradeStrategy upgradeStrategy = mock(UpgradeStrategy.class);
+
+	private final UpgradeStrategyFactory upgradeStrategyFactory = mock(UpgradeStrategyFactory.class);
+
+	private final ExtendedState extendedState = new DefaultExtendedState();
+
+	@SuppressWarnings("unchecked")
+	private final StateContext<SkipperStates, SkipperEvents> context = mock(StateContext.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final UpgradeCheckTargetAppsAction action = new UpgradeCheckTargetAppsAction(this.releaseReportService,
+			this.upgradeStrategyFactory, new UpgradeHealthCheckScheduler(null), this.meterRegistry);
+
+	@Test
+	public void reusesReportOnEveryCheck() {
+		setup();
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+
+		this.action.executeInternal(this.context);
+		this.action.executeInternal(this.context);
+
+		verify(this.upgradeStrategy, times(2)).checkStatus(any());
+		verify(this.releaseReportService, never()).createReport(any(), any(), anyBoolean());
+		verify(this.releaseReportService, never()).restoreReport(any());
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(1);
+		assertThat(this.meterRegistry.get("skipper.upgrade.healthcheck").tag("outcome", "healthy").counter().count())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void countsFailedUpgradeAsFailed() {
+		setup();
+		when(this.upgradeStrategy.checkStatus(any())).thenReturn(false);
+		when(this.upgradeStrategy.hasFailed(any())).thenReturn(true);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+
+		this.action.executeInternal(this.context);
+
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(-1);
+		assertThat(this.meterRegistry.get("skipper.upgrade.healthcheck").tag("outcome", "failed").counter().count())
+				.isEqualTo(1);
+		assertThat(this.meterRegistry.find("skipper.upgrade.healthcheck").tag("outcome", "timeout").counter())
+				.isNull();
+	}
+
+	@Test
+	public void deploysNextStageOnceHealthy() {
+		setup();
+		when(this.upgradeStrategy.deployNextStage(any(), any(), any(), any(), eq(0))).thenReturn(true);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+		this.extendedState.getVariables().put(SkipperVariables.UPGRADE_STAGE, 0);
+		this.extendedState.getVariables().put(SkipperEventHeaders.UPGRADE_TIMEOUT, 60000L);
+		this.extendedState.getVariables().put(SkipperVariables.UPGRADE_CUTOFF_TIME, 0L);
+
+		this.action.executeInternal(this.context);
+
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(0);
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STAGE, Integer.class)).isEqualTo(1);
+		// the next stage gets the whole timeout
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_CUTOFF_TIME, Long.class))
+				.isGreaterThan(System.currentTimeMillis());
+
+		this.action.executeInternal(this.context);
+
+		verify(this.upgradeStrategy).deployNextStage(any(), any(), any(), any(), eq(1));
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	public void failsUpgradeWhenNextStageFails() {
+		setup();
+		when(this.upgradeStrategy.deployNextStage(any(), any(), any(), any(), eq(0))).thenReturn(true);
+		when(this.upgradeStrategy.hasFailed(any())).thenReturn(true);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+
+		this.action.executeInternal(this.context);
+
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(-1);
+		assertThat(this.meterRegistry.get("skipper.upgrade.healthcheck").tag("outcome", "failed").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void observesStageBeforeDeployingNextOne() {
+		setup();
+		when(this.upgradeStrategy.getObservationWindow(0)).thenReturn(60000L);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+
+		this.action.executeInternal(this.context);
+
+		verify(this.upgradeStrategy, never()).deployNextStage(any(), any(), any(), any(), anyInt());
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(0);
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME, Long.class)).isNotNull();
+
+		// unhealthy while observed, without waiting for the timeout
+		when(this.upgradeStrategy.checkStatus(any())).thenReturn(false);
+		this.extendedState.getVariables().put(SkipperVariables.UPGRADE_CUTOFF_TIME, Long.MAX_VALUE);
+		this.action.executeInternal(this.context);
+
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(-1);
+	}
+
+	@Test
+	public void deploysNextStageAfterObservationWindow() {
+		setup();
+		when(this.upgradeStrategy.getObservationWindow(0)).thenReturn(60000L);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT, report());
+		this.extendedState.getVariables().put(SkipperVariables.UPGRADE_STAGE_HEALTHY_TIME,
+				System.currentTimeMillis() - 60000L);
+
+		this.action.executeInternal(this.context);
+
+		verify(this.upgradeStrategy).deployNextStage(any(), any(), any(), any(), eq(0));
+		assertThat(this.extendedState.get(SkipperVariables.UPGRADE_STATUS, Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	public void restoresReportOnceFromReference() {
+		setup();
+		ReleaseAnalysisReport report = report();
+		ReleaseAnalysisReportReference reference = ReleaseAnalysisReportReference.from(report);
+		when(this.releaseReportService.restoreReport(reference)).thenReturn(report);
+		this.extendedState.getVariables().put(SkipperVariables.RELEASE_ANALYSIS_REPORT_REFERENCE, reference);
+
+		this.action.executeInternal(this.context);
+		this.action.executeInternal(this.context);
+
+		verify(this.releaseReportService, times(1)).restoreReport(reference);
+		verify(this.releaseReportService, never()).createReport(any(), any(), anyBoolean());
+		assertThat(this.extendedState.get(SkipperVariables.RELEASE_ANALYSIS_REPORT, ReleaseAnalysisReport.class))
+				.isSameAs(report);
+	}
+
+	private void setup() {
+		when(this.context.getExtendedState()).thenReturn(this.extendedState);
+		when(this.upgradeStrategyFactory.getUpgradeStrategy(anyString())).thenReturn(this.upgradeStrategy);
+		when(this.upgradeStrategy.checkStatus(any())).thenReturn(true);
+	}
+
+	private static ReleaseAnalysisReport report() {
+		return new ReleaseAnalysisReport(Collections.singletonList("app"), new ReleaseDifference(),
+				release(1), release(2));
+	}
+
+	private static Release release(int version) {
+		Manifest manifest = new Manifest();
+		manifest.setData("apiVersion: skipper.spring.io/v1\nkind: SpringCloudDeployerApplication\n");
+		Release release = new Release();
+		release.setName("r1");
+		release.setVersion(version);
+		release.setManifest(manifest);
+		return release;
+	}
+}
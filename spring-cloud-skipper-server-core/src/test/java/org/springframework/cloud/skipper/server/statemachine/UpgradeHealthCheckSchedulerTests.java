@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.statemachine;
+
+import org.junit.Test;
+
+import org.springframework.cloud.skipper.domain.RollbackRequest;
+import org.springframework.cloud.skipper.domain.UpgradeProperties;
+import org.springframework.cloud.skipper.domain.UpgradeRequest;
+import org.springframework.cloud.skipper.server.deployer.AppHealthyEvent;
+import org.springframework.cloud.skipper.server.deployer.strategies.HealthCheckProperties;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEventHeaders;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperEvents;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperStates;
+import org.springframework.cloud.skipper.server.statemachine.SkipperStateMachineService.SkipperVariables;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.support.DefaultExtendedState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link UpgradeHealthCheckScheduler}.
+ */
+public class UpgradeHealthCheckSchedulerTests {
+
+	private final HealthCheckProperties properties = new HealthCheckProperties();
+
+	@Test
+	public void delayGrowsUpToSleep() {
+		this.properties.setJitter(0);
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+
+		assertThat(scheduler.getDelay(null, 0)).isEqualTo(1000);
+		assertThat(scheduler.getDelay(null, 1)).isEqualTo(2000);
+		assertThat(scheduler.getDelay(null, 2)).isEqualTo(4000);
+		assertThat(scheduler.getDelay(null, 3)).isEqualTo(5000);
+		assertThat(scheduler.getDelay(null, 100)).isEqualTo(5000);
+		assertThat(scheduler.getTimerPeriod()).isEqualTo(1000);
+	}
+
+	@Test
+	public void jitterOnlyShortensDelay() {
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(scheduler.getDelay(null, 10)).isBetween(4000L, 5000L);
+		}
+	}
+
+	@Test
+	public void upgradePropertiesOverrideDefaults() {
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setHealthCheckInitialSleepInMillis(100L);
+		upgradeProperties.setHealthCheckSleepInMillis(1000L);
+		upgradeProperties.setHealthCheckBackoffMultiplier(3.0);
+		upgradeProperties.setHealthCheckJitter(0.0);
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+
+		assertThat(scheduler.getDelay(upgradeProperties, 0)).isEqualTo(100);
+		assertThat(scheduler.getDelay(upgradeProperties, 1)).isEqualTo(300);
+		assertThat(scheduler.getDelay(upgradeProperties, 2)).isEqualTo(900);
+		assertThat(scheduler.getDelay(upgradeProperties, 3)).isEqualTo(1000);
+	}
+
+	@Test
+	public void checksWhenDueOrAfterHealthyEvent() throws Exception {
+		this.properties.setInitialSleepInMillis(60000);
+		this.properties.setSleepInMillis(60000);
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+		StateContext<SkipperStates, SkipperEvents> context = context("r1");
+
+		assertThat(scheduler.evaluate(context)).isTrue();
+		scheduler.scheduleFirstCheck(context);
+		assertThat(scheduler.evaluate(context)).isFalse();
+
+		scheduler.onAppHealthy(new AppHealthyEvent(this, "r2", "r2-app-v2"));
+		assertThat(scheduler.evaluate(context)).isFalse();
+
+		Thread.sleep(5);
+		scheduler.onAppHealthy(new AppHealthyEvent(this, "r1", "r1-app-v2"));
+		assertThat(scheduler.evaluate(context)).isTrue();
+
+		Thread.sleep(5);
+		scheduler.scheduleNextCheck(context);
+		assertThat(scheduler.evaluate(context)).isFalse();
+		assertThat(context.getExtendedState().get(SkipperVariables.UPGRADE_CHECK_ATTEMPT, Integer.class))
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void forgetsHealthyEventsOfCompletedUpgrade() throws Exception {
+		this.properties.setInitialSleepInMillis(60000);
+		this.properties.setSleepInMillis(60000);
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+		StateContext<SkipperStates, SkipperEvents> context = context("r1");
+		scheduler.scheduleFirstCheck(context);
+
+		Thread.sleep(5);
+		scheduler.onAppHealthy(new AppHealthyEvent(this, "r1", "r1-app-v2"));
+		scheduler.completeChecks("r1");
+
+		assertThat(scheduler.evaluate(context)).isFalse();
+	}
+
+	@Test
+	public void checksRollbackAfterHealthyEvent() throws Exception {
+		this.properties.setInitialSleepInMillis(60000);
+		this.properties.setSleepInMillis(60000);
+		UpgradeHealthCheckScheduler scheduler = new UpgradeHealthCheckScheduler(this.properties);
+		ExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put(SkipperEventHeaders.ROLLBACK_REQUEST, new RollbackRequest("r1", 1));
+		StateContext<SkipperStates, SkipperEvents> context = context(extendedState);
+		scheduler.scheduleFirstCheck(context);
+		assertThat(scheduler.evaluate(context)).isFalse();
+
+		Thread.sleep(5);
+		scheduler.onAppHealthy(new AppHealthyEvent(this, "r1", "r1-app-v1"));
+
+		assertThat(scheduler.evaluate(context)).isTrue();
+	}
+
+	private static StateContext<SkipperStates, SkipperEvents> context(String releaseName) {
+		UpgradeProperties upgradeProperties = new UpgradeProperties();
+		upgradeProperties.setReleaseName(releaseName);
+		UpgradeRequest upgradeRequest = new UpgradeRequest();
+		upgradeRequest.setUpgradeProperties(upgradeProperties);
+		ExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put(SkipperEventHeaders.UPGRADE_REQUEST, upgradeRequest);
+		return context(extendedState);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static StateContext<SkipperStates, SkipperEvents> context(ExtendedState extendedState) {
+		StateContext<SkipperStates, SkipperEvents> context = mock(StateContext.class);
+		when(context.getExtendedState()).thenReturn(extendedState);
+		return context;
+	}
+}
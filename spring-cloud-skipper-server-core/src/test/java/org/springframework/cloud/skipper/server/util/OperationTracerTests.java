@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.server.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OperationTracer}.
+ */
+public class OperationTracerTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Before
+	public void setup() {
+		Metrics.addRegistry(this.meterRegistry);
+	}
+
+	@After
+	public void cleanup() {
+		Metrics.removeRegistry(this.meterRegistry);
+	}
+
+	@Test
+	public void childSpansJoinCurrentTrace() {
+		String traceId = OperationTracer.newTraceId();
+		try (OperationTracer.Span root = OperationTracer.start("release.upgrade", traceId)) {
+			assertThat(MDC.get(OperationTracer.TRACE_ID_KEY)).isEqualTo(traceId);
+			try (OperationTracer.Span child = OperationTracer.span("package.load")) {
+				assertThat(child.getTraceId()).isEqualTo(traceId);
+			}
+			assertThat(OperationTracer.currentTraceId()).isEqualTo(traceId);
+		}
+
+		assertThat(OperationTracer.currentTraceId()).isNull();
+		assertThat(MDC.get(OperationTracer.TRACE_ID_KEY)).isNull();
+		assertThat(this.meterRegistry.get("skipper.release.span").tag("span", "package.load").timer().count())
+				.isEqualTo(1);
+		assertThat(this.meterRegistry.get("skipper.release.span").tag("span", "release.upgrade").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void spansWithoutTraceAreNotRecorded() {
+		try (OperationTracer.Span span = OperationTracer.span("package.load")) {
+			assertThat(span.getTraceId()).isNull();
+			assertThat(OperationTracer.currentTraceId()).isNull();
+		}
+
+		assertThat(this.meterRegistry.find("skipper.release.span").timer()).isNull();
+	}
+}
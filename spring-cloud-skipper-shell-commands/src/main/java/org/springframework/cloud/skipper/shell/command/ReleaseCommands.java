@@ -40,6 +40,7 @@ import org.springframework.cloud.skipper.domain.ConfigValues;
 import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.PackageIdentifier;
 import org.springframework.cloud.skipper.domain.Release;
+import org.springframework.cloud.skipper.domain.ReleaseSummary;
 import org.springframework.cloud.skipper.domain.RollbackRequest;
 import org.springframework.cloud.skipper.domain.UpgradeProperties;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
@@ -47,6 +48,7 @@ import org.springframework.cloud.skipper.shell.command.support.DeploymentStateDi
 import org.springframework.cloud.skipper.shell.command.support.TableUtils;
 import org.springframework.cloud.skipper.shell.command.support.YmlUtils;
 import org.springframework.cloud.skipper.support.DurationUtils;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
@@ -136,7 +138,9 @@ public class ReleaseCommands extends AbstractSkipperCommand {
 			@ShellOption(help = "the comma separated set of properties to override during upgrade", defaultValue = ShellOption.NULL) String properties,
 			@ShellOption(help = "force upgrade") boolean force,
 			@ShellOption(help = "application names to force upgrade. If no specific list is provided, all the apps in the packages are force upgraded",
-					defaultValue = ShellOption.NULL) String appNames)
+					defaultValue = ShellOption.NULL) String appNames,
+			@ShellOption(help = "the upgrade strategy to use, 'redblack', 'rolling' or 'canary'", defaultValue = ShellOption.NULL) String strategy,
+			@ShellOption(help = "the maximum number of apps upgraded at once by the 'rolling' strategy", defaultValue = ShellOption.NULL) Integer maxSurge)
 			throws IOException {
 		// Commented out until https://github.com/spring-cloud/spring-cloud-skipper/issues/263 is
 		// addressed
@@ -145,7 +149,8 @@ public class ReleaseCommands extends AbstractSkipperCommand {
 			Assert.isTrue(force, "App names can be used only when the stream update is forced.");
 		}
 		Release release = skipperClient
-				.upgrade(getUpgradeRequest(releaseName, packageName, packageVersion, file, properties, timeoutExpression, force, appNames));
+				.upgrade(getUpgradeRequest(releaseName, packageName, packageVersion, file, properties, timeoutExpression, force, appNames,
+						strategy, maxSurge));
 		StringBuilder sb = new StringBuilder();
 		sb.append(release.getName() + " has been upgraded.  Now at version v" + release.getVersion() + ".");
 		return sb.toString();
@@ -172,10 +177,13 @@ public class ReleaseCommands extends AbstractSkipperCommand {
 	}
 
 	private UpgradeRequest getUpgradeRequest(String releaseName, String packageName, String packageVersion,
-			File propertiesFile, String propertiesToOverride, String timeoutExpression, boolean forceUpgrade, String appNames) throws IOException {
+			File propertiesFile, String propertiesToOverride, String timeoutExpression, boolean forceUpgrade, String appNames,
+			String strategy, Integer maxSurge) throws IOException {
 		UpgradeRequest upgradeRequest = new UpgradeRequest();
 		upgradeRequest.setForce(forceUpgrade);
 		upgradeRequest.setAppNames(new ArrayList<>(StringUtils.commaDelimitedListToSet(appNames)));
+		upgradeRequest.setStrategy(strategy);
+		upgradeRequest.setMaxSurge(maxSurge);
 		UpgradeProperties upgradeProperties = new UpgradeProperties();
 		upgradeProperties.setReleaseName(releaseName);
 		String configValuesYML = YmlUtils.getYamlConfigValues(propertiesFile, propertiesToOverride);
@@ -238,18 +246,20 @@ public class ReleaseCommands extends AbstractSkipperCommand {
 
 	@ShellMethod(key = "release list", value = "List the latest version of releases with status of deployed or failed.")
 	public Table list(
-			@ShellOption(help = "wildcard expression to search by release name", defaultValue = ShellOption.NULL) String releaseName) {
-		List<Release> releases = this.skipperClient.list(releaseName);
+			@ShellOption(help = "wildcard expression to search by release name", defaultValue = ShellOption.NULL) String releaseName,
+			@ShellOption(help = "the zero based page number", defaultValue = "0") int page,
+			@ShellOption(help = "the number of releases per page", defaultValue = "2000") int size) {
+		PagedModel<ReleaseSummary> summaries = this.skipperClient.listSummaries(releaseName, page, size, null);
 		LinkedHashMap<String, Object> headers = new LinkedHashMap<>();
 		headers.put("name", "Name");
 		headers.put("version", "Version");
-		headers.put("info.lastDeployed", "Last updated");
-		headers.put("info.status.statusCode", "Status");
-		headers.put("pkg.metadata.name", "Package Name");
-		headers.put("pkg.metadata.version", "Package Version");
+		headers.put("lastDeployed", "Last updated");
+		headers.put("statusCode", "Status");
+		headers.put("packageName", "Package Name");
+		headers.put("packageVersion", "Package Version");
 		headers.put("platformName", "Platform Name");
-		headers.put("info.status.platformStatusPrettyPrint", "Platform Status");
-		TableModel model = new BeanListTableModel<>(releases, headers);
+		headers.put("appStatesPrettyPrint", "Platform Status");
+		TableModel model = new BeanListTableModel<>(summaries.getContent(), headers);
 		TableBuilder tableBuilder = new TableBuilder(model);
 		TableUtils.applyStyle(tableBuilder);
 		return tableBuilder.build();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import org.springframework.cloud.skipper.SkipperException;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Converter transparently compressing large text columns. Compressed values are stored
+ * as base64 encoded gzip prefixed with a versioned {@link #HEADER}, while values without
+ * the header, such as rows written before compression was introduced or values too small
+ * to benefit from it, are read as is.
+ */
+@Converter
+public class CompressedStringConverter implements AttributeConverter<String, String> {
+
+	/**
+	 * Header of compressed values, the version allows changing the encoding later on.
+	 */
+	public static final String HEADER = "{gz1}";
+
+	/**
+	 * Values shorter than this are stored uncompressed.
+	 */
+	public static final int THRESHOLD = 512;
+
+	@Override
+	public String convertToDatabaseColumn(String attribute) {
+		if (attribute == null) {
+			return null;
+		}
+		// values looking like compressed ones are always compressed to stay unambiguous
+		if (attribute.length() < THRESHOLD && !attribute.startsWith(HEADER)) {
+			return attribute;
+		}
+		return HEADER + Base64.getEncoder().encodeToString(compress(attribute));
+	}
+
+	@Override
+	public String convertToEntityAttribute(String dbData) {
+		if (!isCompressed(dbData)) {
+			return dbData;
+		}
+		return decompress(Base64.getDecoder().decode(dbData.substring(HEADER.length())));
+	}
+
+	/**
+	 * Check if the given column value is compressed.
+	 *
+	 * @param dbData the column value
+	 * @return true if the value is compressed
+	 */
+	public static boolean isCompressed(String dbData) {
+		return dbData != null && dbData.startsWith(HEADER);
+	}
+
+	static byte[] compress(String content) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new SkipperException("Could not compress content", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	static String decompress(byte[] content) {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+			return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new SkipperException("Could not decompress content", e);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.cloud.skipper.SkipperException;
+
+/**
+ * Immutable, content addressed and compressed text content, such as package json,
+ * manifests and config values, shared by all the release versions having the same
+ * content. The id of the blob is the SHA-256 hash of its uncompressed content.
+ */
+@Entity
+@Table(name = "SkipperContentBlob")
+public class ContentBlob {
+
+	private static final int DECODED_CACHE_SIZE = 256;
+
+	/**
+	 * Decoded content by hash. As blobs are immutable, entries never go stale and can be
+	 * shared by all loaded entities referencing the same content.
+	 */
+	private static final Map<String, String> decodedCache = Collections
+			.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+					return size() > DECODED_CACHE_SIZE;
+				}
+			});
+
+	@Id
+	@Column(length = 64, updatable = false)
+	private String hash;
+
+	@Lob
+	@Column(updatable = false)
+	private byte[] content;
+
+	@Transient
+	private String decoded;
+
+	public ContentBlob() {
+	}
+
+	/**
+	 * Create a blob for the given content.
+	 *
+	 * @param content the uncompressed content
+	 * @return the blob
+	 */
+	public static ContentBlob of(String content) {
+		ContentBlob blob = new ContentBlob();
+		blob.hash = hash(content);
+		blob.content = CompressedStringConverter.compress(content);
+		blob.decoded = content;
+		return blob;
+	}
+
+	/**
+	 * Compute the hash identifying the given content.
+	 *
+	 * @param content the uncompressed content
+	 * @return the hex encoded SHA-256 hash of the content
+	 */
+	public static String hash(String content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new SkipperException("SHA-256 is not available", e);
+		}
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * Get the uncompressed content of the blob, decoding it at most once per content hash
+	 * while it stays in the shared cache.
+	 *
+	 * @return the uncompressed content
+	 */
+	public String getContentAsString() {
+		if (this.decoded == null) {
+			this.decoded = decodedCache.computeIfAbsent(this.hash,
+					h -> CompressedStringConverter.decompress(this.content));
+		}
+		return this.decoded;
+	}
+}
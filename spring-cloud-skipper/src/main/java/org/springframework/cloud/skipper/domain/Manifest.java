@@ -15,9 +15,18 @@
  */
 package org.springframework.cloud.skipper.domain;
 
+import java.util.function.Function;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.ForeignKey;
+import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 
 /**
@@ -28,9 +37,22 @@ import javax.validation.constraints.NotNull;
 public class Manifest extends AbstractEntity {
 
 	@NotNull
-	@Lob
+	@Transient
 	private String data;
 
+	/**
+	 * Manifest stored inline, only kept until it is moved to a shared {@link ContentBlob}
+	 * or for manifests saved before content blobs were introduced.
+	 */
+	@Lob
+	@Column(name = "data")
+	@Convert(converter = CompressedStringConverter.class)
+	private String inlineData;
+
+	@ManyToOne
+	@JoinColumn(name = "data_hash", foreignKey = @ForeignKey(name = "fk_manifest_data_blob"))
+	private ContentBlob dataBlob;
+
 	public Manifest() {
 	}
 
@@ -40,6 +62,25 @@ public class Manifest extends AbstractEntity {
 
 	public void setData(String data) {
 		this.data = data;
+		this.inlineData = data;
+		this.dataBlob = null;
+	}
+
+	/**
+	 * Move the inline content of this manifest to a shared content blob.
+	 *
+	 * @param blobResolver function returning the stored blob for the given content
+	 */
+	public void resolveContentBlobs(Function<String, ContentBlob> blobResolver) {
+		if (this.inlineData != null) {
+			this.dataBlob = blobResolver.apply(this.inlineData);
+			this.inlineData = null;
+		}
+	}
+
+	@PostLoad
+	public void afterLoad() {
+		this.data = (this.dataBlob != null) ? this.dataBlob.getContentAsString() : this.inlineData;
 	}
 
 	@Override
@@ -16,13 +16,16 @@
 package org.springframework.cloud.skipper.domain;
 
 import java.io.IOException;
+import java.util.function.Function;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.ForeignKey;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
 import javax.persistence.PostLoad;
 import javax.persistence.Table;
@@ -30,6 +33,7 @@ import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -69,21 +73,42 @@ public class Release extends AbstractEntity {
 	@JsonIgnore
 	private Long repositoryId;
 
+	/**
+	 * Package json stored inline, only kept until it is moved to a shared
+	 * {@link ContentBlob} or for releases saved before content blobs were introduced.
+	 */
 	@Lob
+	@Convert(converter = CompressedStringConverter.class)
 	private String pkgJsonString;
 
+	@ManyToOne
+	@JoinColumn(name = "pkg_json_hash", foreignKey = @ForeignKey(name = "fk_release_pkg_json_blob"))
+	private ContentBlob pkgJsonBlob;
+
 	@Transient
 	private ConfigValues configValues = new ConfigValues();
 
 	@Lob
+	@Convert(converter = CompressedStringConverter.class)
 	private String configValuesString;
 
+	@ManyToOne
+	@JoinColumn(name = "config_values_hash", foreignKey = @ForeignKey(name = "fk_release_config_values_blob"))
+	private ContentBlob configValuesBlob;
+
 	@OneToOne(cascade = { CascadeType.ALL })
 	@JoinColumn(foreignKey = @ForeignKey(name = "fk_release_manifest"))
 	private Manifest manifest;
 
 	private String platformName;
 
+	/**
+	 * Id of the trace of the operation which returned this release, not persisted.
+	 */
+	@Transient
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String traceId;
+
 	public Release() {
 	}
 
@@ -123,6 +148,7 @@ public class Release extends AbstractEntity {
 		try {
 			// Note that @JsonIgnore is on the package file byte array field.
 			this.pkgJsonString = mapper.writeValueAsString(pkg);
+			this.pkgJsonBlob = null;
 		}
 		catch (JsonProcessingException e) {
 			throw new SkipperException("Error processing pkg json string", e);
@@ -158,6 +184,7 @@ public class Release extends AbstractEntity {
 		this.configValues = configValues;
 		if (configValues != null && StringUtils.hasText(configValues.getRaw())) {
 			this.configValuesString = configValues.getRaw();
+			this.configValuesBlob = null;
 		}
 	}
 
@@ -177,15 +204,46 @@ public class Release extends AbstractEntity {
 		this.platformName = platformName;
 	}
 
+	public String getTraceId() {
+		return traceId;
+	}
+
+	public void setTraceId(String traceId) {
+		this.traceId = traceId;
+	}
+
+	/**
+	 * Move the inline package json, config values and manifest content of this release to
+	 * shared content blobs, so that identical content is stored only once.
+	 *
+	 * @param blobResolver function returning the stored blob for the given content
+	 */
+	public void resolveContentBlobs(Function<String, ContentBlob> blobResolver) {
+		if (this.pkgJsonString != null) {
+			this.pkgJsonBlob = blobResolver.apply(this.pkgJsonString);
+			this.pkgJsonString = null;
+		}
+		if (this.configValuesString != null) {
+			this.configValuesBlob = blobResolver.apply(this.configValuesString);
+			this.configValuesString = null;
+		}
+		if (this.manifest != null) {
+			this.manifest.resolveContentBlobs(blobResolver);
+		}
+	}
+
 	@PostLoad
 	public void afterLoad() {
 		ObjectMapper mapper = new ObjectMapper();
 		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 		try {
-			this.pkg = mapper.readValue(this.pkgJsonString, Package.class);
+			String pkgJson = (this.pkgJsonBlob != null) ? this.pkgJsonBlob.getContentAsString() : this.pkgJsonString;
+			this.pkg = mapper.readValue(pkgJson, Package.class);
 			this.configValues = new ConfigValues();
-			if (this.configValuesString != null && StringUtils.hasText(configValuesString)) {
-				this.configValues.setRaw(this.configValuesString);
+			String configValuesRaw = (this.configValuesBlob != null) ? this.configValuesBlob.getContentAsString()
+					: this.configValuesString;
+			if (StringUtils.hasText(configValuesRaw)) {
+				this.configValues.setRaw(configValuesRaw);
 			}
 		}
 		catch (IOException e) {
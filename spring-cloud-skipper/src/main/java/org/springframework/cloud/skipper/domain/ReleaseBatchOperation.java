@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A single operation of a {@link ReleaseBatchRequest}. Depending on the {@link Type} one
+ * of the install request, upgrade request or delete release name is expected to be set.
+ */
+public class ReleaseBatchOperation {
+
+	private Type type;
+
+	private InstallRequest installRequest;
+
+	private UpgradeRequest upgradeRequest;
+
+	private String deleteReleaseName;
+
+	private DeleteProperties deleteProperties;
+
+	public ReleaseBatchOperation() {
+	}
+
+	public static ReleaseBatchOperation install(InstallRequest installRequest) {
+		ReleaseBatchOperation operation = new ReleaseBatchOperation();
+		operation.setType(Type.INSTALL);
+		operation.setInstallRequest(installRequest);
+		return operation;
+	}
+
+	public static ReleaseBatchOperation upgrade(UpgradeRequest upgradeRequest) {
+		ReleaseBatchOperation operation = new ReleaseBatchOperation();
+		operation.setType(Type.UPGRADE);
+		operation.setUpgradeRequest(upgradeRequest);
+		return operation;
+	}
+
+	public static ReleaseBatchOperation delete(String releaseName, DeleteProperties deleteProperties) {
+		ReleaseBatchOperation operation = new ReleaseBatchOperation();
+		operation.setType(Type.DELETE);
+		operation.setDeleteReleaseName(releaseName);
+		operation.setDeleteProperties(deleteProperties);
+		return operation;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	public InstallRequest getInstallRequest() {
+		return installRequest;
+	}
+
+	public void setInstallRequest(InstallRequest installRequest) {
+		this.installRequest = installRequest;
+	}
+
+	public UpgradeRequest getUpgradeRequest() {
+		return upgradeRequest;
+	}
+
+	public void setUpgradeRequest(UpgradeRequest upgradeRequest) {
+		this.upgradeRequest = upgradeRequest;
+	}
+
+	public String getDeleteReleaseName() {
+		return deleteReleaseName;
+	}
+
+	public void setDeleteReleaseName(String deleteReleaseName) {
+		this.deleteReleaseName = deleteReleaseName;
+	}
+
+	public DeleteProperties getDeleteProperties() {
+		return deleteProperties;
+	}
+
+	public void setDeleteProperties(DeleteProperties deleteProperties) {
+		this.deleteProperties = deleteProperties;
+	}
+
+	/**
+	 * Gets the name of the release this operation is targeting.
+	 *
+	 * @return the release name or {@code null} if operation is not fully defined
+	 */
+	@JsonIgnore
+	public String getReleaseName() {
+		if (type == null) {
+			return null;
+		}
+		switch (type) {
+		case INSTALL:
+			return (installRequest != null && installRequest.getInstallProperties() != null)
+					? installRequest.getInstallProperties().getReleaseName() : null;
+		case UPGRADE:
+			return (upgradeRequest != null && upgradeRequest.getUpgradeProperties() != null)
+					? upgradeRequest.getUpgradeProperties().getReleaseName() : null;
+		case DELETE:
+			return deleteReleaseName;
+		default:
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ReleaseBatchOperation [type=" + type + ", installRequest=" + installRequest + ", upgradeRequest="
+				+ upgradeRequest + ", deleteReleaseName=" + deleteReleaseName + ", deleteProperties="
+				+ deleteProperties + "]";
+	}
+
+	/**
+	 * Type of a batch operation.
+	 */
+	public enum Type {
+		INSTALL, UPGRADE, DELETE
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This contains a list of install, upgrade and delete operations to be executed as a
+ * single batch request.
+ */
+public class ReleaseBatchRequest {
+
+	private List<ReleaseBatchOperation> operations = new ArrayList<>();
+
+	public ReleaseBatchRequest() {
+	}
+
+	public ReleaseBatchRequest(List<ReleaseBatchOperation> operations) {
+		this.operations = operations;
+	}
+
+	public List<ReleaseBatchOperation> getOperations() {
+		return operations;
+	}
+
+	public void setOperations(List<ReleaseBatchOperation> operations) {
+		this.operations = operations;
+	}
+
+	@Override
+	public String toString() {
+		return "ReleaseBatchRequest [operations=" + operations + "]";
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+/**
+ * Outcome of a single {@link ReleaseBatchOperation}, either the resulting
+ * {@link Release} or an error message.
+ */
+public class ReleaseBatchResult {
+
+	private String releaseName;
+
+	private ReleaseBatchOperation.Type type;
+
+	private boolean success;
+
+	private Release release;
+
+	private String error;
+
+	public ReleaseBatchResult() {
+	}
+
+	public static ReleaseBatchResult success(ReleaseBatchOperation operation, Release release) {
+		ReleaseBatchResult result = new ReleaseBatchResult();
+		result.setReleaseName(operation.getReleaseName());
+		result.setType(operation.getType());
+		result.setSuccess(true);
+		result.setRelease(release);
+		return result;
+	}
+
+	public static ReleaseBatchResult failure(ReleaseBatchOperation operation, String error) {
+		ReleaseBatchResult result = new ReleaseBatchResult();
+		result.setReleaseName(operation.getReleaseName());
+		result.setType(operation.getType());
+		result.setSuccess(false);
+		result.setError(error);
+		return result;
+	}
+
+	public String getReleaseName() {
+		return releaseName;
+	}
+
+	public void setReleaseName(String releaseName) {
+		this.releaseName = releaseName;
+	}
+
+	public ReleaseBatchOperation.Type getType() {
+		return type;
+	}
+
+	public void setType(ReleaseBatchOperation.Type type) {
+		this.type = type;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	public Release getRelease() {
+		return release;
+	}
+
+	public void setRelease(Release release) {
+		this.release = release;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	@Override
+	public String toString() {
+		return "ReleaseBatchResult [releaseName=" + releaseName + ", type=" + type + ", success=" + success
+				+ ", error=" + error + "]";
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+/**
+ * Change of the status of a release version, as pushed to the clients following the
+ * release events instead of polling release statuses.
+ */
+public class ReleaseStatusEvent {
+
+	private long id;
+
+	private Date timestamp;
+
+	private String name;
+
+	private int version;
+
+	private String platformName;
+
+	private StatusCode statusCode;
+
+	private Map<String, DeploymentState> appStates = new TreeMap<>();
+
+	public ReleaseStatusEvent() {
+	}
+
+	/**
+	 * @return the id of the event, increasing with every event published by a server
+	 */
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public Date getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(Date timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public String getPlatformName() {
+		return platformName;
+	}
+
+	public void setPlatformName(String platformName) {
+		this.platformName = platformName;
+	}
+
+	public StatusCode getStatusCode() {
+		return statusCode;
+	}
+
+	public void setStatusCode(StatusCode statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * @return the state of the applications of the release by deployment id
+	 */
+	public Map<String, DeploymentState> getAppStates() {
+		return appStates;
+	}
+
+	public void setAppStates(Map<String, DeploymentState> appStates) {
+		this.appStates = appStates;
+	}
+
+	@Override
+	public String toString() {
+		return "ReleaseStatusEvent{" + "id=" + id + ", name='" + name + '\'' + ", version=" + version
+				+ ", statusCode=" + statusCode + ", appStates=" + appStates + '}';
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Summary of a release as listed by the paged release listing, holding the fields shown
+ * in release lists without the package, config values, manifest and full platform status
+ * of the release.
+ */
+public class ReleaseSummary {
+
+	private String name;
+
+	private int version;
+
+	private StatusCode statusCode;
+
+	private String platformName;
+
+	private Date lastDeployed;
+
+	private String packageName;
+
+	private String packageVersion;
+
+	private Map<String, Integer> appStates = new TreeMap<>();
+
+	public ReleaseSummary() {
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public StatusCode getStatusCode() {
+		return statusCode;
+	}
+
+	public void setStatusCode(StatusCode statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	public String getPlatformName() {
+		return platformName;
+	}
+
+	public void setPlatformName(String platformName) {
+		this.platformName = platformName;
+	}
+
+	public Date getLastDeployed() {
+		return lastDeployed;
+	}
+
+	public void setLastDeployed(Date lastDeployed) {
+		this.lastDeployed = lastDeployed;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	public void setPackageName(String packageName) {
+		this.packageName = packageName;
+	}
+
+	public String getPackageVersion() {
+		return packageVersion;
+	}
+
+	public void setPackageVersion(String packageVersion) {
+		this.packageVersion = packageVersion;
+	}
+
+	/**
+	 * @return the number of apps of the release by deployment state
+	 */
+	public Map<String, Integer> getAppStates() {
+		return appStates;
+	}
+
+	public void setAppStates(Map<String, Integer> appStates) {
+		this.appStates = appStates;
+	}
+
+	@JsonIgnore
+	public String getAppStatesPrettyPrint() {
+		return this.appStates.entrySet().stream()
+				.map(entry -> entry.getKey() + " = " + entry.getValue())
+				.collect(Collectors.joining(", "));
+	}
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -55,6 +56,7 @@ public class Status extends NonVersionedAbstractEntity {
 
 	// Status from the underlying platform
 	@Lob
+	@Convert(converter = CompressedStringConverter.class)
 	private String platformStatus;
 
 	public Status() {
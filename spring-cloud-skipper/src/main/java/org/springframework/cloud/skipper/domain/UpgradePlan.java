@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of planning an upgrade without deploying anything. The plan describes the
+ * release that an {@link UpgradeRequest} would create and can be referenced by a
+ * following upgrade request through {@link UpgradeRequest#setPlanId(String)}, in which
+ * case the server applies the plan instead of analysing the releases again.
+ */
+public class UpgradePlan {
+
+	private String id;
+
+	private String releaseName;
+
+	private int existingVersion;
+
+	private int replacingVersion;
+
+	private String packageName;
+
+	private String packageVersion;
+
+	private List<String> applicationNamesToUpgrade = new ArrayList<>();
+
+	private Map<String, List<String>> changedProperties = new LinkedHashMap<>();
+
+	private List<String> missingResources = new ArrayList<>();
+
+	public UpgradePlan() {
+	}
+
+	/**
+	 * @return the id of the plan, a hash of its content
+	 */
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getReleaseName() {
+		return releaseName;
+	}
+
+	public void setReleaseName(String releaseName) {
+		this.releaseName = releaseName;
+	}
+
+	/**
+	 * @return the version of the release being replaced
+	 */
+	public int getExistingVersion() {
+		return existingVersion;
+	}
+
+	public void setExistingVersion(int existingVersion) {
+		this.existingVersion = existingVersion;
+	}
+
+	/**
+	 * @return the version of the release the upgrade creates
+	 */
+	public int getReplacingVersion() {
+		return replacingVersion;
+	}
+
+	public void setReplacingVersion(int replacingVersion) {
+		this.replacingVersion = replacingVersion;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	public void setPackageName(String packageName) {
+		this.packageName = packageName;
+	}
+
+	public String getPackageVersion() {
+		return packageVersion;
+	}
+
+	public void setPackageVersion(String packageVersion) {
+		this.packageVersion = packageVersion;
+	}
+
+	public List<String> getApplicationNamesToUpgrade() {
+		return applicationNamesToUpgrade;
+	}
+
+	public void setApplicationNamesToUpgrade(List<String> applicationNamesToUpgrade) {
+		this.applicationNamesToUpgrade = applicationNamesToUpgrade;
+	}
+
+	/**
+	 * @return the names of the added, removed and changed properties by application name,
+	 * values are left out as they may hold secrets
+	 */
+	public Map<String, List<String>> getChangedProperties() {
+		return changedProperties;
+	}
+
+	public void setChangedProperties(Map<String, List<String>> changedProperties) {
+		this.changedProperties = changedProperties;
+	}
+
+	/**
+	 * @return the resource locations of the applications to upgrade that could not be
+	 * found, deploying them would fail
+	 */
+	public List<String> getMissingResources() {
+		return missingResources;
+	}
+
+	public void setMissingResources(List<String> missingResources) {
+		this.missingResources = missingResources;
+	}
+
+	@Override
+	public String toString() {
+		return "UpgradePlan{" +
+				"id='" + id + '\'' +
+				", releaseName='" + releaseName + '\'' +
+				", existingVersion=" + existingVersion +
+				", replacingVersion=" + replacingVersion +
+				", applicationNamesToUpgrade=" + applicationNamesToUpgrade +
+				", missingResources=" + missingResources +
+				'}';
+	}
+}
@@ -22,4 +22,61 @@ package org.springframework.cloud.skipper.domain;
  */
 public class UpgradeProperties extends CommonProperties {
 
+	private Long healthCheckInitialSleepInMillis;
+
+	private Long healthCheckSleepInMillis;
+
+	private Double healthCheckBackoffMultiplier;
+
+	private Double healthCheckJitter;
+
+	/**
+	 * @return the delay before the first health check of the upgraded apps, or
+	 * {@code null} to use the server default. Checks are scheduled on a timer ticking at
+	 * the shortest delay configured on the server, a shorter delay takes effect at the
+	 * next tick.
+	 */
+	public Long getHealthCheckInitialSleepInMillis() {
+		return healthCheckInitialSleepInMillis;
+	}
+
+	public void setHealthCheckInitialSleepInMillis(Long healthCheckInitialSleepInMillis) {
+		this.healthCheckInitialSleepInMillis = healthCheckInitialSleepInMillis;
+	}
+
+	/**
+	 * @return the maximum delay between health checks of the upgraded apps, or
+	 * {@code null} to use the server default
+	 */
+	public Long getHealthCheckSleepInMillis() {
+		return healthCheckSleepInMillis;
+	}
+
+	public void setHealthCheckSleepInMillis(Long healthCheckSleepInMillis) {
+		this.healthCheckSleepInMillis = healthCheckSleepInMillis;
+	}
+
+	/**
+	 * @return the factor the delay between health checks grows by after each check, or
+	 * {@code null} to use the server default
+	 */
+	public Double getHealthCheckBackoffMultiplier() {
+		return healthCheckBackoffMultiplier;
+	}
+
+	public void setHealthCheckBackoffMultiplier(Double healthCheckBackoffMultiplier) {
+		this.healthCheckBackoffMultiplier = healthCheckBackoffMultiplier;
+	}
+
+	/**
+	 * @return the fraction, between 0 and 1, of each delay randomly cut off so that
+	 * concurrent upgrades don't check in lockstep, or {@code null} to use the server default
+	 */
+	public Double getHealthCheckJitter() {
+		return healthCheckJitter;
+	}
+
+	public void setHealthCheckJitter(Double healthCheckJitter) {
+		this.healthCheckJitter = healthCheckJitter;
+	}
 }
@@ -35,6 +35,12 @@ public class UpgradeRequest {
 
 	private List<String> appNames = new ArrayList<>();
 
+	private String planId;
+
+	private String strategy;
+
+	private Integer maxSurge;
+
 	public PackageIdentifier getPackageIdentifier() {
 		return packageIdentifier;
 	}
@@ -75,6 +81,41 @@ public class UpgradeRequest {
 		this.appNames = appNames;
 	}
 
+	/**
+	 * @return the id of an {@link UpgradePlan} to apply, if any
+	 */
+	public String getPlanId() {
+		return planId;
+	}
+
+	public void setPlanId(String planId) {
+		this.planId = planId;
+	}
+
+	/**
+	 * @return the name of the upgrade strategy to use, the default strategy of the
+	 * application kind is used if not set
+	 */
+	public String getStrategy() {
+		return strategy;
+	}
+
+	public void setStrategy(String strategy) {
+		this.strategy = strategy;
+	}
+
+	/**
+	 * @return the maximum number of upgraded apps running alongside the apps they replace
+	 * for strategies upgrading apps in batches, the strategy default is used if not set
+	 */
+	public Integer getMaxSurge() {
+		return maxSurge;
+	}
+
+	public void setMaxSurge(Integer maxSurge) {
+		this.maxSurge = maxSurge;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuffer sb = new StringBuffer("UpgradeRequest{");
@@ -83,6 +124,9 @@ public class UpgradeRequest {
 		sb.append(", timeout=").append(timeout);
 		sb.append(", force=").append(force);
 		sb.append(", appNames=").append(appNames);
+		sb.append(", planId=").append(planId);
+		sb.append(", strategy=").append(strategy);
+		sb.append(", maxSurge=").append(maxSurge);
 		sb.append('}');
 		return sb.toString();
 	}
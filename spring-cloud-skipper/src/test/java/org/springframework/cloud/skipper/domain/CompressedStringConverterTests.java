@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.skipper.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedStringConverterTests {
+
+	private final CompressedStringConverter converter = new CompressedStringConverter();
+
+	@Test
+	public void compressesLargeValues() {
+		StringBuilder status = new StringBuilder("[");
+		for (int i = 0; i < 50; i++) {
+			status.append("{\"deploymentId\":\"myapp-v").append(i).append("\",\"state\":\"deployed\"},");
+		}
+		String value = status.append("]").toString();
+
+		String dbData = this.converter.convertToDatabaseColumn(value);
+
+		assertThat(CompressedStringConverter.isCompressed(dbData)).isTrue();
+		assertThat(dbData.length()).isLessThan(value.length() / 4);
+		assertThat(this.converter.convertToEntityAttribute(dbData)).isEqualTo(value);
+	}
+
+	@Test
+	public void keepsSmallAndLegacyValuesAsIs() {
+		assertThat(this.converter.convertToDatabaseColumn("small")).isEqualTo("small");
+		assertThat(this.converter.convertToEntityAttribute("small")).isEqualTo("small");
+		assertThat(this.converter.convertToDatabaseColumn(null)).isNull();
+		assertThat(this.converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	public void compressesValuesLookingCompressed() {
+		String value = CompressedStringConverter.HEADER + "not really compressed";
+
+		String dbData = this.converter.convertToDatabaseColumn(value);
+
+		assertThat(dbData).isNotEqualTo(value);
+		assertThat(this.converter.convertToEntityAttribute(dbData)).isEqualTo(value);
+	}
+}